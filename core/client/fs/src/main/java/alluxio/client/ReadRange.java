@@ -0,0 +1,107 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client;
+
+import alluxio.annotation.PublicApi;
+import alluxio.exception.PreconditionMessage;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A range of a file to be read as part of a vectored read, together with the destination buffer
+ * the data of the range is read into.
+ */
+@PublicApi
+@NotThreadSafe
+public final class ReadRange {
+  /** The offset of the range within the file. */
+  private final long mOffset;
+  /** The destination buffer. */
+  private final byte[] mBuffer;
+  /** The offset in the destination buffer. */
+  private final int mBufferOffset;
+  /** The length of the range. */
+  private final int mLength;
+
+  /**
+   * Creates a {@link ReadRange} which reads into a newly allocated buffer.
+   *
+   * @param offset the offset of the range within the file
+   * @param length the length of the range
+   */
+  public ReadRange(long offset, int length) {
+    this(offset, new byte[length], 0, length);
+  }
+
+  /**
+   * Creates a {@link ReadRange}.
+   *
+   * @param offset the offset of the range within the file
+   * @param buffer the destination buffer
+   * @param bufferOffset the offset in the destination buffer
+   * @param length the length of the range
+   */
+  public ReadRange(long offset, byte[] buffer, int bufferOffset, int length) {
+    Preconditions.checkArgument(offset >= 0, "Range offset %s is negative", offset);
+    Preconditions.checkArgument(buffer != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
+    Preconditions.checkArgument(
+        bufferOffset >= 0 && length >= 0 && length + bufferOffset <= buffer.length,
+        PreconditionMessage.ERR_BUFFER_STATE.toString(), buffer.length, bufferOffset, length);
+    mOffset = offset;
+    mBuffer = buffer;
+    mBufferOffset = bufferOffset;
+    mLength = length;
+  }
+
+  /**
+   * @return the offset of the range within the file
+   */
+  public long getOffset() {
+    return mOffset;
+  }
+
+  /**
+   * @return the destination buffer
+   */
+  public byte[] getBuffer() {
+    return mBuffer;
+  }
+
+  /**
+   * @return the offset in the destination buffer
+   */
+  public int getBufferOffset() {
+    return mBufferOffset;
+  }
+
+  /**
+   * @return the length of the range
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  /**
+   * @return the offset within the file right after the end of the range
+   */
+  public long getEnd() {
+    return mOffset + mLength;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this).add("offset", mOffset).add("length", mLength).toString();
+  }
+}
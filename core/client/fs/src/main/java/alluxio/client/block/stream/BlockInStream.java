@@ -276,6 +276,18 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     mClosed = true;
   }
 
+  /**
+   * Opens the packet reader for the current position ahead of the first read. For remote reads
+   * this sends the read request right away, so the data server starts streaming packets into the
+   * bounded packet buffer of the reader while the caller is still busy with other data.
+   */
+  public void prefetch() throws IOException {
+    checkIfClosed();
+    if (mPacketReader == null && remaining() > 0) {
+      mPacketReader = mPacketReaderFactory.create(mPos, mLength - mPos);
+    }
+  }
+
   /**
    * @return whether the packet in stream is reading packets directly from a local file
    */
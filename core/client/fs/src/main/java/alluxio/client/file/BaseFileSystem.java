@@ -118,6 +118,7 @@ public class BaseFileSystem implements FileSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     } finally {
+      invalidateCreatedMetadata(path, options.isRecursive());
       mFileSystemContext.releaseMasterClient(masterClient);
     }
   }
@@ -147,6 +148,7 @@ public class BaseFileSystem implements FileSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     } finally {
+      invalidateCreatedMetadata(path, options.isRecursive());
       mFileSystemContext.releaseMasterClient(masterClient);
     }
     OutStreamOptions outStreamOptions = options.toOutStreamOptions();
@@ -178,6 +180,7 @@ public class BaseFileSystem implements FileSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     } finally {
+      invalidateMetadata(path, true);
       mFileSystemContext.releaseMasterClient(masterClient);
     }
   }
@@ -191,10 +194,17 @@ public class BaseFileSystem implements FileSystem {
   @Override
   public boolean exists(AlluxioURI path, ExistsOptions options)
       throws InvalidPathException, IOException, AlluxioException {
+    MetadataCache cache = getMetadataCache(options.getLoadMetadataType());
+    if (cache != null && cache.getStatus(path) != null) {
+      return true;
+    }
     FileSystemMasterClient masterClient = mFileSystemContext.acquireMasterClient();
     try {
       // TODO(calvin): Make this more efficient
-      masterClient.getStatus(path, options.toGetStatusOptions());
+      URIStatus status = masterClient.getStatus(path, options.toGetStatusOptions());
+      if (cache != null) {
+        cache.putStatus(path, status);
+      }
       return true;
     } catch (NotFoundException e) {
       return false;
@@ -231,6 +241,7 @@ public class BaseFileSystem implements FileSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     } finally {
+      invalidateMetadata(path, options.isRecursive());
       mFileSystemContext.releaseMasterClient(masterClient);
     }
   }
@@ -244,9 +255,20 @@ public class BaseFileSystem implements FileSystem {
   @Override
   public URIStatus getStatus(AlluxioURI path, GetStatusOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
+    MetadataCache cache = getMetadataCache(options.getLoadMetadataType());
+    if (cache != null) {
+      URIStatus status = cache.getStatus(path);
+      if (status != null) {
+        return status;
+      }
+    }
     FileSystemMasterClient masterClient = mFileSystemContext.acquireMasterClient();
     try {
-      return masterClient.getStatus(path, options);
+      URIStatus status = masterClient.getStatus(path, options);
+      if (cache != null) {
+        cache.putStatus(path, status);
+      }
+      return status;
     } catch (NotFoundException e) {
       throw new FileDoesNotExistException(ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(path));
     } catch (UnavailableException e) {
@@ -267,10 +289,21 @@ public class BaseFileSystem implements FileSystem {
   @Override
   public List<URIStatus> listStatus(AlluxioURI path, ListStatusOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
+    MetadataCache cache = getMetadataCache(options.getLoadMetadataType());
+    if (cache != null) {
+      List<URIStatus> statuses = cache.listStatus(path);
+      if (statuses != null) {
+        return statuses;
+      }
+    }
     FileSystemMasterClient masterClient = mFileSystemContext.acquireMasterClient();
     // TODO(calvin): Fix the exception handling in the master
     try {
-      return masterClient.listStatus(path, options);
+      List<URIStatus> statuses = masterClient.listStatus(path, options);
+      if (cache != null) {
+        cache.putListing(path, statuses);
+      }
+      return statuses;
     } catch (NotFoundException e) {
       throw new FileDoesNotExistException(ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(path));
     } catch (UnavailableException e) {
@@ -314,6 +347,7 @@ public class BaseFileSystem implements FileSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     } finally {
+      invalidateMetadata(path, true);
       mFileSystemContext.releaseMasterClient(masterClient);
     }
   }
@@ -337,6 +371,7 @@ public class BaseFileSystem implements FileSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     } finally {
+      invalidateMetadata(alluxioPath, true);
       mFileSystemContext.releaseMasterClient(masterClient);
     }
   }
@@ -380,6 +415,8 @@ public class BaseFileSystem implements FileSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     } finally {
+      invalidateMetadata(src, true);
+      invalidateMetadata(dst, true);
       mFileSystemContext.releaseMasterClient(masterClient);
     }
   }
@@ -404,6 +441,7 @@ public class BaseFileSystem implements FileSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     } finally {
+      invalidateMetadata(path, options.isRecursive());
       mFileSystemContext.releaseMasterClient(masterClient);
     }
   }
@@ -425,7 +463,58 @@ public class BaseFileSystem implements FileSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     } finally {
+      invalidateMetadata(path, true);
       mFileSystemContext.releaseMasterClient(masterClient);
     }
   }
+
+  /**
+   * @param loadMetadataType the load metadata type of the operation
+   * @return the metadata cache to use for the operation, or null if it should not use the cache
+   */
+  private MetadataCache getMetadataCache(LoadMetadataType loadMetadataType) {
+    if (loadMetadataType == LoadMetadataType.Always) {
+      // The caller wants the latest metadata from the under storage.
+      return null;
+    }
+    return mFileSystemContext.getMetadataCache();
+  }
+
+  /**
+   * Invalidates the cached metadata of a path after it is created, and of its ancestors if the
+   * missing ones may have been created as well.
+   *
+   * @param path the created path
+   * @param recursive whether the missing ancestors of the path may have been created
+   */
+  private void invalidateCreatedMetadata(AlluxioURI path, boolean recursive) {
+    MetadataCache cache = mFileSystemContext.getMetadataCache();
+    if (cache == null) {
+      return;
+    }
+    if (recursive) {
+      cache.invalidateAncestors(path);
+    } else {
+      cache.invalidate(path);
+    }
+  }
+
+  /**
+   * Invalidates the cached metadata of a path after it is modified. This is done whether or not
+   * the modification succeeds, since a failed operation may still have partially applied.
+   *
+   * @param path the modified path
+   * @param recursive whether the paths under the modified path may be modified as well
+   */
+  private void invalidateMetadata(AlluxioURI path, boolean recursive) {
+    MetadataCache cache = mFileSystemContext.getMetadataCache();
+    if (cache == null) {
+      return;
+    }
+    if (recursive) {
+      cache.invalidateRecursively(path);
+    } else {
+      cache.invalidate(path);
+    }
+  }
 }
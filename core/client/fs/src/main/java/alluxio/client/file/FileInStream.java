@@ -19,6 +19,7 @@ import alluxio.annotation.PublicApi;
 import alluxio.client.AlluxioStorageType;
 import alluxio.client.BoundedStream;
 import alluxio.client.PositionedReadable;
+import alluxio.client.ReadRange;
 import alluxio.client.block.AlluxioBlockStore;
 import alluxio.client.block.stream.BlockInStream;
 import alluxio.client.block.stream.BlockOutStream;
@@ -40,6 +41,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -60,6 +67,16 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
 
   private static final boolean PASSIVE_CACHE_ENABLED =
       Configuration.getBoolean(PropertyKey.USER_FILE_PASSIVE_CACHE_ENABLED);
+  /** The memory reserved for the packets buffered by a prefetched block stream. */
+  private static final long PREFETCH_MEMORY_PER_STREAM =
+      Configuration.getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS)
+          * Configuration.getBytes(PropertyKey.USER_NETWORK_NETTY_READER_PACKET_SIZE_BYTES);
+  /** The number of consecutive sequential reads after which the next block is prefetched. */
+  private static final int PREFETCH_SEQUENTIAL_READS_THRESHOLD = 2;
+  private static final long VECTORED_READ_MERGE_GAP_BYTES =
+      Configuration.getBytes(PropertyKey.USER_FILE_VECTORED_READ_MERGE_GAP_BYTES);
+  private static final long VECTORED_READ_MERGE_SIZE_MAX =
+      Configuration.getBytes(PropertyKey.USER_FILE_VECTORED_READ_MERGE_SIZE_MAX);
 
   /** The instream options. */
   private final InStreamOptions mInStreamOptions;
@@ -103,6 +120,19 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
   /** The read buffer in file seek. This is used in {@link #readCurrentBlockToEnd()}. */
   private byte[] mSeekBuffer;
 
+  /** Whether the next block is prefetched when this stream is read sequentially. */
+  private final boolean mPrefetchEnabled;
+  /** The file position right after the last read, used to detect sequential access. */
+  private long mLastReadEnd;
+  /** The number of consecutive reads which started where the previous read ended. */
+  private int mSequentialReads;
+  /** The stream of the next block opened ahead of time, null if nothing is prefetched. */
+  private BlockInStream mPrefetchedBlockInStream;
+  /** The blockId of {@link #mPrefetchedBlockInStream}. */
+  private long mPrefetchedBlockId;
+  /** The memory reserved in the context for {@link #mPrefetchedBlockInStream}. */
+  private long mPrefetchMemoryReserved;
+
   /**
    * Creates a new file input stream.
    *
@@ -116,6 +146,9 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     if (status.getLength() == Constants.UNKNOWN_SIZE) {
       return new UnknownLengthFileInStream(status, options, context);
     }
+    if (options.getParallelReadBlocks() > 1 && status.getBlockIds().size() > 1) {
+      return new ParallelFileInStream(status, options, context);
+    }
     return new FileInStream(status, options, context);
   }
 
@@ -145,6 +178,7 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     int seekBufferSizeBytes = Math.max((int) options.getSeekBufferSizeBytes(), 1);
     mSeekBuffer = new byte[seekBufferSizeBytes];
     mBlockStore = AlluxioBlockStore.create(context);
+    mPrefetchEnabled = Configuration.getBoolean(PropertyKey.USER_FILE_PREFETCH_ENABLED);
     LOG.debug("Init FileInStream with options {}", options);
   }
 
@@ -160,6 +194,7 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     if (mCurrentBlockInStream != null) {
       mCurrentBlockInStream.close();
     }
+    closePrefetchedBlockInStream();
     closeOrCancelCacheStream();
     mClosed = true;
   }
@@ -215,6 +250,7 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
 
     int currentOffset = off;
     int bytesLeftToRead = len;
+    mSequentialReads = mPos == mLastReadEnd ? mSequentialReads + 1 : 0;
 
     while (bytesLeftToRead > 0 && remaining() > 0) {
       updateStreams();
@@ -241,10 +277,14 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
       }
     }
 
+    mLastReadEnd = mPos;
     if (bytesLeftToRead == len && mCurrentBlockInStream.remaining() == 0) {
       // Nothing was read, and the underlying stream is done.
       return -1;
     }
+    if (mSequentialReads >= PREFETCH_SEQUENTIAL_READS_THRESHOLD) {
+      prefetchNextBlock();
+    }
 
     return len - bytesLeftToRead;
   }
@@ -291,6 +331,138 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     return lenCopy - len;
   }
 
+  /**
+   * Reads a batch of ranges of the file into their destination buffers. This does not change the
+   * current position of the stream.
+   * <p>
+   * Ranges within the same block that are close to each other are coalesced so that only one read
+   * request is sent to the worker for all of them, instead of one request per range. This makes
+   * the many small reads issued by columnar readers (e.g. a footer followed by several column
+   * chunks) much cheaper than the equivalent sequence of {@link #positionedRead} calls.
+   *
+   * @param ranges the ranges to read, each of them must lie within the file
+   * @return the total number of bytes read
+   */
+  public long readVectored(List<ReadRange> ranges) throws IOException {
+    long bytesRead = 0;
+    for (ReadRange range : ranges) {
+      Preconditions.checkArgument(range.getEnd() <= mFileLength,
+          PreconditionMessage.ERR_SEEK_PAST_END_OF_FILE.toString(), range.getEnd());
+      bytesRead += range.getLength();
+    }
+
+    // If partial read cache is enabled, the ranges are read one by one through the normal read.
+    if (mShouldCachePartiallyReadBlock) {
+      for (ReadRange range : ranges) {
+        readRangeFully(range);
+      }
+      return bytesRead;
+    }
+
+    // Splits the ranges at block boundaries and groups the resulting segments by block.
+    Map<Long, List<RangeSegment>> segmentsByBlock = new TreeMap<>();
+    for (ReadRange range : ranges) {
+      long pos = range.getOffset();
+      while (pos < range.getEnd()) {
+        long blockIndex = pos / mBlockSize;
+        long end = Math.min(range.getEnd(), (blockIndex + 1) * mBlockSize);
+        List<RangeSegment> segments = segmentsByBlock.get(blockIndex);
+        if (segments == null) {
+          segments = new ArrayList<>();
+          segmentsByBlock.put(blockIndex, segments);
+        }
+        segments.add(new RangeSegment(range, pos, (int) (end - pos)));
+        pos = end;
+      }
+    }
+
+    for (List<RangeSegment> segments : segmentsByBlock.values()) {
+      Collections.sort(segments, RangeSegment.OFFSET_COMPARATOR);
+      long blockId = getBlockId(segments.get(0).mOffset);
+      try (BlockInStream bin = getBlockInStream(blockId)) {
+        int start = 0;
+        while (start < segments.size()) {
+          long spanStart = segments.get(start).mOffset;
+          long spanEnd = segments.get(start).getEnd();
+          int end = start + 1;
+          while (end < segments.size()) {
+            RangeSegment next = segments.get(end);
+            if (next.mOffset - spanEnd > VECTORED_READ_MERGE_GAP_BYTES
+                || Math.max(spanEnd, next.getEnd()) - spanStart > VECTORED_READ_MERGE_SIZE_MAX) {
+              break;
+            }
+            spanEnd = Math.max(spanEnd, next.getEnd());
+            end++;
+          }
+          readSpan(bin, spanStart, spanEnd, segments.subList(start, end));
+          start = end;
+        }
+      }
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Reads a coalesced span of a block with a single read request, and scatters the data into the
+   * segments covered by the span.
+   *
+   * @param bin the block in stream of the block containing the span
+   * @param spanStart the file offset of the start of the span
+   * @param spanEnd the file offset of the end of the span
+   * @param segments the segments covered by the span
+   */
+  private void readSpan(BlockInStream bin, long spanStart, long spanEnd,
+      List<RangeSegment> segments) throws IOException {
+    if (segments.size() == 1) {
+      RangeSegment segment = segments.get(0);
+      readBlockFully(bin, segment.mOffset, segment.getDestinationBuffer(),
+          segment.getDestinationOffset(), segment.mLength);
+      return;
+    }
+    byte[] span = new byte[(int) (spanEnd - spanStart)];
+    readBlockFully(bin, spanStart, span, 0, span.length);
+    for (RangeSegment segment : segments) {
+      System.arraycopy(span, (int) (segment.mOffset - spanStart), segment.getDestinationBuffer(),
+          segment.getDestinationOffset(), segment.mLength);
+    }
+  }
+
+  /**
+   * Reads exactly len bytes of a block starting from the given file offset.
+   *
+   * @param bin the block in stream
+   * @param pos the file offset to read from
+   * @param b the destination buffer
+   * @param off the offset in the destination buffer
+   * @param len the number of bytes to read
+   */
+  private void readBlockFully(BlockInStream bin, long pos, byte[] b, int off, int len)
+      throws IOException {
+    long blockPos = pos % mBlockSize;
+    while (len > 0) {
+      int bytesRead = bin.positionedRead(blockPos, b, off, len);
+      Preconditions.checkState(bytesRead > 0, PreconditionMessage.ERR_UNEXPECTED_EOF);
+      blockPos += bytesRead;
+      off += bytesRead;
+      len -= bytesRead;
+    }
+  }
+
+  /**
+   * Reads a whole range with {@link #positionedRead}.
+   *
+   * @param range the range to read
+   */
+  private void readRangeFully(ReadRange range) throws IOException {
+    int read = 0;
+    while (read < range.getLength()) {
+      int bytesRead = positionedRead(range.getOffset() + read, range.getBuffer(),
+          range.getBufferOffset() + read, range.getLength() - read);
+      Preconditions.checkState(bytesRead > 0, PreconditionMessage.ERR_UNEXPECTED_EOF);
+      read += bytesRead;
+    }
+  }
+
   @Override
   public long remaining() {
     return mFileLength - mPos;
@@ -421,7 +593,7 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
    * @param pos the pos
    * @return the block ID based on the pos
    */
-  private long getBlockId(long pos) {
+  protected long getBlockId(long pos) {
     int index = (int) (pos / mBlockSize);
     Preconditions
         .checkState(index < mStatus.getBlockIds().size(), PreconditionMessage.ERR_BLOCK_INDEX);
@@ -534,6 +706,16 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
       mCurrentBlockInStream = null;
     }
 
+    // Takes over the prefetched stream if it is for the block to read.
+    if (mPrefetchedBlockInStream != null && mPrefetchedBlockId == blockId) {
+      mCurrentBlockInStream = mPrefetchedBlockInStream;
+      mPrefetchedBlockInStream = null;
+      mContext.releasePrefetchMemory(mPrefetchMemoryReserved);
+      mPrefetchMemoryReserved = 0;
+      return;
+    }
+    closePrefetchedBlockInStream();
+
     // blockId = -1 if mPos = EOF.
     if (blockId < 0) {
       return;
@@ -541,13 +723,71 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
     mCurrentBlockInStream = getBlockInStream(blockId);
   }
 
+  /**
+   * Opens the stream of the block following the last byte read ahead of time, so that its packets
+   * are already buffered when the current block is exhausted. A read ending on a block boundary
+   * prefetches the block starting there, which is the next one to be read. This is a no-op if
+   * prefetching is disabled, the next block is already prefetched, or the prefetch memory limit of
+   * the context is reached. Failures are ignored since the block is opened again when it is
+   * actually read.
+   */
+  private void prefetchNextBlock() {
+    if (!mPrefetchEnabled || mPrefetchedBlockInStream != null) {
+      return;
+    }
+    long nextBlockStart = ((mPos - 1) / mBlockSize + 1) * mBlockSize;
+    if (nextBlockStart >= mFileLength) {
+      return;
+    }
+    long memory = Math.min(PREFETCH_MEMORY_PER_STREAM, getBlockSize(nextBlockStart));
+    if (!mContext.tryReservePrefetchMemory(memory)) {
+      return;
+    }
+    long blockId = getBlockId(nextBlockStart);
+    BlockInStream stream = null;
+    try {
+      stream = getBlockInStream(blockId);
+      stream.prefetch();
+    } catch (IOException e) {
+      LOG.debug("Failed to prefetch block {}: {}", blockId, e.getMessage());
+      if (stream != null) {
+        try {
+          stream.close();
+        } catch (IOException ee) {
+          LOG.debug("Failed to close the prefetched stream of block {}.", blockId, ee);
+        }
+      }
+      mContext.releasePrefetchMemory(memory);
+      return;
+    }
+    mPrefetchedBlockInStream = stream;
+    mPrefetchedBlockId = blockId;
+    mPrefetchMemoryReserved = memory;
+  }
+
+  /**
+   * Closes {@link #mPrefetchedBlockInStream} if there is one and releases its reserved memory.
+   */
+  private void closePrefetchedBlockInStream() throws IOException {
+    if (mPrefetchedBlockInStream == null) {
+      return;
+    }
+    try {
+      mPrefetchedBlockInStream.close();
+    } finally {
+      mPrefetchedBlockInStream = null;
+      mContext.releasePrefetchMemory(mPrefetchMemoryReserved);
+      mPrefetchMemoryReserved = 0;
+    }
+  }
+
   /**
    * Gets the block in stream corresponding a block ID.
    *
    * @param blockId the block ID
    * @return the block in stream
    */
-  private BlockInStream getBlockInStream(long blockId) throws IOException {
+  protected BlockInStream getBlockInStream(long blockId) throws IOException {
     Protocol.OpenUfsBlockOptions openUfsBlockOptions = null;
     if (mStatus.isPersisted()) {
       long blockStart = BlockId.getSequenceNumber(blockId) * mBlockSize;
@@ -660,4 +900,54 @@ public class FileInStream extends InputStream implements BoundedStream, Seekable
   private void readCurrentBlockToEnd() throws IOException {
     readCurrentBlockToPos(Long.MAX_VALUE);
   }
+
+  /**
+   * The part of a {@link ReadRange} which falls in a single block.
+   */
+  private static final class RangeSegment {
+    private static final Comparator<RangeSegment> OFFSET_COMPARATOR =
+        new Comparator<RangeSegment>() {
+          @Override
+          public int compare(RangeSegment a, RangeSegment b) {
+            return Long.compare(a.mOffset, b.mOffset);
+          }
+        };
+
+    private final ReadRange mRange;
+    /** The file offset of the segment. */
+    private final long mOffset;
+    private final int mLength;
+
+    /**
+     * @param range the range this segment belongs to
+     * @param offset the file offset of the segment
+     * @param length the length of the segment
+     */
+    RangeSegment(ReadRange range, long offset, int length) {
+      mRange = range;
+      mOffset = offset;
+      mLength = length;
+    }
+
+    /**
+     * @return the file offset right after the end of the segment
+     */
+    long getEnd() {
+      return mOffset + mLength;
+    }
+
+    /**
+     * @return the buffer to read the segment into
+     */
+    byte[] getDestinationBuffer() {
+      return mRange.getBuffer();
+    }
+
+    /**
+     * @return the offset in the destination buffer to read the segment into
+     */
+    int getDestinationOffset() {
+      return mRange.getBufferOffset() + (int) (mOffset - mRange.getOffset());
+    }
+  }
 }
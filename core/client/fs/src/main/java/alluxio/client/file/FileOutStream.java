@@ -12,6 +12,8 @@
 package alluxio.client.file;
 
 import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.PropertyKey;
 import alluxio.annotation.PublicApi;
 import alluxio.client.AbstractOutStream;
 import alluxio.client.AlluxioStorageType;
@@ -23,20 +25,31 @@ import alluxio.client.file.options.CompleteFileOptions;
 import alluxio.client.file.options.OutStreamOptions;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.PreconditionMessage;
+import alluxio.exception.status.CanceledException;
 import alluxio.metrics.MetricsSystem;
 import alluxio.resource.CloseableResource;
 import alluxio.util.CommonUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.wire.WorkerNetAddress;
 
 import com.codahale.metrics.Counter;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.io.Closer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
@@ -53,6 +66,12 @@ import javax.annotation.concurrent.ThreadSafe;
 public class FileOutStream extends AbstractOutStream {
   private static final Logger LOG = LoggerFactory.getLogger(FileOutStream.class);
 
+  /**
+   * Flushes and closes the blocks of the streams in the background. The threads are bounded, and
+   * the tasks submitted while they are all busy run in the thread submitting them.
+   */
+  private static final ExecutorService BLOCK_STREAM_EXECUTOR = createBlockStreamExecutor();
+
   /** Used to manage closeable resources. */
   private final Closer mCloser;
   private final long mBlockSize;
@@ -63,12 +82,16 @@ public class FileOutStream extends AbstractOutStream {
   /** Stream to the file in the under storage, null if not writing to the under storage. */
   private final UnderFileSystemFileOutStream mUnderStorageOutputStream;
   private final OutStreamOptions mOptions;
+  /** Whether full blocks are flushed in the background while the next block is written. */
+  private final boolean mPipelineEnabled;
 
   private boolean mCanceled;
   private boolean mClosed;
   private boolean mShouldCacheCurrentBlock;
   private BlockOutStream mCurrentBlockOutStream;
   private List<BlockOutStream> mPreviousBlockOutStreams;
+  /** The flush of the previous block running in the background, null if there is none. */
+  private Future<?> mPendingBlockFlush;
 
   protected final AlluxioURI mUri;
 
@@ -87,6 +110,7 @@ public class FileOutStream extends AbstractOutStream {
     mAlluxioStorageType = options.getAlluxioStorageType();
     mUnderStorageType = options.getUnderStorageType();
     mOptions = options;
+    mPipelineEnabled = Configuration.getBoolean(PropertyKey.USER_FILE_WRITE_PIPELINE_ENABLED);
     mContext = context;
     mBlockStore = AlluxioBlockStore.create(mContext);
     mPreviousBlockOutStreams = new LinkedList<>();
@@ -108,6 +132,19 @@ public class FileOutStream extends AbstractOutStream {
     }
   }
 
+  /**
+   * @return the executor of the background flushes and closes of the blocks
+   */
+  private static ExecutorService createBlockStreamExecutor() {
+    int threads = Configuration.getInt(PropertyKey.USER_FILE_WRITE_PIPELINE_THREADS);
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new SynchronousQueue<Runnable>(),
+        ThreadFactoryUtils.build("file-out-stream-block-%d", true),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   @Override
   public void cancel() throws IOException {
     mCanceled = true;
@@ -123,6 +160,31 @@ public class FileOutStream extends AbstractOutStream {
       if (mCurrentBlockOutStream != null) {
         mPreviousBlockOutStreams.add(mCurrentBlockOutStream);
       }
+      if (mPendingBlockFlush != null) {
+        try {
+          waitForPendingBlockFlush();
+        } catch (IOException e) {
+          if (!mCanceled) {
+            throw e;
+          }
+          LOG.warn("Failed to flush a block of canceled file {}: {}", mUri, e.getMessage());
+        }
+      }
+
+      // When pipelining, the blocks are closed in parallel with the under storage stream.
+      boolean closeBlocksAsync = mPipelineEnabled && mAlluxioStorageType.isStore() && !mCanceled;
+      List<Future<?>> blockCloses = new LinkedList<>();
+      if (closeBlocksAsync) {
+        for (final BlockOutStream bos : mPreviousBlockOutStreams) {
+          blockCloses.add(BLOCK_STREAM_EXECUTOR.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+              bos.close();
+              return null;
+            }
+          }));
+        }
+      }
 
       CompleteFileOptions options = CompleteFileOptions.defaults();
       if (mUnderStorageType.isSyncPersist()) {
@@ -139,6 +201,8 @@ public class FileOutStream extends AbstractOutStream {
           for (BlockOutStream bos : mPreviousBlockOutStreams) {
             bos.cancel();
           }
+        } else if (closeBlocksAsync) {
+          waitForBlockStreams(blockCloses);
         } else {
           for (BlockOutStream bos : mPreviousBlockOutStreams) {
             bos.close();
@@ -247,8 +311,26 @@ public class FileOutStream extends AbstractOutStream {
     if (mCurrentBlockOutStream != null) {
       Preconditions.checkState(mCurrentBlockOutStream.remaining() <= 0,
           PreconditionMessage.ERR_BLOCK_REMAINING);
-      mCurrentBlockOutStream.flush();
+      if (mPipelineEnabled) {
+        // Flushes the full block while the next one is written. At most one block is flushed in
+        // the background, which bounds the memory held by the streams being flushed. The block is
+        // only committed when the file is closed, so that it is still canceled with the file.
+        if (mPendingBlockFlush != null) {
+          waitForPendingBlockFlush();
+        }
+        final BlockOutStream stream = mCurrentBlockOutStream;
+        mPendingBlockFlush = BLOCK_STREAM_EXECUTOR.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws IOException {
+            stream.flush();
+            return null;
+          }
+        });
+      } else {
+        mCurrentBlockOutStream.flush();
+      }
       mPreviousBlockOutStreams.add(mCurrentBlockOutStream);
+      mCurrentBlockOutStream = null;
     }
 
     if (mAlluxioStorageType.isStore()) {
@@ -258,6 +340,49 @@ public class FileOutStream extends AbstractOutStream {
     }
   }
 
+  /**
+   * Waits for the background flush of the previous block to finish.
+   */
+  private void waitForPendingBlockFlush() throws IOException {
+    Future<?> pendingBlockFlush = mPendingBlockFlush;
+    mPendingBlockFlush = null;
+    waitForBlockStreams(Collections.<Future<?>>singletonList(pendingBlockFlush));
+  }
+
+  /**
+   * Waits for the background operations on block out streams to finish.
+   *
+   * @param futures the futures of the operations
+   * @throws IOException the first failure of the operations, the others are suppressed in it
+   */
+  private static void waitForBlockStreams(List<Future<?>> futures) throws IOException {
+    IOException exception = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CanceledException(e);
+      } catch (ExecutionException e) {
+        IOException ioe;
+        if (e.getCause() instanceof IOException) {
+          ioe = (IOException) e.getCause();
+        } else {
+          Throwables.propagateIfPossible(e.getCause());
+          ioe = new IOException(e.getCause());
+        }
+        if (exception == null) {
+          exception = ioe;
+        } else {
+          exception.addSuppressed(ioe);
+        }
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
   private long getNextBlockId() throws IOException {
     try (CloseableResource<FileSystemMasterClient> masterClient = mContext
         .acquireMasterClientResource()) {
@@ -38,6 +38,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
@@ -90,6 +91,15 @@ public final class FileSystemContext implements Closeable {
   /** The parent user associated with the {@link FileSystemContext}. */
   private final Subject mParentSubject;
 
+  /** The maximum number of bytes the in streams of this context can reserve for prefetching. */
+  private final long mPrefetchMemoryMax =
+      Configuration.getBytes(PropertyKey.USER_FILE_PREFETCH_MEMORY_MAX);
+  /** The number of bytes currently reserved for prefetching. */
+  private final AtomicLong mPrefetchMemoryReserved = new AtomicLong();
+
+  /** The metadata cache shared by the file systems of this context, null if disabled. */
+  private volatile MetadataCache mMetadataCache;
+
   /**
    * Creates a new file system context.
    *
@@ -127,6 +137,9 @@ public final class FileSystemContext implements Closeable {
     mMasterAddress = NetworkAddressUtils.getConnectAddress(ServiceType.MASTER_RPC);
     mFileSystemMasterClientPool = new FileSystemMasterClientPool(mParentSubject, mMasterAddress);
     mBlockMasterClientPool = new BlockMasterClientPool(mParentSubject, mMasterAddress);
+    if (Configuration.getBoolean(PropertyKey.USER_METADATA_CACHE_ENABLED)) {
+      mMetadataCache = new MetadataCache();
+    }
   }
 
   /**
@@ -146,6 +159,11 @@ public final class FileSystemContext implements Closeable {
     }
     mNettyChannelPools.clear();
 
+    if (mMetadataCache != null) {
+      mMetadataCache.invalidateAll();
+      mMetadataCache = null;
+    }
+
     synchronized (this) {
       mMasterAddress = null;
       mLocalWorkerInitialized = false;
@@ -162,6 +180,13 @@ public final class FileSystemContext implements Closeable {
     init();
   }
 
+  /**
+   * @return the metadata cache of this context, or null if the metadata cache is disabled
+   */
+  public MetadataCache getMetadataCache() {
+    return mMetadataCache;
+  }
+
   /**
    * @return the parent subject
    */
@@ -260,6 +285,34 @@ public final class FileSystemContext implements Closeable {
     mNettyChannelPools.get(address).release(channel);
   }
 
+  /**
+   * Tries to reserve memory for packets prefetched ahead of the current read position. The
+   * reservation fails if it would exceed the prefetch memory limit of this context.
+   *
+   * @param bytes the number of bytes to reserve
+   * @return whether the memory is reserved
+   */
+  public boolean tryReservePrefetchMemory(long bytes) {
+    while (true) {
+      long reserved = mPrefetchMemoryReserved.get();
+      if (reserved + bytes > mPrefetchMemoryMax) {
+        return false;
+      }
+      if (mPrefetchMemoryReserved.compareAndSet(reserved, reserved + bytes)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases memory reserved by {@link #tryReservePrefetchMemory(long)}.
+   *
+   * @param bytes the number of bytes to release
+   */
+  public void releasePrefetchMemory(long bytes) {
+    mPrefetchMemoryReserved.addAndGet(-bytes);
+  }
+
   /**
    * @return if there is a local worker running the same machine
    */
@@ -338,6 +391,13 @@ public final class FileSystemContext implements Closeable {
               return ret;
             }
           });
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getClientMetricName("PrefetchMemoryReserved"), new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+              return INSTANCE.mPrefetchMemoryReserved.get();
+            }
+          });
     }
 
     private Metrics() {} // prevent instantiation
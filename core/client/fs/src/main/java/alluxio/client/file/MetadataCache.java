@@ -0,0 +1,262 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded client side cache of the {@link URIStatus}es and directory listings returned by the
+ * master. Entries expire after a fixed time, and are invalidated when the paths are modified
+ * through the file systems sharing the {@link FileSystemContext} owning this cache. Changes made
+ * by other clients become visible once the entries expire.
+ * <p>
+ * Only paths under the configured prefixes are cached. Statuses of incomplete files are never
+ * cached since their length is still changing.
+ */
+@ThreadSafe
+public final class MetadataCache {
+  /** The path prefixes to cache, without trailing separators. */
+  private final List<String> mPathPrefixes;
+  /** Cache of the status of a path. */
+  private final Cache<String, URIStatus> mStatusCache;
+  /** Cache of the listing of a directory. */
+  private final Cache<String, List<URIStatus>> mListingCache;
+
+  /**
+   * Creates a new {@link MetadataCache} from the configuration.
+   */
+  public MetadataCache() {
+    this(Configuration.getLong(PropertyKey.USER_METADATA_CACHE_MAX_SIZE),
+        Configuration.getLong(PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME_MS),
+        Configuration.getList(PropertyKey.USER_METADATA_CACHE_PATHS, ","));
+  }
+
+  /**
+   * Creates a new {@link MetadataCache}.
+   *
+   * @param maxSize the maximum number of paths in each of the status and listing caches
+   * @param expirationTimeMs the time after which entries expire
+   * @param pathPrefixes the path prefixes to cache
+   */
+  public MetadataCache(long maxSize, long expirationTimeMs, List<String> pathPrefixes) {
+    mStatusCache = CacheBuilder.newBuilder().maximumSize(maxSize)
+        .expireAfterWrite(expirationTimeMs, TimeUnit.MILLISECONDS).build();
+    mListingCache = CacheBuilder.newBuilder().maximumSize(maxSize)
+        .expireAfterWrite(expirationTimeMs, TimeUnit.MILLISECONDS).build();
+    mPathPrefixes = new ArrayList<>();
+    for (String prefix : pathPrefixes) {
+      prefix = prefix.trim();
+      while (prefix.length() > 1 && prefix.endsWith(AlluxioURI.SEPARATOR)) {
+        prefix = prefix.substring(0, prefix.length() - 1);
+      }
+      if (!prefix.isEmpty()) {
+        mPathPrefixes.add(prefix);
+      }
+    }
+  }
+
+  /**
+   * @param path the path
+   * @return the cached status of the path, or null if it is not cached
+   */
+  @Nullable
+  public URIStatus getStatus(AlluxioURI path) {
+    return record(mStatusCache.getIfPresent(path.getPath()));
+  }
+
+  /**
+   * @param path the directory path
+   * @return the cached listing of the directory, or null if it is not cached
+   */
+  @Nullable
+  public List<URIStatus> listStatus(AlluxioURI path) {
+    return record(mListingCache.getIfPresent(path.getPath()));
+  }
+
+  /**
+   * Caches the status of a path, if the path is cacheable.
+   *
+   * @param path the path
+   * @param status the status of the path
+   */
+  public void putStatus(AlluxioURI path, URIStatus status) {
+    if (isCacheable(path.getPath(), status)) {
+      mStatusCache.put(path.getPath(), status);
+    }
+  }
+
+  /**
+   * Caches the listing of a directory, together with the statuses of its children, if the
+   * directory is cacheable.
+   *
+   * @param path the directory path
+   * @param statuses the statuses of the children of the directory
+   */
+  public void putListing(AlluxioURI path, List<URIStatus> statuses) {
+    if (!isCachedPath(path.getPath())) {
+      return;
+    }
+    for (URIStatus status : statuses) {
+      if (!status.isFolder() && !status.isCompleted()) {
+        // The listing contains a file being written, so it will change soon.
+        return;
+      }
+    }
+    mListingCache.put(path.getPath(), Collections.unmodifiableList(new ArrayList<>(statuses)));
+    for (URIStatus status : statuses) {
+      mStatusCache.put(status.getPath(), status);
+    }
+  }
+
+  /**
+   * Invalidates the cached metadata of a path which is modified. This also invalidates the
+   * listing of its parent directory.
+   *
+   * @param path the modified path
+   */
+  public void invalidate(AlluxioURI path) {
+    mStatusCache.invalidate(path.getPath());
+    mListingCache.invalidate(path.getPath());
+    AlluxioURI parent = path.getParent();
+    if (parent != null) {
+      mListingCache.invalidate(parent.getPath());
+    }
+  }
+
+  /**
+   * Invalidates the cached metadata of a path and of all its ancestors, as well as their listings.
+   * This is used when a path is created along with its missing ancestors, since the deepest
+   * ancestor which existed is not known, and its listing changed as well.
+   *
+   * @param path the created path
+   */
+  public void invalidateAncestors(AlluxioURI path) {
+    for (AlluxioURI p = path; p != null; p = p.getParent()) {
+      invalidate(p);
+    }
+  }
+
+  /**
+   * Invalidates the cached metadata of a path and everything under it, as well as the listing of
+   * its parent directory. This is used when a directory is deleted, renamed or (un)mounted.
+   *
+   * @param path the modified path
+   */
+  public void invalidateRecursively(AlluxioURI path) {
+    invalidate(path);
+    invalidateUnder(mStatusCache.asMap().keySet().iterator(), path.getPath());
+    invalidateUnder(mListingCache.asMap().keySet().iterator(), path.getPath());
+  }
+
+  /**
+   * Invalidates all the cached metadata.
+   */
+  public void invalidateAll() {
+    mStatusCache.invalidateAll();
+    mListingCache.invalidateAll();
+  }
+
+  /**
+   * @param path the path
+   * @return whether the path is under one of the cached prefixes
+   */
+  private boolean isCachedPath(String path) {
+    for (String prefix : mPathPrefixes) {
+      if (isUnder(path, prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param path the path
+   * @param status the status of the path
+   * @return whether the status can be cached
+   */
+  private boolean isCacheable(String path, URIStatus status) {
+    return (status.isFolder() || status.isCompleted()) && isCachedPath(path);
+  }
+
+  /**
+   * Removes the keys which are strictly under the given directory.
+   *
+   * @param keys the iterator over the keys of a cache
+   * @param directory the directory
+   */
+  private static void invalidateUnder(Iterator<String> keys, String directory) {
+    while (keys.hasNext()) {
+      String key = keys.next();
+      if (!key.equals(directory) && isUnder(key, directory)) {
+        keys.remove();
+      }
+    }
+  }
+
+  /**
+   * @param path the path
+   * @param prefix the prefix, without trailing separator unless it is the root
+   * @return whether the path is the prefix or a descendant of it
+   */
+  private static boolean isUnder(String path, String prefix) {
+    if (!path.startsWith(prefix)) {
+      return false;
+    }
+    return path.length() == prefix.length() || prefix.endsWith(AlluxioURI.SEPARATOR)
+        || path.charAt(prefix.length()) == AlluxioURI.SEPARATOR.charAt(0);
+  }
+
+  /**
+   * Records a cache lookup in the hit and miss metrics.
+   *
+   * @param value the value found in the cache, null on a miss
+   * @param <T> the type of the value
+   * @return the value
+   */
+  private static <T> T record(T value) {
+    if (value == null) {
+      Metrics.METADATA_CACHE_MISSES.inc();
+    } else {
+      Metrics.METADATA_CACHE_HITS.inc();
+    }
+    return value;
+  }
+
+  /**
+   * Class that contains metrics about the {@link MetadataCache}.
+   */
+  @ThreadSafe
+  private static final class Metrics {
+    private static final Counter METADATA_CACHE_HITS =
+        MetricsSystem.clientCounter("MetadataCacheHits");
+    private static final Counter METADATA_CACHE_MISSES =
+        MetricsSystem.clientCounter("MetadataCacheMisses");
+
+    private Metrics() {} // prevent instantiation
+  }
+}
@@ -0,0 +1,312 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.client.block.stream.BlockInStream;
+import alluxio.client.file.options.InStreamOptions;
+import alluxio.exception.PreconditionMessage;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.CanceledException;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A {@link FileInStream} which reads several blocks of the file concurrently, usually from
+ * different workers, and exposes them as one sequential stream.
+ * <p>
+ * Up to {@link InStreamOptions#getParallelReadBlocks()} blocks starting from the current position
+ * are fetched in the background. Each fetcher reads its block in chunks into a bounded queue, so
+ * the blocks ahead of the current one form a reorder buffer whose size is bounded by
+ * {@link PropertyKey#USER_FILE_BUFFER_BYTES} per block. Seeking discards the fetched data.
+ * <p>
+ * Blocks read through this stream are not cached by the client, but the workers still cache
+ * blocks read from the under storage according to the read type.
+ */
+@NotThreadSafe
+public final class ParallelFileInStream extends FileInStream {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelFileInStream.class);
+
+  private static final int CHUNK_SIZE_BYTES = Constants.MB;
+  private static final int MAX_CHUNKS_PER_BLOCK = (int) Math.max(1,
+      Configuration.getBytes(PropertyKey.USER_FILE_BUFFER_BYTES) / CHUNK_SIZE_BYTES);
+  /** Special chunk that indicates a fetcher is done, either because of EOF or an error. */
+  private static final byte[] END_OF_BLOCK = new byte[0];
+
+  private static final ExecutorService FETCHER_EXECUTOR = Executors
+      .newCachedThreadPool(ThreadFactoryUtils.build("parallel-block-fetcher-%d", true));
+
+  /** The maximum number of blocks fetched concurrently. */
+  private final int mParallelism;
+  /** The fetchers of the blocks ahead, the first one is for the current position. */
+  private final Deque<BlockFetcher> mFetchers = new ArrayDeque<>();
+  /** The file position from which the next fetcher starts. */
+  private long mNextFetchPos;
+
+  /** The chunk being read, null if a new chunk needs to be taken from the first fetcher. */
+  private byte[] mCurrentChunk;
+  /** The position in {@link #mCurrentChunk} to read next. */
+  private int mCurrentChunkPos;
+  private final byte[] mSingleByte = new byte[1];
+
+  /**
+   * Creates a new parallel file input stream.
+   *
+   * @param status the file status
+   * @param options the client options
+   * @param context file system context
+   */
+  ParallelFileInStream(URIStatus status, InStreamOptions options, FileSystemContext context) {
+    super(status, options, context);
+    mParallelism = options.getParallelReadBlocks();
+    Preconditions.checkArgument(mParallelism > 1, "Parallel reads require more than one block.");
+  }
+
+  @Override
+  public int read() throws IOException {
+    int bytesRead = read(mSingleByte, 0, 1);
+    if (bytesRead == -1) {
+      return -1;
+    }
+    return BufferUtils.byteToInt(mSingleByte[0]);
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    Preconditions.checkArgument(b != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
+    Preconditions.checkArgument(off >= 0 && len >= 0 && len + off <= b.length,
+        PreconditionMessage.ERR_BUFFER_STATE.toString(), b.length, off, len);
+    if (len == 0) {
+      return 0;
+    } else if (remaining() <= 0) {
+      return -1;
+    }
+
+    int bytesLeftToRead = len;
+    while (bytesLeftToRead > 0 && remaining() > 0) {
+      if (!updateCurrentChunk()) {
+        break;
+      }
+      int toRead = Math.min(bytesLeftToRead, mCurrentChunk.length - mCurrentChunkPos);
+      System.arraycopy(mCurrentChunk, mCurrentChunkPos, b, off, toRead);
+      mCurrentChunkPos += toRead;
+      mPos += toRead;
+      off += toRead;
+      bytesLeftToRead -= toRead;
+    }
+    return len - bytesLeftToRead;
+  }
+
+  @Override
+  public void seek(long pos) throws IOException {
+    if (mPos == pos) {
+      return;
+    }
+    Preconditions.checkArgument(pos >= 0, PreconditionMessage.ERR_SEEK_NEGATIVE.toString(), pos);
+    Preconditions.checkArgument(pos <= maxSeekPosition(),
+        PreconditionMessage.ERR_SEEK_PAST_END_OF_FILE.toString(), pos);
+    cancelFetchers();
+    mPos = pos;
+    mNextFetchPos = pos;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    cancelFetchers();
+    mClosed = true;
+  }
+
+  /**
+   * Makes sure {@link #mCurrentChunk} has data to read at the current position, starting new
+   * fetchers to fill the window of blocks being fetched.
+   *
+   * @return false if there is no more data to read
+   */
+  private boolean updateCurrentChunk() throws IOException {
+    while (mCurrentChunk == null || mCurrentChunkPos == mCurrentChunk.length) {
+      startFetchers();
+      BlockFetcher fetcher = mFetchers.peekFirst();
+      if (fetcher == null) {
+        return false;
+      }
+      byte[] chunk = fetcher.takeChunk();
+      if (chunk == END_OF_BLOCK) {
+        mFetchers.pollFirst();
+        continue;
+      }
+      mCurrentChunk = chunk;
+      mCurrentChunkPos = 0;
+    }
+    return true;
+  }
+
+  /**
+   * Starts fetchers for the blocks following the ones being fetched until the window is full.
+   */
+  private void startFetchers() throws IOException {
+    while (mFetchers.size() < mParallelism && mNextFetchPos < mFileLength) {
+      long blockEnd = Math.min(mFileLength, (mNextFetchPos / mBlockSize + 1) * mBlockSize);
+      // Streams are opened here rather than in the fetcher threads so that the block location
+      // policies are only used by the thread owning this stream.
+      BlockInStream stream = getBlockInStream(getBlockId(mNextFetchPos));
+      try {
+        stream.seek(mNextFetchPos % mBlockSize);
+      } catch (IOException e) {
+        stream.close();
+        throw e;
+      }
+      BlockFetcher fetcher = new BlockFetcher(stream, blockEnd - mNextFetchPos);
+      fetcher.start();
+      mFetchers.addLast(fetcher);
+      mNextFetchPos = blockEnd;
+    }
+  }
+
+  /**
+   * Cancels all the fetchers and discards the data fetched so far.
+   */
+  private void cancelFetchers() {
+    for (BlockFetcher fetcher : mFetchers) {
+      fetcher.cancel();
+    }
+    mFetchers.clear();
+    mCurrentChunk = null;
+    mCurrentChunkPos = 0;
+  }
+
+  /**
+   * Reads a range of a block in chunks into a bounded queue in the background.
+   */
+  private static final class BlockFetcher implements Runnable {
+    private final BlockInStream mStream;
+    private final long mLength;
+    /** The fetched chunks, the last one is always {@link #END_OF_BLOCK}. */
+    private final BlockingQueue<byte[]> mChunks =
+        new ArrayBlockingQueue<>(MAX_CHUNKS_PER_BLOCK + 1);
+    /** Bounds the number of data chunks in the queue, so the end marker always fits in it. */
+    private final Semaphore mFreeSlots = new Semaphore(MAX_CHUNKS_PER_BLOCK);
+    /** The error which stopped the fetcher, only read after {@link #END_OF_BLOCK} is taken. */
+    private volatile Throwable mError;
+    /** Set by whoever of the fetcher thread and {@link #cancel()} takes the stream first. */
+    private final AtomicBoolean mStreamTaken = new AtomicBoolean(false);
+    private Future<?> mFuture;
+
+    /**
+     * @param stream the block in stream positioned at the start of the range
+     * @param length the length of the range
+     */
+    BlockFetcher(BlockInStream stream, long length) {
+      mStream = stream;
+      mLength = length;
+    }
+
+    /**
+     * Starts fetching in the background.
+     */
+    void start() {
+      mFuture = FETCHER_EXECUTOR.submit(this);
+    }
+
+    /**
+     * Stops fetching. The block in stream is closed here if the fetcher has not started yet, or
+     * by the fetcher thread otherwise.
+     */
+    void cancel() {
+      mFuture.cancel(true);
+      if (mStreamTaken.compareAndSet(false, true)) {
+        try {
+          mStream.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close the stream of a cancelled fetcher: {}", e.getMessage());
+        }
+      }
+    }
+
+    /**
+     * Takes the next chunk, waiting for it to be fetched if needed.
+     *
+     * @return the next chunk or {@link #END_OF_BLOCK} if the whole range has been taken
+     */
+    byte[] takeChunk() throws IOException {
+      byte[] chunk;
+      try {
+        chunk = mChunks.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CanceledException(e);
+      }
+      if (chunk == END_OF_BLOCK) {
+        // Keeps the end marker so that subsequent calls see it as well.
+        mChunks.offer(END_OF_BLOCK);
+        if (mError != null) {
+          Throwables.propagateIfPossible(mError, IOException.class);
+          throw AlluxioStatusException.fromCheckedException(mError);
+        }
+        return chunk;
+      }
+      mFreeSlots.release();
+      return chunk;
+    }
+
+    @Override
+    public void run() {
+      if (!mStreamTaken.compareAndSet(false, true)) {
+        return;
+      }
+      try (BlockInStream stream = mStream) {
+        long bytesLeft = mLength;
+        while (bytesLeft > 0) {
+          byte[] chunk = new byte[(int) Math.min(CHUNK_SIZE_BYTES, bytesLeft)];
+          int offset = 0;
+          while (offset < chunk.length) {
+            int bytesRead = stream.read(chunk, offset, chunk.length - offset);
+            Preconditions.checkState(bytesRead > 0, PreconditionMessage.ERR_UNEXPECTED_EOF);
+            offset += bytesRead;
+          }
+          mFreeSlots.acquire();
+          mChunks.put(chunk);
+          bytesLeft -= chunk.length;
+        }
+      } catch (InterruptedException e) {
+        // The fetcher is cancelled, nobody reads the queue any more.
+        return;
+      } catch (Throwable t) {
+        LOG.debug("Failed to fetch block data: {}", t.getMessage());
+        mError = t;
+      }
+      mChunks.offer(END_OF_BLOCK);
+    }
+  }
+}
@@ -45,6 +45,8 @@ public final class InStreamOptions {
   private int mMaxUfsReadConcurrency;
   /** The location policy to determine the worker location to serve UFS block reads. */
   private BlockLocationPolicy mUfsReadLocationPolicy;
+  /** The number of blocks to read concurrently, 1 if parallel reads are disabled. */
+  private int mParallelReadBlocks;
 
   /**
    * @return the default {@link InStreamOptions}
@@ -73,6 +75,7 @@ public final class InStreamOptions {
     mSeekBufferSizeBytes = Configuration.getBytes(PropertyKey.USER_FILE_SEEK_BUFFER_SIZE_BYTES);
     mMaxUfsReadConcurrency =
         Configuration.getInt(PropertyKey.USER_UFS_BLOCK_READ_CONCURRENCY_MAX);
+    mParallelReadBlocks = Configuration.getInt(PropertyKey.USER_FILE_READ_PARALLEL_BLOCKS);
   }
 
   /**
@@ -113,6 +116,13 @@ public final class InStreamOptions {
     return mUfsReadLocationPolicy;
   }
 
+  /**
+   * @return the number of blocks to read concurrently
+   */
+  public int getParallelReadBlocks() {
+    return mParallelReadBlocks;
+  }
+
   /**
    * @param policy the location policy to use when storing data to Alluxio
    * @return the updated options object
@@ -155,6 +165,18 @@ public final class InStreamOptions {
     return this;
   }
 
+  /**
+   * Sets the number of blocks to read concurrently. If this is greater than 1, the blocks of the
+   * file are fetched in parallel, usually from different workers, into a bounded reorder buffer.
+   *
+   * @param parallelReadBlocks the number of blocks to read concurrently
+   * @return the updated options object
+   */
+  public InStreamOptions setParallelReadBlocks(int parallelReadBlocks) {
+    mParallelReadBlocks = parallelReadBlocks;
+    return this;
+  }
+
   /**
    * @return true if incomplete block caching is enabled
    */
@@ -216,7 +238,8 @@ public final class InStreamOptions {
         && Objects.equal(mCachePartiallyReadBlock, that.mCachePartiallyReadBlock)
         && Objects.equal(mSeekBufferSizeBytes, that.mSeekBufferSizeBytes)
         && Objects.equal(mMaxUfsReadConcurrency, that.mMaxUfsReadConcurrency)
-        && Objects.equal(mUfsReadLocationPolicy, that.mUfsReadLocationPolicy);
+        && Objects.equal(mUfsReadLocationPolicy, that.mUfsReadLocationPolicy)
+        && Objects.equal(mParallelReadBlocks, that.mParallelReadBlocks);
   }
 
   @Override
@@ -228,7 +251,8 @@ public final class InStreamOptions {
             mCachePartiallyReadBlock,
             mSeekBufferSizeBytes,
             mMaxUfsReadConcurrency,
-            mUfsReadLocationPolicy);
+            mUfsReadLocationPolicy,
+            mParallelReadBlocks);
   }
 
   @Override
@@ -237,6 +261,7 @@ public final class InStreamOptions {
         .add("readType", mReadType).add("cachePartiallyReadBlock", mCachePartiallyReadBlock)
         .add("seekBufferSize", mSeekBufferSizeBytes)
         .add("maxUfsReadConcurrency", mMaxUfsReadConcurrency)
-        .add("ufsReadLocationPolicy", mUfsReadLocationPolicy).toString();
+        .add("ufsReadLocationPolicy", mUfsReadLocationPolicy)
+        .add("parallelReadBlocks", mParallelReadBlocks).toString();
   }
 }
@@ -41,6 +41,8 @@ public final class OpenFileOptions {
   private int mMaxUfsReadConcurrency;
   /** The location policy to determine the worker location to serve UFS block reads. */
   private BlockLocationPolicy mUfsReadLocationPolicy;
+  /** The number of blocks to read concurrently, 1 if parallel reads are disabled. */
+  private int mParallelReadBlocks;
 
   /**
    * @return the default {@link InStreamOptions}
@@ -71,6 +73,7 @@ public final class OpenFileOptions {
     mUfsReadLocationPolicy = BlockLocationPolicy.Factory.create(blockLocationPolicyCreateOptions);
     mMaxUfsReadConcurrency =
         Configuration.getInt(PropertyKey.USER_UFS_BLOCK_READ_CONCURRENCY_MAX);
+    mParallelReadBlocks = Configuration.getInt(PropertyKey.USER_FILE_READ_PARALLEL_BLOCKS);
   }
 
   /**
@@ -130,6 +133,13 @@ public final class OpenFileOptions {
     return mUfsReadLocationPolicy;
   }
 
+  /**
+   * @return the number of blocks to read concurrently
+   */
+  public int getParallelReadBlocks() {
+    return mParallelReadBlocks;
+  }
+
   /**
    * @return the location policy class name of the UFS read location policy
    */
@@ -233,13 +243,23 @@ public final class OpenFileOptions {
     return this;
   }
 
+  /**
+   * @param parallelReadBlocks the number of blocks to read concurrently
+   * @return the updated options object
+   */
+  public OpenFileOptions setParallelReadBlocks(int parallelReadBlocks) {
+    mParallelReadBlocks = parallelReadBlocks;
+    return this;
+  }
+
   /**
    * @return the {@link InStreamOptions} representation of this object
    */
   public InStreamOptions toInStreamOptions() {
     return InStreamOptions.defaults().setReadType(mReadType).setLocationPolicy(mCacheLocationPolicy)
         .setMaxUfsReadConcurrency(mMaxUfsReadConcurrency)
-        .setUfsReadLocationPolicy(mUfsReadLocationPolicy);
+        .setUfsReadLocationPolicy(mUfsReadLocationPolicy)
+        .setParallelReadBlocks(mParallelReadBlocks);
   }
 
   @Override
@@ -254,12 +274,14 @@ public final class OpenFileOptions {
     return Objects.equal(mCacheLocationPolicy, that.mCacheLocationPolicy)
         && Objects.equal(mReadType, that.mReadType)
         && Objects.equal(mMaxUfsReadConcurrency, that.mMaxUfsReadConcurrency)
-        && Objects.equal(mUfsReadLocationPolicy, that.mUfsReadLocationPolicy);
+        && Objects.equal(mUfsReadLocationPolicy, that.mUfsReadLocationPolicy)
+        && Objects.equal(mParallelReadBlocks, that.mParallelReadBlocks);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mCacheLocationPolicy, mReadType, mMaxUfsReadConcurrency);
+    return Objects.hashCode(mCacheLocationPolicy, mReadType, mMaxUfsReadConcurrency,
+        mParallelReadBlocks);
   }
 
   @Override
@@ -267,6 +289,7 @@ public final class OpenFileOptions {
     return Objects.toStringHelper(this)
         .add("cacheLocationPolicy", mCacheLocationPolicy)
         .add("maxUfsReadConcurrency", mMaxUfsReadConcurrency)
+        .add("parallelReadBlocks", mParallelReadBlocks)
         .add("readType", mReadType)
         .add("ufsReadLocationPolicy", mUfsReadLocationPolicy)
         .toString();
@@ -12,6 +12,7 @@
 package alluxio.client.file;
 
 import alluxio.AlluxioURI;
+import alluxio.Constants;
 import alluxio.client.file.options.CreateDirectoryOptions;
 import alluxio.client.file.options.CreateFileOptions;
 import alluxio.client.file.options.DeleteOptions;
@@ -38,6 +39,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -199,6 +201,24 @@ public final class BaseFileSystemTest {
     }
   }
 
+  /**
+   * Tests that {@link BaseFileSystem#getStatus(AlluxioURI, GetStatusOptions)} serves repeated
+   * requests from the metadata cache.
+   */
+  @Test
+  public void getStatusCached() throws Exception {
+    Mockito.when(mFileContext.getMetadataCache())
+        .thenReturn(new MetadataCache(100, Constants.HOUR_MS, Arrays.asList("/")));
+    AlluxioURI file = new AlluxioURI("/file");
+    URIStatus status = new URIStatus(new FileInfo().setPath("/file").setCompleted(true));
+    GetStatusOptions getStatusOptions = GetStatusOptions.defaults();
+    Mockito.when(mFileSystemMasterClient.getStatus(file, getStatusOptions)).thenReturn(status);
+    Assert.assertSame(status, mFileSystem.getStatus(file, getStatusOptions));
+    Assert.assertSame(status, mFileSystem.getStatus(file, getStatusOptions));
+    Assert.assertTrue(mFileSystem.exists(file));
+    Mockito.verify(mFileSystemMasterClient).getStatus(file, getStatusOptions);
+  }
+
   /**
    * Tests for the {@link BaseFileSystem#listStatus(AlluxioURI, ListStatusOptions)} method.
    */
@@ -11,6 +11,10 @@
 
 package alluxio.client.file;
 
+import alluxio.Configuration;
+import alluxio.ConfigurationTestUtils;
+import alluxio.PropertyKey;
+import alluxio.client.ReadRange;
 import alluxio.client.ReadType;
 import alluxio.client.block.AlluxioBlockStore;
 import alluxio.client.block.BlockWorkerInfo;
@@ -126,6 +130,7 @@ public class FileInStreamTest {
 
   @After
   public void after() {
+    ConfigurationTestUtils.resetConfiguration();
     ClientTestUtils.resetClient();
   }
 
@@ -432,6 +437,139 @@ public class FileInStreamTest {
     Assert.assertEquals((byte) (BLOCK_LENGTH * 3), mTestStream.read());
   }
 
+  /**
+   * Tests that sequential reads open the stream of the next block before reaching it, and that
+   * the prefetched stream is used to read the next block.
+   */
+  @Test
+  public void prefetchNextBlock() throws IOException {
+    enablePrefetch();
+    PowerMockito.when(mContext.tryReservePrefetchMemory(Mockito.anyLong())).thenReturn(true);
+    int chunkSize = 10;
+    byte[] buffer = new byte[chunkSize];
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals(chunkSize, mTestStream.read(buffer));
+    }
+    Mockito.verify(mBlockStore).getInStream(Mockito.eq(1L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+
+    byte[] rest = new byte[(int) (2 * BLOCK_LENGTH)];
+    Assert.assertEquals(rest.length, mTestStream.read(rest));
+    Assert.assertArrayEquals(
+        BufferUtils.getIncreasingByteArray(3 * chunkSize, rest.length), rest);
+    // The prefetched stream of block 1 is reused instead of opening a new one.
+    Mockito.verify(mBlockStore).getInStream(Mockito.eq(1L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+    mTestStream.close();
+    Mockito.verify(mContext, Mockito.atLeastOnce()).releasePrefetchMemory(Mockito.anyLong());
+  }
+
+  /**
+   * Tests that no block is prefetched when the prefetch memory limit is reached.
+   */
+  @Test
+  public void prefetchMemoryLimit() throws IOException {
+    enablePrefetch();
+    PowerMockito.when(mContext.tryReservePrefetchMemory(Mockito.anyLong())).thenReturn(false);
+    byte[] buffer = new byte[10];
+    for (int i = 0; i < 3; i++) {
+      mTestStream.read(buffer);
+    }
+    Mockito.verify(mBlockStore, Mockito.never()).getInStream(Mockito.eq(1L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+  }
+  /**
+   * Tests that sequential reads ending on a block boundary prefetch the block starting there, and
+   * not the one after it.
+   */
+  @Test
+  public void prefetchAtBlockBoundary() throws IOException {
+    enablePrefetch();
+    PowerMockito.when(mContext.tryReservePrefetchMemory(Mockito.anyLong())).thenReturn(true);
+    byte[] buffer = new byte[(int) BLOCK_LENGTH / 2];
+    for (int i = 0; i < 2; i++) {
+      Assert.assertEquals(buffer.length, mTestStream.read(buffer));
+    }
+    Mockito.verify(mBlockStore).getInStream(Mockito.eq(1L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+    Mockito.verify(mBlockStore, Mockito.never()).getInStream(Mockito.eq(2L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+
+    // The prefetched stream of block 1 is used to read it
+    Assert.assertEquals((byte) BLOCK_LENGTH, mTestStream.read());
+    Mockito.verify(mBlockStore).getInStream(Mockito.eq(1L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+  }
+
+  /**
+   * Tests that no block is prefetched by default.
+   */
+  @Test
+  public void prefetchDisabledByDefault() throws IOException {
+    PowerMockito.when(mContext.tryReservePrefetchMemory(Mockito.anyLong())).thenReturn(true);
+    byte[] buffer = new byte[10];
+    for (int i = 0; i < 3; i++) {
+      mTestStream.read(buffer);
+    }
+    Mockito.verify(mBlockStore, Mockito.never()).getInStream(Mockito.eq(1L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+    Mockito.verify(mContext, Mockito.never()).tryReservePrefetchMemory(Mockito.anyLong());
+  }
+
+  /**
+   * Enables prefetching, and recreates the stream under test with it.
+   */
+  private void enablePrefetch() {
+    Configuration.set(PropertyKey.USER_FILE_PREFETCH_ENABLED, true);
+    mTestStream =
+        new FileInStream(mStatus, InStreamOptions.defaults().setReadType(ReadType.CACHE_PROMOTE)
+            .setCachePartiallyReadBlock(false), mContext);
+  }
+
+
+  /**
+   * Tests that a vectored read fills every range correctly, including ranges which overlap, are
+   * out of order or cross block boundaries, and that the ranges of one block share a stream.
+   */
+  @Test
+  public void readVectored() throws IOException {
+    List<ReadRange> ranges = Arrays.asList(
+        new ReadRange(BLOCK_LENGTH * 3 + 10, 20),
+        new ReadRange(5, 10),
+        new ReadRange(12, 30),
+        new ReadRange(BLOCK_LENGTH - 10, 25),
+        new ReadRange(FILE_LENGTH - 1, 1));
+    Assert.assertEquals(86, mTestStream.readVectored(ranges));
+    for (ReadRange range : ranges) {
+      Assert.assertArrayEquals(
+          BufferUtils.getIncreasingByteArray((int) range.getOffset(), range.getLength()),
+          range.getBuffer());
+    }
+    // The stream position is not changed by vectored reads.
+    Assert.assertEquals(FILE_LENGTH, mTestStream.remaining());
+    // One stream is opened for each of the blocks 0, 1 and 3.
+    Mockito.verify(mBlockStore).getInStream(Mockito.eq(0L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+    Mockito.verify(mBlockStore).getInStream(Mockito.eq(1L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+    Mockito.verify(mBlockStore, Mockito.never()).getInStream(Mockito.eq(2L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class));
+  }
+
+  /**
+   * Tests that a vectored read of a range past the end of the file fails.
+   */
+  @Test
+  public void readVectoredPastEnd() throws IOException {
+    try {
+      mTestStream.readVectored(Arrays.asList(new ReadRange(FILE_LENGTH - 5, 10)));
+      Assert.fail("reading a range past the end of the file should fail");
+    } catch (IllegalArgumentException e) {
+      Assert.assertEquals(String.format(PreconditionMessage.ERR_SEEK_PAST_END_OF_FILE.toString(),
+          FILE_LENGTH + 5), e.getMessage());
+    }
+  }
+
   /**
    * Tests that {@link IOException}s thrown by the {@link AlluxioBlockStore} are properly
    * propagated.
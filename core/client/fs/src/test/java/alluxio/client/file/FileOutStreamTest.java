@@ -23,9 +23,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import alluxio.AlluxioURI;
+import alluxio.Configuration;
 import alluxio.ConfigurationTestUtils;
 import alluxio.Constants;
 import alluxio.LoginUserRule;
+import alluxio.PropertyKey;
 import alluxio.client.UnderStorageType;
 import alluxio.client.WriteType;
 import alluxio.client.block.AlluxioBlockStore;
@@ -250,6 +252,26 @@ public class FileOutStreamTest {
         any(CompleteFileOptions.class));
   }
 
+  /**
+   * Tests that {@link FileOutStream#cancel()} cancels all the blocks when the full blocks are
+   * flushed in the background, so that none of them is committed.
+   */
+  @Test
+  public void cancelPipelined() throws Exception {
+    Configuration.set(PropertyKey.USER_FILE_WRITE_PIPELINE_ENABLED, "true");
+    mTestStream = createTestStream(FILE_NAME, OutStreamOptions.defaults()
+        .setBlockSizeBytes(BLOCK_LENGTH).setWriteType(WriteType.CACHE_THROUGH)
+        .setUfsPath(FILE_NAME.getPath()));
+    mTestStream.write(BufferUtils.getIncreasingByteArray((int) (BLOCK_LENGTH * 2.5)));
+    mTestStream.cancel();
+    for (long streamIndex = 0; streamIndex < 3; streamIndex++) {
+      Assert.assertTrue(mAlluxioOutStreamMap.get(streamIndex).isClosed());
+      Assert.assertTrue(mAlluxioOutStreamMap.get(streamIndex).isCanceled());
+    }
+    verify(mFileSystemMasterClient, times(0)).completeFile(any(AlluxioURI.class),
+        any(CompleteFileOptions.class));
+  }
+
   /**
    * Tests that {@link FileOutStream#flush()} will flush the under store stream.
    */
@@ -0,0 +1,142 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.wire.FileInfo;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for the {@link MetadataCache} class.
+ */
+public final class MetadataCacheTest {
+  private MetadataCache mCache;
+
+  /**
+   * Sets up the cache before a test runs.
+   */
+  @Before
+  public void before() {
+    mCache = new MetadataCache(100, Constants.HOUR_MS, Arrays.asList("/cached/"));
+  }
+
+  /**
+   * Tests that only the paths under the configured prefixes are cached.
+   */
+  @Test
+  public void cachedPaths() {
+    AlluxioURI cached = new AlluxioURI("/cached/file");
+    AlluxioURI notCached = new AlluxioURI("/cachedNot/file");
+    mCache.putStatus(cached, fileStatus(cached, true));
+    mCache.putStatus(notCached, fileStatus(notCached, true));
+    Assert.assertNotNull(mCache.getStatus(cached));
+    Assert.assertNull(mCache.getStatus(notCached));
+  }
+
+  /**
+   * Tests that the statuses of incomplete files are not cached.
+   */
+  @Test
+  public void incompleteFile() {
+    AlluxioURI file = new AlluxioURI("/cached/file");
+    mCache.putStatus(file, fileStatus(file, false));
+    Assert.assertNull(mCache.getStatus(file));
+
+    AlluxioURI dir = new AlluxioURI("/cached");
+    List<URIStatus> listing = new ArrayList<>();
+    listing.add(fileStatus(file, false));
+    mCache.putListing(dir, listing);
+    Assert.assertNull(mCache.listStatus(dir));
+  }
+
+  /**
+   * Tests that caching a listing caches the statuses of the children as well.
+   */
+  @Test
+  public void listing() {
+    AlluxioURI dir = new AlluxioURI("/cached");
+    AlluxioURI file = new AlluxioURI("/cached/file");
+    List<URIStatus> listing = new ArrayList<>();
+    listing.add(fileStatus(file, true));
+    mCache.putListing(dir, listing);
+    Assert.assertEquals(listing, mCache.listStatus(dir));
+    Assert.assertEquals(listing.get(0), mCache.getStatus(file));
+  }
+
+  /**
+   * Tests that invalidating a path invalidates the listing of its parent.
+   */
+  @Test
+  public void invalidate() {
+    AlluxioURI dir = new AlluxioURI("/cached");
+    AlluxioURI file = new AlluxioURI("/cached/file");
+    List<URIStatus> listing = new ArrayList<>();
+    listing.add(fileStatus(file, true));
+    mCache.putListing(dir, listing);
+    mCache.invalidate(file);
+    Assert.assertNull(mCache.getStatus(file));
+    Assert.assertNull(mCache.listStatus(dir));
+  }
+
+  /**
+   * Tests that invalidating a directory recursively invalidates everything under it, but not the
+   * paths sharing its name as a prefix.
+   */
+  @Test
+  public void invalidateRecursively() {
+    AlluxioURI dir = new AlluxioURI("/cached/dir");
+    AlluxioURI nested = new AlluxioURI("/cached/dir/nested/file");
+    AlluxioURI sibling = new AlluxioURI("/cached/dir2");
+    mCache.putStatus(dir, dirStatus(dir));
+    mCache.putStatus(nested, fileStatus(nested, true));
+    mCache.putStatus(sibling, dirStatus(sibling));
+    mCache.invalidateRecursively(dir);
+    Assert.assertNull(mCache.getStatus(dir));
+    Assert.assertNull(mCache.getStatus(nested));
+    Assert.assertNotNull(mCache.getStatus(sibling));
+  }
+
+  /**
+   * Tests that invalidating the ancestors of a path created along with its missing ancestors
+   * invalidates the listing of the deepest ancestor which existed.
+   */
+  @Test
+  public void invalidateAncestors() {
+    AlluxioURI root = new AlluxioURI("/cached");
+    AlluxioURI existing = new AlluxioURI("/cached/dir");
+    AlluxioURI created = new AlluxioURI("/cached/dir/new/nested/file");
+    List<URIStatus> listing = new ArrayList<>();
+    listing.add(dirStatus(existing));
+    mCache.putListing(root, listing);
+    mCache.putListing(existing, new ArrayList<URIStatus>());
+    mCache.invalidateAncestors(created);
+    Assert.assertNull(mCache.listStatus(existing));
+    Assert.assertNull(mCache.listStatus(root));
+    Assert.assertNull(mCache.getStatus(existing));
+  }
+
+  private static URIStatus fileStatus(AlluxioURI path, boolean completed) {
+    return new URIStatus(new FileInfo().setPath(path.getPath()).setCompleted(completed));
+  }
+
+  private static URIStatus dirStatus(AlluxioURI path) {
+    return new URIStatus(new FileInfo().setPath(path.getPath()).setFolder(true));
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.client.ReadType;
+import alluxio.client.block.AlluxioBlockStore;
+import alluxio.client.block.stream.BlockInStream;
+import alluxio.client.block.stream.TestBlockInStream;
+import alluxio.client.file.options.InStreamOptions;
+import alluxio.client.util.ClientTestUtils;
+import alluxio.exception.status.UnavailableException;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.FileInfo;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the {@link ParallelFileInStream} class.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({FileSystemContext.class, AlluxioBlockStore.class})
+public class ParallelFileInStreamTest {
+  private static final long BLOCK_LENGTH = 100L;
+  private static final long FILE_LENGTH = 350L;
+  private static final int NUM_BLOCKS = (int) ((FILE_LENGTH - 1) / BLOCK_LENGTH) + 1;
+
+  private AlluxioBlockStore mBlockStore;
+  private FileSystemContext mContext;
+  private URIStatus mStatus;
+  private FileInStream mTestStream;
+
+  /**
+   * Sets up the context and streams before a test runs.
+   */
+  @Before
+  public void before() throws Exception {
+    ClientTestUtils.setSmallBufferSizes();
+
+    mContext = PowerMockito.mock(FileSystemContext.class);
+    mBlockStore = Mockito.mock(AlluxioBlockStore.class);
+    PowerMockito.mockStatic(AlluxioBlockStore.class);
+    PowerMockito.when(AlluxioBlockStore.create(mContext)).thenReturn(mBlockStore);
+
+    List<Long> blockIds = new ArrayList<>();
+    for (int i = 0; i < NUM_BLOCKS; i++) {
+      blockIds.add((long) i);
+    }
+    Mockito.when(mBlockStore.getInStream(Mockito.anyLong(),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class)))
+        .thenAnswer(new Answer<BlockInStream>() {
+          @Override
+          public BlockInStream answer(InvocationOnMock invocation) throws Throwable {
+            long i = (Long) invocation.getArguments()[0];
+            int length = (int) Math.min(BLOCK_LENGTH, FILE_LENGTH - i * BLOCK_LENGTH);
+            byte[] input = BufferUtils.getIncreasingByteArray((int) (i * BLOCK_LENGTH), length);
+            return new TestBlockInStream(input, i, input.length, false);
+          }
+        });
+    mStatus = new URIStatus(new FileInfo().setBlockSizeBytes(BLOCK_LENGTH).setLength(FILE_LENGTH)
+        .setBlockIds(blockIds));
+    mTestStream = FileInStream.create(mStatus, InStreamOptions.defaults()
+        .setReadType(ReadType.NO_CACHE).setParallelReadBlocks(2), mContext);
+  }
+
+  @After
+  public void after() throws Exception {
+    mTestStream.close();
+    ClientTestUtils.resetClient();
+  }
+
+  /**
+   * Tests that the parallel stream is only used when requested.
+   */
+  @Test
+  public void create() {
+    Assert.assertTrue(mTestStream instanceof ParallelFileInStream);
+    Assert.assertFalse(FileInStream.create(mStatus,
+        InStreamOptions.defaults().setParallelReadBlocks(1), mContext)
+        instanceof ParallelFileInStream);
+  }
+
+  /**
+   * Tests that reading the whole file returns the blocks in order.
+   */
+  @Test
+  public void readFile() throws Exception {
+    byte[] buffer = new byte[(int) FILE_LENGTH];
+    int offset = 0;
+    while (offset < buffer.length) {
+      int bytesRead = mTestStream.read(buffer, offset, Math.min(30, buffer.length - offset));
+      Assert.assertTrue(bytesRead > 0);
+      offset += bytesRead;
+    }
+    Assert.assertArrayEquals(BufferUtils.getIncreasingByteArray((int) FILE_LENGTH), buffer);
+    Assert.assertEquals(-1, mTestStream.read());
+    Assert.assertEquals(-1, mTestStream.read(buffer));
+  }
+
+  /**
+   * Tests that seeking discards the fetched data and continues from the new position.
+   */
+  @Test
+  public void seek() throws Exception {
+    Assert.assertEquals(0, mTestStream.read());
+    mTestStream.seek(BLOCK_LENGTH * 2 + 10);
+    Assert.assertEquals((byte) (BLOCK_LENGTH * 2 + 10), (byte) mTestStream.read());
+    mTestStream.seek(5);
+    byte[] buffer = new byte[(int) BLOCK_LENGTH];
+    Assert.assertEquals(buffer.length, mTestStream.read(buffer));
+    Assert.assertArrayEquals(BufferUtils.getIncreasingByteArray(5, buffer.length), buffer);
+    Assert.assertEquals(FILE_LENGTH - 5 - BLOCK_LENGTH, mTestStream.remaining());
+  }
+
+  /**
+   * Tests that failures to open a block are propagated to the reader.
+   */
+  @Test
+  public void failGetInStream() throws Exception {
+    Mockito.when(mBlockStore.getInStream(Mockito.eq(1L),
+        Mockito.any(Protocol.OpenUfsBlockOptions.class), Mockito.any(InStreamOptions.class)))
+        .thenThrow(new UnavailableException("test exception"));
+    try {
+      mTestStream.read(new byte[(int) FILE_LENGTH]);
+      Assert.fail("opening the second block should fail");
+    } catch (IOException e) {
+      Assert.assertEquals("test exception", e.getMessage());
+    }
+  }
+}
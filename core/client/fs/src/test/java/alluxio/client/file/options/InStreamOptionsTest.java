@@ -38,6 +38,7 @@ public class InStreamOptionsTest {
     InStreamOptions options = InStreamOptions.defaults();
     Assert.assertEquals(AlluxioStorageType.PROMOTE, options.getAlluxioStorageType());
     Assert.assertEquals(Constants.MB, options.getSeekBufferSizeBytes());
+    Assert.assertEquals(1, options.getParallelReadBlocks());
   }
 
   /**
@@ -56,6 +57,7 @@ public class InStreamOptionsTest {
     options.setSeekBufferSizeBytes(Constants.MB);
     options.setUfsReadLocationPolicy(blockLocationPolicy);
     options.setMaxUfsReadConcurrency(5);
+    options.setParallelReadBlocks(4);
 
     Assert.assertEquals(options.getAlluxioStorageType(), readType.getAlluxioStorageType());
     Assert.assertEquals(policy, options.getCacheLocationPolicy());
@@ -63,6 +65,7 @@ public class InStreamOptionsTest {
     Assert.assertEquals(Constants.MB, options.getSeekBufferSizeBytes());
     Assert.assertEquals(blockLocationPolicy, options.getUfsReadLocationPolicy());
     Assert.assertEquals(5, options.getMaxUfsReadConcurrency());
+    Assert.assertEquals(4, options.getParallelReadBlocks());
   }
 
   /**
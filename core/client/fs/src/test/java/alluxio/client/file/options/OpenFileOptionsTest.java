@@ -36,6 +36,7 @@ public class OpenFileOptionsTest {
     Assert.assertEquals(mDefaultReadType, options.getReadType());
     Assert.assertEquals(Integer.MAX_VALUE, options.getMaxUfsReadConcurrency());
     Assert.assertTrue(options.getUfsReadLocationPolicy() instanceof LocalFirstPolicy);
+    Assert.assertEquals(1, options.getParallelReadBlocks());
   }
 
   /**
@@ -51,11 +52,13 @@ public class OpenFileOptionsTest {
     options.setCacheLocationPolicy(policy);
     options.setMaxUfsReadConcurrency(5);
     options.setUfsReadLocationPolicy((BlockLocationPolicy) policy);
+    options.setParallelReadBlocks(4);
 
     Assert.assertEquals(readType, options.getReadType());
     Assert.assertEquals(policy, options.getCacheLocationPolicy());
     Assert.assertEquals(5, options.getMaxUfsReadConcurrency());
     Assert.assertEquals(policy, options.getUfsReadLocationPolicy());
+    Assert.assertEquals(4, options.getParallelReadBlocks());
   }
 
   /**
@@ -72,6 +75,7 @@ public class OpenFileOptionsTest {
         inStreamOptions.getUfsReadLocationPolicy());
     Assert.assertEquals(options.getMaxUfsReadConcurrency(),
         inStreamOptions.getMaxUfsReadConcurrency());
+    Assert.assertEquals(options.getParallelReadBlocks(), inStreamOptions.getParallelReadBlocks());
   }
 
   @Test
@@ -12,6 +12,7 @@
 package alluxio.hadoop;
 
 import alluxio.AlluxioURI;
+import alluxio.client.ReadRange;
 import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.FileSystemContext;
@@ -31,6 +32,7 @@ import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -163,6 +165,24 @@ public class HdfsFileInputStream extends InputStream implements Seekable, Positi
     }
   }
 
+  /**
+   * Reads a batch of ranges of the file into their destination buffers without changing the
+   * current position. Nearby ranges are coalesced into fewer requests to the workers, see
+   * {@link FileInStream#readVectored(List)}.
+   *
+   * @param ranges the ranges to read, each of them must lie within the file
+   */
+  public void readVectored(List<ReadRange> ranges) throws IOException {
+    if (mClosed) {
+      throw new IOException(ExceptionMessage.READ_CLOSED_STREAM.getMessage());
+    }
+
+    long bytesRead = mInputStream.readVectored(ranges);
+    if (mStatistics != null) {
+      mStatistics.incrementBytesRead(bytesRead);
+    }
+  }
+
   /**
    * Seek to the given offset from the start of the file. The next {@link #read()} will be from that
    * location. Can't seek past the end of the file.
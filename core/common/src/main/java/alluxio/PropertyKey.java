@@ -41,9 +41,23 @@ public class PropertyKey {
       create(Name.CONF_DIR, String.format("${%s}/conf", Name.HOME));
   public static final PropertyKey DEBUG = create(Name.DEBUG, false);
   public static final PropertyKey HOME = create(Name.HOME, "/opt/alluxio");
+  public static final PropertyKey KEY_VALUE_COMPACTION_DELETION_DELAY_MS =
+      create(Name.KEY_VALUE_COMPACTION_DELETION_DELAY_MS, 600000);
+  public static final PropertyKey KEY_VALUE_COMPACTION_ENABLED =
+      create(Name.KEY_VALUE_COMPACTION_ENABLED, false);
   public static final PropertyKey KEY_VALUE_ENABLED = create(Name.KEY_VALUE_ENABLED, false);
+  public static final PropertyKey KEY_VALUE_PARTITION_FORMAT =
+      create(Name.KEY_VALUE_PARTITION_FORMAT, "LINEAR_PROBING");
   public static final PropertyKey KEY_VALUE_PARTITION_SIZE_BYTES_MAX =
       create(Name.KEY_VALUE_PARTITION_SIZE_BYTES_MAX, "512MB");
+  public static final PropertyKey KEY_VALUE_READER_LOCAL_PARTITIONS_IDLE_TIMEOUT_MS =
+      create(Name.KEY_VALUE_READER_LOCAL_PARTITIONS_IDLE_TIMEOUT_MS, 60000);
+  public static final PropertyKey KEY_VALUE_READER_LOCAL_PARTITIONS_MAX =
+      create(Name.KEY_VALUE_READER_LOCAL_PARTITIONS_MAX, 16);
+  public static final PropertyKey KEY_VALUE_WORKER_PARTITION_CACHE_SIZE =
+      create(Name.KEY_VALUE_WORKER_PARTITION_CACHE_SIZE, "1GB");
+  public static final PropertyKey KEY_VALUE_WRITER_THREADS =
+      create(Name.KEY_VALUE_WRITER_THREADS, 1);
   public static final PropertyKey LOGGER_TYPE = create(Name.LOGGER_TYPE, "Console");
   public static final PropertyKey LOGS_DIR =
       create(Name.LOGS_DIR, String.format("${%s}/logs", Name.WORK_DIR));
@@ -55,6 +69,10 @@ public class PropertyKey {
       create(Name.NETWORK_NETTY_HEARTBEAT_TIMEOUT_MS, 30000);
   public static final PropertyKey NETWORK_THRIFT_FRAME_SIZE_BYTES_MAX =
       create(Name.NETWORK_THRIFT_FRAME_SIZE_BYTES_MAX, "16MB");
+  public static final PropertyKey NETWORK_THRIFT_SERVER_TYPE =
+      create(Name.NETWORK_THRIFT_SERVER_TYPE, "THREAD_POOL");
+  public static final PropertyKey NETWORK_THRIFT_SERVER_SELECTOR_THREADS =
+      create(Name.NETWORK_THRIFT_SERVER_SELECTOR_THREADS, 4);
   public static final PropertyKey SITE_CONF_DIR =
       create(Name.SITE_CONF_DIR, "${user.home}/.alluxio/,/etc/alluxio/");
 
@@ -105,8 +123,40 @@ public class PropertyKey {
   public static final PropertyKey UNDERFS_HDFS_REMOTE = create(Name.UNDERFS_HDFS_REMOTE, false);
   public static final PropertyKey UNDERFS_OBJECT_STORE_SERVICE_THREADS =
       create(Name.UNDERFS_OBJECT_STORE_SERVICE_THREADS, 20);
+  public static final PropertyKey UNDERFS_OBJECT_STORE_BULK_OPERATION_RETRY =
+      create(Name.UNDERFS_OBJECT_STORE_BULK_OPERATION_RETRY, 3);
   public static final PropertyKey UNDERFS_OBJECT_STORE_MOUNT_SHARED_PUBLICLY =
       create(Name.UNDERFS_OBJECT_STORE_MOUNT_SHARED_PUBLICLY, false);
+  public static final PropertyKey UNDERFS_OBJECT_STORE_READ_PARALLELISM =
+      create(Name.UNDERFS_OBJECT_STORE_READ_PARALLELISM, 1);
+  public static final PropertyKey UNDERFS_OBJECT_STORE_READ_RANGE_SIZE =
+      create(Name.UNDERFS_OBJECT_STORE_READ_RANGE_SIZE, "8MB");
+  public static final PropertyKey UNDERFS_OBJECT_STORE_READ_BUFFER_SIZE_MAX =
+      create(Name.UNDERFS_OBJECT_STORE_READ_BUFFER_SIZE_MAX, "256MB");
+  public static final PropertyKey UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED =
+      create(Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED, true);
+  public static final PropertyKey UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_PART_SIZE =
+      create(Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_PART_SIZE, "64MB");
+  public static final PropertyKey UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFER_SIZE_MAX =
+      create(Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFER_SIZE_MAX, "512MB");
+  public static final PropertyKey UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFER_WAIT_MS =
+      create(Name.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFER_WAIT_MS, 1000);
+  public static final PropertyKey UNDERFS_SCHEDULER_ENABLED =
+      create(Name.UNDERFS_SCHEDULER_ENABLED, false);
+  public static final PropertyKey UNDERFS_SCHEDULER_CONCURRENCY_MAX =
+      create(Name.UNDERFS_SCHEDULER_CONCURRENCY_MAX, 64);
+  public static final PropertyKey UNDERFS_SCHEDULER_FOREGROUND_RATE_LIMIT =
+      create(Name.UNDERFS_SCHEDULER_FOREGROUND_RATE_LIMIT, 0);
+  public static final PropertyKey UNDERFS_SCHEDULER_METADATA_RATE_LIMIT =
+      create(Name.UNDERFS_SCHEDULER_METADATA_RATE_LIMIT, 0);
+  public static final PropertyKey UNDERFS_SCHEDULER_PERSIST_RATE_LIMIT =
+      create(Name.UNDERFS_SCHEDULER_PERSIST_RATE_LIMIT, 0);
+  public static final PropertyKey UNDERFS_SCHEDULER_GC_RATE_LIMIT =
+      create(Name.UNDERFS_SCHEDULER_GC_RATE_LIMIT, 0);
+  public static final PropertyKey UNDERFS_SCHEDULER_AGING_MS =
+      create(Name.UNDERFS_SCHEDULER_AGING_MS, 1000);
+  public static final PropertyKey UNDERFS_SCHEDULER_THROTTLE_RETRY =
+      create(Name.UNDERFS_SCHEDULER_THROTTLE_RETRY, 5);
   public static final PropertyKey UNDERFS_OSS_CONNECT_MAX =
       create(Name.UNDERFS_OSS_CONNECT_MAX, 1024);
   public static final PropertyKey UNDERFS_OSS_CONNECT_TIMEOUT =
@@ -248,6 +298,8 @@ public class PropertyKey {
   public static final PropertyKey MASTER_LINEAGE_RECOMPUTE_LOG_PATH =
       create(Name.MASTER_LINEAGE_RECOMPUTE_LOG_PATH,
           String.format("${%s}/recompute.log", Name.LOGS_DIR));
+  public static final PropertyKey MASTER_METADATA_LOAD_BATCH_SIZE =
+      create(Name.MASTER_METADATA_LOAD_BATCH_SIZE, 1000);
   public static final PropertyKey MASTER_PRINCIPAL = create(Name.MASTER_PRINCIPAL, null);
   /**
    * @deprecated since version 1.4 and will be removed in version 2.0,
@@ -257,6 +309,8 @@ public class PropertyKey {
   public static final PropertyKey MASTER_RETRY =
       create(Name.MASTER_RETRY, String.format("${%s}", Name.USER_RPC_RETRY_MAX_NUM_RETRY));
   public static final PropertyKey MASTER_RPC_PORT = create(Name.MASTER_RPC_PORT, 19998);
+  public static final PropertyKey MASTER_RPC_SLOW_THRESHOLD_MS =
+      create(Name.MASTER_RPC_SLOW_THRESHOLD_MS, 1000);
   public static final PropertyKey MASTER_STARTUP_CONSISTENCY_CHECK_ENABLED =
       create(Name.MASTER_STARTUP_CONSISTENCY_CHECK_ENABLED, true);
   public static final PropertyKey MASTER_TIERED_STORE_GLOBAL_LEVEL0_ALIAS =
@@ -273,6 +327,10 @@ public class PropertyKey {
       create(Name.MASTER_UFS_PATH_CACHE_CAPACITY, 100000);
   public static final PropertyKey MASTER_UFS_PATH_CACHE_THREADS =
       create(Name.MASTER_UFS_PATH_CACHE_THREADS, 64);
+  public static final PropertyKey MASTER_UFS_STATUS_CACHE_CAPACITY =
+      create(Name.MASTER_UFS_STATUS_CACHE_CAPACITY, 100000);
+  public static final PropertyKey MASTER_UFS_STATUS_CACHE_TTL_MS =
+      create(Name.MASTER_UFS_STATUS_CACHE_TTL_MS, 0);
   public static final PropertyKey MASTER_WEB_BIND_HOST =
       create(Name.MASTER_WEB_BIND_HOST, "0.0.0.0");
   public static final PropertyKey MASTER_WEB_HOSTNAME = create(Name.MASTER_WEB_HOSTNAME, null);
@@ -447,6 +505,10 @@ public class PropertyKey {
   public static final PropertyKey WORKER_WEB_PORT = create(Name.WORKER_WEB_PORT, 30000);
   public static final PropertyKey WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS =
       create(Name.WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS, 300000);
+  public static final PropertyKey WORKER_UFS_BLOCK_READ_COALESCE_ENABLED =
+      create(Name.WORKER_UFS_BLOCK_READ_COALESCE_ENABLED, true);
+  public static final PropertyKey WORKER_UFS_BLOCK_READ_COALESCE_WAIT_MS =
+      create(Name.WORKER_UFS_BLOCK_READ_COALESCE_WAIT_MS, 10000);
 
   //
   // Proxy related properties
@@ -500,10 +562,20 @@ public class PropertyKey {
       create(Name.USER_FILE_METADATA_LOAD_TYPE, "Once");
   public static final PropertyKey USER_FILE_PASSIVE_CACHE_ENABLED =
       create(Name.USER_FILE_PASSIVE_CACHE_ENABLED, true);
+  public static final PropertyKey USER_FILE_PREFETCH_ENABLED =
+      create(Name.USER_FILE_PREFETCH_ENABLED, false);
+  public static final PropertyKey USER_FILE_PREFETCH_MEMORY_MAX =
+      create(Name.USER_FILE_PREFETCH_MEMORY_MAX, "256MB");
   public static final PropertyKey USER_FILE_READ_TYPE_DEFAULT =
       create(Name.USER_FILE_READ_TYPE_DEFAULT, "CACHE_PROMOTE");
+  public static final PropertyKey USER_FILE_READ_PARALLEL_BLOCKS =
+      create(Name.USER_FILE_READ_PARALLEL_BLOCKS, 1);
   public static final PropertyKey USER_FILE_SEEK_BUFFER_SIZE_BYTES =
       create(Name.USER_FILE_SEEK_BUFFER_SIZE_BYTES, "1MB");
+  public static final PropertyKey USER_FILE_VECTORED_READ_MERGE_GAP_BYTES =
+      create(Name.USER_FILE_VECTORED_READ_MERGE_GAP_BYTES, "256KB");
+  public static final PropertyKey USER_FILE_VECTORED_READ_MERGE_SIZE_MAX =
+      create(Name.USER_FILE_VECTORED_READ_MERGE_SIZE_MAX, "8MB");
   public static final PropertyKey USER_FILE_WAITCOMPLETED_POLL_MS =
       create(Name.USER_FILE_WAITCOMPLETED_POLL_MS, 1000);
   public static final PropertyKey USER_FILE_WORKER_CLIENT_THREADS =
@@ -514,6 +586,10 @@ public class PropertyKey {
       create(Name.USER_FILE_WORKER_CLIENT_POOL_GC_THRESHOLD_MS, 300 * Constants.SECOND_MS);
   public static final PropertyKey USER_FILE_WRITE_LOCATION_POLICY =
       create(Name.USER_FILE_WRITE_LOCATION_POLICY, "alluxio.client.file.policy.LocalFirstPolicy");
+  public static final PropertyKey USER_FILE_WRITE_PIPELINE_ENABLED =
+      create(Name.USER_FILE_WRITE_PIPELINE_ENABLED, true);
+  public static final PropertyKey USER_FILE_WRITE_PIPELINE_THREADS =
+      create(Name.USER_FILE_WRITE_PIPELINE_THREADS, 16);
   public static final PropertyKey USER_FILE_WRITE_AVOID_EVICTION_POLICY_RESERVED_BYTES =
       create(Name.USER_FILE_WRITE_AVOID_EVICTION_POLICY_RESERVED_BYTES, "0MB");
   public static final PropertyKey USER_FILE_WRITE_TYPE_DEFAULT =
@@ -530,6 +606,14 @@ public class PropertyKey {
       create(Name.USER_LOCAL_READER_PACKET_SIZE_BYTES, "8MB");
   public static final PropertyKey USER_LOCAL_WRITER_PACKET_SIZE_BYTES =
       create(Name.USER_LOCAL_WRITER_PACKET_SIZE_BYTES, "64KB");
+  public static final PropertyKey USER_METADATA_CACHE_ENABLED =
+      create(Name.USER_METADATA_CACHE_ENABLED, false);
+  public static final PropertyKey USER_METADATA_CACHE_EXPIRATION_TIME_MS =
+      create(Name.USER_METADATA_CACHE_EXPIRATION_TIME_MS, 10000);
+  public static final PropertyKey USER_METADATA_CACHE_MAX_SIZE =
+      create(Name.USER_METADATA_CACHE_MAX_SIZE, 100000);
+  public static final PropertyKey USER_METADATA_CACHE_PATHS =
+      create(Name.USER_METADATA_CACHE_PATHS, "/");
   public static final PropertyKey USER_NETWORK_NETTY_CHANNEL =
       create(Name.USER_NETWORK_NETTY_CHANNEL, null);
   public static final PropertyKey USER_NETWORK_NETTY_TIMEOUT_MS =
@@ -604,6 +688,15 @@ public class PropertyKey {
   //
   // FUSE integration related properties
   //
+  /** Maximum number of statuses of Alluxio paths to cache, including the paths not existing. */
+  public static final PropertyKey FUSE_CACHED_ATTRIBUTES_MAX =
+      create(Name.FUSE_CACHED_ATTRIBUTES_MAX, 100000);
+  /** Time to live of the statuses and directory entries cached, also given to the kernel. */
+  public static final PropertyKey FUSE_CACHED_ATTRIBUTES_TTL_MS =
+      create(Name.FUSE_CACHED_ATTRIBUTES_TTL_MS, 1000);
+  /** Maximum number of directories whose entries are cached. */
+  public static final PropertyKey FUSE_CACHED_DIRECTORIES_MAX =
+      create(Name.FUSE_CACHED_DIRECTORIES_MAX, 1000);
   /** Maximum number of Alluxio paths to cache for fuse conversion. */
   public static final PropertyKey FUSE_CACHED_PATHS_MAX = create(Name.FUSE_CACHED_PATHS_MAX, 500);
   /** Have the fuse process log every FS request. */
@@ -612,6 +705,8 @@ public class PropertyKey {
   /** FUSE file system name. */
   public static final PropertyKey FUSE_FS_NAME = create(Name.FUSE_FS_NAME, "alluxio-fuse");
   public static final PropertyKey FUSE_FS_ROOT = create(Name.FUSE_FS_ROOT, "/");
+  /** Number of threads reading ahead and writing behind. */
+  public static final PropertyKey FUSE_IO_THREADS = create(Name.FUSE_IO_THREADS, 8);
   /**
    * Passed to fuse-mount, maximum granularity of write operations:
    * Capped by the kernel to 128KB max (as of Linux 3.16.0),.
@@ -619,6 +714,18 @@ public class PropertyKey {
   public static final PropertyKey FUSE_MAXWRITE_BYTES = create(Name.FUSE_MAXWRITE_BYTES, 131072);
   public static final PropertyKey FUSE_MOUNT_DEFAULT =
       create(Name.FUSE_MOUNT_DEFAULT, "/mnt/alluxio");
+  /** Maximum read-ahead window of the files read sequentially. */
+  public static final PropertyKey FUSE_READ_AHEAD_BYTES_MAX =
+      create(Name.FUSE_READ_AHEAD_BYTES_MAX, "8MB");
+  /** Maximum bytes buffered by all the open files read sequentially. */
+  public static final PropertyKey FUSE_READ_AHEAD_BUFFERED_BYTES_MAX =
+      create(Name.FUSE_READ_AHEAD_BUFFERED_BYTES_MAX, "128MB");
+  /** Size of the buffers of the bytes written behind the writes. */
+  public static final PropertyKey FUSE_WRITE_BUFFER_BYTES =
+      create(Name.FUSE_WRITE_BUFFER_BYTES, "4MB");
+  /** Maximum bytes written and not yet written to Alluxio by all the open files. */
+  public static final PropertyKey FUSE_WRITE_DIRTY_BYTES_MAX =
+      create(Name.FUSE_WRITE_DIRTY_BYTES_MAX, "64MB");
 
   //
   // Security related properties
@@ -716,9 +823,22 @@ public class PropertyKey {
         "alluxio.integration.worker.resource.mem";
     public static final String INTEGRATION_YARN_WORKERS_PER_HOST_MAX =
         "alluxio.integration.yarn.workers.per.host.max";
+    public static final String KEY_VALUE_COMPACTION_DELETION_DELAY_MS =
+        "alluxio.keyvalue.compaction.deletion.delay.ms";
+    public static final String KEY_VALUE_COMPACTION_ENABLED =
+        "alluxio.keyvalue.compaction.enabled";
     public static final String KEY_VALUE_ENABLED = "alluxio.keyvalue.enabled";
+    public static final String KEY_VALUE_PARTITION_FORMAT =
+        "alluxio.keyvalue.partition.format";
     public static final String KEY_VALUE_PARTITION_SIZE_BYTES_MAX =
         "alluxio.keyvalue.partition.size.bytes.max";
+    public static final String KEY_VALUE_READER_LOCAL_PARTITIONS_IDLE_TIMEOUT_MS =
+        "alluxio.keyvalue.reader.local.partitions.idle.timeout.ms";
+    public static final String KEY_VALUE_READER_LOCAL_PARTITIONS_MAX =
+        "alluxio.keyvalue.reader.local.partitions.max";
+    public static final String KEY_VALUE_WORKER_PARTITION_CACHE_SIZE =
+        "alluxio.keyvalue.worker.partition.cache.size";
+    public static final String KEY_VALUE_WRITER_THREADS = "alluxio.keyvalue.writer.threads";
     public static final String LOGGER_TYPE = "alluxio.logger.type";
     public static final String LOGS_DIR = "alluxio.logs.dir";
     public static final String METRICS_CONF_FILE = "alluxio.metrics.conf.file";
@@ -728,6 +848,9 @@ public class PropertyKey {
         "alluxio.network.netty.heartbeat.timeout.ms";
     public static final String NETWORK_THRIFT_FRAME_SIZE_BYTES_MAX =
         "alluxio.network.thrift.frame.size.bytes.max";
+    public static final String NETWORK_THRIFT_SERVER_TYPE = "alluxio.network.thrift.server.type";
+    public static final String NETWORK_THRIFT_SERVER_SELECTOR_THREADS =
+        "alluxio.network.thrift.server.selector.threads";
     public static final String SITE_CONF_DIR = "alluxio.site.conf.dir";
     public static final String TEST_MODE = "alluxio.test.mode";
     public static final String VERSION = "alluxio.version";
@@ -761,8 +884,39 @@ public class PropertyKey {
     public static final String UNDERFS_HDFS_REMOTE = "alluxio.underfs.hdfs.remote";
     public static final String UNDERFS_OBJECT_STORE_SERVICE_THREADS =
         "alluxio.underfs.object.store.service.threads";
+    public static final String UNDERFS_OBJECT_STORE_BULK_OPERATION_RETRY =
+        "alluxio.underfs.object.store.bulk.operation.retry";
     public static final String UNDERFS_OBJECT_STORE_MOUNT_SHARED_PUBLICLY =
         "alluxio.underfs.object.store.mount.shared.publicly";
+    public static final String UNDERFS_OBJECT_STORE_READ_PARALLELISM =
+        "alluxio.underfs.object.store.read.parallelism";
+    public static final String UNDERFS_OBJECT_STORE_READ_RANGE_SIZE =
+        "alluxio.underfs.object.store.read.range.size";
+    public static final String UNDERFS_OBJECT_STORE_READ_BUFFER_SIZE_MAX =
+        "alluxio.underfs.object.store.read.buffer.size.max";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED =
+        "alluxio.underfs.object.store.streaming.upload.enabled";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_PART_SIZE =
+        "alluxio.underfs.object.store.streaming.upload.part.size";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFER_SIZE_MAX =
+        "alluxio.underfs.object.store.streaming.upload.buffer.size.max";
+    public static final String UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFER_WAIT_MS =
+        "alluxio.underfs.object.store.streaming.upload.buffer.wait.ms";
+    public static final String UNDERFS_SCHEDULER_ENABLED = "alluxio.underfs.scheduler.enabled";
+    public static final String UNDERFS_SCHEDULER_CONCURRENCY_MAX =
+        "alluxio.underfs.scheduler.concurrency.max";
+    public static final String UNDERFS_SCHEDULER_FOREGROUND_RATE_LIMIT =
+        "alluxio.underfs.scheduler.foreground.rate.limit";
+    public static final String UNDERFS_SCHEDULER_METADATA_RATE_LIMIT =
+        "alluxio.underfs.scheduler.metadata.rate.limit";
+    public static final String UNDERFS_SCHEDULER_PERSIST_RATE_LIMIT =
+        "alluxio.underfs.scheduler.persist.rate.limit";
+    public static final String UNDERFS_SCHEDULER_GC_RATE_LIMIT =
+        "alluxio.underfs.scheduler.gc.rate.limit";
+    public static final String UNDERFS_SCHEDULER_AGING_MS =
+        "alluxio.underfs.scheduler.aging.ms";
+    public static final String UNDERFS_SCHEDULER_THROTTLE_RETRY =
+        "alluxio.underfs.scheduler.throttle.retry";
     public static final String UNDERFS_OSS_CONNECT_MAX = "alluxio.underfs.oss.connection.max";
     public static final String UNDERFS_OSS_CONNECT_TIMEOUT =
         "alluxio.underfs.oss.connection.timeout.ms";
@@ -860,9 +1014,13 @@ public class PropertyKey {
         "alluxio.master.lineage.recompute.interval.ms";
     public static final String MASTER_LINEAGE_RECOMPUTE_LOG_PATH =
         "alluxio.master.lineage.recompute.log.path";
+    public static final String MASTER_METADATA_LOAD_BATCH_SIZE =
+        "alluxio.master.metadata.load.batch.size";
     public static final String MASTER_PRINCIPAL = "alluxio.master.principal";
     public static final String MASTER_RETRY = "alluxio.master.retry";
     public static final String MASTER_RPC_PORT = "alluxio.master.port";
+    public static final String MASTER_RPC_SLOW_THRESHOLD_MS =
+        "alluxio.master.rpc.slow.threshold.ms";
     public static final String MASTER_STARTUP_CONSISTENCY_CHECK_ENABLED =
         "alluxio.master.startup.consistency.check.enabled";
     public static final String MASTER_TIERED_STORE_GLOBAL_LEVEL0_ALIAS =
@@ -879,6 +1037,10 @@ public class PropertyKey {
         "alluxio.master.ufs.path.cache.capacity";
     public static final String MASTER_UFS_PATH_CACHE_THREADS =
         "alluxio.master.ufs.path.cache.threads";
+    public static final String MASTER_UFS_STATUS_CACHE_CAPACITY =
+        "alluxio.master.ufs.status.cache.capacity";
+    public static final String MASTER_UFS_STATUS_CACHE_TTL_MS =
+        "alluxio.master.ufs.status.cache.ttl.ms";
     public static final String MASTER_WEB_BIND_HOST = "alluxio.master.web.bind.host";
     public static final String MASTER_WEB_HOSTNAME = "alluxio.master.web.hostname";
     public static final String MASTER_WEB_PORT = "alluxio.master.web.port";
@@ -987,6 +1149,10 @@ public class PropertyKey {
     public static final String WORKER_WEB_PORT = "alluxio.worker.web.port";
     public static final String WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS =
         "alluxio.worker.ufs.block.open.timeout.ms";
+    public static final String WORKER_UFS_BLOCK_READ_COALESCE_ENABLED =
+        "alluxio.worker.ufs.block.read.coalesce.enabled";
+    public static final String WORKER_UFS_BLOCK_READ_COALESCE_WAIT_MS =
+        "alluxio.worker.ufs.block.read.coalesce.wait.ms";
 
     //
     // Proxy related properties
@@ -1030,9 +1196,18 @@ public class PropertyKey {
         "alluxio.user.file.metadata.load.type";
     public static final String USER_FILE_PASSIVE_CACHE_ENABLED =
         "alluxio.user.file.passive.cache.enabled";
+    public static final String USER_FILE_PREFETCH_ENABLED = "alluxio.user.file.prefetch.enabled";
+    public static final String USER_FILE_PREFETCH_MEMORY_MAX =
+        "alluxio.user.file.prefetch.memory.max";
     public static final String USER_FILE_READ_TYPE_DEFAULT = "alluxio.user.file.readtype.default";
+    public static final String USER_FILE_READ_PARALLEL_BLOCKS =
+        "alluxio.user.file.read.parallel.blocks";
     public static final String USER_FILE_SEEK_BUFFER_SIZE_BYTES =
         "alluxio.user.file.seek.buffer.size.bytes";
+    public static final String USER_FILE_VECTORED_READ_MERGE_GAP_BYTES =
+        "alluxio.user.file.vectored.read.merge.gap.bytes";
+    public static final String USER_FILE_VECTORED_READ_MERGE_SIZE_MAX =
+        "alluxio.user.file.vectored.read.merge.size.max";
     public static final String USER_FILE_WAITCOMPLETED_POLL_MS =
         "alluxio.user.file.waitcompleted.poll.ms";
     public static final String USER_FILE_WORKER_CLIENT_THREADS =
@@ -1043,6 +1218,10 @@ public class PropertyKey {
         "alluxio.user.file.worker.client.pool.gc.threshold.ms";
     public static final String USER_FILE_WRITE_LOCATION_POLICY =
         "alluxio.user.file.write.location.policy.class";
+    public static final String USER_FILE_WRITE_PIPELINE_ENABLED =
+        "alluxio.user.file.write.pipeline.enabled";
+    public static final String USER_FILE_WRITE_PIPELINE_THREADS =
+        "alluxio.user.file.write.pipeline.threads";
     public static final String USER_FILE_WRITE_AVOID_EVICTION_POLICY_RESERVED_BYTES =
         "alluxio.user.file.write.avoid.eviction.policy.reserved.size.bytes";
     public static final String USER_FILE_WRITE_TYPE_DEFAULT = "alluxio.user.file.writetype.default";
@@ -1057,6 +1236,12 @@ public class PropertyKey {
         "alluxio.user.local.reader.packet.size.bytes";
     public static final String USER_LOCAL_WRITER_PACKET_SIZE_BYTES =
         "alluxio.user.local.writer.packet.size.bytes";
+    public static final String USER_METADATA_CACHE_ENABLED = "alluxio.user.metadata.cache.enabled";
+    public static final String USER_METADATA_CACHE_EXPIRATION_TIME_MS =
+        "alluxio.user.metadata.cache.expiration.time.ms";
+    public static final String USER_METADATA_CACHE_MAX_SIZE =
+        "alluxio.user.metadata.cache.max.size";
+    public static final String USER_METADATA_CACHE_PATHS = "alluxio.user.metadata.cache.paths";
     public static final String USER_NETWORK_NETTY_CHANNEL = "alluxio.user.network.netty.channel";
     public static final String USER_NETWORK_NETTY_TIMEOUT_MS =
         "alluxio.user.network.netty.timeout.ms";
@@ -1105,12 +1290,22 @@ public class PropertyKey {
     //
     // FUSE integration related properties
     //
+    public static final String FUSE_CACHED_ATTRIBUTES_MAX = "alluxio.fuse.cached.attributes.max";
+    public static final String FUSE_CACHED_ATTRIBUTES_TTL_MS =
+        "alluxio.fuse.cached.attributes.ttl.ms";
+    public static final String FUSE_CACHED_DIRECTORIES_MAX = "alluxio.fuse.cached.directories.max";
     public static final String FUSE_CACHED_PATHS_MAX = "alluxio.fuse.cached.paths.max";
     public static final String FUSE_DEBUG_ENABLED = "alluxio.fuse.debug.enabled";
     public static final String FUSE_FS_NAME = "alluxio.fuse.fs.name";
     public static final String FUSE_FS_ROOT = "alluxio.fuse.fs.root";
+    public static final String FUSE_IO_THREADS = "alluxio.fuse.io.threads";
     public static final String FUSE_MAXWRITE_BYTES = "alluxio.fuse.maxwrite.bytes";
     public static final String FUSE_MOUNT_DEFAULT = "alluxio.fuse.mount.default";
+    public static final String FUSE_READ_AHEAD_BYTES_MAX = "alluxio.fuse.read.ahead.bytes.max";
+    public static final String FUSE_READ_AHEAD_BUFFERED_BYTES_MAX =
+        "alluxio.fuse.read.ahead.buffered.bytes.max";
+    public static final String FUSE_WRITE_BUFFER_BYTES = "alluxio.fuse.write.buffer.bytes";
+    public static final String FUSE_WRITE_DIRTY_BYTES_MAX = "alluxio.fuse.write.dirty.bytes.max";
 
     //
     // Security related properties
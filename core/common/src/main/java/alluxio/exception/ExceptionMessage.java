@@ -225,6 +225,10 @@ public enum ExceptionMessage {
   KEY_VALUE_TOO_LARGE("Unable to put key-value pair: key {0} bytes, value {1} bytes"),
   KEY_ALREADY_EXISTS("The input key already exists in the key-value store"),
   INVALID_KEY_VALUE_STORE_URI("The URI {0} exists but is not a key-value store"),
+  KEY_VALUE_COMPACTED_STORE_NOT_IN_STORE(
+      "The compacted key-value store {0} is not in the directory of the key-value store {1}"),
+  KEY_VALUE_PARTITION_NOT_IN_STORE(
+      "The partition of block {0,number,#} is no longer in the key-value store {1}"),
 
   // block worker
   FAILED_COMMIT_BLOCK_TO_MASTER("Failed to commit block with blockId {0,number,#} to master"),
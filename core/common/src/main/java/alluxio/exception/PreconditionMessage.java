@@ -37,6 +37,7 @@ public enum PreconditionMessage {
   ERR_PUT_EMPTY_VALUE("Cannot put an empty buffer as a value"),
   ERR_PUT_NULL_KEY("Cannot put a null key"),
   ERR_PUT_NULL_VALUE("Cannot put a null value"),
+  ERR_PUT_UNSORTED_KEY("Cannot put a key less than the previous key"),
   ERR_SEEK_NEGATIVE("Seek position is negative: %s"),
   ERR_SEEK_PAST_END_OF_BLOCK("Seek position past end of block: %s"),
   ERR_SEEK_PAST_END_OF_FILE("Seek position past end of file: %s"),
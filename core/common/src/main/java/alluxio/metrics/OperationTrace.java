@@ -0,0 +1,143 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A trace of the time an operation spent in each of its {@link Phase}s. A trace is bound to the
+ * thread running the operation, so the code of a phase only has to call {@link #startPhase(Phase)}
+ * and {@link #endPhase()}, which do nothing when the thread is not tracing an operation.
+ *
+ * Phases do not nest: the time of a phase started within another phase is counted in the outer
+ * phase.
+ */
+@NotThreadSafe
+public final class OperationTrace {
+  private static final ThreadLocal<OperationTrace> TRACE = new ThreadLocal<>();
+
+  /**
+   * The phases of an operation.
+   */
+  public enum Phase {
+    /** Acquiring the locks of inodes. */
+    LOCK("Lock"),
+    /** Waiting for the journal entries to be flushed. */
+    JOURNAL("Journal"),
+    /** Calling the under storage. */
+    UFS("Ufs"),
+    ;
+
+    private final String mName;
+
+    Phase(String name) {
+      mName = name;
+    }
+
+    /**
+     * @return the name of the phase in metrics
+     */
+    public String getName() {
+      return mName;
+    }
+  }
+
+  private final long mStartNs;
+  private final long[] mPhaseNs = new long[Phase.values().length];
+  /** The number of calls to {@link #startPhase(Phase)} not yet ended. */
+  private int mPhaseDepth;
+  private Phase mPhase;
+  private long mPhaseStartNs;
+
+  private OperationTrace() {
+    mStartNs = System.nanoTime();
+  }
+
+  /**
+   * Starts tracing an operation in the current thread.
+   *
+   * @return the trace of the operation, or null if the thread is already tracing an operation
+   */
+  @Nullable
+  public static OperationTrace start() {
+    if (TRACE.get() != null) {
+      return null;
+    }
+    OperationTrace trace = new OperationTrace();
+    TRACE.set(trace);
+    return trace;
+  }
+
+  /**
+   * Marks the start of a phase of the operation traced by the current thread, if any. Each call
+   * must be followed by a call to {@link #endPhase()}.
+   *
+   * @param phase the phase
+   */
+  public static void startPhase(Phase phase) {
+    OperationTrace trace = TRACE.get();
+    if (trace != null && trace.mPhaseDepth++ == 0) {
+      trace.mPhase = phase;
+      trace.mPhaseStartNs = System.nanoTime();
+    }
+  }
+
+  /**
+   * Marks the end of the phase last started by the current thread.
+   */
+  public static void endPhase() {
+    OperationTrace trace = TRACE.get();
+    if (trace != null && trace.mPhaseDepth > 0 && --trace.mPhaseDepth == 0) {
+      trace.mPhaseNs[trace.mPhase.ordinal()] += System.nanoTime() - trace.mPhaseStartNs;
+    }
+  }
+
+  /**
+   * Stops tracing the operation in the current thread.
+   */
+  public void stop() {
+    if (TRACE.get() == this) {
+      TRACE.remove();
+    }
+  }
+
+  /**
+   * @param unit the unit of the time
+   * @return the time since the operation started
+   */
+  public long getElapsed(TimeUnit unit) {
+    return unit.convert(System.nanoTime() - mStartNs, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @param phase the phase
+   * @param unit the unit of the time
+   * @return the time the operation spent in the phase
+   */
+  public long getPhaseTime(Phase phase, TimeUnit unit) {
+    return unit.convert(mPhaseNs[phase.ordinal()], TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("total=").append(getElapsed(TimeUnit.MILLISECONDS)).append("ms");
+    for (Phase phase : Phase.values()) {
+      builder.append(", ").append(phase.getName().toLowerCase()).append('=')
+          .append(getPhaseTime(phase, TimeUnit.MILLISECONDS)).append("ms");
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.network;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * What type of Thrift server to use for the RPCs of the masters and workers.
+ */
+@ThreadSafe
+public enum ThriftServerType {
+  /**
+   * Serves each connection with its own thread from a pool.
+   */
+  THREAD_POOL,
+  /**
+   * Reads the RPCs of all the connections with a few selector threads, and serves them with a
+   * bounded pool of threads. This type of server only supports the NOSASL authentication.
+   */
+  THREADED_SELECTOR,
+  ;
+}
@@ -69,6 +69,11 @@ public abstract class BaseUnderFileSystem implements UnderFileSystem {
     return isFile(path) || isDirectory(path);
   }
 
+  @Override
+  public boolean isThrottled(IOException e) {
+    return false;
+  }
+
   @Override
   public UfsStatus[] listStatus(String path, ListOptions options) throws IOException {
     if (!options.isRecursive()) {
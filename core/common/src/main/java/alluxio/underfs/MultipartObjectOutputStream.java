@@ -0,0 +1,393 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.exception.status.CanceledException;
+import alluxio.util.io.PathUtils;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A stream for writing an object with a multipart upload while the data is written. The data is
+ * buffered into parts using buffers from an {@link ObjectBufferPool}, and each full part is
+ * uploaded in the background, so that closing the stream only waits for the last parts. When no
+ * buffer of the pool is released before a timeout, the part is buffered in a local temporary file
+ * instead, and uploaded synchronously, so that the memory of the streams stays bounded.
+ *
+ * The first part is buffered in a buffer of the stream, growing up to
+ * {@link #MAX_FIRST_BUFFER_SIZE}, before taking a buffer of the pool, so that small objects do not
+ * hold a buffer of the size of a part. Objects smaller than a part and buffered in memory are
+ * uploaded with a single request on close instead.
+ */
+@NotThreadSafe
+public abstract class MultipartObjectOutputStream extends OutputStream {
+  private static final Logger LOG = LoggerFactory.getLogger(MultipartObjectOutputStream.class);
+  /** The initial size of the buffer of the first part. */
+  private static final int INITIAL_FIRST_BUFFER_SIZE = 64 * Constants.KB;
+  /** The size of the buffer of the first part beyond which a buffer of the pool is taken. */
+  static final int MAX_FIRST_BUFFER_SIZE = Constants.MB;
+
+  /** The pool of the buffers for the parts. */
+  private final ObjectBufferPool mBufferPool;
+  /** The maximum time in milliseconds to wait for a buffer of the pool. */
+  private final long mBufferWaitMs;
+  /** The executor uploading the parts. */
+  private final ExecutorService mExecutor;
+  /** The uploads of the parts in the background which are not known to be done. */
+  private final List<Future<Void>> mPartUploads = new LinkedList<>();
+
+  /** The buffer of the part being written, or null. */
+  private byte[] mBuffer;
+  /** Whether the buffer of the part being written is from the pool. */
+  private boolean mBufferPooled;
+  /** The local file of the part being written when no buffer of the pool was available, or null. */
+  private File mPartFile;
+  /** The stream writing the local file of the part, or null. */
+  private OutputStream mPartFileOut;
+  /** The number of bytes of the part being written. */
+  private int mPartLength;
+  /** The number of parts uploaded or being uploaded. */
+  private int mPartCount;
+  /** Whether the multipart upload has been initiated. */
+  private boolean mUploadInitiated;
+  private boolean mClosed;
+
+  /**
+   * Creates a new instance of {@link MultipartObjectOutputStream}.
+   *
+   * @param executor the executor uploading the parts
+   */
+  protected MultipartObjectOutputStream(ExecutorService executor) {
+    this(executor, ObjectBufferPool.getUploadPool(),
+        Configuration.getLong(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFER_WAIT_MS));
+  }
+
+  /**
+   * Creates a new instance of {@link MultipartObjectOutputStream}.
+   *
+   * @param executor the executor uploading the parts
+   * @param bufferPool the pool of the buffers for the parts
+   * @param bufferWaitMs the maximum time in milliseconds to wait for a buffer of the pool
+   */
+  MultipartObjectOutputStream(ExecutorService executor, ObjectBufferPool bufferPool,
+      long bufferWaitMs) {
+    mExecutor = executor;
+    mBufferPool = bufferPool;
+    mBufferWaitMs = bufferWaitMs;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    reserve(1);
+    if (mPartFile != null) {
+      mPartFileOut.write(b);
+    } else {
+      mBuffer[mPartLength] = (byte) b;
+    }
+    mPartLength++;
+    if (mPartLength == mBufferPool.getBufferSize()) {
+      uploadBufferedPart();
+    }
+  }
+
+  @Override
+  public void write(byte[] b) throws IOException {
+    write(b, 0, b.length);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    Preconditions.checkPositionIndexes(off, off + len, b.length);
+    while (len > 0) {
+      int bytes = reserve(len);
+      if (mPartFile != null) {
+        mPartFileOut.write(b, off, bytes);
+      } else {
+        System.arraycopy(b, off, mBuffer, mPartLength, bytes);
+      }
+      mPartLength += bytes;
+      off += bytes;
+      len -= bytes;
+      if (mPartLength == mBufferPool.getBufferSize()) {
+        uploadBufferedPart();
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    try {
+      if (!mUploadInitiated && mPartFile == null) {
+        putObject(mBuffer == null ? new byte[0] : mBuffer, mPartLength);
+      } else {
+        if (mPartLength > 0) {
+          uploadBufferedPart();
+        }
+        waitForPartUploads();
+        completeMultipartUpload();
+      }
+    } catch (IOException | RuntimeException e) {
+      if (mUploadInitiated) {
+        abort();
+      }
+      throw e;
+    } finally {
+      releaseBuffer();
+    }
+  }
+
+  /**
+   * Initiates the multipart upload of the object.
+   */
+  protected abstract void initiateMultipartUpload() throws IOException;
+
+  /**
+   * Uploads a part of the object. This may be called concurrently for different parts.
+   *
+   * @param partNumber the number of the part, starting from 1
+   * @param data the buffer holding the data of the part from its start
+   * @param length the length of the part
+   */
+  protected abstract void uploadPart(int partNumber, byte[] data, int length) throws IOException;
+
+  /**
+   * Uploads a part of the object from a local file. This is called by the thread writing the
+   * stream, and the file is deleted once it returns.
+   *
+   * @param partNumber the number of the part, starting from 1
+   * @param file the file holding the data of the part
+   */
+  protected abstract void uploadPart(int partNumber, File file) throws IOException;
+
+  /**
+   * Completes the multipart upload of the object once all its parts are uploaded.
+   */
+  protected abstract void completeMultipartUpload() throws IOException;
+
+  /**
+   * Aborts the multipart upload of the object, once none of its parts is being uploaded.
+   */
+  protected abstract void abortMultipartUpload() throws IOException;
+
+  /**
+   * Uploads an object smaller than a part with a single request.
+   *
+   * @param data the buffer holding the data of the object from its start
+   * @param length the length of the object
+   */
+  protected abstract void putObject(byte[] data, int length) throws IOException;
+
+  /**
+   * Makes room in the part being written for some of the bytes to write. The buffer of the first
+   * part grows until it reaches {@link #MAX_FIRST_BUFFER_SIZE}, then the part is moved to a buffer
+   * of the pool, or to a local file if no buffer of the pool is released before the timeout. The
+   * next parts start in a buffer of the pool, or in a local file.
+   *
+   * @param len the number of bytes to write
+   * @return the number of bytes which can be written to the part being written
+   */
+  private int reserve(int len) throws IOException {
+    Preconditions.checkState(!mClosed, "Stream closed");
+    int partSize = mBufferPool.getBufferSize();
+    int bytes = Math.min(len, partSize - mPartLength);
+    if (mPartFile != null || (mBuffer != null && mPartLength + bytes <= mBuffer.length)) {
+      return bytes;
+    }
+    int maxFirstBufferSize = Math.min(MAX_FIRST_BUFFER_SIZE, partSize);
+    if (mPartCount == 0 && !mBufferPooled
+        && (mBuffer == null || mBuffer.length < maxFirstBufferSize)) {
+      int size = mBuffer == null ? INITIAL_FIRST_BUFFER_SIZE : mBuffer.length * 2;
+      size = Math.min(Math.max(size, mPartLength + bytes), maxFirstBufferSize);
+      mBuffer = mBuffer == null ? new byte[size] : Arrays.copyOf(mBuffer, size);
+      return Math.min(bytes, mBuffer.length - mPartLength);
+    }
+    byte[] buffer = mBufferPool.acquire(mBufferWaitMs);
+    if (buffer != null) {
+      if (mBuffer != null) {
+        System.arraycopy(mBuffer, 0, buffer, 0, mPartLength);
+      }
+      mBuffer = buffer;
+      mBufferPooled = true;
+      return bytes;
+    }
+    mPartFile = new File(PathUtils.concatPath("/tmp", UUID.randomUUID()));
+    mPartFileOut = new BufferedOutputStream(new FileOutputStream(mPartFile));
+    if (mBuffer != null) {
+      mPartFileOut.write(mBuffer, 0, mPartLength);
+      mBuffer = null;
+    }
+    return bytes;
+  }
+
+  /**
+   * Uploads the part being written, in the background if its buffer is from the pool.
+   */
+  private void uploadBufferedPart() throws IOException {
+    checkPartUploads();
+    if (!mUploadInitiated) {
+      initiateMultipartUpload();
+      mUploadInitiated = true;
+    }
+    final int partNumber = ++mPartCount;
+    final byte[] buffer = mBuffer;
+    final int length = mPartLength;
+    final boolean pooled = mBufferPooled;
+    mBuffer = null;
+    mBufferPooled = false;
+    mPartLength = 0;
+    if (mPartFile != null) {
+      mPartFileOut.close();
+      mPartFileOut = null;
+      try {
+        uploadPart(partNumber, mPartFile);
+      } finally {
+        deletePartFile();
+      }
+      return;
+    }
+    if (!pooled) {
+      uploadPart(partNumber, buffer, length);
+      return;
+    }
+    mPartUploads.add(mExecutor.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws IOException {
+        try {
+          uploadPart(partNumber, buffer, length);
+          return null;
+        } finally {
+          mBufferPool.release(buffer);
+        }
+      }
+    }));
+  }
+
+  /**
+   * Forgets the part uploads which are done, and fails if any of them failed.
+   */
+  private void checkPartUploads() throws IOException {
+    Iterator<Future<Void>> iterator = mPartUploads.iterator();
+    while (iterator.hasNext()) {
+      Future<Void> future = iterator.next();
+      if (future.isDone()) {
+        getPartUpload(future);
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Waits for the part uploads to finish, and fails if any of them failed.
+   */
+  private void waitForPartUploads() throws IOException {
+    while (!mPartUploads.isEmpty()) {
+      getPartUpload(mPartUploads.remove(0));
+    }
+  }
+
+  /**
+   * @param future the result of a part upload
+   */
+  private static void getPartUpload(Future<Void> future) throws IOException {
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CanceledException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Aborts the multipart upload once the part uploads finished. The part uploads are not
+   * canceled, as they own their buffers until they finish.
+   */
+  private void abort() {
+    for (Future<Void> future : mPartUploads) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (ExecutionException e) {
+        // The first failure is reported by the caller
+      }
+    }
+    mPartUploads.clear();
+    try {
+      abortMultipartUpload();
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to abort the multipart upload: {}", e.toString());
+    }
+  }
+
+  /**
+   * Returns the buffer of the part being written to the pool, and deletes its local file.
+   */
+  private void releaseBuffer() {
+    if (mBuffer != null && mBufferPooled) {
+      mBufferPool.release(mBuffer);
+    }
+    mBuffer = null;
+    mBufferPooled = false;
+    if (mPartFileOut != null) {
+      try {
+        mPartFileOut.close();
+      } catch (IOException e) {
+        LOG.warn("Failed to close the local file of a part {}: {}", mPartFile, e.toString());
+      }
+      mPartFileOut = null;
+    }
+    deletePartFile();
+  }
+
+  /**
+   * Deletes the local file of the part being written, if any.
+   */
+  private void deletePartFile() {
+    if (mPartFile != null && !mPartFile.delete()) {
+      LOG.warn("Failed to delete the local file of a part {}", mPartFile);
+    }
+    mPartFile = null;
+  }
+}
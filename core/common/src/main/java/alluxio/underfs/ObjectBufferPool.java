@@ -0,0 +1,167 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.exception.status.CanceledException;
+import alluxio.util.CommonUtils;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded pool of the buffers holding the parts of objects read or written by the object store
+ * UFS streams, such as the ranges read ahead by {@link ParallelRangeObjectInputStream}s. The
+ * released buffers are reused so that transferring large objects does not churn through the heap.
+ */
+@ThreadSafe
+final class ObjectBufferPool {
+  /** The pool for the ranges read ahead, created on first use. */
+  private static ObjectBufferPool sRangeReadPool;
+  /** The pool for the parts being uploaded, created on first use. */
+  private static ObjectBufferPool sUploadPool;
+
+  /** The size of each buffer in bytes. */
+  private final int mBufferSize;
+  /** The maximum number of buffers allocated at the same time. */
+  private final int mMaxBuffers;
+
+  /** The released buffers ready for reuse. */
+  @GuardedBy("this")
+  private final Deque<byte[]> mFreeBuffers = new ArrayDeque<>();
+  /** The number of buffers allocated, in use or free. */
+  @GuardedBy("this")
+  private int mAllocatedBuffers;
+
+  /**
+   * @return the pool for the ranges read ahead by the streams of this process
+   */
+  static synchronized ObjectBufferPool getRangeReadPool() {
+    if (sRangeReadPool == null) {
+      sRangeReadPool = create(PropertyKey.UNDERFS_OBJECT_STORE_READ_RANGE_SIZE,
+          PropertyKey.UNDERFS_OBJECT_STORE_READ_BUFFER_SIZE_MAX);
+    }
+    return sRangeReadPool;
+  }
+
+  /**
+   * @return the pool for the parts uploaded by the streams of this process
+   */
+  static synchronized ObjectBufferPool getUploadPool() {
+    if (sUploadPool == null) {
+      sUploadPool = create(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_PART_SIZE,
+          PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_BUFFER_SIZE_MAX);
+    }
+    return sUploadPool;
+  }
+
+  /**
+   * @param bufferSizeKey the property of the size of each buffer
+   * @param maxSizeKey the property of the maximum memory used by the pool
+   * @return a pool sized from the configuration
+   */
+  private static ObjectBufferPool create(PropertyKey bufferSizeKey, PropertyKey maxSizeKey) {
+    long bufferSize = Configuration.getBytes(bufferSizeKey);
+    long maxSize = Configuration.getBytes(maxSizeKey);
+    Preconditions.checkState(bufferSize > 0 && bufferSize <= Integer.MAX_VALUE,
+        "Invalid %s: %s", bufferSizeKey, bufferSize);
+    return new ObjectBufferPool((int) bufferSize,
+        (int) Math.min(Integer.MAX_VALUE, maxSize / bufferSize));
+  }
+
+  /**
+   * Creates a new instance of {@link ObjectBufferPool}.
+   *
+   * @param bufferSize the size of each buffer in bytes
+   * @param maxBuffers the maximum number of buffers allocated at the same time
+   */
+  ObjectBufferPool(int bufferSize, int maxBuffers) {
+    mBufferSize = bufferSize;
+    mMaxBuffers = maxBuffers;
+  }
+
+  /**
+   * @return the size of each buffer in bytes
+   */
+  int getBufferSize() {
+    return mBufferSize;
+  }
+
+  /**
+   * @return the maximum number of buffers allocated at the same time
+   */
+  int getMaxBuffers() {
+    return mMaxBuffers;
+  }
+
+  /**
+   * Acquires a buffer without waiting.
+   *
+   * @return a buffer, or null if the maximum number of buffers are in use
+   */
+  @Nullable
+  synchronized byte[] tryAcquire() {
+    if (!mFreeBuffers.isEmpty()) {
+      return mFreeBuffers.pop();
+    }
+    if (mAllocatedBuffers >= mMaxBuffers) {
+      return null;
+    }
+    mAllocatedBuffers++;
+    return new byte[mBufferSize];
+  }
+
+  /**
+   * Acquires a buffer, waiting for one to be released if the maximum number of buffers are in use.
+   *
+   * @param timeoutMs the maximum time to wait in milliseconds
+   * @return a buffer, or null if none was released before the timeout
+   * @throws CanceledException if the thread is interrupted while waiting
+   */
+  @Nullable
+  synchronized byte[] acquire(long timeoutMs) throws CanceledException {
+    long deadlineMs = CommonUtils.getCurrentMs() + timeoutMs;
+    byte[] buffer = tryAcquire();
+    while (buffer == null) {
+      long waitMs = deadlineMs - CommonUtils.getCurrentMs();
+      if (waitMs <= 0) {
+        return null;
+      }
+      try {
+        wait(waitMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CanceledException(e);
+      }
+      buffer = tryAcquire();
+    }
+    return buffer;
+  }
+
+  /**
+   * Returns a buffer acquired from this pool.
+   *
+   * @param buffer the buffer
+   */
+  synchronized void release(byte[] buffer) {
+    Preconditions.checkArgument(buffer.length == mBufferSize);
+    mFreeBuffers.push(buffer);
+    notify();
+  }
+}
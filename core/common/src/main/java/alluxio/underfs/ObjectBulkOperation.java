@@ -0,0 +1,273 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Constants;
+import alluxio.exception.status.CanceledException;
+import alluxio.retry.ExponentialBackoffRetry;
+import alluxio.retry.RetryPolicy;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Runs an operation on a large number of objects of an object store, such as copying or deleting
+ * all the objects under a directory. The objects are processed in batches which run in parallel on
+ * an executor. The number of batches submitted but not finished is bounded, so that adding the
+ * objects blocks rather than queueing the whole operation in memory. The objects of a batch for
+ * which the operation failed are retried with an exponential backoff, and the progress of the
+ * operation is logged periodically.
+ *
+ * @param <T> the type of the objects
+ */
+@NotThreadSafe
+final class ObjectBulkOperation<T> {
+  private static final Logger LOG = LoggerFactory.getLogger(ObjectBulkOperation.class);
+
+  /** The interval at which the progress of the operation is logged. */
+  private static final long PROGRESS_INTERVAL_MS = 10 * Constants.SECOND_MS;
+  private static final int RETRY_BASE_SLEEP_MS = 100;
+  private static final int RETRY_MAX_SLEEP_MS = 5 * Constants.SECOND_MS;
+
+  /**
+   * An operation on a batch of objects.
+   *
+   * @param <T> the type of the objects
+   */
+  interface Operation<T> {
+    /**
+     * Runs the operation on a batch of objects.
+     *
+     * @param objects the objects of the batch
+     * @return the objects for which the operation succeeded
+     */
+    List<T> apply(List<T> objects) throws IOException;
+  }
+
+  /** The description of the operation for logging. */
+  private final String mDescription;
+  private final Operation<T> mOperation;
+  private final int mBatchSize;
+  private final ExecutorService mExecutor;
+  /** The permits for the batches submitted but not finished. */
+  private final Semaphore mBatchPermits;
+  /** The number of retries of the objects of a batch. */
+  private final int mMaxRetries;
+  /** The batches submitted which are not known to be finished. */
+  private final List<Future<List<T>>> mBatches = new LinkedList<>();
+  /** The objects for which the operation failed in the batches finished. */
+  private final List<T> mFailed = new ArrayList<>();
+  /** The number of objects processed by the batches, successfully or not. */
+  private final AtomicLong mProcessed = new AtomicLong();
+  private final long mStartMs;
+
+  /** The objects of the batch being filled. */
+  private List<T> mBatch;
+  /** The number of objects added. */
+  private long mAdded;
+  private long mLastProgressMs;
+
+  /**
+   * Creates a new instance of {@link ObjectBulkOperation}.
+   *
+   * @param description the description of the operation for logging
+   * @param operation the operation on a batch of objects
+   * @param batchSize the maximum number of objects in a batch
+   * @param executor the executor running the batches
+   * @param maxBatches the maximum number of batches submitted but not finished
+   * @param maxRetries the number of retries of the objects of a batch for which the operation
+   *        failed
+   */
+  ObjectBulkOperation(String description, Operation<T> operation, int batchSize,
+      ExecutorService executor, int maxBatches, int maxRetries) {
+    Preconditions.checkArgument(batchSize > 0, "Batch size must be positive");
+    Preconditions.checkArgument(maxBatches > 0, "Maximum number of batches must be positive");
+    mDescription = description;
+    mOperation = operation;
+    mBatchSize = batchSize;
+    mExecutor = executor;
+    mBatchPermits = new Semaphore(maxBatches);
+    mMaxRetries = maxRetries;
+    mBatch = new ArrayList<>(batchSize);
+    mStartMs = System.currentTimeMillis();
+    mLastProgressMs = mStartMs;
+  }
+
+  /**
+   * Adds an object to the operation. This blocks while the maximum number of batches are running.
+   *
+   * @param object the object
+   */
+  void add(T object) throws IOException {
+    mBatch.add(object);
+    mAdded++;
+    if (mBatch.size() == mBatchSize) {
+      submitBatch();
+    }
+  }
+
+  /**
+   * Runs the operation on the objects added but not submitted yet, and waits for all the batches
+   * to finish.
+   *
+   * @return the objects for which the operation failed after all its retries
+   */
+  List<T> finish() throws IOException {
+    submitBatch();
+    try {
+      while (!mBatches.isEmpty()) {
+        getBatch(mBatches.remove(0));
+        logProgress(false);
+      }
+    } finally {
+      // The batches are not canceled when interrupted, as they release their own permits
+      mBatches.clear();
+    }
+    logProgress(true);
+    return mFailed;
+  }
+
+  /**
+   * Submits the batch being filled, once a batch permit is available.
+   */
+  private void submitBatch() throws IOException {
+    if (mBatch.isEmpty()) {
+      return;
+    }
+    try {
+      mBatchPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CanceledException(e);
+    }
+    final List<T> batch = mBatch;
+    mBatch = new ArrayList<>(mBatchSize);
+    mBatches.add(mExecutor.submit(new Callable<List<T>>() {
+      @Override
+      public List<T> call() {
+        try {
+          return runBatch(batch);
+        } finally {
+          mProcessed.addAndGet(batch.size());
+          mBatchPermits.release();
+        }
+      }
+    }));
+    collectFinishedBatches();
+    logProgress(false);
+  }
+
+  /**
+   * Runs the operation on a batch, retrying the objects for which it failed.
+   *
+   * @param batch the objects of the batch
+   * @return the objects for which the operation failed after all its retries
+   */
+  private List<T> runBatch(List<T> batch) {
+    List<T> remaining = batch;
+    RetryPolicy retryPolicy = null;
+    while (true) {
+      List<T> succeeded;
+      try {
+        succeeded = mOperation.apply(remaining);
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("{}: failed on a batch of {} objects: {}", mDescription, remaining.size(),
+            e.toString());
+        succeeded = Collections.emptyList();
+      }
+      if (succeeded.size() != remaining.size()) {
+        HashSet<T> succeededSet = new HashSet<>(succeeded);
+        List<T> failed = new ArrayList<>();
+        for (T object : remaining) {
+          if (!succeededSet.contains(object)) {
+            failed.add(object);
+          }
+        }
+        remaining = failed;
+      } else {
+        remaining = Collections.emptyList();
+      }
+      if (remaining.isEmpty() || mMaxRetries == 0) {
+        return remaining;
+      }
+      if (retryPolicy == null) {
+        retryPolicy =
+            new ExponentialBackoffRetry(RETRY_BASE_SLEEP_MS, RETRY_MAX_SLEEP_MS, mMaxRetries);
+      }
+      if (!retryPolicy.attemptRetry()) {
+        return remaining;
+      }
+    }
+  }
+
+  /**
+   * Collects the failures of the batches which are finished.
+   */
+  private void collectFinishedBatches() throws IOException {
+    while (!mBatches.isEmpty() && mBatches.get(0).isDone()) {
+      getBatch(mBatches.remove(0));
+    }
+  }
+
+  /**
+   * @param batch the result of a batch
+   */
+  private void getBatch(Future<List<T>> batch) throws IOException {
+    try {
+      mFailed.addAll(batch.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CanceledException(e);
+    } catch (ExecutionException e) {
+      // Batches catch the failures of the operation
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Logs the progress of the operation if the progress interval passed since it was last logged.
+   *
+   * @param done whether the operation is done, in which case it is logged regardless
+   */
+  private void logProgress(boolean done) {
+    long nowMs = System.currentTimeMillis();
+    if (done) {
+      if (!mFailed.isEmpty()) {
+        LOG.warn("{}: failed on {} of {} objects", mDescription, mFailed.size(), mAdded);
+      } else if (nowMs - mStartMs >= PROGRESS_INTERVAL_MS) {
+        LOG.info("{}: done with {} objects in {} ms", mDescription, mAdded, nowMs - mStartMs);
+      }
+      return;
+    }
+    if (nowMs - mLastProgressMs >= PROGRESS_INTERVAL_MS) {
+      mLastProgressMs = nowMs;
+      LOG.info("{}: processed {} of {} objects added so far", mDescription, mProcessed.get(),
+          mAdded);
+    }
+  }
+}
@@ -25,6 +25,8 @@ import alluxio.util.CommonUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.io.PathUtils;
 
+import com.google.common.base.Throwables;
+import com.google.common.io.ByteStreams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,7 +35,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -44,7 +46,6 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
-import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -58,6 +59,12 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   /** Default maximum length for a single listing query. */
   private static final int DEFAULT_MAX_LISTING_CHUNK_LENGTH = 1000;
 
+  /**
+   * Number of objects copied by a task when renaming a directory. Copies are not batched by the
+   * object stores, so this is smaller than the delete batches to spread the copies across threads.
+   */
+  private static final int COPY_BATCH_SIZE = 100;
+
   /** Value used to indicate nested structure. */
   protected static final char PATH_SEPARATOR_CHAR = '/';
 
@@ -70,6 +77,9 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   /** Executor service used for parallel UFS operations such as bulk deletes. */
   protected ExecutorService mExecutorService;
 
+  /** Executor service fetching the ranges read ahead by the streams of this process. */
+  private static ExecutorService sRangeReadExecutorService;
+
   /**
    * Constructs an {@link ObjectUnderFileSystem}.
    *
@@ -231,126 +241,53 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
       return deleteObject(stripPrefixIfPresent(convertToFolderName(path)));
     }
 
-    // Delete children
-    DeleteBuffer deleteBuffer = new DeleteBuffer();
     UfsStatus[] pathsToDelete = listInternal(path, ListOptions.defaults().setRecursive(true));
     if (pathsToDelete == null) {
       LOG.warn("Unable to delete {} because listInternal returns null", path);
       return false;
     }
-    for (UfsStatus pathToDelete : pathsToDelete) {
-      String pathKey = stripPrefixIfPresent(PathUtils.concatPath(path, pathToDelete.getName()));
-      if (pathToDelete.isDirectory()) {
-        deleteBuffer.add(convertToFolderName(pathKey));
-      } else {
-        deleteBuffer.add(pathKey);
-      }
-    }
-    deleteBuffer.add(stripPrefixIfPresent(convertToFolderName(path)));
-    return deleteBuffer.getResult().size() == deleteBuffer.mEntriesAdded;
+    return deleteRecursively(path, pathsToDelete);
   }
 
   /**
-   * Objects added to a {@link DeleteBuffer} will be deleted in batches. Multiple batches are
-   * processed in parallel.
+   * Deletes a directory and its descendants, in parallel batches.
+   *
+   * @param path the directory to delete
+   * @param descendants the descendants of the directory, from a recursive listing
+   * @return true if all the objects were deleted
    */
-  @NotThreadSafe
-  protected class DeleteBuffer {
-    /** A list of objects in batches to be deleted in parallel. */
-    private ArrayList<List<String>> mBatches;
-    /** A list of the successfully deleted objects for each batch delete. */
-    private ArrayList<Future<List<String>>> mBatchesResult;
-    /** Buffer for a batch of objects to be deleted. */
-    private List<String> mCurrentBatchBuffer;
-    /** Total number of objects to be deleted across batches. */
-    private int mEntriesAdded;
-
-    /**
-     * Construct a new {@link DeleteBuffer} instance.
-     */
-    public DeleteBuffer() {
-      mBatches = new ArrayList<>();
-      mBatchesResult = new ArrayList<>();
-      mCurrentBatchBuffer = new LinkedList<>();
-      mEntriesAdded = 0;
-    }
-
-    /**
-     * Add a new object to be deleted.
-     *
-     * @param path of object
-     * @throws IOException if a non-Alluxio error occurs
-     */
-    public void add(String path) throws IOException {
-      // Delete batch size is same as listing length
-      if (mCurrentBatchBuffer.size() == getListingChunkLength()) {
-        // Batch is full
-        submitBatch();
-      }
-      mCurrentBatchBuffer.add(path);
-      mEntriesAdded++;
-    }
-
-    /**
-     * Get the combined result from all batches.
-     *
-     * @return a list of successfully deleted objects
-     * @throws IOException if a non-Alluxio error occurs
-     */
-    public List<String> getResult() throws IOException {
-      submitBatch();
-      LinkedList<String> result = new LinkedList<>();
-      for (Future<List<String>> list : mBatchesResult) {
-        try {
-          result.addAll(list.get());
-        } catch (InterruptedException e) {
-          // If operation was interrupted do not add to successfully deleted list
-        } catch (ExecutionException e) {
-          // If operation failed to execute do not add to successfully deleted list
-        }
-      }
-      return result;
-    }
-
-    /**
-     * Process the current batch asynchronously.
-     */
-    private void submitBatch() throws IOException {
-      if (mCurrentBatchBuffer.size() != 0) {
-        int batchNumber = mBatches.size();
-        mBatches.add(new LinkedList<>(mCurrentBatchBuffer));
-        mCurrentBatchBuffer.clear();
-        mBatchesResult.add(batchNumber,
-            mExecutorService.submit(new DeleteThread(mBatches.get(batchNumber))));
-      }
+  private boolean deleteRecursively(String path, UfsStatus[] descendants) throws IOException {
+    ObjectBulkOperation<String> delete = createBulkOperation("Delete " + path,
+        new ObjectBulkOperation.Operation<String>() {
+          @Override
+          public List<String> apply(List<String> keys) throws IOException {
+            return deleteObjects(keys);
+          }
+        }, getListingChunkLength());
+    for (UfsStatus descendant : descendants) {
+      String key = stripPrefixIfPresent(PathUtils.concatPath(path, descendant.getName()));
+      delete.add(descendant.isDirectory() ? convertToFolderName(key) : key);
     }
+    delete.add(stripPrefixIfPresent(convertToFolderName(path)));
+    return delete.finish().isEmpty();
+  }
 
-    /**
-     * Thread class to delete a batch of objects.
-     */
-    @NotThreadSafe
-    protected class DeleteThread implements Callable<List<String>> {
-
-      List<String> mBatch;
-
-      /**
-       * Delete a batch of objects.
-       * @param batch a list of objects to delete
-       */
-      public DeleteThread(List<String> batch) {
-        mBatch = batch;
-      }
-
-      @Override
-      public List<String> call() {
-        try {
-          return deleteObjects(mBatch);
-        } catch (IOException e) {
-          // Do not append to success list
-          return Collections.emptyList();
-        }
-      }
-    }
+  /**
+   * Creates a bulk operation on the objects of this UFS, running its batches on the executor
+   * service.
+   *
+   * @param description the description of the operation for logging
+   * @param operation the operation on a batch of objects
+   * @param batchSize the maximum number of objects in a batch
+   * @param <T> the type of the objects
+   * @return the bulk operation
+   */
+  private <T> ObjectBulkOperation<T> createBulkOperation(String description,
+      ObjectBulkOperation.Operation<T> operation, int batchSize) {
+    // Bounds the batches queued in the executor to a few per thread
+    return new ObjectBulkOperation<>(description, operation, batchSize, mExecutorService,
+        2 * Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_SERVICE_THREADS),
+        Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_BULK_OPERATION_RETRY));
   }
 
   /**
@@ -473,13 +410,47 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
 
   @Override
   public InputStream open(String path, OpenOptions options) throws IOException {
-    return new ObjectUnderFileInputStream(this, stripPrefixIfPresent(path), options);
+    String key = stripPrefixIfPresent(path);
+    int parallelism = Configuration.getInt(PropertyKey.UNDERFS_OBJECT_STORE_READ_PARALLELISM);
+    if (parallelism > 1) {
+      ObjectBufferPool bufferPool = ObjectBufferPool.getRangeReadPool();
+      long endPos;
+      if (options.getLength() != Long.MAX_VALUE) {
+        // The caller bounds the bytes to read, so there is no need to get the object length
+        endPos = options.getOffset() + options.getLength();
+      } else {
+        ObjectStatus status = getObjectStatus(key);
+        endPos = status == null ? 0 : status.getContentLength();
+      }
+      // Only read in parallel when there is more than one range left to read
+      if (endPos - options.getOffset() > bufferPool.getBufferSize()) {
+        return new ParallelRangeObjectInputStream(this, key, endPos, options.getOffset(),
+            parallelism, bufferPool, getRangeReadExecutorService(bufferPool));
+      }
+    }
+    return new ObjectUnderFileInputStream(this, key, options);
+  }
+
+  /**
+   * The range reads have their own threads, so that they do not delay the bulk operations of the
+   * UFSes, and there are as many as the buffers which the ranges are read into.
+   *
+   * @param bufferPool the pool of the buffers for the ranges read ahead
+   * @return the executor service fetching the ranges read ahead by the streams of this process
+   */
+  private static synchronized ExecutorService getRangeReadExecutorService(
+      ObjectBufferPool bufferPool) {
+    if (sRangeReadExecutorService == null) {
+      sRangeReadExecutorService = ExecutorServiceFactories.fixedThreadPoolExecutorServiceFactory(
+          "alluxio-underfs-object-range-read", Math.max(1, bufferPool.getMaxBuffers())).create();
+    }
+    return sRangeReadExecutorService;
   }
 
   @Override
-  public boolean renameDirectory(String src, String dst) throws IOException {
-    UfsStatus[] children = listInternal(src, ListOptions.defaults());
-    if (children == null) {
+  public boolean renameDirectory(final String src, final String dst) throws IOException {
+    UfsStatus[] descendants = listInternal(src, ListOptions.defaults().setRecursive(true));
+    if (descendants == null) {
       LOG.error("Failed to list directory {}, aborting rename.", src);
       return false;
     }
@@ -493,24 +464,41 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
         stripPrefixIfPresent(convertToFolderName(dst)))) {
       return false;
     }
-    // Rename each child in the src folder to destination/child
-    for (UfsStatus child : children) {
-      String childSrcPath = PathUtils.concatPath(src, child);
-      String childDstPath = PathUtils.concatPath(dst, child);
-      boolean success;
-      if (child.isDirectory()) {
-        // Recursive call
-        success = renameDirectory(childSrcPath, childDstPath);
-      } else {
-        success = renameFile(childSrcPath, childDstPath);
-      }
-      if (!success) {
-        LOG.error("Failed to rename path {}, aborting rename.", child);
-        return false;
-      }
+    // Copy each descendant in the src folder to the same relative path under dst, in parallel
+    ObjectBulkOperation<UfsStatus> copy = createBulkOperation("Copy " + src + " to " + dst,
+        new ObjectBulkOperation.Operation<UfsStatus>() {
+          @Override
+          public List<UfsStatus> apply(List<UfsStatus> batch) throws IOException {
+            List<UfsStatus> copied = new ArrayList<>(batch.size());
+            for (UfsStatus descendant : batch) {
+              String name = descendant.getName();
+              String srcKey = stripPrefixIfPresent(PathUtils.concatPath(src, name));
+              String dstKey = stripPrefixIfPresent(PathUtils.concatPath(dst, name));
+              boolean success;
+              if (descendant.isDirectory()) {
+                // The folder of a directory may only be inferred from the keys under it
+                success = createEmptyObject(convertToFolderName(dstKey));
+              } else {
+                success = copyObject(srcKey, dstKey);
+              }
+              if (success) {
+                copied.add(descendant);
+              }
+            }
+            return copied;
+          }
+        }, COPY_BATCH_SIZE);
+    for (UfsStatus descendant : descendants) {
+      copy.add(descendant);
+    }
+    List<UfsStatus> failed = copy.finish();
+    if (!failed.isEmpty()) {
+      LOG.error("Failed to copy {} paths such as {}, aborting rename.", failed.size(),
+          failed.get(0).getName());
+      return false;
     }
     // Delete src and everything under src
-    return deleteDirectory(src, DeleteOptions.defaults().setRecursive(true));
+    return deleteRecursively(src, descendants);
   }
 
   @Override
@@ -703,16 +691,29 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
    */
   protected ObjectListingChunk getObjectListingChunkForPath(String path, boolean recursive)
       throws IOException {
-    // Check if anything begins with <folder_path>/
-    String dir = stripPrefixIfPresent(path);
-    ObjectListingChunk objs = getObjectListingChunk(dir, recursive);
+    ObjectListingChunk objs = getNonEmptyObjectListingChunk(path, recursive);
     // If there are, this is a folder and we can create the necessary metadata
+    if (objs != null && !mUfsConf.isReadOnly()) {
+      // If the breadcrumb exists, this is a no-op
+      mkdirsInternal(stripPrefixIfPresent(path));
+    }
+    return objs;
+  }
+
+  /**
+   * Gets a (partial) object listing for the given path, without creating the breadcrumb of the
+   * path.
+   *
+   * @param path of pseudo-directory
+   * @param recursive whether to request immediate children only, or all descendants
+   * @return chunked object listing, or null if the path does not exist as a pseudo-directory
+   */
+  private ObjectListingChunk getNonEmptyObjectListingChunk(String path, boolean recursive)
+      throws IOException {
+    // Check if anything begins with <folder_path>/
+    ObjectListingChunk objs = getObjectListingChunk(stripPrefixIfPresent(path), recursive);
     if (objs != null && ((objs.getObjectStatuses() != null && objs.getObjectStatuses().length > 0)
         || (objs.getCommonPrefixes() != null && objs.getCommonPrefixes().length > 0))) {
-      // If the breadcrumb exists, this is a no-op
-      if (!mUfsConf.isReadOnly()) {
-        mkdirsInternal(dir);
-      }
       return objs;
     }
     return null;
@@ -734,7 +735,76 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
    * @return an array of the file and folder names in this directory
    */
   protected UfsStatus[] listInternal(String path, ListOptions options) throws IOException {
-    ObjectListingChunk chunk = getObjectListingChunkForPath(path, options.isRecursive());
+    if (options.isRecursive()) {
+      return listRecursiveInParallel(path);
+    }
+    return listObjects(path, false, true);
+  }
+
+  /**
+   * Lists the files under the given path recursively. The direct children of the path are listed
+   * first, and then the subtree of each child directory is listed in parallel, so that the listing
+   * of a large prefix is not bound by fetching its listing chunks one after the other. The
+   * breadcrumbs of the child directories are created by the listing of the path, so the listings
+   * of their subtrees do not write them again.
+   *
+   * @param path the key to list
+   * @return an array of the relative paths of the files and folders under the path, or null if
+   *         the path is not a directory
+   */
+  private UfsStatus[] listRecursiveInParallel(String path) throws IOException {
+    UfsStatus[] children = listObjects(path, false, true);
+    if (children == null) {
+      return null;
+    }
+    List<UfsStatus> statuses = new ArrayList<>(Arrays.asList(children));
+    Map<String, Future<UfsStatus[]>> subtrees = new HashMap<>();
+    for (UfsStatus child : children) {
+      if (child.isDirectory()) {
+        final String childPath = PathUtils.concatPath(path, child.getName());
+        subtrees.put(child.getName(), mExecutorService.submit(new Callable<UfsStatus[]>() {
+          @Override
+          public UfsStatus[] call() throws IOException {
+            return listObjects(childPath, true, false);
+          }
+        }));
+      }
+    }
+    for (Map.Entry<String, Future<UfsStatus[]>> subtree : subtrees.entrySet()) {
+      UfsStatus[] descendants;
+      try {
+        descendants = subtree.getValue().get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(String.format("Interrupted while listing %s", path), e);
+      } catch (ExecutionException e) {
+        Throwables.propagateIfPossible(e.getCause(), IOException.class);
+        throw new IOException(e.getCause());
+      }
+      if (descendants == null) {
+        // The directory was removed in the meantime
+        continue;
+      }
+      for (UfsStatus descendant : descendants) {
+        statuses.add(descendant.copy()
+            .setName(PathUtils.concatPath(subtree.getKey(), descendant.getName())));
+      }
+    }
+    return statuses.toArray(new UfsStatus[statuses.size()]);
+  }
+
+  /**
+   * Lists the files in the given path by fetching its listing chunks.
+   *
+   * @param path the key to list
+   * @param recursive whether to list the path recursively
+   * @param createBreadcrumb whether to create the breadcrumb of the path if it has none
+   * @return an array of the file and folder names in this directory
+   */
+  private UfsStatus[] listObjects(String path, boolean recursive, boolean createBreadcrumb)
+      throws IOException {
+    ObjectListingChunk chunk = createBreadcrumb ? getObjectListingChunkForPath(path, recursive)
+        : getNonEmptyObjectListingChunk(path, recursive);
     if (chunk == null) {
       String keyAsFolder = convertToFolderName(stripPrefixIfPresent(path));
       if (getObjectStatus(keyAsFolder) != null) {
@@ -785,7 +855,7 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
       }
       // Handle case (2)
       String[] commonPrefixes;
-      if (options.isRecursive()) {
+      if (recursive) {
         // In case of a recursive listing infer pseudo-directories as the commonPrefixes returned
         // from the object store is empty for an empty delimiter.
         HashSet<String> prefixes = new HashSet<>();
@@ -850,6 +920,33 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
    */
   protected abstract InputStream openObject(String key, OpenOptions options) throws IOException;
 
+  /**
+   * Internal function to open an input stream reading a range of an object. Object stores
+   * supporting bounded ranged reads should override this, as the default implementation reads the
+   * object from the start of the range and stops at its end.
+   *
+   * @param key the key to open
+   * @param startPos start position in bytes (inclusive)
+   * @param endPos end position in bytes (exclusive), at most the length of the object
+   * @return an {@link InputStream} reading the range of the object
+   */
+  protected InputStream openObjectRange(String key, long startPos, long endPos)
+      throws IOException {
+    return ByteStreams.limit(openObject(key, OpenOptions.defaults().setOffset(startPos)),
+        endPos - startPos);
+  }
+
+  /**
+   * Internal function to close a stream opened by {@link #openObjectRange} before the end of its
+   * range, so that the rest of the range is not transferred. Object stores whose streams read up
+   * to the end of the range when closed should override this to abort the request instead.
+   *
+   * @param in the stream reading a range of an object
+   */
+  protected void abortObjectRange(InputStream in) throws IOException {
+    in.close();
+  }
+
   /**
    * Treating the object store as a file system, checks if the parent directory exists.
    *
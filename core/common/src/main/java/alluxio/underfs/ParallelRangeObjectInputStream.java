@@ -0,0 +1,402 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Seekable;
+import alluxio.exception.status.CanceledException;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A stream reading an object with several concurrent ranged reads, so that the throughput of a
+ * sequential read is not capped by a single connection to the object store. The ranges after the
+ * read position are fetched ahead into buffers from an {@link ObjectBufferPool}, and are
+ * consumed in order. When the pool is used up, the stream reads the next range directly. The
+ * stream ends at a given position, so that nothing past the bytes requested is fetched ahead.
+ */
+@NotThreadSafe
+public final class ParallelRangeObjectInputStream extends InputStream implements Seekable {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelRangeObjectInputStream.class);
+
+  /** UFS to read the object from. */
+  private final ObjectUnderFileSystem mUfs;
+  /** Key of the object in UFS. */
+  private final String mKey;
+  /** The end of the bytes read from the object (exclusive), at most the size of the object. */
+  private final long mEndPos;
+  /** The maximum number of ranges fetched ahead. */
+  private final int mParallelism;
+  /** The pool of the buffers for the ranges fetched ahead. */
+  private final ObjectBufferPool mBufferPool;
+  /** The executor fetching the ranges. */
+  private final ExecutorService mExecutor;
+
+  /** The ranges fetched ahead in order, the first one containing the position if any. */
+  private final Deque<RangeFetch> mFetches = new ArrayDeque<>();
+  /** The stream reading the range at the position when no buffer was available, or null. */
+  private InputStream mDirectStream;
+  /** The end of the range read by the direct stream (exclusive). */
+  private long mDirectEndPos;
+  /** The start of the next range to fetch. */
+  private long mNextFetchPos;
+  /** The current position of the stream. */
+  private long mPos;
+  private boolean mClosed;
+
+  /**
+   * Creates a new instance of {@link ParallelRangeObjectInputStream}.
+   *
+   * @param ufs the object UFS to read the object from
+   * @param key the key of the object
+   * @param endPos the end of the bytes to read (exclusive), at most the size of the object
+   * @param position the position to begin reading from
+   * @param parallelism the maximum number of ranges fetched ahead
+   * @param bufferPool the pool of the buffers for the ranges fetched ahead
+   * @param executor the executor fetching the ranges
+   */
+  ParallelRangeObjectInputStream(ObjectUnderFileSystem ufs, String key, long endPos,
+      long position, int parallelism, ObjectBufferPool bufferPool,
+      ExecutorService executor) {
+    Preconditions.checkArgument(position >= 0, "Invalid position %s", position);
+    mUfs = ufs;
+    mKey = key;
+    mEndPos = endPos;
+    mParallelism = parallelism;
+    mBufferPool = bufferPool;
+    mExecutor = executor;
+    mPos = position;
+    mNextFetchPos = position;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] b = new byte[1];
+    int read = read(b, 0, 1);
+    return read == -1 ? -1 : b[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b) throws IOException {
+    return read(b, 0, b.length);
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    Preconditions.checkState(!mClosed, "Stream closed");
+    if (len == 0) {
+      return 0;
+    }
+    if (mPos >= mEndPos) {
+      return -1;
+    }
+    int read;
+    RangeFetch fetch = prepareRead();
+    if (fetch != null) {
+      read = (int) Math.min(len, fetch.mEnd - mPos);
+      System.arraycopy(fetch.mBuffer, (int) (mPos - fetch.mStart), b, off, read);
+    } else {
+      read = mDirectStream.read(b, off, (int) Math.min(len, mDirectEndPos - mPos));
+      if (read == -1) {
+        throw new IOException(String.format(
+            "Unexpected end of object %s at position %d of %d", mKey, mPos, mEndPos));
+      }
+    }
+    mPos += read;
+    return read;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (n <= 0) {
+      return 0;
+    }
+    long toSkip = Math.min(n, Math.max(0, mEndPos - mPos));
+    seek(mPos + toSkip);
+    return toSkip;
+  }
+
+  @Override
+  public void seek(long position) throws IOException {
+    Preconditions.checkState(!mClosed, "Stream closed");
+    Preconditions.checkArgument(position >= 0, "Invalid position %s", position);
+    if (position == mPos) {
+      return;
+    }
+    if (position > mPos && position < mNextFetchPos) {
+      // Keep the ranges already fetched after the new position.
+      if (mDirectStream != null) {
+        if (position < mDirectEndPos) {
+          ByteStreams.skipFully(mDirectStream, position - mPos);
+        } else {
+          closeDirectStream();
+        }
+      }
+      while (!mFetches.isEmpty() && mFetches.peekFirst().mEnd <= position) {
+        mFetches.removeFirst().discard();
+      }
+    } else {
+      discardAll();
+      mNextFetchPos = position;
+    }
+    mPos = position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    discardAll();
+  }
+
+  /**
+   * Fetches the ranges ahead of the position, and makes the data at the position available.
+   *
+   * @return the fetched range containing the position, or null if the position is read by the
+   *         direct stream
+   */
+  private RangeFetch prepareRead() throws IOException {
+    if (!mFetches.isEmpty() && mPos >= mFetches.peekFirst().mEnd) {
+      mFetches.removeFirst().discard();
+    }
+    if (mDirectStream != null && mPos >= mDirectEndPos) {
+      closeDirectStream();
+    }
+    fetchAhead();
+    if (mDirectStream != null) {
+      return null;
+    }
+    RangeFetch fetch = mFetches.peekFirst();
+    if (fetch == null) {
+      // No buffer is available, so read the range at the position without buffering it.
+      mDirectEndPos = rangeEnd(mPos);
+      mDirectStream = mUfs.openObjectRange(mKey, mPos, mDirectEndPos);
+      mNextFetchPos = mDirectEndPos;
+      return null;
+    }
+    fetch.waitForData();
+    return fetch;
+  }
+
+  /**
+   * Starts fetching the ranges ahead of the position, up to the parallelism and the buffers
+   * available.
+   */
+  private void fetchAhead() {
+    while (mFetches.size() < mParallelism && mNextFetchPos < mEndPos) {
+      byte[] buffer = mBufferPool.tryAcquire();
+      if (buffer == null) {
+        return;
+      }
+      RangeFetch fetch = new RangeFetch(mNextFetchPos, rangeEnd(mNextFetchPos), buffer);
+      fetch.mFuture = mExecutor.submit(fetch);
+      mFetches.addLast(fetch);
+      mNextFetchPos = fetch.mEnd;
+    }
+  }
+
+  /**
+   * @param start the start of a range
+   * @return the end of the range starting at the given position (exclusive)
+   */
+  private long rangeEnd(long start) {
+    return Math.min(start + mBufferPool.getBufferSize(), mEndPos);
+  }
+
+  /**
+   * Discards the ranges fetched ahead and closes the direct stream.
+   */
+  private void discardAll() throws IOException {
+    while (!mFetches.isEmpty()) {
+      mFetches.removeFirst().discard();
+    }
+    closeDirectStream();
+  }
+
+  /**
+   * Closes the direct stream if it is open, aborting the read if the range is not read up to its
+   * end.
+   */
+  private void closeDirectStream() throws IOException {
+    if (mDirectStream != null) {
+      if (mPos < mDirectEndPos) {
+        mUfs.abortObjectRange(mDirectStream);
+      } else {
+        mDirectStream.close();
+      }
+      mDirectStream = null;
+    }
+  }
+
+  /**
+   * A range of the object fetched into a buffer. The buffer is returned to the pool once the
+   * range is discarded and the fetch is done with it. Discarding a range still being fetched
+   * cancels the fetch, so that the ranges no longer needed do not hold a connection to the object
+   * store and a buffer until they are read in full.
+   */
+  @ThreadSafe
+  private final class RangeFetch implements Callable<Void> {
+    /** The start of the range (inclusive). */
+    private final long mStart;
+    /** The end of the range (exclusive). */
+    private final long mEnd;
+    /** The buffer holding the range from its start. */
+    private final byte[] mBuffer;
+    /** The result of the fetch, set right after it is submitted. */
+    private Future<Void> mFuture;
+
+    /** Whether the range has been discarded by the stream. */
+    @GuardedBy("this")
+    private boolean mDiscarded;
+    /** Whether the fetch has started using the buffer. */
+    @GuardedBy("this")
+    private boolean mStarted;
+    /** The stream reading the range while it is fetched, or null. */
+    @GuardedBy("this")
+    private InputStream mStream;
+    /** Whether the fetch has stopped using the buffer. */
+    @GuardedBy("this")
+    private boolean mFinished;
+
+    /**
+     * @param start the start of the range (inclusive)
+     * @param end the end of the range (exclusive)
+     * @param buffer the buffer to fetch the range into
+     */
+    RangeFetch(long start, long end, byte[] buffer) {
+      mStart = start;
+      mEnd = end;
+      mBuffer = buffer;
+    }
+
+    @Override
+    public Void call() throws IOException {
+      synchronized (this) {
+        if (mDiscarded) {
+          // The buffer was released when the range was discarded.
+          return null;
+        }
+        mStarted = true;
+      }
+      Timer.Context timer = Metrics.RANGE_READS.time();
+      try (InputStream in = mUfs.openObjectRange(mKey, mStart, mEnd)) {
+        synchronized (this) {
+          if (mDiscarded) {
+            throw new CanceledException(String.format(
+                "Ranged read [%d, %d) of object %s discarded", mStart, mEnd, mKey));
+          }
+          mStream = in;
+        }
+        ByteStreams.readFully(in, mBuffer, 0, (int) (mEnd - mStart));
+        timer.stop();
+        return null;
+      } catch (IOException | RuntimeException e) {
+        synchronized (this) {
+          if (!mDiscarded) {
+            Metrics.RANGE_READ_FAILURES.inc();
+          }
+        }
+        throw e;
+      } finally {
+        synchronized (this) {
+          mStream = null;
+          mFinished = true;
+          if (mDiscarded) {
+            mBufferPool.release(mBuffer);
+          }
+        }
+      }
+    }
+
+    /**
+     * Waits until the range is fetched.
+     */
+    void waitForData() throws IOException {
+      try {
+        mFuture.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CanceledException(e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+        throw new IOException(String.format("Failed to read range [%d, %d) of object %s", mStart,
+            mEnd, mKey), cause);
+      }
+    }
+
+    /**
+     * Discards the range. The buffer is released right away if the fetch has not started or is
+     * done with it. Otherwise, the fetch is interrupted and its ranged read is aborted, and the
+     * buffer is released when the fetch finishes.
+     */
+    void discard() {
+      InputStream stream;
+      synchronized (this) {
+        if (mDiscarded) {
+          return;
+        }
+        mDiscarded = true;
+        if (!mStarted || mFinished) {
+          mBufferPool.release(mBuffer);
+          mFuture.cancel(false);
+          return;
+        }
+        mFuture.cancel(true);
+        stream = mStream;
+      }
+      if (stream != null) {
+        try {
+          mUfs.abortObjectRange(stream);
+        } catch (IOException | RuntimeException e) {
+          // The fetch fails and releases the buffer whether or not the read is aborted.
+          LOG.debug("Failed to abort ranged read [{}, {}) of object {}: {}", mStart, mEnd, mKey,
+              e.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * Class that contains metrics about the ranged reads of objects.
+   */
+  @ThreadSafe
+  private static final class Metrics {
+    private static final Timer RANGE_READS = MetricsSystem.workerTimer("UfsObjectRangeReads");
+    private static final Counter RANGE_READ_FAILURES =
+        MetricsSystem.workerCounter("UfsObjectRangeReadFailures");
+
+    private Metrics() {} // prevent instantiation
+  }
+}
@@ -320,6 +320,15 @@ public interface UnderFileSystem extends Closeable {
    */
   boolean isFile(String path) throws IOException;
 
+  /**
+   * Checks if an error of a call to this under file system is caused by the under file system
+   * throttling the calls, such as the 503 SlowDown responses of S3.
+   *
+   * @param e the error of a call
+   * @return true if the under file system throttled the call, false otherwise
+   */
+  boolean isThrottled(IOException e);
+
   /**
    * Returns an array of statuses of the files and directories in the directory denoted by this
    * abstract pathname.
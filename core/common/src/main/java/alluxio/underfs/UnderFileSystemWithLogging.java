@@ -12,6 +12,7 @@
 package alluxio.underfs;
 
 import alluxio.AlluxioURI;
+import alluxio.metrics.OperationTrace;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.DeleteOptions;
 import alluxio.underfs.options.FileLocationOptions;
@@ -314,6 +315,11 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     });
   }
 
+  @Override
+  public boolean isThrottled(IOException e) {
+    return mUnderFileSystem.isThrottled(e);
+  }
+
   @Override
   public UfsStatus[] listStatus(final String path) throws IOException {
     return call(new UfsCallable<UfsStatus[]>() {
@@ -511,6 +517,7 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
    */
   private <T> T call(UfsCallable<T> callable) throws IOException {
     LOG.debug("Enter: {}", callable);
+    OperationTrace.startPhase(OperationTrace.Phase.UFS);
     try {
       T ret = callable.call();
       LOG.debug("Exit (OK): {}", callable);
@@ -518,6 +525,8 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     } catch (IOException e) {
       LOG.debug("Exit (Error): {}, Error={}", callable, e.getMessage());
       throw e;
+    } finally {
+      OperationTrace.endPhase();
     }
   }
 }
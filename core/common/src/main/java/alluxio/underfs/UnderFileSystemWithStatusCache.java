@@ -0,0 +1,547 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.metrics.MetricsSystem;
+import alluxio.underfs.options.CreateOptions;
+import alluxio.underfs.options.DeleteOptions;
+import alluxio.underfs.options.FileLocationOptions;
+import alluxio.underfs.options.ListOptions;
+import alluxio.underfs.options.MkdirsOptions;
+import alluxio.underfs.options.OpenOptions;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * This class forwards all calls to the {@link UnderFileSystem} interface to an internal
+ * implementation, and caches the results of the calls querying the status of paths, such as
+ * {@link #exists(String)}, {@link #getFileStatus(String)} and {@link #listStatus(String)}, for a
+ * bounded time. Both positive and negative results are cached, so that the paths which are
+ * checked or listed again and again by the master sync paths only reach the under storage once
+ * per time to live.
+ *
+ * The calls modifying paths through this instance invalidate the cached results of these paths,
+ * of their ancestors, and of their descendants for directories. Modifications made to the under
+ * storage by other clients are only visible once the cached results expire.
+ */
+@ThreadSafe
+public class UnderFileSystemWithStatusCache implements UnderFileSystem {
+  /** The maximum length of a cached listing, to bound the memory of the cache. */
+  private static final int LISTING_LENGTH_MAX = 10000;
+
+  private final UnderFileSystem mUnderFileSystem;
+  /** The cached results of the calls, by normalized path. */
+  private final Cache<String, Entry> mCache;
+
+  /**
+   * Creates a new {@link UnderFileSystemWithStatusCache} which forwards all calls to the provided
+   * {@link UnderFileSystem} implementation.
+   *
+   * @param ufs the implementation which will handle all the calls
+   * @param ttlMs the time to live of the cached results in milliseconds
+   * @param capacity the maximum number of paths with cached results
+   */
+  UnderFileSystemWithStatusCache(UnderFileSystem ufs, long ttlMs, long capacity) {
+    mUnderFileSystem = ufs;
+    mCache = CacheBuilder.newBuilder().maximumSize(capacity)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS).build();
+  }
+
+  @Override
+  public void close() throws IOException {
+    mCache.invalidateAll();
+    mUnderFileSystem.close();
+  }
+
+  @Override
+  public void connectFromMaster(String hostname) throws IOException {
+    mUnderFileSystem.connectFromMaster(hostname);
+  }
+
+  @Override
+  public void connectFromWorker(String hostname) throws IOException {
+    mUnderFileSystem.connectFromWorker(hostname);
+  }
+
+  @Override
+  public OutputStream create(String path) throws IOException {
+    invalidate(path);
+    return new InvalidatingOutputStream(mUnderFileSystem.create(path), path);
+  }
+
+  @Override
+  public OutputStream create(String path, CreateOptions options) throws IOException {
+    invalidate(path);
+    return new InvalidatingOutputStream(mUnderFileSystem.create(path, options), path);
+  }
+
+  @Override
+  public boolean deleteDirectory(String path) throws IOException {
+    try {
+      return mUnderFileSystem.deleteDirectory(path);
+    } finally {
+      invalidateTree(path);
+    }
+  }
+
+  @Override
+  public boolean deleteDirectory(String path, DeleteOptions options) throws IOException {
+    try {
+      return mUnderFileSystem.deleteDirectory(path, options);
+    } finally {
+      invalidateTree(path);
+    }
+  }
+
+  @Override
+  public boolean deleteFile(String path) throws IOException {
+    try {
+      return mUnderFileSystem.deleteFile(path);
+    } finally {
+      invalidate(path);
+    }
+  }
+
+  @Override
+  public boolean exists(String path) throws IOException {
+    Entry entry = getEntry(path);
+    Boolean exists = entry.exists();
+    if (exists != null) {
+      Metrics.HITS.inc();
+      return exists;
+    }
+    Metrics.MISSES.inc();
+    exists = mUnderFileSystem.exists(path);
+    entry.mExists = exists;
+    return exists;
+  }
+
+  @Override
+  public long getBlockSizeByte(String path) throws IOException {
+    return mUnderFileSystem.getBlockSizeByte(path);
+  }
+
+  @Override
+  public UfsDirectoryStatus getDirectoryStatus(String path) throws IOException {
+    Entry entry = getEntry(path);
+    UfsDirectoryStatus status = entry.mDirectoryStatus;
+    if (status != null) {
+      Metrics.HITS.inc();
+    } else {
+      Metrics.MISSES.inc();
+      status = mUnderFileSystem.getDirectoryStatus(path);
+      entry.mDirectoryStatus = status;
+    }
+    return status == null ? null : (UfsDirectoryStatus) status.copy();
+  }
+
+  @Override
+  public List<String> getFileLocations(String path) throws IOException {
+    return mUnderFileSystem.getFileLocations(path);
+  }
+
+  @Override
+  public List<String> getFileLocations(String path, FileLocationOptions options)
+      throws IOException {
+    return mUnderFileSystem.getFileLocations(path, options);
+  }
+
+  @Override
+  public UfsFileStatus getFileStatus(String path) throws IOException {
+    Entry entry = getEntry(path);
+    UfsFileStatus status = entry.mFileStatus;
+    if (status != null) {
+      Metrics.HITS.inc();
+    } else {
+      Metrics.MISSES.inc();
+      status = mUnderFileSystem.getFileStatus(path);
+      entry.mFileStatus = status;
+    }
+    return status == null ? null : (UfsFileStatus) status.copy();
+  }
+
+  @Override
+  public long getSpace(String path, SpaceType type) throws IOException {
+    return mUnderFileSystem.getSpace(path, type);
+  }
+
+  @Override
+  public String getUnderFSType() {
+    return mUnderFileSystem.getUnderFSType();
+  }
+
+  @Override
+  public boolean isDirectory(String path) throws IOException {
+    Entry entry = getEntry(path);
+    Boolean isDirectory = entry.isDirectory();
+    if (isDirectory != null) {
+      Metrics.HITS.inc();
+      return isDirectory;
+    }
+    Metrics.MISSES.inc();
+    isDirectory = mUnderFileSystem.isDirectory(path);
+    entry.mIsDirectory = isDirectory;
+    return isDirectory;
+  }
+
+  @Override
+  public boolean isFile(String path) throws IOException {
+    Entry entry = getEntry(path);
+    Boolean isFile = entry.isFile();
+    if (isFile != null) {
+      Metrics.HITS.inc();
+      return isFile;
+    }
+    Metrics.MISSES.inc();
+    isFile = mUnderFileSystem.isFile(path);
+    entry.mIsFile = isFile;
+    return isFile;
+  }
+
+  @Override
+  public boolean isThrottled(IOException e) {
+    return mUnderFileSystem.isThrottled(e);
+  }
+
+  @Override
+  public UfsStatus[] listStatus(String path) throws IOException {
+    Entry entry = getEntry(path);
+    Listing listing = entry.mListing;
+    if (listing != null) {
+      Metrics.HITS.inc();
+    } else {
+      Metrics.MISSES.inc();
+      listing = new Listing(mUnderFileSystem.listStatus(path));
+      if (listing.mStatuses == null || listing.mStatuses.length <= LISTING_LENGTH_MAX) {
+        entry.mListing = listing;
+      }
+    }
+    return listing.copyStatuses();
+  }
+
+  @Override
+  public UfsStatus[] listStatus(String path, ListOptions options) throws IOException {
+    if (!options.isRecursive()) {
+      return listStatus(path);
+    }
+    // Recursive listings are not cached, as they are not bounded by the capacity of the cache
+    return mUnderFileSystem.listStatus(path, options);
+  }
+
+  @Override
+  public boolean mkdirs(String path) throws IOException {
+    try {
+      return mUnderFileSystem.mkdirs(path);
+    } finally {
+      invalidate(path);
+    }
+  }
+
+  @Override
+  public boolean mkdirs(String path, MkdirsOptions options) throws IOException {
+    try {
+      return mUnderFileSystem.mkdirs(path, options);
+    } finally {
+      invalidate(path);
+    }
+  }
+
+  @Override
+  public InputStream open(String path) throws IOException {
+    return mUnderFileSystem.open(path);
+  }
+
+  @Override
+  public InputStream open(String path, OpenOptions options) throws IOException {
+    return mUnderFileSystem.open(path, options);
+  }
+
+  @Override
+  public boolean renameDirectory(String src, String dst) throws IOException {
+    try {
+      return mUnderFileSystem.renameDirectory(src, dst);
+    } finally {
+      invalidateTree(src);
+      invalidateTree(dst);
+    }
+  }
+
+  @Override
+  public boolean renameFile(String src, String dst) throws IOException {
+    try {
+      return mUnderFileSystem.renameFile(src, dst);
+    } finally {
+      invalidate(src);
+      invalidate(dst);
+    }
+  }
+
+  @Override
+  public AlluxioURI resolveUri(AlluxioURI ufsBaseUri, String alluxioPath) {
+    return mUnderFileSystem.resolveUri(ufsBaseUri, alluxioPath);
+  }
+
+  @Override
+  public void setMode(String path, short mode) throws IOException {
+    try {
+      mUnderFileSystem.setMode(path, mode);
+    } finally {
+      invalidate(path);
+    }
+  }
+
+  @Override
+  public void setOwner(String path, String owner, String group) throws IOException {
+    try {
+      mUnderFileSystem.setOwner(path, owner, group);
+    } finally {
+      invalidate(path);
+    }
+  }
+
+  @Override
+  public boolean supportsFlush() {
+    return mUnderFileSystem.supportsFlush();
+  }
+
+  /**
+   * @param path a path of the under storage
+   * @return the normalized path, such that the paths which only differ by a trailing separator
+   *         share their cached results
+   */
+  private static String normalize(String path) {
+    return new AlluxioURI(path).toString();
+  }
+
+  /**
+   * Gets the cached results of a path. The results of the calls are set on the entry obtained
+   * before the calls, so that the results of calls concurrent with an invalidation are dropped
+   * with the entry instead of being cached.
+   *
+   * @param path a path of the under storage
+   * @return the cached results of the path
+   */
+  private Entry getEntry(String path) {
+    String key = normalize(path);
+    Entry entry = mCache.getIfPresent(key);
+    if (entry == null) {
+      Entry newEntry = new Entry();
+      entry = mCache.asMap().putIfAbsent(key, newEntry);
+      if (entry == null) {
+        entry = newEntry;
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * Invalidates the cached results of a path and of its ancestors, which list it.
+   *
+   * @param path a path of the under storage
+   */
+  private void invalidate(String path) {
+    AlluxioURI uri = new AlluxioURI(path);
+    while (uri != null) {
+      mCache.invalidate(uri.toString());
+      uri = uri.getParent();
+    }
+  }
+
+  /**
+   * Invalidates the cached results of a directory, of its ancestors and of its descendants.
+   *
+   * @param path the path of a directory of the under storage
+   */
+  private void invalidateTree(String path) {
+    invalidate(path);
+    String prefix = normalize(path) + AlluxioURI.SEPARATOR;
+    Iterator<String> iterator = mCache.asMap().keySet().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().startsWith(prefix)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * The cached results of the calls on a path. A null field means the result is not cached.
+   */
+  private static final class Entry {
+    private volatile Boolean mExists;
+    private volatile Boolean mIsFile;
+    private volatile Boolean mIsDirectory;
+    private volatile UfsFileStatus mFileStatus;
+    private volatile UfsDirectoryStatus mDirectoryStatus;
+    private volatile Listing mListing;
+
+    /**
+     * Creates an entry with no result cached.
+     */
+    Entry() {}
+
+    /**
+     * @return whether the path exists, or null if unknown
+     */
+    Boolean exists() {
+      if (mExists != null) {
+        return mExists;
+      }
+      if (Boolean.TRUE.equals(mIsFile) || Boolean.TRUE.equals(mIsDirectory)
+          || mFileStatus != null || mDirectoryStatus != null) {
+        return true;
+      }
+      return null;
+    }
+
+    /**
+     * @return whether the path is a file, or null if unknown
+     */
+    Boolean isFile() {
+      if (mIsFile != null) {
+        return mIsFile;
+      }
+      if (mFileStatus != null) {
+        return true;
+      }
+      if (Boolean.FALSE.equals(mExists) || Boolean.TRUE.equals(mIsDirectory)) {
+        return false;
+      }
+      return null;
+    }
+
+    /**
+     * @return whether the path is a directory, or null if unknown
+     */
+    Boolean isDirectory() {
+      if (mIsDirectory != null) {
+        return mIsDirectory;
+      }
+      if (mDirectoryStatus != null) {
+        return true;
+      }
+      if (Boolean.FALSE.equals(mExists) || Boolean.TRUE.equals(mIsFile)) {
+        return false;
+      }
+      return null;
+    }
+  }
+
+  /**
+   * The result of a non-recursive listing, which is null if the path is not a directory.
+   */
+  private static final class Listing {
+    private final UfsStatus[] mStatuses;
+
+    /**
+     * @param statuses the result of the listing
+     */
+    Listing(UfsStatus[] statuses) {
+      mStatuses = statuses;
+    }
+
+    /**
+     * @return a copy of the result of the listing, which the caller may modify
+     */
+    UfsStatus[] copyStatuses() {
+      if (mStatuses == null) {
+        return null;
+      }
+      UfsStatus[] statuses = new UfsStatus[mStatuses.length];
+      for (int i = 0; i < statuses.length; i++) {
+        statuses[i] = mStatuses[i].copy();
+      }
+      return statuses;
+    }
+  }
+
+  /**
+   * A stream writing a file, which invalidates the cached results of the file once it is closed,
+   * since object stores only create the file at that point.
+   */
+  private final class InvalidatingOutputStream extends OutputStream {
+    private final OutputStream mOutputStream;
+    private final String mPath;
+
+    /**
+     * @param outputStream the stream writing the file
+     * @param path the path of the file
+     */
+    InvalidatingOutputStream(OutputStream outputStream, String path) {
+      mOutputStream = outputStream;
+      mPath = path;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      mOutputStream.write(b);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+      mOutputStream.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      mOutputStream.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      mOutputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        mOutputStream.close();
+      } finally {
+        invalidate(mPath);
+      }
+    }
+  }
+
+  /**
+   * Class that contains metrics about the UFS status caches.
+   */
+  private static final class Metrics {
+    private static final Counter HITS = MetricsSystem.masterCounter("UfsStatusCacheHits");
+    private static final Counter MISSES = MetricsSystem.masterCounter("UfsStatusCacheMisses");
+
+    static {
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMasterMetricName("UfsStatusCacheHitRatio"), new Gauge<Double>() {
+            @Override
+            public Double getValue() {
+              long hits = HITS.getCount();
+              long total = hits + MISSES.getCount();
+              return total == 0 ? 0 : (double) hits / total;
+            }
+          });
+    }
+
+    private Metrics() {} // prevent instantiation
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import alluxio.metrics.OperationTrace.Phase;
+import alluxio.util.CommonUtils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link OperationTrace} class.
+ */
+public final class OperationTraceTest {
+  /**
+   * Tests that the time of the phases is recorded.
+   */
+  @Test
+  public void phases() {
+    OperationTrace trace = OperationTrace.start();
+    try {
+      OperationTrace.startPhase(Phase.LOCK);
+      CommonUtils.sleepMs(20);
+      OperationTrace.endPhase();
+      OperationTrace.startPhase(Phase.UFS);
+      CommonUtils.sleepMs(20);
+      OperationTrace.endPhase();
+    } finally {
+      trace.stop();
+    }
+    Assert.assertTrue(trace.getPhaseTime(Phase.LOCK, TimeUnit.MILLISECONDS) >= 20);
+    Assert.assertTrue(trace.getPhaseTime(Phase.UFS, TimeUnit.MILLISECONDS) >= 20);
+    Assert.assertEquals(0, trace.getPhaseTime(Phase.JOURNAL, TimeUnit.NANOSECONDS));
+    Assert.assertTrue(trace.getElapsed(TimeUnit.MILLISECONDS) >= 40);
+  }
+
+  /**
+   * Tests that the time of a phase started within another phase is counted in the outer phase.
+   */
+  @Test
+  public void nestedPhases() {
+    OperationTrace trace = OperationTrace.start();
+    try {
+      OperationTrace.startPhase(Phase.JOURNAL);
+      OperationTrace.startPhase(Phase.UFS);
+      CommonUtils.sleepMs(20);
+      OperationTrace.endPhase();
+      CommonUtils.sleepMs(20);
+      OperationTrace.endPhase();
+    } finally {
+      trace.stop();
+    }
+    Assert.assertTrue(trace.getPhaseTime(Phase.JOURNAL, TimeUnit.MILLISECONDS) >= 40);
+    Assert.assertEquals(0, trace.getPhaseTime(Phase.UFS, TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Tests that a thread traces a single operation at a time, and that the phases are ignored when
+   * no operation is traced.
+   */
+  @Test
+  public void singleTrace() {
+    OperationTrace.startPhase(Phase.LOCK);
+    OperationTrace.endPhase();
+    OperationTrace trace = OperationTrace.start();
+    try {
+      Assert.assertNull(OperationTrace.start());
+    } finally {
+      trace.stop();
+    }
+    OperationTrace next = OperationTrace.start();
+    Assert.assertNotNull(next);
+    next.stop();
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.underfs.options.OpenOptions;
+import alluxio.util.CommonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An in-memory object store for testing and benchmarking the object store UFS. Each read request
+ * waits for a fixed latency before returning its first byte, and is throttled to a fixed
+ * bandwidth, to model the per-connection limits of a remote object store.
+ */
+public final class FakeObjectUnderFileSystem extends ObjectUnderFileSystem {
+  private static final String ROOT_KEY = "fake://bucket/";
+
+  private final ConcurrentMap<String, byte[]> mObjects = new ConcurrentHashMap<>();
+  /** The latency before the first byte of a read request. */
+  private volatile long mLatencyMs;
+  /** The bandwidth of a read request, 0 for unlimited. */
+  private final long mBytesPerSecond;
+  /** The number of read requests open. */
+  private final AtomicInteger mActiveReads = new AtomicInteger();
+  /** The maximum number of read requests open at the same time. */
+  private final AtomicInteger mMaxActiveReads = new AtomicInteger();
+  /** The total number of read requests. */
+  private final AtomicInteger mReads = new AtomicInteger();
+
+  /**
+   * Creates a new instance of {@link FakeObjectUnderFileSystem}.
+   *
+   * @param latencyMs the latency before the first byte of a read request
+   * @param bytesPerSecond the bandwidth of a read request, 0 for unlimited
+   */
+  public FakeObjectUnderFileSystem(long latencyMs, long bytesPerSecond) {
+    super(new AlluxioURI(ROOT_KEY), UnderFileSystemConfiguration.defaults());
+    mLatencyMs = latencyMs;
+    mBytesPerSecond = bytesPerSecond;
+  }
+
+  /**
+   * Stores an object.
+   *
+   * @param key the key of the object
+   * @param data the content of the object
+   */
+  public void putObject(String key, byte[] data) {
+    mObjects.put(key, data);
+  }
+
+  /**
+   * Sets the latency before the first byte of the read requests opened from now on.
+   *
+   * @param latencyMs the latency before the first byte of a read request
+   */
+  public void setLatencyMs(long latencyMs) {
+    mLatencyMs = latencyMs;
+  }
+
+  /**
+   * @return the number of read requests open
+   */
+  public int getActiveReads() {
+    return mActiveReads.get();
+  }
+
+  /**
+   * @return the maximum number of read requests open at the same time
+   */
+  public int getMaxActiveReads() {
+    return mMaxActiveReads.get();
+  }
+
+  /**
+   * @return the total number of read requests
+   */
+  public int getReads() {
+    return mReads.get();
+  }
+
+  @Override
+  public String getUnderFSType() {
+    return "fake";
+  }
+
+  @Override
+  public void setOwner(String path, String user, String group) {}
+
+  @Override
+  public void setMode(String path, short mode) {}
+
+  @Override
+  protected boolean createEmptyObject(String key) {
+    mObjects.put(key, new byte[0]);
+    return true;
+  }
+
+  @Override
+  protected OutputStream createObject(final String key) {
+    return new ByteArrayOutputStream() {
+      @Override
+      public void close() {
+        mObjects.put(key, toByteArray());
+      }
+    };
+  }
+
+  @Override
+  protected boolean copyObject(String src, String dst) {
+    byte[] data = mObjects.get(src);
+    if (data == null) {
+      return false;
+    }
+    mObjects.put(dst, data);
+    return true;
+  }
+
+  @Override
+  protected boolean deleteObject(String key) {
+    mObjects.remove(key);
+    return true;
+  }
+
+  @Override
+  protected ObjectPermissions getPermissions() {
+    return new ObjectPermissions("", "", Constants.DEFAULT_FILE_SYSTEM_MODE);
+  }
+
+  @Override
+  protected ObjectStatus getObjectStatus(String key) {
+    byte[] data = mObjects.get(key);
+    return data == null ? null : new ObjectStatus(key, data.length, 0);
+  }
+
+  @Override
+  protected String getFolderSuffix() {
+    return "_$folder$";
+  }
+
+  @Override
+  protected ObjectListingChunk getObjectListingChunk(String key, boolean recursive) {
+    final List<ObjectStatus> statuses = new ArrayList<>();
+    for (Map.Entry<String, byte[]> entry : mObjects.entrySet()) {
+      if (entry.getKey().startsWith(key)) {
+        statuses.add(new ObjectStatus(entry.getKey(), entry.getValue().length, 0));
+      }
+    }
+    return new ObjectListingChunk() {
+      @Override
+      public ObjectStatus[] getObjectStatuses() {
+        return statuses.toArray(new ObjectStatus[statuses.size()]);
+      }
+
+      @Override
+      public String[] getCommonPrefixes() {
+        return new String[0];
+      }
+
+      @Override
+      public ObjectListingChunk getNextChunk() {
+        return null;
+      }
+    };
+  }
+
+  @Override
+  protected String getRootKey() {
+    return ROOT_KEY;
+  }
+
+  @Override
+  protected InputStream openObject(String key, OpenOptions options) throws IOException {
+    return openObjectRange(key, options.getOffset(), Long.MAX_VALUE);
+  }
+
+  @Override
+  protected InputStream openObjectRange(String key, long startPos, long endPos)
+      throws IOException {
+    byte[] data = mObjects.get(key);
+    if (data == null) {
+      throw new IOException("Object does not exist: " + key);
+    }
+    int start = (int) Math.min(startPos, data.length);
+    int end = (int) Math.min(endPos, data.length);
+    return new ThrottledInputStream(Arrays.copyOfRange(data, start, end));
+  }
+
+  /**
+   * A stream returning the data of a read request with the configured latency and bandwidth.
+   */
+  private final class ThrottledInputStream extends FilterInputStream {
+    private final long mStreamLatencyMs = mLatencyMs;
+    private boolean mStarted;
+    private boolean mClosed;
+
+    /**
+     * @param data the data to return
+     */
+    ThrottledInputStream(byte[] data) {
+      super(new ByteArrayInputStream(data));
+      mReads.incrementAndGet();
+      int active = mActiveReads.incrementAndGet();
+      int max;
+      do {
+        max = mMaxActiveReads.get();
+      } while (active > max && !mMaxActiveReads.compareAndSet(max, active));
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      int read = read(b, 0, 1);
+      return read == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (!mStarted) {
+        mStarted = true;
+        CommonUtils.sleepMs(mStreamLatencyMs);
+      }
+      int read = super.read(b, off, len);
+      if (read > 0 && mBytesPerSecond > 0) {
+        CommonUtils.sleepMs(read * Constants.SECOND_MS / mBytesPerSecond);
+      }
+      return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!mClosed) {
+        mClosed = true;
+        mActiveReads.decrementAndGet();
+      }
+      super.close();
+    }
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tests for the {@link MultipartObjectOutputStream} class.
+ */
+public final class MultipartObjectOutputStreamTest {
+  private static final int PART_SIZE = 1024;
+  private static final int MAX_BUFFERS = 4;
+  /** A timeout for the buffers of the pool which no test reaches. */
+  private static final long BUFFER_WAIT_MS = 60000;
+
+  private ObjectBufferPool mBufferPool;
+  private ExecutorService mExecutor;
+
+  /**
+   * Sets up the executor before a test runs.
+   */
+  @Before
+  public void before() {
+    mBufferPool = new ObjectBufferPool(PART_SIZE, MAX_BUFFERS);
+    mExecutor = Executors.newFixedThreadPool(MAX_BUFFERS);
+  }
+
+  /**
+   * Shuts down the executor after a test ran.
+   */
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests that an object smaller than a part is uploaded with a single request.
+   */
+  @Test
+  public void smallObject() throws Exception {
+    TestOutputStream out = new TestOutputStream(mBufferPool);
+    out.write(BufferUtils.getIncreasingByteArray(PART_SIZE / 2));
+    out.close();
+    Assert.assertFalse(out.mInitiated);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(PART_SIZE / 2, out.mObject));
+  }
+
+  /**
+   * Tests that an empty object is uploaded with a single request.
+   */
+  @Test
+  public void emptyObject() throws Exception {
+    TestOutputStream out = new TestOutputStream(mBufferPool);
+    out.close();
+    Assert.assertFalse(out.mInitiated);
+    Assert.assertEquals(0, out.mObject.length);
+  }
+
+  /**
+   * Tests that a large object is uploaded in parts.
+   */
+  @Test
+  public void largeObject() throws Exception {
+    int length = PART_SIZE * 10 + 10;
+    TestOutputStream out = new TestOutputStream(mBufferPool);
+    byte[] data = BufferUtils.getIncreasingByteArray(length);
+    out.write(data[0]);
+    out.write(data, 1, length - 1);
+    out.close();
+    Assert.assertTrue(out.mInitiated);
+    Assert.assertEquals(11, out.mParts.size());
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(length, out.mObject));
+    assertBuffersReleased();
+  }
+
+  /**
+   * Tests that the first part of an object is buffered in memory outside of the pool, growing up
+   * to the maximum size of the first buffer before the part is moved to a buffer of the pool.
+   */
+  @Test(timeout = 10000)
+  public void firstPartOutsideOfPool() throws Exception {
+    // Small objects are uploaded without a buffer of the pool
+    TestOutputStream out = new TestOutputStream(new ObjectBufferPool(PART_SIZE, 0));
+    out.write(BufferUtils.getIncreasingByteArray(PART_SIZE / 2));
+    out.close();
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(PART_SIZE / 2, out.mObject));
+
+    int partSize = MultipartObjectOutputStream.MAX_FIRST_BUFFER_SIZE * 2;
+    int length = partSize * 2 + 10;
+    ObjectBufferPool pool = new ObjectBufferPool(partSize, 1);
+    out = new TestOutputStream(pool);
+    byte[] data = BufferUtils.getIncreasingByteArray(length);
+    for (int off = 0; off < length; off += 1000) {
+      out.write(data, off, Math.min(1000, length - off));
+    }
+    out.close();
+    Assert.assertEquals(3, out.mParts.size());
+    Assert.assertTrue(out.mFileParts.isEmpty());
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(length, out.mObject));
+    Assert.assertNotNull(pool.tryAcquire());
+  }
+
+  /**
+   * Tests that a stream waits for a buffer of the pool to be released.
+   */
+  @Test(timeout = 10000)
+  public void waitForBuffer() throws Exception {
+    final ObjectBufferPool pool = new ObjectBufferPool(PART_SIZE, 1);
+    final byte[] buffer = pool.tryAcquire();
+    Thread releaser = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          return;
+        }
+        pool.release(buffer);
+      }
+    });
+    releaser.start();
+    int length = PART_SIZE * 3;
+    TestOutputStream out = new TestOutputStream(pool);
+    out.write(BufferUtils.getIncreasingByteArray(length));
+    out.close();
+    releaser.join();
+    Assert.assertTrue(out.mFileParts.isEmpty());
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(length, out.mObject));
+  }
+
+  /**
+   * Tests that the parts are buffered in local files and uploaded synchronously when no buffer is
+   * released before the timeout.
+   */
+  @Test
+  public void noBufferAvailable() throws Exception {
+    int length = PART_SIZE * 3 + 10;
+    TestOutputStream out = new TestOutputStream(new ObjectBufferPool(PART_SIZE, 0), 0);
+    out.write(BufferUtils.getIncreasingByteArray(length));
+    // The first part is buffered in memory, the next ones in files
+    Assert.assertEquals(3, out.mParts.size());
+    Assert.assertEquals(2, out.mFileParts.size());
+    out.close();
+    Assert.assertEquals(3, out.mFileParts.size());
+    Assert.assertTrue(BufferUtils.equalIncreasingByteArray(length, out.mObject));
+    for (File file : out.mFileParts) {
+      Assert.assertFalse(file.exists());
+    }
+  }
+
+  /**
+   * Tests that the multipart upload is aborted when a part fails to upload.
+   */
+  @Test
+  public void abortOnFailure() throws Exception {
+    TestOutputStream out = new TestOutputStream(mBufferPool);
+    out.mFailingPart = 2;
+    out.write(BufferUtils.getIncreasingByteArray(PART_SIZE * 2 + 10));
+    try {
+      out.close();
+      Assert.fail("close should fail when a part fails to upload");
+    } catch (IOException e) {
+      // expected
+    }
+    Assert.assertTrue(out.mAborted);
+    Assert.assertNull(out.mObject);
+    assertBuffersReleased();
+  }
+
+  private void assertBuffersReleased() {
+    for (int i = 0; i < MAX_BUFFERS; i++) {
+      Assert.assertNotNull(mBufferPool.tryAcquire());
+    }
+    Assert.assertNull(mBufferPool.tryAcquire());
+  }
+
+  /**
+   * A stream uploading the object to memory.
+   */
+  private final class TestOutputStream extends MultipartObjectOutputStream {
+    private final Map<Integer, byte[]> mParts = new ConcurrentHashMap<>();
+    private final List<File> mFileParts = new ArrayList<>();
+    private boolean mInitiated;
+    private boolean mAborted;
+    private int mFailingPart;
+    private byte[] mObject;
+
+    TestOutputStream(ObjectBufferPool bufferPool) {
+      this(bufferPool, BUFFER_WAIT_MS);
+    }
+
+    TestOutputStream(ObjectBufferPool bufferPool, long bufferWaitMs) {
+      super(mExecutor, bufferPool, bufferWaitMs);
+    }
+
+    @Override
+    protected void initiateMultipartUpload() {
+      mInitiated = true;
+    }
+
+    @Override
+    protected void uploadPart(int partNumber, byte[] data, int length) throws IOException {
+      if (partNumber == mFailingPart) {
+        throw new IOException("Failed to upload part " + partNumber);
+      }
+      mParts.put(partNumber, Arrays.copyOf(data, length));
+    }
+
+    @Override
+    protected void uploadPart(int partNumber, File file) throws IOException {
+      mFileParts.add(file);
+      byte[] data = Files.readAllBytes(file.toPath());
+      uploadPart(partNumber, data, data.length);
+    }
+
+    @Override
+    protected void completeMultipartUpload() throws IOException {
+      ByteArrayOutputStream object = new ByteArrayOutputStream();
+      for (int i = 1; i <= mParts.size(); i++) {
+        object.write(mParts.get(i));
+      }
+      mObject = object.toByteArray();
+    }
+
+    @Override
+    protected void abortMultipartUpload() {
+      mAborted = true;
+    }
+
+    @Override
+    protected void putObject(byte[] data, int length) {
+      mObject = Arrays.copyOf(data, length);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.util.CommonUtils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the {@link ObjectBulkOperation} class.
+ */
+public final class ObjectBulkOperationTest {
+  private static final int BATCH_SIZE = 10;
+  private static final int MAX_BATCHES = 2;
+  private static final int THREADS = 8;
+
+  private ExecutorService mExecutor;
+
+  /**
+   * Sets up the executor before a test runs.
+   */
+  @Before
+  public void before() {
+    mExecutor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  /**
+   * Shuts down the executor after a test ran.
+   */
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests that the operation runs on all the objects added.
+   */
+  @Test
+  public void allObjects() throws Exception {
+    TestOperation operation = new TestOperation(0);
+    ObjectBulkOperation<Integer> bulkOperation = createBulkOperation(operation, 0);
+    for (int i = 0; i < BATCH_SIZE * 5 + 3; i++) {
+      bulkOperation.add(i);
+    }
+    Assert.assertTrue(bulkOperation.finish().isEmpty());
+    Assert.assertEquals(BATCH_SIZE * 5 + 3, operation.mSucceeded.size());
+    Assert.assertEquals(6, operation.mCalls.get());
+  }
+
+  /**
+   * Tests that the objects for which the operation failed are retried.
+   */
+  @Test
+  public void retryFailedObjects() throws Exception {
+    TestOperation operation = new TestOperation(2);
+    ObjectBulkOperation<Integer> bulkOperation = createBulkOperation(operation, 2);
+    for (int i = 0; i < BATCH_SIZE * 3; i++) {
+      bulkOperation.add(i);
+    }
+    Assert.assertTrue(bulkOperation.finish().isEmpty());
+    Assert.assertEquals(BATCH_SIZE * 3, operation.mSucceeded.size());
+  }
+
+  /**
+   * Tests that the objects for which the operation failed after all the retries are returned.
+   */
+  @Test
+  public void returnFailedObjects() throws Exception {
+    TestOperation operation = new TestOperation(2);
+    ObjectBulkOperation<Integer> bulkOperation = createBulkOperation(operation, 1);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      bulkOperation.add(i);
+    }
+    List<Integer> failed = bulkOperation.finish();
+    Collections.sort(failed);
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < BATCH_SIZE; i += 2) {
+      expected.add(i);
+    }
+    Assert.assertEquals(expected, failed);
+  }
+
+  /**
+   * Tests that the number of batches running at the same time is bounded.
+   */
+  @Test
+  public void boundedBatches() throws Exception {
+    TestOperation operation = new TestOperation(0);
+    operation.mSleepMs = 20;
+    ObjectBulkOperation<Integer> bulkOperation = createBulkOperation(operation, 0);
+    for (int i = 0; i < BATCH_SIZE * 10; i++) {
+      bulkOperation.add(i);
+    }
+    Assert.assertTrue(bulkOperation.finish().isEmpty());
+    Assert.assertEquals(MAX_BATCHES, operation.mMaxActive.get());
+  }
+
+  private ObjectBulkOperation<Integer> createBulkOperation(TestOperation operation,
+      int maxRetries) {
+    return new ObjectBulkOperation<>("test", operation, BATCH_SIZE, mExecutor, MAX_BATCHES,
+        maxRetries);
+  }
+
+  /**
+   * An operation which fails on the even objects for a number of attempts.
+   */
+  private static final class TestOperation implements ObjectBulkOperation.Operation<Integer> {
+    private final Set<Integer> mSucceeded =
+        Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+    private final ConcurrentHashMap<Integer, AtomicInteger> mAttempts = new ConcurrentHashMap<>();
+    private final AtomicInteger mCalls = new AtomicInteger();
+    private final AtomicInteger mActive = new AtomicInteger();
+    private final AtomicInteger mMaxActive = new AtomicInteger();
+    /** The number of attempts failing on the even objects. */
+    private final int mFailingAttempts;
+    private long mSleepMs;
+
+    TestOperation(int failingAttempts) {
+      mFailingAttempts = failingAttempts;
+    }
+
+    @Override
+    public List<Integer> apply(List<Integer> objects) throws IOException {
+      mCalls.incrementAndGet();
+      int active = mActive.incrementAndGet();
+      int max;
+      do {
+        max = mMaxActive.get();
+      } while (active > max && !mMaxActive.compareAndSet(max, active));
+      try {
+        CommonUtils.sleepMs(mSleepMs);
+        List<Integer> succeeded = new ArrayList<>();
+        for (int object : objects) {
+          mAttempts.putIfAbsent(object, new AtomicInteger());
+          int attempt = mAttempts.get(object).incrementAndGet();
+          if (object % 2 != 0 || attempt > mFailingAttempts) {
+            mSucceeded.add(object);
+            succeeded.add(object);
+          }
+        }
+        return succeeded;
+      } finally {
+        mActive.decrementAndGet();
+      }
+    }
+  }
+}
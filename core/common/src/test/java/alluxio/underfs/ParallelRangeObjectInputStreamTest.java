@@ -0,0 +1,181 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Constants;
+import alluxio.util.CommonUtils;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Function;
+import com.google.common.io.ByteStreams;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link ParallelRangeObjectInputStream} class.
+ */
+public final class ParallelRangeObjectInputStreamTest {
+  private static final String KEY = "key";
+  private static final int RANGE_SIZE = 1024;
+  private static final int OBJECT_SIZE = RANGE_SIZE * 10 + 100;
+  private static final int PARALLELISM = 4;
+  private static final int MAX_BUFFERS = 8;
+
+  private FakeObjectUnderFileSystem mUfs;
+  private ObjectBufferPool mBufferPool;
+  private ExecutorService mExecutor;
+
+  /**
+   * Sets up the object store before a test runs.
+   */
+  @Before
+  public void before() {
+    mUfs = new FakeObjectUnderFileSystem(10, 0);
+    mUfs.putObject(KEY, BufferUtils.getIncreasingByteArray(OBJECT_SIZE));
+    mBufferPool = new ObjectBufferPool(RANGE_SIZE, MAX_BUFFERS);
+    mExecutor = Executors.newFixedThreadPool(MAX_BUFFERS);
+  }
+
+  /**
+   * Shuts down the executor after a test ran.
+   */
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests reading an object sequentially with concurrent ranged reads.
+   */
+  @Test
+  public void readSequentially() throws Exception {
+    try (ParallelRangeObjectInputStream in = createStream(0)) {
+      byte[] data = ByteStreams.toByteArray(in);
+      Assert.assertTrue(BufferUtils.equalIncreasingByteArray(OBJECT_SIZE, data));
+    }
+    Assert.assertTrue(mUfs.getMaxActiveReads() > 1);
+    Assert.assertTrue(mUfs.getMaxActiveReads() <= PARALLELISM);
+  }
+
+  /**
+   * Tests reading an object from a position.
+   */
+  @Test
+  public void readFromPosition() throws Exception {
+    int position = RANGE_SIZE + 10;
+    try (ParallelRangeObjectInputStream in = createStream(position)) {
+      byte[] data = ByteStreams.toByteArray(in);
+      Assert.assertTrue(
+          BufferUtils.equalIncreasingByteArray(position, OBJECT_SIZE - position, data));
+    }
+  }
+
+  /**
+   * Tests seeking forward and backward.
+   */
+  @Test
+  public void seek() throws Exception {
+    try (ParallelRangeObjectInputStream in = createStream(0)) {
+      Assert.assertEquals(0, in.read());
+      in.seek(RANGE_SIZE * 2 + 1);
+      Assert.assertEquals((byte) (RANGE_SIZE * 2 + 1), (byte) in.read());
+      in.seek(10);
+      Assert.assertEquals(10, in.read());
+      Assert.assertEquals(RANGE_SIZE * 8, in.skip(RANGE_SIZE * 8));
+      Assert.assertEquals((byte) (RANGE_SIZE * 8 + 11), (byte) in.read());
+      Assert.assertEquals(OBJECT_SIZE - RANGE_SIZE * 8 - 12, in.skip(OBJECT_SIZE));
+      Assert.assertEquals(-1, in.read());
+    }
+  }
+
+  /**
+   * Tests that the stream reads without reading ahead when no buffer is available.
+   */
+  @Test
+  public void noBufferAvailable() throws Exception {
+    mBufferPool = new ObjectBufferPool(RANGE_SIZE, 0);
+    try (ParallelRangeObjectInputStream in = createStream(0)) {
+      byte[] data = ByteStreams.toByteArray(in);
+      Assert.assertTrue(BufferUtils.equalIncreasingByteArray(OBJECT_SIZE, data));
+    }
+    Assert.assertEquals(1, mUfs.getMaxActiveReads());
+  }
+
+  /**
+   * Tests that the buffers are returned to the pool once the stream is closed.
+   */
+  @Test
+  public void releaseBuffers() throws Exception {
+    ParallelRangeObjectInputStream in = createStream(0);
+    Assert.assertEquals(0, in.read());
+    in.close();
+    mExecutor.shutdown();
+    Assert.assertTrue(mExecutor.awaitTermination(Constants.MINUTE_MS, TimeUnit.MILLISECONDS));
+    for (int i = 0; i < MAX_BUFFERS; i++) {
+      Assert.assertNotNull(mBufferPool.tryAcquire());
+    }
+    Assert.assertNull(mBufferPool.tryAcquire());
+  }
+
+  /**
+   * Tests that closing the stream cancels the ranged reads in flight instead of waiting for them.
+   */
+  @Test
+  public void cancelFetchesOnClose() throws Exception {
+    ParallelRangeObjectInputStream in = createStream(0);
+    ByteStreams.readFully(in, new byte[RANGE_SIZE]);
+    // The range fetched ahead once the first range is read never completes unless cancelled
+    mUfs.setLatencyMs(Constants.HOUR_MS);
+    Assert.assertEquals((byte) RANGE_SIZE, (byte) in.read());
+    CommonUtils.waitFor("the ranged read fetched ahead to start", new Function<Void, Boolean>() {
+      @Override
+      public Boolean apply(Void input) {
+        return mUfs.getReads() == PARALLELISM + 1;
+      }
+    });
+    in.close();
+    mExecutor.shutdown();
+    Assert.assertTrue(mExecutor.awaitTermination(10 * Constants.SECOND_MS, TimeUnit.MILLISECONDS));
+    Assert.assertEquals(0, mUfs.getActiveReads());
+    for (int i = 0; i < MAX_BUFFERS; i++) {
+      Assert.assertNotNull(mBufferPool.tryAcquire());
+    }
+    Assert.assertNull(mBufferPool.tryAcquire());
+  }
+
+  /**
+   * Tests that a stream ending before the end of the object does not fetch past its end.
+   */
+  @Test
+  public void readBounded() throws Exception {
+    int position = RANGE_SIZE + 10;
+    int endPos = RANGE_SIZE * 3;
+    try (ParallelRangeObjectInputStream in = new ParallelRangeObjectInputStream(mUfs, KEY, endPos,
+        position, PARALLELISM, mBufferPool, mExecutor)) {
+      byte[] data = ByteStreams.toByteArray(in);
+      Assert.assertTrue(
+          BufferUtils.equalIncreasingByteArray(position, endPos - position, data));
+    }
+    Assert.assertEquals(2, mUfs.getReads());
+  }
+
+  private ParallelRangeObjectInputStream createStream(long position) {
+    return new ParallelRangeObjectInputStream(mUfs, KEY, OBJECT_SIZE, position, PARALLELISM,
+        mBufferPool, mExecutor);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Constants;
+import alluxio.util.CommonUtils;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.OutputStream;
+
+/**
+ * Unit tests for {@link UnderFileSystemWithStatusCache}.
+ */
+public final class UnderFileSystemWithStatusCacheTest {
+  private static final String DIR = "s3a://bucket/dir";
+  private static final String FILE = "s3a://bucket/dir/file";
+  private static final long TTL_MS = Constants.MINUTE_MS;
+
+  private UnderFileSystem mUfs;
+  private UnderFileSystemWithStatusCache mCachingUfs;
+
+  /**
+   * Sets up the cache over a mocked UFS before a test runs.
+   */
+  @Before
+  public void before() throws Exception {
+    mUfs = Mockito.mock(UnderFileSystem.class);
+    Mockito.when(mUfs.exists(FILE)).thenReturn(true);
+    Mockito.when(mUfs.listStatus(DIR)).thenReturn(new UfsStatus[] {
+        new UfsFileStatus("file", 10, 0, "owner", "group", (short) 0644)});
+    mCachingUfs = new UnderFileSystemWithStatusCache(mUfs, TTL_MS, 100);
+  }
+
+  /**
+   * Tests that the existence of a path is queried once.
+   */
+  @Test
+  public void cacheExists() throws Exception {
+    Assert.assertTrue(mCachingUfs.exists(FILE));
+    Assert.assertTrue(mCachingUfs.exists(FILE));
+    Assert.assertTrue(mCachingUfs.exists(FILE + "/"));
+    Mockito.verify(mUfs, Mockito.times(1)).exists(FILE);
+  }
+
+  /**
+   * Tests that a path which does not exist is cached.
+   */
+  @Test
+  public void cacheAbsentPath() throws Exception {
+    String path = "s3a://bucket/absent";
+    Assert.assertFalse(mCachingUfs.exists(path));
+    Assert.assertFalse(mCachingUfs.isFile(path));
+    Assert.assertFalse(mCachingUfs.isDirectory(path));
+    Mockito.verify(mUfs, Mockito.times(1)).exists(path);
+    Mockito.verify(mUfs, Mockito.never()).isFile(path);
+    Mockito.verify(mUfs, Mockito.never()).isDirectory(path);
+  }
+
+  /**
+   * Tests that a listing is queried once, and that modifying the returned statuses does not
+   * modify the cached listing.
+   */
+  @Test
+  public void cacheListing() throws Exception {
+    UfsStatus[] statuses = mCachingUfs.listStatus(DIR);
+    Assert.assertEquals(1, statuses.length);
+    statuses[0].setName("modified");
+    Assert.assertEquals("file", mCachingUfs.listStatus(DIR)[0].getName());
+    Mockito.verify(mUfs, Mockito.times(1)).listStatus(DIR);
+  }
+
+  /**
+   * Tests that deleting a file invalidates the file and the listing of its parent.
+   */
+  @Test
+  public void invalidateOnDeleteFile() throws Exception {
+    mCachingUfs.exists(FILE);
+    mCachingUfs.listStatus(DIR);
+    mCachingUfs.deleteFile(FILE);
+    mCachingUfs.exists(FILE);
+    mCachingUfs.listStatus(DIR);
+    Mockito.verify(mUfs, Mockito.times(2)).exists(FILE);
+    Mockito.verify(mUfs, Mockito.times(2)).listStatus(DIR);
+  }
+
+  /**
+   * Tests that deleting a directory invalidates its descendants.
+   */
+  @Test
+  public void invalidateOnDeleteDirectory() throws Exception {
+    mCachingUfs.exists(FILE);
+    mCachingUfs.deleteDirectory(DIR);
+    mCachingUfs.exists(FILE);
+    Mockito.verify(mUfs, Mockito.times(2)).exists(FILE);
+  }
+
+  /**
+   * Tests that creating a file invalidates it once its stream is closed.
+   */
+  @Test
+  public void invalidateOnCreate() throws Exception {
+    Mockito.when(mUfs.create(FILE)).thenReturn(Mockito.mock(OutputStream.class));
+    OutputStream outputStream = mCachingUfs.create(FILE);
+    mCachingUfs.exists(FILE);
+    outputStream.close();
+    mCachingUfs.exists(FILE);
+    Mockito.verify(mUfs, Mockito.times(2)).exists(FILE);
+  }
+
+  /**
+   * Tests that the cached results expire.
+   */
+  @Test
+  public void expire() throws Exception {
+    mCachingUfs = new UnderFileSystemWithStatusCache(mUfs, 10, 100);
+    mCachingUfs.exists(FILE);
+    CommonUtils.sleepMs(50);
+    mCachingUfs.exists(FILE);
+    Mockito.verify(mUfs, Mockito.times(2)).exists(FILE);
+  }
+}
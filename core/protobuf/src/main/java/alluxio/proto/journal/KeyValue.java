@@ -3164,6 +3164,648 @@ public final class KeyValue {
     // @@protoc_insertion_point(class_scope:alluxio.proto.journal.MergeStoreEntry)
   }
 
+  public interface CompactStoreEntryOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // optional int64 store_id = 1;
+    /**
+     * <code>optional int64 store_id = 1;</code>
+     */
+    boolean hasStoreId();
+    /**
+     * <code>optional int64 store_id = 1;</code>
+     */
+    long getStoreId();
+
+    // optional int64 compacted_store_id = 2;
+    /**
+     * <code>optional int64 compacted_store_id = 2;</code>
+     */
+    boolean hasCompactedStoreId();
+    /**
+     * <code>optional int64 compacted_store_id = 2;</code>
+     */
+    long getCompactedStoreId();
+
+    // repeated int64 block_ids = 3;
+    /**
+     * <code>repeated int64 block_ids = 3;</code>
+     */
+    java.util.List<java.lang.Long> getBlockIdsList();
+    /**
+     * <code>repeated int64 block_ids = 3;</code>
+     */
+    int getBlockIdsCount();
+    /**
+     * <code>repeated int64 block_ids = 3;</code>
+     */
+    long getBlockIds(int index);
+  }
+  /**
+   * Protobuf type {@code alluxio.proto.journal.CompactStoreEntry}
+   *
+   * <pre>
+   * next available id: 4
+   * </pre>
+   */
+  public static final class CompactStoreEntry extends
+      com.google.protobuf.GeneratedMessage
+      implements CompactStoreEntryOrBuilder {
+    // Use CompactStoreEntry.newBuilder() to construct.
+    private CompactStoreEntry(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private CompactStoreEntry(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final CompactStoreEntry defaultInstance;
+    public static CompactStoreEntry getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public CompactStoreEntry getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private CompactStoreEntry(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              storeId_ = input.readInt64();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              compactedStoreId_ = input.readInt64();
+              break;
+            }
+            case 24: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                blockIds_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              blockIds_.add(input.readInt64());
+              break;
+            }
+            case 26: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004) && input.getBytesUntilLimit() > 0) {
+                blockIds_ = new java.util.ArrayList<java.lang.Long>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                blockIds_.add(input.readInt64());
+              }
+              input.popLimit(limit);
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          blockIds_ = java.util.Collections.unmodifiableList(blockIds_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return alluxio.proto.journal.KeyValue.internal_static_alluxio_proto_journal_CompactStoreEntry_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return alluxio.proto.journal.KeyValue.internal_static_alluxio_proto_journal_CompactStoreEntry_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              alluxio.proto.journal.KeyValue.CompactStoreEntry.class, alluxio.proto.journal.KeyValue.CompactStoreEntry.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<CompactStoreEntry> PARSER =
+        new com.google.protobuf.AbstractParser<CompactStoreEntry>() {
+      public CompactStoreEntry parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new CompactStoreEntry(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<CompactStoreEntry> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    // optional int64 store_id = 1;
+    public static final int STORE_ID_FIELD_NUMBER = 1;
+    private long storeId_;
+    /**
+     * <code>optional int64 store_id = 1;</code>
+     */
+    public boolean hasStoreId() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional int64 store_id = 1;</code>
+     */
+    public long getStoreId() {
+      return storeId_;
+    }
+
+    // optional int64 compacted_store_id = 2;
+    public static final int COMPACTED_STORE_ID_FIELD_NUMBER = 2;
+    private long compactedStoreId_;
+    /**
+     * <code>optional int64 compacted_store_id = 2;</code>
+     */
+    public boolean hasCompactedStoreId() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional int64 compacted_store_id = 2;</code>
+     */
+    public long getCompactedStoreId() {
+      return compactedStoreId_;
+    }
+
+    // repeated int64 block_ids = 3;
+    public static final int BLOCK_IDS_FIELD_NUMBER = 3;
+    private java.util.List<java.lang.Long> blockIds_;
+    /**
+     * <code>repeated int64 block_ids = 3;</code>
+     */
+    public java.util.List<java.lang.Long>
+        getBlockIdsList() {
+      return blockIds_;
+    }
+    /**
+     * <code>repeated int64 block_ids = 3;</code>
+     */
+    public int getBlockIdsCount() {
+      return blockIds_.size();
+    }
+    /**
+     * <code>repeated int64 block_ids = 3;</code>
+     */
+    public long getBlockIds(int index) {
+      return blockIds_.get(index);
+    }
+
+    private void initFields() {
+      storeId_ = 0L;
+      compactedStoreId_ = 0L;
+      blockIds_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt64(1, storeId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeInt64(2, compactedStoreId_);
+      }
+      for (int i = 0; i < blockIds_.size(); i++) {
+        output.writeInt64(3, blockIds_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, storeId_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(2, compactedStoreId_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < blockIds_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt64SizeNoTag(blockIds_.get(i));
+        }
+        size += dataSize;
+        size += 1 * getBlockIdsList().size();
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static alluxio.proto.journal.KeyValue.CompactStoreEntry parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(alluxio.proto.journal.KeyValue.CompactStoreEntry prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code alluxio.proto.journal.CompactStoreEntry}
+     *
+     * <pre>
+     * next available id: 4
+     * </pre>
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements alluxio.proto.journal.KeyValue.CompactStoreEntryOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return alluxio.proto.journal.KeyValue.internal_static_alluxio_proto_journal_CompactStoreEntry_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return alluxio.proto.journal.KeyValue.internal_static_alluxio_proto_journal_CompactStoreEntry_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                alluxio.proto.journal.KeyValue.CompactStoreEntry.class, alluxio.proto.journal.KeyValue.CompactStoreEntry.Builder.class);
+      }
+
+      // Construct using alluxio.proto.journal.KeyValue.CompactStoreEntry.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        storeId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        compactedStoreId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        blockIds_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return alluxio.proto.journal.KeyValue.internal_static_alluxio_proto_journal_CompactStoreEntry_descriptor;
+      }
+
+      public alluxio.proto.journal.KeyValue.CompactStoreEntry getDefaultInstanceForType() {
+        return alluxio.proto.journal.KeyValue.CompactStoreEntry.getDefaultInstance();
+      }
+
+      public alluxio.proto.journal.KeyValue.CompactStoreEntry build() {
+        alluxio.proto.journal.KeyValue.CompactStoreEntry result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public alluxio.proto.journal.KeyValue.CompactStoreEntry buildPartial() {
+        alluxio.proto.journal.KeyValue.CompactStoreEntry result = new alluxio.proto.journal.KeyValue.CompactStoreEntry(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.storeId_ = storeId_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.compactedStoreId_ = compactedStoreId_;
+        if (((bitField0_ & 0x00000004) == 0x00000004)) {
+          blockIds_ = java.util.Collections.unmodifiableList(blockIds_);
+          bitField0_ = (bitField0_ & ~0x00000004);
+        }
+        result.blockIds_ = blockIds_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof alluxio.proto.journal.KeyValue.CompactStoreEntry) {
+          return mergeFrom((alluxio.proto.journal.KeyValue.CompactStoreEntry)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(alluxio.proto.journal.KeyValue.CompactStoreEntry other) {
+        if (other == alluxio.proto.journal.KeyValue.CompactStoreEntry.getDefaultInstance()) return this;
+        if (other.hasStoreId()) {
+          setStoreId(other.getStoreId());
+        }
+        if (other.hasCompactedStoreId()) {
+          setCompactedStoreId(other.getCompactedStoreId());
+        }
+        if (!other.blockIds_.isEmpty()) {
+          if (blockIds_.isEmpty()) {
+            blockIds_ = other.blockIds_;
+            bitField0_ = (bitField0_ & ~0x00000004);
+          } else {
+            ensureBlockIdsIsMutable();
+            blockIds_.addAll(other.blockIds_);
+          }
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        alluxio.proto.journal.KeyValue.CompactStoreEntry parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (alluxio.proto.journal.KeyValue.CompactStoreEntry) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // optional int64 store_id = 1;
+      private long storeId_ ;
+      /**
+       * <code>optional int64 store_id = 1;</code>
+       */
+      public boolean hasStoreId() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional int64 store_id = 1;</code>
+       */
+      public long getStoreId() {
+        return storeId_;
+      }
+      /**
+       * <code>optional int64 store_id = 1;</code>
+       */
+      public Builder setStoreId(long value) {
+        bitField0_ |= 0x00000001;
+        storeId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 store_id = 1;</code>
+       */
+      public Builder clearStoreId() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        storeId_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      // optional int64 compacted_store_id = 2;
+      private long compactedStoreId_ ;
+      /**
+       * <code>optional int64 compacted_store_id = 2;</code>
+       */
+      public boolean hasCompactedStoreId() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional int64 compacted_store_id = 2;</code>
+       */
+      public long getCompactedStoreId() {
+        return compactedStoreId_;
+      }
+      /**
+       * <code>optional int64 compacted_store_id = 2;</code>
+       */
+      public Builder setCompactedStoreId(long value) {
+        bitField0_ |= 0x00000002;
+        compactedStoreId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 compacted_store_id = 2;</code>
+       */
+      public Builder clearCompactedStoreId() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        compactedStoreId_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      // repeated int64 block_ids = 3;
+      private java.util.List<java.lang.Long> blockIds_ = java.util.Collections.emptyList();
+      private void ensureBlockIdsIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          blockIds_ = new java.util.ArrayList<java.lang.Long>(blockIds_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+      /**
+       * <code>repeated int64 block_ids = 3;</code>
+       */
+      public java.util.List<java.lang.Long>
+          getBlockIdsList() {
+        return java.util.Collections.unmodifiableList(blockIds_);
+      }
+      /**
+       * <code>repeated int64 block_ids = 3;</code>
+       */
+      public int getBlockIdsCount() {
+        return blockIds_.size();
+      }
+      /**
+       * <code>repeated int64 block_ids = 3;</code>
+       */
+      public long getBlockIds(int index) {
+        return blockIds_.get(index);
+      }
+      /**
+       * <code>repeated int64 block_ids = 3;</code>
+       */
+      public Builder setBlockIds(
+          int index, long value) {
+        ensureBlockIdsIsMutable();
+        blockIds_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int64 block_ids = 3;</code>
+       */
+      public Builder addBlockIds(long value) {
+        ensureBlockIdsIsMutable();
+        blockIds_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int64 block_ids = 3;</code>
+       */
+      public Builder addAllBlockIds(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        ensureBlockIdsIsMutable();
+        super.addAll(values, blockIds_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int64 block_ids = 3;</code>
+       */
+      public Builder clearBlockIds() {
+        blockIds_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:alluxio.proto.journal.CompactStoreEntry)
+    }
+
+    static {
+      defaultInstance = new CompactStoreEntry(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:alluxio.proto.journal.CompactStoreEntry)
+  }
+
   private static com.google.protobuf.Descriptors.Descriptor
     internal_static_alluxio_proto_journal_CompletePartitionEntry_descriptor;
   private static
@@ -3194,6 +3836,11 @@ public final class KeyValue {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_alluxio_proto_journal_MergeStoreEntry_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_alluxio_proto_journal_CompactStoreEntry_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_alluxio_proto_journal_CompactStoreEntry_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -3213,7 +3860,9 @@ public final class KeyValue {
       "\001(\003\">\n\020RenameStoreEntry\022\024\n\014old_store_id\030" +
       "\001 \001(\003\022\024\n\014new_store_id\030\002 \001(\003\"=\n\017MergeStor" +
       "eEntry\022\025\n\rfrom_store_id\030\001 \001(\003\022\023\n\013to_stor",
-      "e_id\030\002 \001(\003"
+      "e_id\030\002 \001(\003\"T\n\021CompactStoreEntry\022\020\n\010store" +
+      "_id\030\001 \001(\003\022\032\n\022compacted_store_id\030\002 \001(\003\022\021\n" +
+      "\tblock_ids\030\003 \003(\003"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
       new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
@@ -3256,6 +3905,12 @@ public final class KeyValue {
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_alluxio_proto_journal_MergeStoreEntry_descriptor,
               new java.lang.String[] { "FromStoreId", "ToStoreId", });
+          internal_static_alluxio_proto_journal_CompactStoreEntry_descriptor =
+            getDescriptor().getMessageTypes().get(6);
+          internal_static_alluxio_proto_journal_CompactStoreEntry_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_alluxio_proto_journal_CompactStoreEntry_descriptor,
+              new java.lang.String[] { "StoreId", "CompactedStoreId", "BlockIds", });
           return null;
         }
       };
@@ -14,16 +14,44 @@ package alluxio;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.exception.status.InternalException;
+import alluxio.metrics.MetricsSystem;
+import alluxio.metrics.OperationTrace;
 import alluxio.thrift.AlluxioTException;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utilities for handling RPC calls.
  */
 public final class RpcUtils {
+  private static final Logger LOG = LoggerFactory.getLogger(RpcUtils.class);
+
+  /** The minimum time between two logs of slow RPCs. */
+  private static final long SLOW_RPC_LOG_INTERVAL_MS = Constants.SECOND_MS;
+  /** The time at which a slow RPC was last logged. */
+  private static final AtomicLong LAST_SLOW_RPC_LOG_MS = new AtomicLong();
+  /** Whether the RPCs are traced, which is only enabled by the masters. */
+  private static volatile boolean sTracingEnabled = false;
+  /** The time in milliseconds above which an RPC traced is logged as slow. */
+  private static volatile long sSlowRpcThresholdMs;
+
+  /**
+   * Enables the tracing of the RPCs served by the calls of this class, reporting the time they
+   * spend in each phase and the slow RPCs as master metrics. This is enabled by the masters only,
+   * so that the RPCs served by the workers are not counted as RPCs of the master.
+   */
+  public static void enableTracing() {
+    sSlowRpcThresholdMs = Configuration.getLong(PropertyKey.MASTER_RPC_SLOW_THRESHOLD_MS);
+    sTracingEnabled = true;
+  }
+
   /**
    * Calls the given {@link RpcCallable} and handles any exceptions thrown.
    *
@@ -34,6 +62,7 @@ public final class RpcUtils {
    * @throws AlluxioTException if the callable throws an exception
    */
   public static <T> T call(Logger logger, RpcCallable<T> callable) throws AlluxioTException {
+    OperationTrace trace = sTracingEnabled ? OperationTrace.start() : null;
     try {
       return callable.call();
     } catch (AlluxioException e) {
@@ -42,6 +71,8 @@ public final class RpcUtils {
     } catch (RuntimeException e) {
       logger.error("{}", callable, e);
       throw new InternalException(e).toThrift();
+    } finally {
+      complete(trace, callable);
     }
   }
 
@@ -56,6 +87,7 @@ public final class RpcUtils {
    */
   public static <T> T call(Logger logger, RpcCallableThrowsIOException<T> callable)
       throws AlluxioTException {
+    OperationTrace trace = sTracingEnabled ? OperationTrace.start() : null;
     try {
       return callable.call();
     } catch (AlluxioException e) {
@@ -68,6 +100,8 @@ public final class RpcUtils {
     } catch (RuntimeException e) {
       logger.error("{}", callable, e);
       throw new InternalException(e).toThrift();
+    } finally {
+      complete(trace, callable);
     }
   }
 
@@ -119,6 +153,39 @@ public final class RpcUtils {
     }
   }
 
+  /**
+   * Stops the trace of an RPC, records the time the RPC spent in each of its phases, and logs the
+   * RPC when it is slower than {@link PropertyKey#MASTER_RPC_SLOW_THRESHOLD_MS}. The slow RPCs are
+   * logged at most once per second, so that their logs are a sample when many RPCs are slow.
+   *
+   * @param trace the trace of the RPC, null if the RPC was not traced
+   * @param callable the callable of the RPC
+   */
+  private static void complete(OperationTrace trace, Object callable) {
+    if (trace == null) {
+      return;
+    }
+    trace.stop();
+    for (OperationTrace.Phase phase : OperationTrace.Phase.values()) {
+      // Only the phases the RPC went through are recorded, so that the RPCs which do not go through
+      // a phase do not skew its timer towards 0
+      long phaseNs = trace.getPhaseTime(phase, TimeUnit.NANOSECONDS);
+      if (phaseNs > 0) {
+        Metrics.PHASE_TIMERS[phase.ordinal()].update(phaseNs, TimeUnit.NANOSECONDS);
+      }
+    }
+    if (trace.getElapsed(TimeUnit.MILLISECONDS) < sSlowRpcThresholdMs) {
+      return;
+    }
+    Metrics.SLOW_RPCS.inc();
+    long nowMs = System.currentTimeMillis();
+    long lastLogMs = LAST_SLOW_RPC_LOG_MS.get();
+    if (nowMs - lastLogMs >= SLOW_RPC_LOG_INTERVAL_MS
+        && LAST_SLOW_RPC_LOG_MS.compareAndSet(lastLogMs, nowMs)) {
+      LOG.warn("Slow RPC {}: {}", callable, trace);
+    }
+  }
+
   /**
    * An interface representing a callable which can only throw Alluxio exceptions.
    *
@@ -189,5 +256,23 @@ public final class RpcUtils {
     return null;
   }
 
+  /**
+   * Class that contains metrics about the RPCs.
+   */
+  private static final class Metrics {
+    /** The timers of the time spent by the RPCs in each phase, by phase. */
+    private static final Timer[] PHASE_TIMERS = new Timer[OperationTrace.Phase.values().length];
+    private static final Counter SLOW_RPCS = MetricsSystem.masterCounter("SlowRpcs");
+
+    static {
+      for (OperationTrace.Phase phase : OperationTrace.Phase.values()) {
+        PHASE_TIMERS[phase.ordinal()] =
+            MetricsSystem.masterTimer("Rpc" + phase.getName() + "Time");
+      }
+    }
+
+    private Metrics() {} // prevent instantiation
+  }
+
   private RpcUtils() {} // prevent instantiation
 }
@@ -0,0 +1,250 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio;
+
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.ThriftServerType;
+import alluxio.security.authentication.AuthType;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Timer;
+import com.google.common.base.Function;
+import org.apache.thrift.TException;
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolDecorator;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.TNonblockingServerSocket;
+import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Utilities for creating the Thrift RPC servers of the Alluxio processes.
+ */
+@ThreadSafe
+public final class ThriftServerUtils {
+  private static final Logger LOG = LoggerFactory.getLogger(ThriftServerUtils.class);
+
+  /** The time at which the RPC run by the current thread was queued, null if it was not. */
+  private static final ThreadLocal<Long> QUEUED_NS = new ThreadLocal<>();
+
+  /**
+   * Creates the socket of a Thrift RPC server of the type given by
+   * {@link PropertyKey#NETWORK_THRIFT_SERVER_TYPE}, bound to an address.
+   *
+   * A {@link ThriftServerType#THREAD_POOL} server serves each connection with its own thread. A
+   * {@link ThriftServerType#THREADED_SELECTOR} server reads the RPCs of all the connections with a
+   * few selector threads, and queues them to a bounded pool of threads. The latter only supports
+   * the framed transport of {@link AuthType#NOSASL}, so it falls back to the former when another
+   * authentication type is configured.
+   *
+   * @param address the address to bind to
+   * @param clientTimeoutMs the timeout of the connections in milliseconds, 0 for none
+   * @return a {@link TNonblockingServerSocket} for the selector server, or a
+   *         {@link TServerSocket} for the thread pool server
+   */
+  public static TServerTransport createThriftServerSocket(InetSocketAddress address,
+      int clientTimeoutMs) throws TTransportException {
+    ThriftServerType serverType =
+        Configuration.getEnum(PropertyKey.NETWORK_THRIFT_SERVER_TYPE, ThriftServerType.class);
+    AuthType authType =
+        Configuration.getEnum(PropertyKey.SECURITY_AUTHENTICATION_TYPE, AuthType.class);
+    if (serverType == ThriftServerType.THREADED_SELECTOR && authType != AuthType.NOSASL) {
+      LOG.warn("The {} RPC server does not support the {} authentication, using the {} server",
+          serverType, authType, ThriftServerType.THREAD_POOL);
+      serverType = ThriftServerType.THREAD_POOL;
+    }
+    if (serverType == ThriftServerType.THREADED_SELECTOR) {
+      return new TNonblockingServerSocket(address, clientTimeoutMs);
+    }
+    return new TServerSocket(address, clientTimeoutMs);
+  }
+
+  /**
+   * Creates a Thrift RPC server serving the connections of a socket created by
+   * {@link #createThriftServerSocket(InetSocketAddress, int)}, a selector server for a
+   * {@link TNonblockingServerSocket} and a thread pool server otherwise.
+   *
+   * The servers report the time spent to serve each RPC method, and the time each RPC method was
+   * queued for the selector server.
+   *
+   * @param serverSocket the socket bound to the address of the server
+   * @param processor the processor of the RPCs
+   * @param transportFactory the factory of the transports for the authentication type, which is
+   *        not used by the selector server
+   * @param minWorkerThreads the minimum number of threads serving the RPCs
+   * @param maxWorkerThreads the maximum number of threads serving the RPCs
+   * @param metricName the function building the name of a metric of the server
+   * @return the server
+   */
+  public static TServer createThriftServer(TServerTransport serverSocket, TProcessor processor,
+      TTransportFactory transportFactory, int minWorkerThreads, int maxWorkerThreads,
+      Function<String, String> metricName) {
+    TProcessor timedProcessor = new TimedProcessor(processor, metricName);
+    int stopTimeoutSeconds = Configuration.getBoolean(PropertyKey.TEST_MODE) ? 0
+        : Constants.THRIFT_STOP_TIMEOUT_SECONDS;
+    if (!(serverSocket instanceof TNonblockingServerSocket)) {
+      TThreadPoolServer.Args args = new TThreadPoolServer.Args(serverSocket)
+          .minWorkerThreads(minWorkerThreads).maxWorkerThreads(maxWorkerThreads)
+          .processor(timedProcessor).transportFactory(transportFactory)
+          .protocolFactory(new TBinaryProtocol.Factory(true, true));
+      args.stopTimeoutVal = stopTimeoutSeconds;
+      return new TThreadPoolServer(args);
+    }
+
+    // The selector threads read the frames, so the transports of the processor are not framed
+    TThreadedSelectorServer.Args args =
+        new TThreadedSelectorServer.Args((TNonblockingServerSocket) serverSocket)
+        .selectorThreads(Configuration.getInt(PropertyKey.NETWORK_THRIFT_SERVER_SELECTOR_THREADS))
+        .executorService(new QueueTimingExecutor(maxWorkerThreads))
+        .stopTimeoutVal(stopTimeoutSeconds)
+        .processor(timedProcessor)
+        .protocolFactory(new TBinaryProtocol.Factory(true, true));
+    return new TThreadedSelectorServer(args);
+  }
+
+  /**
+   * A fixed pool of threads, which records the time each task was queued for
+   * {@link TimedProcessor}.
+   */
+  private static final class QueueTimingExecutor extends ThreadPoolExecutor {
+    /**
+     * @param threads the number of threads
+     */
+    QueueTimingExecutor(int threads) {
+      super(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+          ThreadFactoryUtils.build("thrift-rpc-%d", true));
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      final long queuedNs = System.nanoTime();
+      super.execute(new Runnable() {
+        @Override
+        public void run() {
+          QUEUED_NS.set(queuedNs);
+          try {
+            command.run();
+          } finally {
+            QUEUED_NS.remove();
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * A processor which records the time spent to serve each RPC method, and the time each RPC
+   * method was queued when served by a {@link QueueTimingExecutor}.
+   */
+  private static final class TimedProcessor implements TProcessor {
+    private final TProcessor mProcessor;
+    private final Function<String, String> mMetricName;
+
+    /**
+     * @param processor the processor serving the RPCs
+     * @param metricName the function building the name of a metric
+     */
+    TimedProcessor(TProcessor processor, Function<String, String> metricName) {
+      mProcessor = processor;
+      mMetricName = metricName;
+    }
+
+    @Override
+    public boolean process(TProtocol in, TProtocol out) throws TException {
+      MessageNameProtocol protocol = new MessageNameProtocol(in);
+      try {
+        return mProcessor.process(protocol, out);
+      } finally {
+        String method = protocol.getMethod();
+        if (method != null) {
+          long startNs = protocol.getStartNs();
+          Long queuedNs = QUEUED_NS.get();
+          if (queuedNs != null) {
+            getTimer(method, "QueueTime").update(startNs - queuedNs, TimeUnit.NANOSECONDS);
+          }
+          getTimer(method, "ServiceTime")
+              .update(System.nanoTime() - startNs, TimeUnit.NANOSECONDS);
+        }
+      }
+    }
+
+    /**
+     * @param method the name of the RPC method
+     * @param suffix the suffix of the name of the timer
+     * @return the timer, such as RpcGetStatusServiceTime for the service time of getStatus
+     */
+    private Timer getTimer(String method, String suffix) {
+      return MetricsSystem.METRIC_REGISTRY.timer(mMetricName.apply("Rpc"
+          + Character.toUpperCase(method.charAt(0)) + method.substring(1) + suffix));
+    }
+  }
+
+  /**
+   * A protocol which remembers the name of the method of the message read, and when it was read.
+   * The thread pool server waits for the next message of a connection in the processor, so the
+   * service time starts once the message is read.
+   */
+  private static final class MessageNameProtocol extends TProtocolDecorator {
+    private String mMethod;
+    private long mStartNs;
+
+    /**
+     * @param protocol the protocol reading the message
+     */
+    MessageNameProtocol(TProtocol protocol) {
+      super(protocol);
+    }
+
+    @Override
+    public TMessage readMessageBegin() throws TException {
+      TMessage message = super.readMessageBegin();
+      // The names of the multiplexed methods are prefixed by the name of their service
+      int separator = message.name.indexOf(':');
+      String method = message.name.substring(separator + 1);
+      mMethod = method.isEmpty() ? null : method;
+      mStartNs = System.nanoTime();
+      return message;
+    }
+
+    /**
+     * @return the name of the method of the message read, null if no message was read
+     */
+    String getMethod() {
+      return mMethod;
+    }
+
+    /**
+     * @return the time at which the message was read
+     */
+    long getStartNs() {
+      return mStartNs;
+    }
+  }
+
+  private ThriftServerUtils() {} // prevent instantiation
+}
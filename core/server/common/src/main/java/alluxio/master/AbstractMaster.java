@@ -26,6 +26,7 @@ import alluxio.master.journal.JournalReader;
 import alluxio.master.journal.JournalWriter;
 import alluxio.master.journal.options.JournalReaderOptions;
 import alluxio.master.journal.options.JournalWriterOptions;
+import alluxio.metrics.OperationTrace;
 import alluxio.proto.journal.Journal.JournalEntry;
 import alluxio.retry.RetryPolicy;
 import alluxio.retry.TimeoutRetry;
@@ -309,7 +310,12 @@ public abstract class AbstractMaster implements Master {
     @Override
     public void close() {
       if (mAsyncJournalWriter != null) {
-        waitForJournalFlush(this);
+        OperationTrace.startPhase(OperationTrace.Phase.JOURNAL);
+        try {
+          waitForJournalFlush(this);
+        } finally {
+          OperationTrace.endPhase();
+        }
       }
     }
   }
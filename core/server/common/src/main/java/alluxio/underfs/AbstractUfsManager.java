@@ -18,8 +18,10 @@ import alluxio.exception.status.NotFoundException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.util.IdUtils;
 
+import com.google.common.base.Function;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
 import com.google.common.io.Closer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -115,7 +117,7 @@ public abstract class AbstractUfsManager implements UfsManager {
     if (cachedFs != null) {
       return cachedFs;
     }
-    UnderFileSystem fs = UnderFileSystem.Factory.create(ufsUri, ufsConf);
+    UnderFileSystem fs = createUfs(ufsUri, ufsConf);
     cachedFs = mUnderFileSystemMap.putIfAbsent(key, fs);
     if (cachedFs == null) {
       // above insert is successful
@@ -131,6 +133,49 @@ public abstract class AbstractUfsManager implements UfsManager {
     return cachedFs;
   }
 
+  /**
+   * Creates a new UFS instance. The requests of the instance are scheduled by its own
+   * {@link UfsRequestScheduler} when {@link PropertyKey#UNDERFS_SCHEDULER_ENABLED} is set.
+   *
+   * @param ufsUri the UFS path
+   * @param ufsConf the UFS configuration
+   * @return the UFS instance
+   */
+  protected UnderFileSystem createUfs(String ufsUri, UnderFileSystemConfiguration ufsConf) {
+    final UnderFileSystem ufs = UnderFileSystem.Factory.create(ufsUri, ufsConf);
+    if (!Configuration.getBoolean(PropertyKey.UNDERFS_SCHEDULER_ENABLED)) {
+      return ufs;
+    }
+    double[] rateLimits = new double[] {
+        Configuration.getDouble(PropertyKey.UNDERFS_SCHEDULER_FOREGROUND_RATE_LIMIT),
+        Configuration.getDouble(PropertyKey.UNDERFS_SCHEDULER_METADATA_RATE_LIMIT),
+        Configuration.getDouble(PropertyKey.UNDERFS_SCHEDULER_PERSIST_RATE_LIMIT),
+        Configuration.getDouble(PropertyKey.UNDERFS_SCHEDULER_GC_RATE_LIMIT)};
+    UfsRequestScheduler scheduler = new UfsRequestScheduler(
+        Configuration.getInt(PropertyKey.UNDERFS_SCHEDULER_CONCURRENCY_MAX), rateLimits,
+        Configuration.getLong(PropertyKey.UNDERFS_SCHEDULER_AGING_MS),
+        Configuration.getInt(PropertyKey.UNDERFS_SCHEDULER_THROTTLE_RETRY),
+        new Predicate<IOException>() {
+          @Override
+          public boolean apply(IOException e) {
+            return ufs.isThrottled(e);
+          }
+        },
+        new Function<String, String>() {
+          @Override
+          public String apply(String name) {
+            return getMetricName(name);
+          }
+        });
+    return new UnderFileSystemWithScheduler(ufs, scheduler);
+  }
+
+  /**
+   * @param name the name of a metric of the UFS instances
+   * @return the name of the metric in the metrics system of this process
+   */
+  protected abstract String getMetricName(String name);
+
   @Override
   public UnderFileSystem addMount(long mountId, String ufsUri,
       UnderFileSystemConfiguration ufsConf) {
@@ -0,0 +1,308 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.Constants;
+import alluxio.exception.status.CanceledException;
+import alluxio.metrics.MetricsSystem;
+import alluxio.retry.ExponentialBackoffRetry;
+import alluxio.retry.RetryPolicy;
+import alluxio.underfs.UnderFileSystemWithLogging.UfsCallable;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Schedules the requests to an under storage, so that the requests of the background services do
+ * not starve the interactive ones. Each request belongs to a {@link RequestClass}, whose requests
+ * may be rate limited. The number of requests running at the same time is capped, and when the cap
+ * is reached, the waiting requests of the class with the highest priority run first. So that the
+ * requests of the classes with a lower priority are not starved, a request which waited for longer
+ * than the aging time runs before the requests which did not, regardless of their classes.
+ *
+ * When the under storage throttles a request, such as S3 with 503 SlowDown responses, the cap on
+ * the number of requests running is halved, and the request is retried with an exponential backoff
+ * if it is idempotent. The cap then grows back by one after as many successful requests as the cap.
+ * Whether the under storage throttled a request is decided by the under storage, see
+ * {@link UnderFileSystem#isThrottled(IOException)}.
+ */
+@ThreadSafe
+public final class UfsRequestScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsRequestScheduler.class);
+
+  private static final int THROTTLE_BASE_SLEEP_MS = 100;
+  private static final int THROTTLE_MAX_SLEEP_MS = 10 * Constants.SECOND_MS;
+
+  /**
+   * The classes of the requests, from the highest priority to the lowest.
+   */
+  public enum RequestClass {
+    /** Reads of data served to clients. */
+    FOREGROUND("Foreground"),
+    /** Queries of the metadata of paths. */
+    METADATA("Metadata"),
+    /** Writes of data and metadata, such as persisting files. */
+    PERSIST("Persist"),
+    /** Deletes of paths. */
+    GC("Gc"),
+    ;
+
+    private final String mName;
+
+    RequestClass(String name) {
+      mName = name;
+    }
+
+    /**
+     * @return the name of the class in metrics
+     */
+    public String getName() {
+      return mName;
+    }
+  }
+
+  /** The rate limiters of the classes, null for the classes without limit. */
+  private final RateLimiter[] mRateLimiters;
+  /** The timers of the waits of the requests before running, by class. */
+  private final Timer[] mWaitTimers;
+  /** The counters of the requests throttled by the under storage, by class. */
+  private final Counter[] mThrottledCounters;
+  /** Whether an error of a request is caused by the under storage throttling the requests. */
+  private final Predicate<IOException> mIsThrottled;
+  private final int mConcurrencyMax;
+  /** The time after which a waiting request runs before the ones of higher priority, 0 if never. */
+  private final long mAgingNs;
+  private final int mThrottleRetries;
+
+  /** The number of requests running. */
+  @GuardedBy("this")
+  private int mActive;
+  /** The current cap on the number of requests running, reduced when throttled. */
+  @GuardedBy("this")
+  private int mConcurrencyLimit;
+  /** The number of successful requests since the cap was last changed. */
+  @GuardedBy("this")
+  private int mSuccesses;
+  /** The number of requests waiting to run, by class. */
+  @GuardedBy("this")
+  private final int[] mWaiting = new int[RequestClass.values().length];
+  /** The number of requests waiting to run for longer than the aging time. */
+  @GuardedBy("this")
+  private int mAgedWaiting;
+
+  /**
+   * Creates a new instance of {@link UfsRequestScheduler}.
+   *
+   * @param concurrencyMax the maximum number of requests running at the same time
+   * @param rateLimits the maximum number of requests per second of each class, indexed by the
+   *        ordinal of the class, with 0 for no limit
+   * @param agingMs the time after which a waiting request runs before the requests of the classes
+   *        with a higher priority, or 0 to always run the requests by priority
+   * @param throttleRetries the number of retries of the requests throttled by the under storage
+   * @param isThrottled whether an error of a request is caused by the under storage throttling the
+   *        requests
+   * @param metricName the function building the name of a metric
+   */
+  public UfsRequestScheduler(int concurrencyMax, double[] rateLimits, long agingMs,
+      int throttleRetries, Predicate<IOException> isThrottled,
+      Function<String, String> metricName) {
+    Preconditions.checkArgument(concurrencyMax > 0, "Maximum concurrency must be positive");
+    Preconditions.checkArgument(rateLimits.length == RequestClass.values().length,
+        "A rate limit is required for each request class");
+    mConcurrencyMax = concurrencyMax;
+    mConcurrencyLimit = concurrencyMax;
+    mAgingNs = TimeUnit.MILLISECONDS.toNanos(Math.max(0, agingMs));
+    mThrottleRetries = throttleRetries;
+    mIsThrottled = Preconditions.checkNotNull(isThrottled);
+    int classes = RequestClass.values().length;
+    mRateLimiters = new RateLimiter[classes];
+    mWaitTimers = new Timer[classes];
+    mThrottledCounters = new Counter[classes];
+    for (RequestClass requestClass : RequestClass.values()) {
+      int i = requestClass.ordinal();
+      if (rateLimits[i] > 0) {
+        mRateLimiters[i] = RateLimiter.create(rateLimits[i]);
+      }
+      mWaitTimers[i] = MetricsSystem.METRIC_REGISTRY.timer(
+          metricName.apply("UfsRequests" + requestClass.getName()));
+      mThrottledCounters[i] = MetricsSystem.METRIC_REGISTRY.counter(
+          metricName.apply("UfsRequestsThrottled" + requestClass.getName()));
+    }
+  }
+
+  /**
+   * Runs an idempotent request once it is scheduled, retrying it while the under storage throttles
+   * it.
+   *
+   * @param requestClass the class of the request
+   * @param callable the request
+   * @param <T> the type of the result of the request
+   * @return the result of the request
+   */
+  public <T> T call(RequestClass requestClass, UfsCallable<T> callable) throws IOException {
+    RetryPolicy retryPolicy = null;
+    while (true) {
+      acquire(requestClass);
+      IOException throttledException;
+      boolean throttled = false;
+      try {
+        return callable.call();
+      } catch (IOException e) {
+        if (!mIsThrottled.apply(e)) {
+          throw e;
+        }
+        throttled = true;
+        throttledException = e;
+      } finally {
+        release(throttled);
+      }
+      mThrottledCounters[requestClass.ordinal()].inc();
+      if (retryPolicy == null) {
+        retryPolicy = new ExponentialBackoffRetry(THROTTLE_BASE_SLEEP_MS, THROTTLE_MAX_SLEEP_MS,
+            Math.max(1, mThrottleRetries));
+      }
+      if (retryPolicy.getRetryCount() >= mThrottleRetries || !retryPolicy.attemptRetry()) {
+        throw throttledException;
+      }
+      LOG.debug("Retrying throttled request {}: {}", callable, throttledException.getMessage());
+    }
+  }
+
+  /**
+   * Runs a request once it is scheduled, without retrying it if the under storage throttles it,
+   * for the requests which are not idempotent or which read or write a stream.
+   *
+   * @param requestClass the class of the request
+   * @param callable the request
+   * @param <T> the type of the result of the request
+   * @return the result of the request
+   */
+  public <T> T callOnce(RequestClass requestClass, UfsCallable<T> callable) throws IOException {
+    acquire(requestClass);
+    boolean throttled = false;
+    try {
+      return callable.call();
+    } catch (IOException e) {
+      throttled = mIsThrottled.apply(e);
+      if (throttled) {
+        mThrottledCounters[requestClass.ordinal()].inc();
+      }
+      throw e;
+    } finally {
+      release(throttled);
+    }
+  }
+
+  /**
+   * @return the current cap on the number of requests running
+   */
+  public synchronized int getConcurrencyLimit() {
+    return mConcurrencyLimit;
+  }
+
+  /**
+   * Waits until a request may run. A request runs once the number of requests running is below the
+   * cap, and either it waited for longer than the aging time, or no request waited for that long
+   * and no request of a class with a higher priority is waiting.
+   *
+   * @param requestClass the class of the request
+   */
+  private void acquire(RequestClass requestClass) throws IOException {
+    int index = requestClass.ordinal();
+    RateLimiter rateLimiter = mRateLimiters[index];
+    if (rateLimiter != null) {
+      rateLimiter.acquire();
+    }
+    long startNs = System.nanoTime();
+    synchronized (this) {
+      mWaiting[index]++;
+      boolean aged = false;
+      try {
+        while (true) {
+          long remainingNs = mAgingNs - (System.nanoTime() - startNs);
+          if (!aged && mAgingNs > 0 && remainingNs <= 0) {
+            aged = true;
+            mAgedWaiting++;
+          }
+          if (mActive < mConcurrencyLimit
+              && (aged || (mAgedWaiting == 0 && !hasHigherPriorityWaiting(index)))) {
+            break;
+          }
+          if (aged || mAgingNs == 0) {
+            wait();
+          } else {
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNs);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CanceledException(e);
+      } finally {
+        mWaiting[index]--;
+        if (aged) {
+          mAgedWaiting--;
+        }
+        // The other requests may run now that this one is not waiting
+        notifyAll();
+      }
+      mActive++;
+    }
+    mWaitTimers[index].update(System.nanoTime() - startNs, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Marks a request as done, and adjusts the cap on the number of requests running.
+   *
+   * @param throttled whether the under storage throttled the request
+   */
+  private synchronized void release(boolean throttled) {
+    mActive--;
+    if (throttled) {
+      if (mConcurrencyLimit > 1) {
+        mConcurrencyLimit /= 2;
+        LOG.info("Under storage is throttling the requests, reducing the concurrency to {}",
+            mConcurrencyLimit);
+      }
+      mSuccesses = 0;
+    } else if (mConcurrencyLimit < mConcurrencyMax && ++mSuccesses >= mConcurrencyLimit) {
+      mConcurrencyLimit++;
+      mSuccesses = 0;
+    }
+    notifyAll();
+  }
+
+  /**
+   * @param index the ordinal of a request class
+   * @return whether requests of a class with a higher priority are waiting
+   */
+  @GuardedBy("this")
+  private boolean hasHigherPriorityWaiting(int index) {
+    for (int i = 0; i < index; i++) {
+      if (mWaiting[i] > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
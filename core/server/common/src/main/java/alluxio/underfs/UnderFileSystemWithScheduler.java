@@ -0,0 +1,440 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.underfs.UfsRequestScheduler.RequestClass;
+import alluxio.underfs.UnderFileSystemWithLogging.UfsCallable;
+import alluxio.underfs.options.CreateOptions;
+import alluxio.underfs.options.DeleteOptions;
+import alluxio.underfs.options.FileLocationOptions;
+import alluxio.underfs.options.ListOptions;
+import alluxio.underfs.options.MkdirsOptions;
+import alluxio.underfs.options.OpenOptions;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * This class forwards all calls to the {@link UnderFileSystem} interface to an internal
+ * implementation through a {@link UfsRequestScheduler}. The class of each request is given by the
+ * kind of the call: opening files serves the reads of clients, the calls querying paths serve the
+ * metadata operations, the calls creating or modifying paths serve the persistence of files, and
+ * the calls deleting paths serve their garbage collection.
+ *
+ * The reads and writes of the streams returned are scheduled as well, each in the class of the
+ * call which opened the stream. Only the idempotent calls are retried when the under storage
+ * throttles them, the calls creating, renaming or deleting paths and the stream operations are not.
+ */
+@ThreadSafe
+public class UnderFileSystemWithScheduler implements UnderFileSystem {
+  private final UnderFileSystem mUnderFileSystem;
+  private final UfsRequestScheduler mScheduler;
+
+  /**
+   * Creates a new {@link UnderFileSystemWithScheduler} which forwards all calls to the provided
+   * {@link UnderFileSystem} implementation.
+   *
+   * @param ufs the implementation which will handle all the calls
+   * @param scheduler the scheduler of the calls
+   */
+  UnderFileSystemWithScheduler(UnderFileSystem ufs, UfsRequestScheduler scheduler) {
+    mUnderFileSystem = ufs;
+    mScheduler = scheduler;
+  }
+
+  @Override
+  public void close() throws IOException {
+    mUnderFileSystem.close();
+  }
+
+  @Override
+  public void connectFromMaster(String hostname) throws IOException {
+    mUnderFileSystem.connectFromMaster(hostname);
+  }
+
+  @Override
+  public void connectFromWorker(String hostname) throws IOException {
+    mUnderFileSystem.connectFromWorker(hostname);
+  }
+
+  @Override
+  public OutputStream create(final String path) throws IOException {
+    return mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<OutputStream>() {
+      @Override
+      public OutputStream call() throws IOException {
+        return new ScheduledOutputStream(mUnderFileSystem.create(path));
+      }
+    });
+  }
+
+  @Override
+  public OutputStream create(final String path, final CreateOptions options) throws IOException {
+    return mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<OutputStream>() {
+      @Override
+      public OutputStream call() throws IOException {
+        return new ScheduledOutputStream(mUnderFileSystem.create(path, options));
+      }
+    });
+  }
+
+  @Override
+  public boolean deleteDirectory(final String path) throws IOException {
+    return mScheduler.callOnce(RequestClass.GC, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.deleteDirectory(path);
+      }
+    });
+  }
+
+  @Override
+  public boolean deleteDirectory(final String path, final DeleteOptions options)
+      throws IOException {
+    return mScheduler.callOnce(RequestClass.GC, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.deleteDirectory(path, options);
+      }
+    });
+  }
+
+  @Override
+  public boolean deleteFile(final String path) throws IOException {
+    return mScheduler.callOnce(RequestClass.GC, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.deleteFile(path);
+      }
+    });
+  }
+
+  @Override
+  public boolean exists(final String path) throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.exists(path);
+      }
+    });
+  }
+
+  @Override
+  public long getBlockSizeByte(final String path) throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<Long>() {
+      @Override
+      public Long call() throws IOException {
+        return mUnderFileSystem.getBlockSizeByte(path);
+      }
+    });
+  }
+
+  @Override
+  public UfsDirectoryStatus getDirectoryStatus(final String path) throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<UfsDirectoryStatus>() {
+      @Override
+      public UfsDirectoryStatus call() throws IOException {
+        return mUnderFileSystem.getDirectoryStatus(path);
+      }
+    });
+  }
+
+  @Override
+  public List<String> getFileLocations(final String path) throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<List<String>>() {
+      @Override
+      public List<String> call() throws IOException {
+        return mUnderFileSystem.getFileLocations(path);
+      }
+    });
+  }
+
+  @Override
+  public List<String> getFileLocations(final String path, final FileLocationOptions options)
+      throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<List<String>>() {
+      @Override
+      public List<String> call() throws IOException {
+        return mUnderFileSystem.getFileLocations(path, options);
+      }
+    });
+  }
+
+  @Override
+  public UfsFileStatus getFileStatus(final String path) throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<UfsFileStatus>() {
+      @Override
+      public UfsFileStatus call() throws IOException {
+        return mUnderFileSystem.getFileStatus(path);
+      }
+    });
+  }
+
+  @Override
+  public long getSpace(final String path, final SpaceType type) throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<Long>() {
+      @Override
+      public Long call() throws IOException {
+        return mUnderFileSystem.getSpace(path, type);
+      }
+    });
+  }
+
+  @Override
+  public String getUnderFSType() {
+    return mUnderFileSystem.getUnderFSType();
+  }
+
+  @Override
+  public boolean isDirectory(final String path) throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.isDirectory(path);
+      }
+    });
+  }
+
+  @Override
+  public boolean isFile(final String path) throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.isFile(path);
+      }
+    });
+  }
+
+  @Override
+  public boolean isThrottled(IOException e) {
+    return mUnderFileSystem.isThrottled(e);
+  }
+
+  @Override
+  public UfsStatus[] listStatus(final String path) throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<UfsStatus[]>() {
+      @Override
+      public UfsStatus[] call() throws IOException {
+        return mUnderFileSystem.listStatus(path);
+      }
+    });
+  }
+
+  @Override
+  public UfsStatus[] listStatus(final String path, final ListOptions options)
+      throws IOException {
+    return mScheduler.call(RequestClass.METADATA, new UfsCallable<UfsStatus[]>() {
+      @Override
+      public UfsStatus[] call() throws IOException {
+        return mUnderFileSystem.listStatus(path, options);
+      }
+    });
+  }
+
+  @Override
+  public boolean mkdirs(final String path) throws IOException {
+    return mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.mkdirs(path);
+      }
+    });
+  }
+
+  @Override
+  public boolean mkdirs(final String path, final MkdirsOptions options) throws IOException {
+    return mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.mkdirs(path, options);
+      }
+    });
+  }
+
+  @Override
+  public InputStream open(final String path) throws IOException {
+    return mScheduler.call(RequestClass.FOREGROUND, new UfsCallable<InputStream>() {
+      @Override
+      public InputStream call() throws IOException {
+        return new ScheduledInputStream(mUnderFileSystem.open(path));
+      }
+    });
+  }
+
+  @Override
+  public InputStream open(final String path, final OpenOptions options) throws IOException {
+    return mScheduler.call(RequestClass.FOREGROUND, new UfsCallable<InputStream>() {
+      @Override
+      public InputStream call() throws IOException {
+        return new ScheduledInputStream(mUnderFileSystem.open(path, options));
+      }
+    });
+  }
+
+  @Override
+  public boolean renameDirectory(final String src, final String dst) throws IOException {
+    return mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.renameDirectory(src, dst);
+      }
+    });
+  }
+
+  @Override
+  public boolean renameFile(final String src, final String dst) throws IOException {
+    return mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.renameFile(src, dst);
+      }
+    });
+  }
+
+  @Override
+  public AlluxioURI resolveUri(AlluxioURI ufsBaseUri, String alluxioPath) {
+    return mUnderFileSystem.resolveUri(ufsBaseUri, alluxioPath);
+  }
+
+  @Override
+  public void setMode(final String path, final short mode) throws IOException {
+    mScheduler.call(RequestClass.PERSIST, new UfsCallable<Void>() {
+      @Override
+      public Void call() throws IOException {
+        mUnderFileSystem.setMode(path, mode);
+        return null;
+      }
+    });
+  }
+
+  @Override
+  public void setOwner(final String path, final String owner, final String group)
+      throws IOException {
+    mScheduler.call(RequestClass.PERSIST, new UfsCallable<Void>() {
+      @Override
+      public Void call() throws IOException {
+        mUnderFileSystem.setOwner(path, owner, group);
+        return null;
+      }
+    });
+  }
+
+  @Override
+  public boolean supportsFlush() {
+    return mUnderFileSystem.supportsFlush();
+  }
+
+  /**
+   * An input stream whose reads are scheduled as foreground requests.
+   */
+  private final class ScheduledInputStream extends FilterInputStream {
+    /**
+     * @param in the stream to read
+     */
+    ScheduledInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      return mScheduler.callOnce(RequestClass.FOREGROUND, new UfsCallable<Integer>() {
+        @Override
+        public Integer call() throws IOException {
+          return in.read();
+        }
+      });
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      return mScheduler.callOnce(RequestClass.FOREGROUND, new UfsCallable<Integer>() {
+        @Override
+        public Integer call() throws IOException {
+          return in.read(b, off, len);
+        }
+      });
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+      return mScheduler.callOnce(RequestClass.FOREGROUND, new UfsCallable<Long>() {
+        @Override
+        public Long call() throws IOException {
+          return in.skip(n);
+        }
+      });
+    }
+  }
+
+  /**
+   * An output stream whose writes, flushes and close are scheduled as persist requests, since the
+   * object stores upload the data when the stream is flushed or closed.
+   */
+  private final class ScheduledOutputStream extends FilterOutputStream {
+    /**
+     * @param out the stream to write
+     */
+    ScheduledOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<Void>() {
+        @Override
+        public Void call() throws IOException {
+          out.write(b);
+          return null;
+        }
+      });
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<Void>() {
+        @Override
+        public Void call() throws IOException {
+          out.write(b, off, len);
+          return null;
+        }
+      });
+    }
+
+    @Override
+    public void flush() throws IOException {
+      mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<Void>() {
+        @Override
+        public Void call() throws IOException {
+          out.flush();
+          return null;
+        }
+      });
+    }
+
+    @Override
+    public void close() throws IOException {
+      mScheduler.callOnce(RequestClass.PERSIST, new UfsCallable<Void>() {
+        @Override
+        public Void call() throws IOException {
+          out.close();
+          return null;
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio;
+
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.ThriftServerType;
+import alluxio.security.authentication.AuthType;
+import alluxio.thrift.GetMasterInfoTOptions;
+import alluxio.thrift.GetMasterInfoTResponse;
+import alluxio.thrift.GetServiceVersionTOptions;
+import alluxio.thrift.GetServiceVersionTResponse;
+import alluxio.thrift.MetaMasterClientService;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.network.NetworkAddressUtils;
+
+import com.google.common.base.Function;
+import org.apache.thrift.TMultiplexedProcessor;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TMultiplexedProtocol;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TNonblockingServerSocket;
+import org.apache.thrift.transport.TServerTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Tests for the {@link ThriftServerUtils} class.
+ */
+public final class ThriftServerUtilsTest {
+  private static final String SERVICE_NAME = "MetaMasterClient";
+  private static final Function<String, String> METRIC_NAME = new Function<String, String>() {
+    @Override
+    public String apply(String name) {
+      return "ThriftServerUtilsTest." + name;
+    }
+  };
+
+  private TServer mServer;
+
+  @After
+  public void after() {
+    if (mServer != null) {
+      mServer.stop();
+    }
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  /**
+   * Tests that the thread pool server is used by default.
+   */
+  @Test
+  public void threadPoolServerByDefault() throws Exception {
+    mServer = createServer();
+    Assert.assertTrue(mServer instanceof TThreadPoolServer);
+  }
+
+  /**
+   * Tests that the selector server falls back to the thread pool server with SASL.
+   */
+  @Test
+  public void threadPoolServerWithSasl() throws Exception {
+    Configuration.set(PropertyKey.NETWORK_THRIFT_SERVER_TYPE, ThriftServerType.THREADED_SELECTOR);
+    Configuration.set(PropertyKey.SECURITY_AUTHENTICATION_TYPE, AuthType.SIMPLE.getAuthName());
+    mServer = createServer();
+    Assert.assertTrue(mServer instanceof TThreadPoolServer);
+  }
+
+  /**
+   * Tests that the selector server serves the RPCs of framed clients, and reports the queue and
+   * service times of the RPC methods.
+   */
+  @Test
+  public void selectorServer() throws Exception {
+    Configuration.set(PropertyKey.NETWORK_THRIFT_SERVER_TYPE, ThriftServerType.THREADED_SELECTOR);
+    Configuration.set(PropertyKey.SECURITY_AUTHENTICATION_TYPE, AuthType.NOSASL.getAuthName());
+    TServerTransport serverSocket = ThriftServerUtils.createThriftServerSocket(
+        new InetSocketAddress("localhost", 0), 0);
+    Assert.assertTrue(serverSocket instanceof TNonblockingServerSocket);
+    int port = NetworkAddressUtils.getThriftPort(serverSocket);
+    Assert.assertNotEquals(0, port);
+    mServer = createServer(serverSocket);
+    Assert.assertTrue(mServer instanceof TThreadedSelectorServer);
+    startServer();
+
+    TTransport transport = new TFramedTransport(new TSocket("localhost", port));
+    transport.open();
+    try {
+      MetaMasterClientService.Client client = new MetaMasterClientService.Client(
+          new TMultiplexedProtocol(new TBinaryProtocol(transport), SERVICE_NAME));
+      for (int i = 0; i < 3; i++) {
+        Assert.assertEquals(7,
+            client.getServiceVersion(new GetServiceVersionTOptions()).getVersion());
+      }
+    } finally {
+      transport.close();
+    }
+    Assert.assertEquals(3, MetricsSystem.METRIC_REGISTRY.timer(
+        METRIC_NAME.apply("RpcGetServiceVersionServiceTime")).getCount());
+    Assert.assertEquals(3, MetricsSystem.METRIC_REGISTRY.timer(
+        METRIC_NAME.apply("RpcGetServiceVersionQueueTime")).getCount());
+  }
+
+  private TServer createServer() throws Exception {
+    return createServer(
+        ThriftServerUtils.createThriftServerSocket(new InetSocketAddress("localhost", 0), 0));
+  }
+
+  private TServer createServer(TServerTransport serverSocket) {
+    TMultiplexedProcessor processor = new TMultiplexedProcessor();
+    processor.registerProcessor(SERVICE_NAME,
+        new MetaMasterClientService.Processor<>(new MetaMasterClientService.Iface() {
+          @Override
+          public GetMasterInfoTResponse getMasterInfo(GetMasterInfoTOptions options) {
+            return new GetMasterInfoTResponse();
+          }
+
+          @Override
+          public GetServiceVersionTResponse getServiceVersion(GetServiceVersionTOptions options) {
+            return new GetServiceVersionTResponse(7);
+          }
+        }));
+    return ThriftServerUtils.createThriftServer(serverSocket, processor, new TTransportFactory(),
+        1, 2, METRIC_NAME);
+  }
+
+  private void startServer() {
+    Thread serverThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        mServer.serve();
+      }
+    });
+    serverThread.setDaemon(true);
+    serverThread.start();
+    CommonUtils.waitFor("the server to start serving", new Function<Void, Boolean>() {
+      @Override
+      public Boolean apply(Void input) {
+        return mServer.isServing();
+      }
+    }, WaitForOptions.defaults().setTimeout(10 * Constants.SECOND_MS));
+  }
+}
@@ -0,0 +1,350 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.underfs.UfsRequestScheduler.RequestClass;
+import alluxio.underfs.UnderFileSystemWithLogging.UfsCallable;
+import alluxio.util.CommonUtils;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the {@link UfsRequestScheduler} class.
+ */
+public final class UfsRequestSchedulerTest {
+  private static final double[] NO_RATE_LIMITS = new double[RequestClass.values().length];
+  private static final long NO_AGING = 0;
+  private static final Function<String, String> METRIC_NAME = new Function<String, String>() {
+    @Override
+    public String apply(String name) {
+      return "test." + name;
+    }
+  };
+  /** The requests are throttled when they fail with a 429 or 503 {@link ServiceException}. */
+  private static final Predicate<IOException> IS_THROTTLED = new Predicate<IOException>() {
+    @Override
+    public boolean apply(IOException e) {
+      if (!(e.getCause() instanceof ServiceException)) {
+        return false;
+      }
+      int statusCode = ((ServiceException) e.getCause()).getStatusCode();
+      return statusCode == 429 || statusCode == 503;
+    }
+  };
+
+  private ExecutorService mExecutor;
+
+  /**
+   * Sets up the executor before a test runs.
+   */
+  @Before
+  public void before() {
+    mExecutor = Executors.newCachedThreadPool();
+  }
+
+  /**
+   * Shuts down the executor after a test ran.
+   */
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests that the number of requests running at the same time is capped.
+   */
+  @Test
+  public void concurrencyLimit() throws Exception {
+    final UfsRequestScheduler scheduler = new UfsRequestScheduler(2, NO_RATE_LIMITS, NO_AGING, 0,
+        IS_THROTTLED, METRIC_NAME);
+    final AtomicInteger active = new AtomicInteger();
+    final AtomicInteger maxActive = new AtomicInteger();
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(mExecutor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          return scheduler.call(RequestClass.METADATA, new UfsCallable<Void>() {
+            @Override
+            public Void call() {
+              int current = active.incrementAndGet();
+              synchronized (maxActive) {
+                maxActive.set(Math.max(maxActive.get(), current));
+              }
+              CommonUtils.sleepMs(20);
+              active.decrementAndGet();
+              return null;
+            }
+          });
+        }
+      }));
+    }
+    for (Future<Void> future : futures) {
+      future.get();
+    }
+    Assert.assertEquals(2, maxActive.get());
+  }
+
+  /**
+   * Tests that the waiting requests of the classes with a higher priority run first.
+   */
+  @Test
+  public void priority() throws Exception {
+    final UfsRequestScheduler scheduler = new UfsRequestScheduler(1, NO_RATE_LIMITS, NO_AGING, 0,
+        IS_THROTTLED, METRIC_NAME);
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    Future<Void> blocking = mExecutor.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        return scheduler.call(RequestClass.FOREGROUND, new UfsCallable<Void>() {
+          @Override
+          public Void call() throws IOException {
+            running.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              throw new IOException(e);
+            }
+            return null;
+          }
+        });
+      }
+    });
+    running.await();
+    final List<RequestClass> order = Collections.synchronizedList(new ArrayList<RequestClass>());
+    List<Future<Void>> futures = new ArrayList<>();
+    RequestClass[] submitted = {RequestClass.GC, RequestClass.PERSIST, RequestClass.METADATA,
+        RequestClass.FOREGROUND};
+    for (final RequestClass requestClass : submitted) {
+      futures.add(mExecutor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          return scheduler.call(requestClass, new UfsCallable<Void>() {
+            @Override
+            public Void call() {
+              order.add(requestClass);
+              return null;
+            }
+          });
+        }
+      }));
+      // Lets the request wait before submitting the next one
+      CommonUtils.sleepMs(50);
+    }
+    release.countDown();
+    blocking.get();
+    for (Future<Void> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    Assert.assertEquals(Arrays.asList(RequestClass.FOREGROUND, RequestClass.METADATA,
+        RequestClass.PERSIST, RequestClass.GC), order);
+  }
+
+  /**
+   * Tests that a request of a class with a lower priority runs once it waited for longer than the
+   * aging time, even though requests of a higher priority keep waiting.
+   */
+  @Test
+  public void aging() throws Exception {
+    final UfsRequestScheduler scheduler = new UfsRequestScheduler(1, NO_RATE_LIMITS, 100, 0,
+        IS_THROTTLED, METRIC_NAME);
+    final AtomicBoolean done = new AtomicBoolean();
+    List<Future<Void>> foreground = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      foreground.add(mExecutor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          while (!done.get()) {
+            scheduler.call(RequestClass.FOREGROUND, new UfsCallable<Void>() {
+              @Override
+              public Void call() {
+                CommonUtils.sleepMs(5);
+                return null;
+              }
+            });
+          }
+          return null;
+        }
+      }));
+    }
+    // Lets the foreground requests saturate the scheduler
+    CommonUtils.sleepMs(50);
+    try {
+      Future<Void> gc = mExecutor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          return scheduler.call(RequestClass.GC, new UfsCallable<Void>() {
+            @Override
+            public Void call() {
+              return null;
+            }
+          });
+        }
+      });
+      gc.get(10, TimeUnit.SECONDS);
+    } finally {
+      done.set(true);
+    }
+    for (Future<Void> future : foreground) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Tests that the requests throttled by the under storage are retried, and that the concurrency
+   * is reduced.
+   */
+  @Test
+  public void retryThrottled() throws Exception {
+    UfsRequestScheduler scheduler = new UfsRequestScheduler(8, NO_RATE_LIMITS, NO_AGING, 3,
+        IS_THROTTLED, METRIC_NAME);
+    final AtomicInteger attempts = new AtomicInteger();
+    String result = scheduler.call(RequestClass.PERSIST, new UfsCallable<String>() {
+      @Override
+      public String call() throws IOException {
+        if (attempts.incrementAndGet() <= 2) {
+          throw new IOException(new ServiceException(503, "SlowDown"));
+        }
+        return "done";
+      }
+    });
+    Assert.assertEquals("done", result);
+    Assert.assertEquals(3, attempts.get());
+    Assert.assertEquals(2, scheduler.getConcurrencyLimit());
+  }
+
+  /**
+   * Tests that the requests throttled after all the retries fail.
+   */
+  @Test
+  public void failThrottled() throws Exception {
+    UfsRequestScheduler scheduler = new UfsRequestScheduler(8, NO_RATE_LIMITS, NO_AGING, 1,
+        IS_THROTTLED, METRIC_NAME);
+    final AtomicInteger attempts = new AtomicInteger();
+    try {
+      scheduler.call(RequestClass.GC, new UfsCallable<Void>() {
+        @Override
+        public Void call() throws IOException {
+          attempts.incrementAndGet();
+          throw new IOException("Throttled", new ServiceException(429, null));
+        }
+      });
+      Assert.fail("Expected the throttled request to fail");
+    } catch (IOException e) {
+      Assert.assertEquals("Throttled", e.getMessage());
+    }
+    Assert.assertEquals(2, attempts.get());
+  }
+
+  /**
+   * Tests that the requests which are not idempotent are not retried when throttled, but still
+   * reduce the concurrency.
+   */
+  @Test
+  public void noRetryOnce() throws Exception {
+    UfsRequestScheduler scheduler = new UfsRequestScheduler(8, NO_RATE_LIMITS, NO_AGING, 3,
+        IS_THROTTLED, METRIC_NAME);
+    final AtomicInteger attempts = new AtomicInteger();
+    try {
+      scheduler.callOnce(RequestClass.PERSIST, new UfsCallable<Void>() {
+        @Override
+        public Void call() throws IOException {
+          attempts.incrementAndGet();
+          throw new IOException(new ServiceException(503, "SlowDown"));
+        }
+      });
+      Assert.fail("Expected the throttled request to fail");
+    } catch (IOException e) {
+      // Expected case.
+    }
+    Assert.assertEquals(1, attempts.get());
+    Assert.assertEquals(4, scheduler.getConcurrencyLimit());
+  }
+
+  /**
+   * Tests that the other failures are not retried.
+   */
+  @Test
+  public void noRetryOnOtherFailures() throws Exception {
+    UfsRequestScheduler scheduler = new UfsRequestScheduler(8, NO_RATE_LIMITS, NO_AGING, 3,
+        IS_THROTTLED, METRIC_NAME);
+    final AtomicInteger attempts = new AtomicInteger();
+    try {
+      scheduler.call(RequestClass.METADATA, new UfsCallable<Void>() {
+        @Override
+        public Void call() throws IOException {
+          attempts.incrementAndGet();
+          throw new IOException("Access denied", new ServiceException(403, "AccessDenied"));
+        }
+      });
+      Assert.fail("Expected the request to fail");
+    } catch (IOException e) {
+      Assert.assertEquals("Access denied", e.getMessage());
+    }
+    Assert.assertEquals(1, attempts.get());
+    Assert.assertEquals(8, scheduler.getConcurrencyLimit());
+  }
+
+  /**
+   * An exception of an object store client, with the codes of the response.
+   */
+  public static final class ServiceException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int mStatusCode;
+    private final String mErrorCode;
+
+    /**
+     * @param statusCode the HTTP status code of the response
+     * @param errorCode the error code of the response
+     */
+    public ServiceException(int statusCode, String errorCode) {
+      super(errorCode);
+      mStatusCode = statusCode;
+      mErrorCode = errorCode;
+    }
+
+    /**
+     * @return the HTTP status code of the response
+     */
+    public int getStatusCode() {
+      return mStatusCode;
+    }
+
+    /**
+     * @return the error code of the response
+     */
+    public String getErrorCode() {
+      return mErrorCode;
+    }
+  }
+}
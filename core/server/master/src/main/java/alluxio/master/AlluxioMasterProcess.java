@@ -14,7 +14,9 @@ package alluxio.master;
 import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.PropertyKey;
+import alluxio.RpcUtils;
 import alluxio.RuntimeConstants;
+import alluxio.ThriftServerUtils;
 import alluxio.master.journal.Journal;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.sink.MetricsServlet;
@@ -34,11 +36,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import org.apache.thrift.TMultiplexedProcessor;
 import org.apache.thrift.TProcessor;
-import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.server.TServer;
-import org.apache.thrift.server.TThreadPoolServer;
-import org.apache.thrift.server.TThreadPoolServer.Args;
-import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
 import org.apache.thrift.transport.TTransportException;
 import org.apache.thrift.transport.TTransportFactory;
 import org.slf4j.Logger;
@@ -68,7 +67,7 @@ public class AlluxioMasterProcess implements MasterProcess {
   private final int mPort;
 
   /** The socket for thrift rpc server. */
-  private TServerSocket mTServerSocket;
+  private TServerTransport mTServerSocket;
 
   /** The transport provider to create thrift server transport. */
   private final TransportProvider mTransportProvider;
@@ -133,7 +132,8 @@ public class AlluxioMasterProcess implements MasterProcess {
       }
 
       mTransportProvider = TransportProvider.Factory.create();
-      mTServerSocket = new TServerSocket(NetworkAddressUtils.getBindAddress(ServiceType.MASTER_RPC),
+      mTServerSocket = ThriftServerUtils.createThriftServerSocket(
+          NetworkAddressUtils.getBindAddress(ServiceType.MASTER_RPC),
           Configuration.getInt(PropertyKey.MASTER_CONNECTION_TIMEOUT_MS));
       mPort = NetworkAddressUtils.getThriftPort(mTServerSocket);
       // reset master rpc port
@@ -308,22 +308,22 @@ public class AlluxioMasterProcess implements MasterProcess {
       if (mTServerSocket != null) {
         mTServerSocket.close();
       }
-      mTServerSocket =
-          new TServerSocket(mRpcBindAddress,
-              Configuration.getInt(PropertyKey.MASTER_CONNECTION_TIMEOUT_MS));
+      mTServerSocket = ThriftServerUtils.createThriftServerSocket(mRpcBindAddress,
+          Configuration.getInt(PropertyKey.MASTER_CONNECTION_TIMEOUT_MS));
     } catch (TTransportException e) {
       throw new RuntimeException(e);
     }
+    // the RPCs of the masters are traced, reporting their slow phases
+    RpcUtils.enableTracing();
     // create master thrift service with the multiplexed processor.
-    Args args = new TThreadPoolServer.Args(mTServerSocket).maxWorkerThreads(mMaxWorkerThreads)
-        .minWorkerThreads(mMinWorkerThreads).processor(processor).transportFactory(transportFactory)
-        .protocolFactory(new TBinaryProtocol.Factory(true, true));
-    if (Configuration.getBoolean(PropertyKey.TEST_MODE)) {
-      args.stopTimeoutVal = 0;
-    } else {
-      args.stopTimeoutVal = Constants.THRIFT_STOP_TIMEOUT_SECONDS;
-    }
-    mThriftServer = new TThreadPoolServer(args);
+    mThriftServer = ThriftServerUtils.createThriftServer(mTServerSocket, processor,
+        transportFactory, mMinWorkerThreads, mMaxWorkerThreads,
+        new Function<String, String>() {
+          @Override
+          public String apply(String name) {
+            return MetricsSystem.getMasterMetricName(name);
+          }
+        });
 
     // start thrift rpc server
     mIsServing = true;
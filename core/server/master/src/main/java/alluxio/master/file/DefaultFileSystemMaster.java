@@ -104,6 +104,7 @@ import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
 import alluxio.underfs.options.FileLocationOptions;
+import alluxio.underfs.options.ListOptions;
 import alluxio.util.CommonUtils;
 import alluxio.util.IdUtils;
 import alluxio.util.SecurityUtils;
@@ -137,6 +138,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -2124,11 +2126,110 @@ public final class DefaultFileSystemMaster extends AbstractMaster implements Fil
   public long loadMetadata(AlluxioURI path, LoadMetadataOptions options)
       throws BlockInfoException, FileDoesNotExistException, InvalidPathException,
       InvalidFileSizeException, FileAlreadyCompletedException, IOException, AccessControlException {
+    long id;
+    boolean loadDescendants;
     try (JournalContext journalContext = createJournalContext();
         LockedInodePath inodePath = mInodeTree.lockInodePath(path, InodeTree.LockMode.WRITE)) {
       mPermissionChecker.checkParentPermission(Mode.Bits.WRITE, inodePath);
       loadMetadataAndJournal(inodePath, options, journalContext);
-      return inodePath.getInode().getId();
+      Inode<?> inode = inodePath.getInode();
+      id = inode.getId();
+      loadDescendants = options.isLoadDescendants() && inode.isDirectory();
+    }
+    if (loadDescendants) {
+      loadDescendantsMetadataAndJournal(path);
+    }
+    return id;
+  }
+
+  /**
+   * Loads the metadata of all the descendants of a directory from UFS into Alluxio.
+   * <p>
+   * The descendants are listed with a single recursive listing of the UFS directory, which object
+   * stores shard across threads, instead of one listing per directory. The directories are then
+   * loaded from the top down, each under its own lock, and the journal entries are flushed in
+   * batches rather than once per inode.
+   *
+   * @param path the path of the directory
+   * @throws InvalidPathException if invalid path is encountered
+   * @throws FileDoesNotExistException if there is no UFS path
+   * @throws BlockInfoException if an invalid block size is encountered
+   * @throws FileAlreadyCompletedException if the file is already completed
+   * @throws InvalidFileSizeException if invalid file size is encountered
+   * @throws AccessControlException if permission checking fails
+   */
+  private void loadDescendantsMetadataAndJournal(AlluxioURI path)
+      throws InvalidPathException, FileDoesNotExistException, BlockInfoException,
+      FileAlreadyCompletedException, InvalidFileSizeException, AccessControlException, IOException {
+    MountTable.Resolution resolution = mMountTable.resolve(path);
+    UfsStatus[] statuses = resolution.getUfs().listStatus(resolution.getUri().toString(),
+        ListOptions.defaults().setRecursive(true));
+    if (statuses == null) {
+      return;
+    }
+    // Groups the descendants by their parent directory, relative to path, ordered so that every
+    // directory is loaded before its children
+    SortedMap<String, List<UfsStatus>> children = new TreeMap<>(new Comparator<String>() {
+      @Override
+      public int compare(String a, String b) {
+        int depthA = a.isEmpty() ? 0 : StringUtils.countMatches(a, AlluxioURI.SEPARATOR) + 1;
+        int depthB = b.isEmpty() ? 0 : StringUtils.countMatches(b, AlluxioURI.SEPARATOR) + 1;
+        return depthA != depthB ? Integer.compare(depthA, depthB) : a.compareTo(b);
+      }
+    });
+    children.put("", new ArrayList<UfsStatus>());
+    for (UfsStatus status : statuses) {
+      String name = status.getName();
+      int separator = name.lastIndexOf(AlluxioURI.SEPARATOR);
+      String parent = separator < 0 ? "" : name.substring(0, separator);
+      if (!children.containsKey(parent)) {
+        children.put(parent, new ArrayList<UfsStatus>());
+      }
+      children.get(parent).add(status.copy().setName(name.substring(separator + 1)));
+      if (status.isDirectory() && !children.containsKey(name)) {
+        children.put(name, new ArrayList<UfsStatus>());
+      }
+    }
+
+    int batchSize = Configuration.getInt(PropertyKey.MASTER_METADATA_LOAD_BATCH_SIZE);
+    int unflushed = 0;
+    JournalContext journalContext = createJournalContext();
+    try {
+      for (Map.Entry<String, List<UfsStatus>> entry : children.entrySet()) {
+        AlluxioURI dirPath = entry.getKey().isEmpty() ? path : path.join(entry.getKey());
+        try (LockedInodePath inodePath =
+            mInodeTree.lockInodePath(dirPath, InodeTree.LockMode.WRITE)) {
+          // The directory is not loaded if it has a temporary name or was removed concurrently
+          if (!inodePath.fullPathExists() || !inodePath.getInode().isDirectory()) {
+            continue;
+          }
+          // Loading a path requires the permission to write its parent, as when loading it alone
+          mPermissionChecker.checkPermission(Mode.Bits.WRITE, inodePath);
+          InodeDirectory inode = (InodeDirectory) inodePath.getInode();
+          for (UfsStatus status : entry.getValue()) {
+            if (PathUtils.isTemporaryFileName(status.getName())
+                || inode.getChild(status.getName()) != null) {
+              continue;
+            }
+            TempInodePathForChild tempInodePath =
+                new TempInodePathForChild(inodePath, status.getName());
+            LoadMetadataOptions loadMetadataOptions =
+                LoadMetadataOptions.defaults().setLoadDirectChildren(false)
+                    .setCreateAncestors(false).setUfsStatus(status);
+            loadMetadataAndJournal(tempInodePath, loadMetadataOptions, journalContext);
+            unflushed++;
+          }
+          inode.setDirectChildrenLoaded(true);
+        }
+        // Flushes outside of the directory lock
+        if (unflushed >= batchSize) {
+          journalContext.close();
+          journalContext = createJournalContext();
+          unflushed = 0;
+        }
+      }
+    } finally {
+      journalContext.close();
     }
   }
 
@@ -2174,7 +2275,8 @@ public final class DefaultFileSystemMaster extends AbstractMaster implements Fil
         loadDirectoryMetadataAndJournal(inodePath, options, journalContext);
         InodeDirectory inode = (InodeDirectory) inodePath.getInode();
 
-        if (options.isLoadDirectChildren()) {
+        // The direct children are loaded with the other descendants when loading descendants
+        if (options.isLoadDirectChildren() && !options.isLoadDescendants()) {
           UfsStatus[] files = ufs.listStatus(ufsUri.toString());
           for (UfsStatus status : files) {
             if (PathUtils.isTemporaryFileName(status.getName())
@@ -30,17 +30,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 
 /**
  * The default handler for async persistence that schedules the persistence on the workers that
  * contains all the blocks of a given file, and the handler returns the scheduled request whenever
- * the corresponding worker polls.
+ * the corresponding worker polls. When several workers contain all the blocks, the file is
+ * scheduled on the one with the fewest files scheduled, so that the persistence of many files is
+ * spread across the workers.
  */
 public final class DefaultAsyncPersistHandler implements AsyncPersistHandler {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultAsyncPersistHandler.class);
@@ -96,9 +98,13 @@ public final class DefaultAsyncPersistHandler implements AsyncPersistHandler {
         LOG.error("No worker is available");
         return IdUtils.INVALID_WORKER_ID;
       }
-      // randomly pick a worker
-      int index = new Random().nextInt(workerInfoList.size());
-      return workerInfoList.get(index).getId();
+      // pick the least loaded worker, breaking the ties randomly
+      List<Long> workerIds = new ArrayList<>();
+      for (WorkerInfo workerInfo : workerInfoList) {
+        workerIds.add(workerInfo.getId());
+      }
+      Collections.shuffle(workerIds);
+      return getLeastLoadedWorker(workerIds);
     }
 
     Map<Long, Integer> workerBlockCounts = new HashMap<>();
@@ -114,13 +120,18 @@ public final class DefaultAsyncPersistHandler implements AsyncPersistHandler {
           } else {
             workerBlockCounts.put(blockLocation.getWorkerId(), 1);
           }
-
-          // all the blocks of a file must be stored on the same worker
-          if (workerBlockCounts.get(blockLocation.getWorkerId()) == blockInfoList.size()) {
-            return blockLocation.getWorkerId();
-          }
         }
       }
+      // all the blocks of a file must be stored on the same worker
+      List<Long> candidates = new ArrayList<>();
+      for (Map.Entry<Long, Integer> entry : workerBlockCounts.entrySet()) {
+        if (entry.getValue() == blockInfoList.size()) {
+          candidates.add(entry.getKey());
+        }
+      }
+      if (!candidates.isEmpty()) {
+        return getLeastLoadedWorker(candidates);
+      }
     } catch (FileDoesNotExistException e) {
       LOG.error("The file {} to persist does not exist", path);
       return IdUtils.INVALID_WORKER_ID;
@@ -138,6 +149,25 @@ public final class DefaultAsyncPersistHandler implements AsyncPersistHandler {
     return IdUtils.INVALID_WORKER_ID;
   }
 
+  /**
+   * @param workerIds the ids of the candidate workers, which must not be empty
+   * @return the id of the candidate worker with the fewest files scheduled, the first one in case
+   *         of a tie
+   */
+  private long getLeastLoadedWorker(List<Long> workerIds) {
+    long leastLoadedWorker = IdUtils.INVALID_WORKER_ID;
+    int leastLoad = Integer.MAX_VALUE;
+    for (long workerId : workerIds) {
+      Set<Long> scheduledFiles = mWorkerToAsyncPersistFiles.get(workerId);
+      int load = scheduledFiles == null ? 0 : scheduledFiles.size();
+      if (load < leastLoad) {
+        leastLoadedWorker = workerId;
+        leastLoad = load;
+      }
+    }
+    return leastLoadedWorker;
+  }
+
   /**
    * Polls the files to send to the given worker for persistence. It also removes files from the
    * worker entry in {@link #mWorkerToAsyncPersistFiles}.
@@ -15,6 +15,7 @@ import alluxio.Constants;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidPathException;
 import alluxio.master.journal.JournalEntryRepresentable;
+import alluxio.metrics.OperationTrace;
 import alluxio.wire.FileInfo;
 import alluxio.wire.TtlAction;
 
@@ -340,7 +341,12 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    * inode by id and not path or parent.
    */
   public void lockRead() {
-    mLock.readLock().lock();
+    OperationTrace.startPhase(OperationTrace.Phase.LOCK);
+    try {
+      mLock.readLock().lock();
+    } finally {
+      OperationTrace.endPhase();
+    }
   }
 
   /**
@@ -390,7 +396,12 @@ public abstract class Inode<T> implements JournalEntryRepresentable {
    * inode by id and not path or parent.
    */
   public void lockWrite() {
-    mLock.writeLock().lock();
+    OperationTrace.startPhase(OperationTrace.Phase.LOCK);
+    try {
+      mLock.writeLock().lock();
+    } finally {
+      OperationTrace.endPhase();
+    }
   }
 
   /**
@@ -24,6 +24,7 @@ import javax.annotation.concurrent.NotThreadSafe;
 public final class LoadMetadataOptions {
   private boolean mCreateAncestors;
   private boolean mLoadDirectChildren;
+  private boolean mLoadDescendants;
   private UfsStatus mUfsStatus;
 
   /**
@@ -36,6 +37,7 @@ public final class LoadMetadataOptions {
   private LoadMetadataOptions() {
     mCreateAncestors = false;
     mLoadDirectChildren = false;
+    mLoadDescendants = false;
     mUfsStatus = null;
   }
 
@@ -62,6 +64,14 @@ public final class LoadMetadataOptions {
     return mLoadDirectChildren;
   }
 
+  /**
+   * @return the load descendants flag. It specifies whether all the descendants of a directory
+   * should be loaded, from a single recursive listing of the UFS directory.
+   */
+  public boolean isLoadDescendants() {
+    return mLoadDescendants;
+  }
+
   /**
    * Sets the recursive flag.
    *
@@ -86,6 +96,18 @@ public final class LoadMetadataOptions {
     return this;
   }
 
+  /**
+   * Sets the load descendants flag.
+   *
+   * @param loadDescendants the load descendants flag. It specifies whether all the descendants
+   *                        of a directory should be loaded.
+   * @return the updated object
+   */
+  public LoadMetadataOptions setLoadDescendants(boolean loadDescendants) {
+    mLoadDescendants = loadDescendants;
+    return this;
+  }
+
   /**
    * Sets the UFS status of path.
    *
@@ -108,18 +130,20 @@ public final class LoadMetadataOptions {
     LoadMetadataOptions that = (LoadMetadataOptions) o;
     return Objects.equal(mCreateAncestors, that.mCreateAncestors)
         && Objects.equal(mLoadDirectChildren, that.mLoadDirectChildren)
+        && Objects.equal(mLoadDescendants, that.mLoadDescendants)
         && Objects.equal(mUfsStatus, that.mUfsStatus);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mCreateAncestors, mLoadDirectChildren, mUfsStatus);
+    return Objects.hashCode(mCreateAncestors, mLoadDirectChildren, mLoadDescendants, mUfsStatus);
   }
 
   @Override
   public String toString() {
     return Objects.toStringHelper(this).add("createAncestors", mCreateAncestors)
         .add("loadDirectChildren", mLoadDirectChildren)
+        .add("loadDescendants", mLoadDescendants)
         .add("ufsStatus", mUfsStatus).toString();
   }
 }
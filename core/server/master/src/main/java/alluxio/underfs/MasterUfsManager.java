@@ -11,6 +11,10 @@
 
 package alluxio.underfs;
 
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.metrics.MetricsSystem;
+
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -24,4 +28,25 @@ public final class MasterUfsManager extends AbstractUfsManager {
    */
   public MasterUfsManager() {}
 
+  /**
+   * {@inheritDoc}
+   *
+   * The UFS instances of the master cache the status of paths when
+   * {@link PropertyKey#MASTER_UFS_STATUS_CACHE_TTL_MS} is positive.
+   */
+  @Override
+  protected UnderFileSystem createUfs(String ufsUri, UnderFileSystemConfiguration ufsConf) {
+    UnderFileSystem ufs = super.createUfs(ufsUri, ufsConf);
+    long ttlMs = Configuration.getLong(PropertyKey.MASTER_UFS_STATUS_CACHE_TTL_MS);
+    if (ttlMs <= 0) {
+      return ufs;
+    }
+    return new UnderFileSystemWithStatusCache(ufs, ttlMs,
+        Configuration.getInt(PropertyKey.MASTER_UFS_STATUS_CACHE_CAPACITY));
+  }
+
+  @Override
+  protected String getMetricName(String name) {
+    return MetricsSystem.getMasterMetricName(name);
+  }
 }
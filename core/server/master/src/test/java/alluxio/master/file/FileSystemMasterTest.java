@@ -18,6 +18,7 @@ import alluxio.ConfigurationTestUtils;
 import alluxio.Constants;
 import alluxio.LoginUserRule;
 import alluxio.PropertyKey;
+import alluxio.exception.AccessControlException;
 import alluxio.exception.BlockInfoException;
 import alluxio.exception.DirectoryNotEmptyException;
 import alluxio.exception.ExceptionMessage;
@@ -47,6 +48,7 @@ import alluxio.master.file.options.SetAttributeOptions;
 import alluxio.master.journal.Journal;
 import alluxio.master.journal.JournalFactory;
 import alluxio.security.GroupMappingServiceTestUtils;
+import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.thrift.Command;
 import alluxio.thrift.CommandType;
 import alluxio.thrift.FileSystemCommand;
@@ -79,6 +81,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -958,6 +961,72 @@ public final class FileSystemMasterTest {
     Assert.assertNotNull(mFileSystemMaster.getFileInfo(uri, GET_STATUS_OPTIONS));
   }
 
+  /**
+   * Tests that loading the descendants of a directory loads its whole subtree.
+   */
+  @Test
+  public void loadMetadataDescendants() throws Exception {
+    AlluxioURI ufsMount = new AlluxioURI(mTestFolder.newFolder().getAbsolutePath());
+    mFileSystemMaster.createDirectory(new AlluxioURI("/mnt/"), CreateDirectoryOptions.defaults());
+
+    Files.createFile(Paths.get(ufsMount.join("file").getPath()));
+    Files.createDirectories(Paths.get(ufsMount.join("nested").join("empty").getPath()));
+    Files.createDirectory(Paths.get(ufsMount.join("nested").join("dir").getPath()));
+    Files.createFile(Paths.get(ufsMount.join("nested").join("dir").join("file").getPath()));
+
+    mFileSystemMaster.mount(new AlluxioURI("/mnt/local"), ufsMount, MountOptions.defaults());
+    mFileSystemMaster.loadMetadata(new AlluxioURI("/mnt/local"),
+        LoadMetadataOptions.defaults().setLoadDescendants(true));
+
+    ListStatusOptions options =
+        ListStatusOptions.defaults().setLoadMetadataType(LoadMetadataType.Never);
+    Assert.assertEquals(2,
+        mFileSystemMaster.listStatus(new AlluxioURI("/mnt/local"), options).size());
+    Assert.assertEquals(2,
+        mFileSystemMaster.listStatus(new AlluxioURI("/mnt/local/nested"), options).size());
+    Assert.assertEquals(0,
+        mFileSystemMaster.listStatus(new AlluxioURI("/mnt/local/nested/empty"), options).size());
+    List<FileInfo> files =
+        mFileSystemMaster.listStatus(new AlluxioURI("/mnt/local/nested/dir"), options);
+    Assert.assertEquals(1, files.size());
+    Assert.assertEquals("file", files.get(0).getName());
+    Assert.assertTrue(files.get(0).isCompleted());
+  }
+
+  /**
+   * Tests that loading the descendants of a directory checks the permission to load them in each
+   * directory, like loading them one by one does.
+   */
+  @Test
+  public void loadMetadataDescendantsPermissionDenied() throws Exception {
+    AlluxioURI ufsMount = new AlluxioURI(mTestFolder.newFolder().getAbsolutePath());
+    mFileSystemMaster.createDirectory(new AlluxioURI("/mnt/"), CreateDirectoryOptions.defaults());
+
+    Files.createDirectory(Paths.get(ufsMount.join("nested").getPath()));
+    Files.createFile(Paths.get(ufsMount.join("nested").join("file").getPath()));
+    Files.setPosixFilePermissions(Paths.get(ufsMount.getPath()),
+        PosixFilePermissions.fromString("rwxrwxrwx"));
+    Files.setPosixFilePermissions(Paths.get(ufsMount.join("nested").getPath()),
+        PosixFilePermissions.fromString("rwxr-xr-x"));
+
+    mFileSystemMaster.mount(new AlluxioURI("/mnt/local"), ufsMount, MountOptions.defaults());
+    AuthenticatedClientUser.set("other");
+    try {
+      mFileSystemMaster.loadMetadata(new AlluxioURI("/mnt/local"),
+          LoadMetadataOptions.defaults().setLoadDescendants(true));
+      Assert.fail("Loading the descendants of a directory which can not be written should fail.");
+    } catch (AccessControlException e) {
+      // Expected case.
+    }
+
+    ListStatusOptions options =
+        ListStatusOptions.defaults().setLoadMetadataType(LoadMetadataType.Never);
+    Assert.assertEquals(1,
+        mFileSystemMaster.listStatus(new AlluxioURI("/mnt/local"), options).size());
+    Assert.assertEquals(0,
+        mFileSystemMaster.listStatus(new AlluxioURI("/mnt/local/nested"), options).size());
+  }
+
   /**
    * Tests that an exception is in the
    * {@link FileSystemMaster#createFile(AlluxioURI, CreateFileOptions)} with a TTL set in the
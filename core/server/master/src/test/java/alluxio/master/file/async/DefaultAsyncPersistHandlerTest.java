@@ -89,4 +89,29 @@ public class DefaultAsyncPersistHandlerTest {
     Assert.assertEquals(0, handler.pollFilesToPersist(1).size());
     Assert.assertEquals(0, handler.pollFilesToPersist(2).size());
   }
+
+  /**
+   * Tests that the files with blocks on several workers are spread across these workers.
+   */
+  @Test
+  public void scheduleOnLeastLoadedWorker() throws Exception {
+    DefaultAsyncPersistHandler handler =
+        new DefaultAsyncPersistHandler(new FileSystemMasterView(mFileSystemMaster));
+    for (long fileId = 1; fileId <= 4; fileId++) {
+      AlluxioURI path = new AlluxioURI("/test" + fileId);
+      List<FileBlockInfo> blockInfoList = new ArrayList<>();
+      blockInfoList.add(new FileBlockInfo().setBlockInfo(new BlockInfo().setBlockId(fileId)
+          .setLocations(Lists.newArrayList(new BlockLocation().setWorkerId(1),
+              new BlockLocation().setWorkerId(2)))));
+      Mockito.when(mFileSystemMaster.getFileBlockInfoList(path)).thenReturn(blockInfoList);
+      Mockito.when(mFileSystemMaster.getFileId(path)).thenReturn(fileId);
+      Mockito.when(mFileSystemMaster.getPath(fileId)).thenReturn(path);
+      Mockito.when(mFileSystemMaster.getFileInfo(fileId))
+          .thenReturn(new FileInfo().setLength(1).setCompleted(true));
+      handler.scheduleAsyncPersistence(path);
+    }
+
+    Assert.assertEquals(2, handler.pollFilesToPersist(1).size());
+    Assert.assertEquals(2, handler.pollFilesToPersist(2).size());
+  }
 }
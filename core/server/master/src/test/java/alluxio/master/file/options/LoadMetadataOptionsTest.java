@@ -27,6 +27,7 @@ public final class LoadMetadataOptionsTest {
     LoadMetadataOptions options = LoadMetadataOptions.defaults();
     Assert.assertEquals(false, options.isCreateAncestors());
     Assert.assertEquals(false, options.isLoadDirectChildren());
+    Assert.assertEquals(false, options.isLoadDescendants());
     Assert.assertEquals(null, options.getUfsStatus());
   }
 
@@ -35,12 +36,15 @@ public final class LoadMetadataOptionsTest {
     Random random = new Random();
     boolean isCreateAncestors = random.nextBoolean();
     boolean isLoadDirectChildren = random.nextBoolean();
+    boolean isLoadDescendants = random.nextBoolean();
     LoadMetadataOptions options = LoadMetadataOptions.defaults();
     options.setCreateAncestors(isCreateAncestors);
     options.setLoadDirectChildren(isLoadDirectChildren);
+    options.setLoadDescendants(isLoadDescendants);
     options.setUfsStatus(null);
     Assert.assertEquals(isCreateAncestors, options.isCreateAncestors());
     Assert.assertEquals(isLoadDirectChildren, options.isLoadDirectChildren());
+    Assert.assertEquals(isLoadDescendants, options.isLoadDescendants());
   }
 
   @Test
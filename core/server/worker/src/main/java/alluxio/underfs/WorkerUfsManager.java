@@ -13,6 +13,7 @@ package alluxio.underfs;
 
 import alluxio.exception.status.NotFoundException;
 import alluxio.exception.status.UnavailableException;
+import alluxio.metrics.MetricsSystem;
 import alluxio.thrift.UfsInfo;
 import alluxio.util.network.NetworkAddressUtils;
 import alluxio.worker.file.FileSystemMasterClient;
@@ -78,4 +79,9 @@ public final class WorkerUfsManager extends AbstractUfsManager {
     }
     return ufs;
   }
+
+  @Override
+  protected String getMetricName(String name) {
+    return MetricsSystem.getWorkerMetricName(name);
+  }
 }
@@ -12,10 +12,10 @@
 package alluxio.worker;
 
 import alluxio.Configuration;
-import alluxio.Constants;
 import alluxio.PropertyKey;
 import alluxio.RuntimeConstants;
 import alluxio.ServiceUtils;
+import alluxio.ThriftServerUtils;
 import alluxio.metrics.MetricsSystem;
 import alluxio.metrics.sink.MetricsServlet;
 import alluxio.network.ChannelType;
@@ -38,9 +38,8 @@ import com.google.common.base.Throwables;
 import io.netty.channel.unix.DomainSocketAddress;
 import org.apache.thrift.TMultiplexedProcessor;
 import org.apache.thrift.TProcessor;
-import org.apache.thrift.protocol.TBinaryProtocol;
-import org.apache.thrift.server.TThreadPoolServer;
-import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.transport.TServerTransport;
 import org.apache.thrift.transport.TTransportException;
 import org.apache.thrift.transport.TTransportFactory;
 import org.slf4j.Logger;
@@ -85,10 +84,10 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
   private TransportProvider mTransportProvider;
 
   /** Thread pool for thrift. */
-  private TThreadPoolServer mThriftServer;
+  private TServer mThriftServer;
 
   /** Server socket for thrift. */
-  private TServerSocket mThriftServerSocket;
+  private TServerTransport mThriftServerSocket;
 
   /** The address for the rpc server. */
   private InetSocketAddress mRpcAddress;
@@ -284,12 +283,11 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
   }
 
   /**
-   * Helper method to create a {@link org.apache.thrift.server.TThreadPoolServer} for handling
-   * incoming RPC requests.
+   * Helper method to create a thrift server for handling incoming RPC requests.
    *
    * @return a thrift server
    */
-  private TThreadPoolServer createThriftServer() {
+  private TServer createThriftServer() {
     int minWorkerThreads = Configuration.getInt(PropertyKey.WORKER_BLOCK_THREADS_MIN);
     int maxWorkerThreads = Configuration.getInt(PropertyKey.WORKER_BLOCK_THREADS_MAX);
     TMultiplexedProcessor processor = new TMultiplexedProcessor();
@@ -306,26 +304,25 @@ public final class AlluxioWorkerProcess implements WorkerProcess {
     } catch (IOException e) {
       throw Throwables.propagate(e);
     }
-    TThreadPoolServer.Args args = new TThreadPoolServer.Args(mThriftServerSocket)
-        .minWorkerThreads(minWorkerThreads).maxWorkerThreads(maxWorkerThreads).processor(processor)
-        .transportFactory(tTransportFactory)
-        .protocolFactory(new TBinaryProtocol.Factory(true, true));
-    if (Configuration.getBoolean(PropertyKey.TEST_MODE)) {
-      args.stopTimeoutVal = 0;
-    } else {
-      args.stopTimeoutVal = Constants.THRIFT_STOP_TIMEOUT_SECONDS;
-    }
-    return new TThreadPoolServer(args);
+    return ThriftServerUtils.createThriftServer(mThriftServerSocket, processor, tTransportFactory,
+        minWorkerThreads, maxWorkerThreads, new Function<String, String>() {
+          @Override
+          public String apply(String name) {
+            return MetricsSystem.getWorkerMetricName(name);
+          }
+        });
   }
 
   /**
-   * Helper method to create a {@link org.apache.thrift.transport.TServerSocket} for the RPC server.
+   * Helper method to create a {@link org.apache.thrift.transport.TServerTransport} for the RPC
+   * server.
    *
    * @return a thrift server socket
    */
-  private TServerSocket createThriftServerSocket() {
+  private TServerTransport createThriftServerSocket() {
     try {
-      return new TServerSocket(NetworkAddressUtils.getBindAddress(ServiceType.WORKER_RPC));
+      return ThriftServerUtils.createThriftServerSocket(
+          NetworkAddressUtils.getBindAddress(ServiceType.WORKER_RPC), 0);
     } catch (TTransportException e) {
       throw Throwables.propagate(e);
     }
@@ -305,6 +305,13 @@ public interface BlockWorker extends Worker, SessionCleanable {
   void removeBlock(long sessionId, long blockId)
       throws InvalidWorkerStateException, BlockDoesNotExistException, IOException;
 
+  /**
+   * Registers a {@link BlockStoreEventListener} to the block store of the worker.
+   *
+   * @param listener the listener to the events of the block store
+   */
+  void registerBlockStoreEventListener(BlockStoreEventListener listener);
+
   /**
    * Request an amount of space for a block in its storage directory. The block must be a temporary
    * block.
@@ -0,0 +1,255 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.exception.BlockDoesNotExistException;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.CanceledException;
+import alluxio.underfs.UfsManager;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.Closer;
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * This class implements a {@link BlockReader} to read a UFS block which is being cached by another
+ * {@link UnderFileSystemBlockReader}. The data is read from the temporary block as it is cached,
+ * so the block is only read once from the UFS.
+ *
+ * If the caching stops before reaching the data to read, or makes no progress for a while, this
+ * reader falls back to reading the rest of the block from the UFS by itself, once it is granted
+ * access to the UFS within the maximum UFS read concurrency of the block.
+ */
+@NotThreadSafe
+public final class CoalescedUnderFileSystemBlockReader implements BlockReader {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(CoalescedUnderFileSystemBlockReader.class);
+
+  /**
+   * Grants the readers sharing the data cached access to the UFS when they fall back to it.
+   */
+  interface UfsAccess {
+    /**
+     * Waits until the reader may read the block from the UFS.
+     */
+    void acquire() throws IOException;
+  }
+
+  /** The progress of the reader caching the block. */
+  private final UnderFileSystemBlockFill mFill;
+  /** The block metadata for the UFS block of this reader's session. */
+  private final UnderFileSystemBlockMeta mBlockMeta;
+  /** The Local block store. */
+  private final BlockStore mLocalBlockStore;
+  /** The manager for different ufs. */
+  private final UfsManager mUfsManager;
+  /** The access to the UFS when falling back to it. */
+  private final UfsAccess mUfsAccess;
+  /** The maximum time to wait for the caching to make progress. */
+  private final long mWaitMs;
+
+  private final Closer mCloser = Closer.create();
+  /** The channel of the temporary block, positioned at {@link #mPos}. */
+  private final FileChannel mTempBlockChannel;
+  /** The reader from the UFS once this reader stops sharing, null before that. */
+  private UnderFileSystemBlockReader mUnderFileSystemBlockReader;
+  /** The position within the block to read next. */
+  private long mPos;
+  private boolean mClosed;
+
+  /**
+   * Creates an instance of {@link CoalescedUnderFileSystemBlockReader} sharing the data cached by
+   * another reader, or a plain {@link UnderFileSystemBlockReader} if the temporary block is no
+   * longer there.
+   *
+   * @param fill the progress of the reader caching the block
+   * @param blockMeta the block meta of this reader's session
+   * @param offset the position within the block to start the read
+   * @param localBlockStore the Local block store
+   * @param ufsManager the manager of ufs
+   * @param ufsAccess the access to the UFS when falling back to it
+   * @param waitMs the maximum time to wait for the caching to make progress
+   * @return the block reader
+   * @throws BlockDoesNotExistException if the UFS block does not exist in the UFS block store
+   */
+  public static BlockReader create(UnderFileSystemBlockFill fill,
+      UnderFileSystemBlockMeta blockMeta, long offset, BlockStore localBlockStore,
+      UfsManager ufsManager, UfsAccess ufsAccess, long waitMs)
+      throws BlockDoesNotExistException, IOException {
+    RandomAccessFile tempBlockFile;
+    try {
+      tempBlockFile = new RandomAccessFile(fill.getTempBlockPath(), "r");
+    } catch (FileNotFoundException e) {
+      // The temporary block has been committed or aborted in the meantime.
+      ufsAccess.acquire();
+      return UnderFileSystemBlockReader.create(blockMeta, offset, localBlockStore, ufsManager);
+    }
+    return new CoalescedUnderFileSystemBlockReader(fill, blockMeta, offset, localBlockStore,
+        ufsManager, ufsAccess, waitMs, tempBlockFile);
+  }
+
+  /**
+   * Creates an instance of {@link CoalescedUnderFileSystemBlockReader}.
+   *
+   * @param fill the progress of the reader caching the block
+   * @param blockMeta the block meta of this reader's session
+   * @param offset the position within the block to start the read
+   * @param localBlockStore the Local block store
+   * @param ufsManager the manager of ufs
+   * @param ufsAccess the access to the UFS when falling back to it
+   * @param waitMs the maximum time to wait for the caching to make progress
+   * @param tempBlockFile the opened temporary block
+   */
+  private CoalescedUnderFileSystemBlockReader(UnderFileSystemBlockFill fill,
+      UnderFileSystemBlockMeta blockMeta, long offset, BlockStore localBlockStore,
+      UfsManager ufsManager, UfsAccess ufsAccess, long waitMs, RandomAccessFile tempBlockFile)
+      throws IOException {
+    mFill = fill;
+    mBlockMeta = blockMeta;
+    mLocalBlockStore = localBlockStore;
+    mUfsManager = ufsManager;
+    mUfsAccess = ufsAccess;
+    mWaitMs = waitMs;
+    mCloser.register(tempBlockFile);
+    mTempBlockChannel = mCloser.register(tempBlockFile.getChannel());
+    mTempBlockChannel.position(offset);
+    mPos = offset;
+  }
+
+  @Override
+  public ReadableByteChannel getChannel() {
+    throw new UnsupportedOperationException(
+        "CoalescedUnderFileSystemBlockReader#getChannel is not supported");
+  }
+
+  @Override
+  public long getLength() {
+    return mBlockMeta.getBlockSize();
+  }
+
+  @Override
+  public ByteBuffer read(long offset, long length) throws IOException {
+    Preconditions.checkState(!mClosed);
+    long bytesToRead = Math.min(length, mBlockMeta.getBlockSize() - offset);
+    if (bytesToRead <= 0) {
+      return ByteBuffer.allocate(0);
+    }
+    if (mUnderFileSystemBlockReader == null) {
+      long end = offset + bytesToRead;
+      long cachedBytes = waitForCachedBytes(offset);
+      while (cachedBytes > offset && cachedBytes < end) {
+        long newCachedBytes = waitForCachedBytes(cachedBytes);
+        if (newCachedBytes == cachedBytes) {
+          // The caching stopped or made no progress.
+          break;
+        }
+        cachedBytes = newCachedBytes;
+      }
+      if (cachedBytes >= end) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) bytesToRead);
+        while (buffer.hasRemaining()) {
+          int bytesRead = mTempBlockChannel.read(buffer, offset + buffer.position());
+          Preconditions.checkState(bytesRead > 0, "Unexpected end of the cached block");
+        }
+        buffer.flip();
+        return buffer;
+      }
+      switchToUnderFileSystem(offset);
+    }
+    return mUnderFileSystemBlockReader.read(offset, length);
+  }
+
+  @Override
+  public int transferTo(ByteBuf buf) throws IOException {
+    Preconditions.checkState(!mClosed);
+    if (mUnderFileSystemBlockReader == null) {
+      if (mPos >= mBlockMeta.getBlockSize()) {
+        return -1;
+      }
+      long cachedBytes = waitForCachedBytes(mPos);
+      if (cachedBytes > mPos) {
+        int bytesToRead = (int) Math.min((long) buf.writableBytes(), cachedBytes - mPos);
+        int bytesRead = buf.writeBytes(mTempBlockChannel, bytesToRead);
+        if (bytesRead > 0) {
+          mPos += bytesRead;
+        }
+        return bytesRead;
+      }
+      switchToUnderFileSystem(mPos);
+    }
+    return mUnderFileSystemBlockReader.transferTo(buf);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    try {
+      if (mUnderFileSystemBlockReader != null) {
+        mCloser.register(mUnderFileSystemBlockReader);
+      }
+      mCloser.close();
+    } finally {
+      mClosed = true;
+    }
+  }
+
+  @Override
+  public boolean isClosed() {
+    return mClosed;
+  }
+
+  /**
+   * @param pos the position within the block
+   * @return the number of bytes cached once data at the position is cached, or the caching stops
+   *         or makes no progress
+   */
+  private long waitForCachedBytes(long pos) throws IOException {
+    try {
+      return mFill.waitForCachedBytes(pos, mWaitMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CanceledException(e);
+    }
+  }
+
+  /**
+   * Stops sharing the cached data and reads the rest of the block from the UFS.
+   *
+   * @param offset the position within the block to continue the read
+   */
+  private void switchToUnderFileSystem(long offset) throws IOException {
+    LOG.debug("Reading block {} from UFS at offset {} after sharing its caching stopped: {}",
+        mBlockMeta.getBlockId(), offset, mFill);
+    mUfsAccess.acquire();
+    try {
+      mUnderFileSystemBlockReader =
+          UnderFileSystemBlockReader.create(mBlockMeta, offset, mLocalBlockStore, mUfsManager);
+    } catch (BlockDoesNotExistException e) {
+      throw AlluxioStatusException.fromCheckedException(e);
+    }
+  }
+}
@@ -423,6 +423,11 @@ public final class DefaultBlockWorker extends AbstractWorker implements BlockWor
     mBlockStore.removeBlock(sessionId, blockId);
   }
 
+  @Override
+  public void registerBlockStoreEventListener(BlockStoreEventListener listener) {
+    mBlockStore.registerBlockStoreEventListener(listener);
+  }
+
   @Override
   public void requestSpace(long sessionId, long blockId, long additionalBytes)
       throws BlockDoesNotExistException, WorkerOutOfSpaceException, IOException {
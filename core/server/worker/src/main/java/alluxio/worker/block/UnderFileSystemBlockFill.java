@@ -0,0 +1,102 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import com.google.common.base.Objects;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the progress of an {@link UnderFileSystemBlockReader} caching a block read from the UFS
+ * to the local storage, so that concurrent readers of the same block can read the cached data
+ * as it arrives instead of reading the block from the UFS again.
+ */
+@ThreadSafe
+final class UnderFileSystemBlockFill {
+  /** The path of the temporary block the data is cached to. */
+  private final String mTempBlockPath;
+
+  /** The number of bytes cached from the start of the block. */
+  @GuardedBy("this")
+  private long mCachedBytes;
+  /** Whether the reader has stopped caching, either because it is done or failed. */
+  @GuardedBy("this")
+  private boolean mStopped;
+
+  /**
+   * Creates an instance of {@link UnderFileSystemBlockFill}.
+   *
+   * @param tempBlockPath the path of the temporary block the data is cached to
+   */
+  UnderFileSystemBlockFill(String tempBlockPath) {
+    mTempBlockPath = tempBlockPath;
+  }
+
+  /**
+   * @return the path of the temporary block the data is cached to
+   */
+  String getTempBlockPath() {
+    return mTempBlockPath;
+  }
+
+  /**
+   * @return whether the block is still being cached
+   */
+  synchronized boolean isActive() {
+    return !mStopped;
+  }
+
+  /**
+   * Records that more data is cached and wakes up the readers waiting for it.
+   *
+   * @param bytes the number of bytes appended to the temporary block
+   */
+  synchronized void addCachedBytes(long bytes) {
+    mCachedBytes += bytes;
+    notifyAll();
+  }
+
+  /**
+   * Records that no more data will be cached. The data cached so far stays readable by the
+   * readers which opened the temporary block.
+   */
+  synchronized void stop() {
+    mStopped = true;
+    notifyAll();
+  }
+
+  /**
+   * Waits until data at the given position is cached, the caching stops, or the timeout expires.
+   *
+   * @param pos the position within the block
+   * @param timeoutMs the maximum time to wait
+   * @return the number of bytes cached from the start of the block
+   */
+  synchronized long waitForCachedBytes(long pos, long timeoutMs) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeoutMs;
+    while (mCachedBytes <= pos && !mStopped) {
+      long waitMs = deadline - System.currentTimeMillis();
+      if (waitMs <= 0) {
+        break;
+      }
+      wait(waitMs);
+    }
+    return mCachedBytes;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return Objects.toStringHelper(this).add("tempBlockPath", mTempBlockPath)
+        .add("cachedBytes", mCachedBytes).add("stopped", mStopped).toString();
+  }
+}
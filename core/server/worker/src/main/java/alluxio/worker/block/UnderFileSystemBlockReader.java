@@ -28,6 +28,7 @@ import alluxio.underfs.options.OpenOptions;
 import alluxio.util.network.NetworkAddressUtils;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.BlockWriter;
+import alluxio.worker.block.meta.TempBlockMeta;
 import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
 
 import com.google.common.base.Preconditions;
@@ -65,6 +66,8 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   private InputStream mUnderFileSystemInputStream;
   /** The block writer to write the block to Alluxio. */
   private BlockWriter mBlockWriter;
+  /** The progress of caching the block, null if the block is not being cached. */
+  private UnderFileSystemBlockFill mFill;
   /** If set, the reader is closed and should not be used afterwards. */
   private boolean mClosed;
   /** The manager for different ufs. */
@@ -183,8 +186,12 @@ public final class UnderFileSystemBlockReader implements BlockReader {
         ByteBuffer buffer = ByteBuffer.wrap(data, (int) (mBlockWriter.getPosition() - offset),
             (int) (mInStreamPos - mBlockWriter.getPosition()));
         mBlockWriter.append(buffer.duplicate());
+        if (mFill != null) {
+          mFill.addCachedBytes(buffer.remaining());
+        }
       } catch (Exception e) {
         LOG.warn("Failed to cache data read from UFS: %s", e.getMessage());
+        stopFill();
         mBlockWriter.close();
         mBlockWriter = null;
       }
@@ -228,8 +235,12 @@ public final class UnderFileSystemBlockReader implements BlockReader {
         while (bufCopy.readableBytes() > 0) {
           mBlockWriter.transferFrom(bufCopy);
         }
+        if (mFill != null) {
+          mFill.addCachedBytes(bytesRead);
+        }
       } catch (Exception e) {
         LOG.warn("Failed to cache data read from UFS: %s", e.getMessage());
+        stopFill();
         mBlockWriter.close();
         mBlockWriter = null;
       }
@@ -262,6 +273,7 @@ public final class UnderFileSystemBlockReader implements BlockReader {
       }
       closer.close();
     } finally {
+      stopFill();
       mClosed = true;
     }
   }
@@ -271,6 +283,23 @@ public final class UnderFileSystemBlockReader implements BlockReader {
     return mClosed;
   }
 
+  /**
+   * @return the progress of caching the block, or null if the block is not being cached
+   */
+  UnderFileSystemBlockFill getFill() {
+    return mFill;
+  }
+
+  /**
+   * Marks the caching of the block as stopped for the readers sharing it.
+   */
+  private void stopFill() {
+    if (mFill != null) {
+      mFill.stop();
+      mFill = null;
+    }
+  }
+
   /**
    * Updates the UFS input stream given an offset to read.
    *
@@ -286,7 +315,8 @@ public final class UnderFileSystemBlockReader implements BlockReader {
     if (mUnderFileSystemInputStream == null && offset < mBlockMeta.getBlockSize()) {
       UnderFileSystem ufs = mUfsManager.get(mBlockMeta.getMountId());
       mUnderFileSystemInputStream = ufs.open(mBlockMeta.getUnderFileSystemPath(),
-          OpenOptions.defaults().setOffset(mBlockMeta.getOffset() + offset));
+          OpenOptions.defaults().setOffset(mBlockMeta.getOffset() + offset)
+              .setLength(mBlockMeta.getBlockSize() - offset));
       mInStreamPos = offset;
     }
   }
@@ -300,6 +330,7 @@ public final class UnderFileSystemBlockReader implements BlockReader {
   private void updateBlockWriter(long offset) throws IOException {
     try {
       if (mBlockWriter != null && offset > mBlockWriter.getPosition()) {
+        stopFill();
         mBlockWriter.close();
         mBlockWriter = null;
         mLocalBlockStore.abortBlock(mBlockMeta.getSessionId(), mBlockMeta.getBlockId());
@@ -320,6 +351,11 @@ public final class UnderFileSystemBlockReader implements BlockReader {
             mInitialBlockSize);
         mBlockWriter = mLocalBlockStore.getBlockWriter(
             mBlockMeta.getSessionId(), mBlockMeta.getBlockId());
+        TempBlockMeta tempBlockMeta =
+            mLocalBlockStore.getTempBlockMeta(mBlockMeta.getSessionId(), mBlockMeta.getBlockId());
+        if (tempBlockMeta != null) {
+          mFill = new UnderFileSystemBlockFill(tempBlockMeta.getPath());
+        }
       }
     } catch (BlockAlreadyExistsException e) {
       // This can happen when there are concurrent UFS readers who are all trying to cache to block.
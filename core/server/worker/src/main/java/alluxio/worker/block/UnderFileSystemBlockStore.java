@@ -11,9 +11,13 @@
 
 package alluxio.worker.block;
 
+import alluxio.Configuration;
+import alluxio.PropertyKey;
 import alluxio.exception.BlockAlreadyExistsException;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
+import alluxio.exception.status.CanceledException;
+import alluxio.exception.status.UnavailableException;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.resource.LockResource;
 import alluxio.underfs.UfsManager;
@@ -31,6 +35,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.concurrent.GuardedBy;
@@ -45,6 +51,13 @@ import javax.annotation.concurrent.GuardedBy;
  *
  * If the client is lost before releasing or cleaning up the session, the session cleaner will
  * clean the data.
+ *
+ * When a block is being read from the UFS and cached by one session, other sessions reading the
+ * same block share the cached data through {@link CoalescedUnderFileSystemBlockReader}s instead
+ * of reading the block from the UFS again. These readers are granted access beyond the maximum UFS
+ * read concurrency of the block, as they do not read the UFS, but are counted against it once they
+ * fall back to reading the block from the UFS, so that the readers falling back when the caching
+ * stops wait for their turn to read the UFS.
  */
 public final class UnderFileSystemBlockStore implements SessionCleanable {
   private static final Logger LOG = LoggerFactory.getLogger(UnderFileSystemBlockStore.class);
@@ -58,6 +71,8 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
    * same block. If the client do that, the client can see failures but the worker won't crash.
    */
   private final ReentrantLock mLock = new ReentrantLock();
+  /** Signaled when a session releases its access to a block. */
+  private final Condition mAccessReleased = mLock.newCondition();
   @GuardedBy("mLock")
   /** Maps from the {@link Key} to the {@link BlockInfo}. */
   private final Map<Key, BlockInfo> mBlocks = new HashMap<>();
@@ -67,6 +82,14 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
   @GuardedBy("mLock")
   /** Maps from the block ID to the session IDs. */
   private final Map<Long, Set<Long>> mBlockIdToSessionIds = new HashMap<>();
+  @GuardedBy("mLock")
+  /** Maps from the block ID to the progress of the reader caching the block from the UFS. */
+  private final Map<Long, UnderFileSystemBlockFill> mBlockIdToFill = new HashMap<>();
+
+  /** Whether concurrent readers of a block share the data cached by one of them. */
+  private final boolean mCoalesceEnabled;
+  /** The maximum time a reader sharing the cached data waits for the caching to progress. */
+  private final long mCoalesceWaitMs;
 
   /** The Local block store. */
   private final BlockStore mLocalBlockStore;
@@ -83,12 +106,16 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
   public UnderFileSystemBlockStore(BlockStore localBlockStore, UfsManager ufsManager) {
     mLocalBlockStore = localBlockStore;
     mUfsManager = ufsManager;
+    mCoalesceEnabled = Configuration.getBoolean(PropertyKey.WORKER_UFS_BLOCK_READ_COALESCE_ENABLED);
+    mCoalesceWaitMs = Configuration.getMs(PropertyKey.WORKER_UFS_BLOCK_READ_COALESCE_WAIT_MS);
   }
 
   /**
    * Acquires access for a UFS block given a {@link UnderFileSystemBlockMeta} and the limit on
    * the maximum concurrency on the block. If the number of concurrent readers on this UFS block
-   * exceeds a threshold, the token is not granted and this method returns false.
+   * exceeds a threshold, the token is not granted and this method returns false, unless the
+   * block is being cached so that the data can be shared. The readers sharing the data are not
+   * counted against the threshold until they fall back to reading the UFS.
    *
    * @param sessionId the session ID
    * @param blockId maximum concurrency
@@ -105,17 +132,18 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
         throw new BlockAlreadyExistsException(ExceptionMessage.UFS_BLOCK_ALREADY_EXISTS_FOR_SESSION,
             blockId, blockMeta.getUnderFileSystemPath(), sessionId);
       }
-      Set<Long> sessionIds = mBlockIdToSessionIds.get(blockId);
-      if (sessionIds != null && sessionIds.size() >= options.getMaxUfsReadConcurrency()) {
+      UnderFileSystemBlockFill fill = mCoalesceEnabled ? getActiveFill(blockId) : null;
+      if (fill == null && getUfsReaderCount(blockId) >= options.getMaxUfsReadConcurrency()) {
         return false;
       }
+      Set<Long> sessionIds = mBlockIdToSessionIds.get(blockId);
       if (sessionIds == null) {
         sessionIds = new HashSet<>();
         mBlockIdToSessionIds.put(blockId, sessionIds);
       }
       sessionIds.add(sessionId);
 
-      mBlocks.put(key, new BlockInfo(blockMeta));
+      mBlocks.put(key, new BlockInfo(blockMeta, options.getMaxUfsReadConcurrency(), fill));
 
       Set<Long> blockIds = mSessionIdToBlockIds.get(sessionId);
       if (blockIds == null) {
@@ -173,6 +201,9 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
       if (sessionIds != null) {
         sessionIds.remove(sessionId);
       }
+      // Removes the fill of the block if it is done.
+      getActiveFill(blockId);
+      mAccessReleased.signalAll();
     }
   }
 
@@ -214,7 +245,7 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
    * @throws BlockDoesNotExistException if the UFS block does not exist in the
    * {@link UnderFileSystemBlockStore}
    */
-  public BlockReader getBlockReader(final long sessionId, long blockId, long offset)
+  public BlockReader getBlockReader(final long sessionId, final long blockId, long offset)
       throws BlockDoesNotExistException, IOException {
     final BlockInfo blockInfo;
     try (LockResource lr = new LockResource(mLock)) {
@@ -224,13 +255,98 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
         return blockReader;
       }
     }
-    BlockReader reader =
+    if (blockInfo.getFill() != null) {
+      BlockReader reader = CoalescedUnderFileSystemBlockReader.create(blockInfo.getFill(),
+          blockInfo.getMeta(), offset, mLocalBlockStore, mUfsManager,
+          new CoalescedUnderFileSystemBlockReader.UfsAccess() {
+            @Override
+            public void acquire() throws IOException {
+              acquireUfsAccess(blockInfo);
+            }
+          }, mCoalesceWaitMs);
+      blockInfo.setBlockReader(reader);
+      return reader;
+    }
+    UnderFileSystemBlockReader reader =
         UnderFileSystemBlockReader.create(blockInfo.getMeta(), offset, mLocalBlockStore,
             mUfsManager);
     blockInfo.setBlockReader(reader);
+    if (mCoalesceEnabled && reader.getFill() != null) {
+      try (LockResource lr = new LockResource(mLock)) {
+        if (getActiveFill(blockId) == null) {
+          mBlockIdToFill.put(blockId, reader.getFill());
+        }
+      }
+    }
     return reader;
   }
 
+  /**
+   * Waits until a session sharing the data cached of a block may read the block from the UFS,
+   * within the maximum UFS read concurrency of the block, and counts it against it.
+   *
+   * @param blockInfo the block information of the session
+   */
+  private void acquireUfsAccess(BlockInfo blockInfo) throws IOException {
+    long blockId = blockInfo.getMeta().getBlockId();
+    long deadline = System.currentTimeMillis() + mCoalesceWaitMs;
+    try (LockResource lr = new LockResource(mLock)) {
+      if (!blockInfo.isSharing()) {
+        return;
+      }
+      while (getUfsReaderCount(blockId) >= blockInfo.getMaxUfsReadConcurrency()) {
+        long waitMs = deadline - System.currentTimeMillis();
+        if (waitMs <= 0) {
+          throw new UnavailableException(ExceptionMessage.UFS_BLOCK_ACCESS_TOKEN_UNAVAILABLE
+              .getMessage(blockId, blockInfo.getMeta().getUnderFileSystemPath()));
+        }
+        mAccessReleased.await(waitMs, TimeUnit.MILLISECONDS);
+      }
+      blockInfo.setSharing(false);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CanceledException(e);
+    }
+  }
+
+  /**
+   * Gets the number of sessions which may read a block from the UFS, excluding the sessions
+   * sharing the data cached by another session. The caller must hold {@link #mLock}.
+   *
+   * @param blockId the block ID
+   * @return the number of sessions reading the block from the UFS
+   */
+  private int getUfsReaderCount(long blockId) {
+    Set<Long> sessionIds = mBlockIdToSessionIds.get(blockId);
+    if (sessionIds == null) {
+      return 0;
+    }
+    int count = 0;
+    for (long sessionId : sessionIds) {
+      BlockInfo blockInfo = mBlocks.get(new Key(sessionId, blockId));
+      if (blockInfo != null && !blockInfo.isSharing()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Gets the progress of the reader caching a block, removing it if the caching has stopped.
+   * The caller must hold {@link #mLock}.
+   *
+   * @param blockId the block ID
+   * @return the progress of the reader caching the block, or null if the block is not being cached
+   */
+  private UnderFileSystemBlockFill getActiveFill(long blockId) {
+    UnderFileSystemBlockFill fill = mBlockIdToFill.get(blockId);
+    if (fill != null && !fill.isActive()) {
+      mBlockIdToFill.remove(blockId);
+      return null;
+    }
+    return fill;
+  }
+
   /**
    * Gets the {@link UnderFileSystemBlockMeta} for a session ID and block ID pair.
    *
@@ -316,6 +432,14 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
    */
   private static class BlockInfo {
     private final UnderFileSystemBlockMeta mMeta;
+    private final int mMaxUfsReadConcurrency;
+    /** The progress of the reader caching the block when the access was granted, or null. */
+    private final UnderFileSystemBlockFill mFill;
+    /**
+     * Whether the session shares the data cached by another session rather than reading the UFS,
+     * guarded by {@link UnderFileSystemBlockStore#mLock}.
+     */
+    private boolean mSharing;
 
     // A correct client implementation should never access the following reader/writer
     // concurrently. But just to avoid crashing the server thread with runtime exception when
@@ -327,9 +451,15 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
      * Creates an instance of {@link BlockInfo}.
      *
      * @param meta the UFS block meta
+     * @param maxUfsReadConcurrency the maximum number of sessions reading the block from the UFS
+     * @param fill the progress of the reader caching the block to share, or null
      */
-    public BlockInfo(UnderFileSystemBlockMeta meta) {
+    public BlockInfo(UnderFileSystemBlockMeta meta, int maxUfsReadConcurrency,
+        UnderFileSystemBlockFill fill) {
       mMeta = meta;
+      mMaxUfsReadConcurrency = maxUfsReadConcurrency;
+      mFill = fill;
+      mSharing = fill != null;
     }
 
     /**
@@ -339,6 +469,34 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
       return mMeta;
     }
 
+    /**
+     * @return the maximum number of sessions reading the block from the UFS
+     */
+    public int getMaxUfsReadConcurrency() {
+      return mMaxUfsReadConcurrency;
+    }
+
+    /**
+     * @return the progress of the reader caching the block to share, or null
+     */
+    public UnderFileSystemBlockFill getFill() {
+      return mFill;
+    }
+
+    /**
+     * @return whether the session shares the data cached by another session
+     */
+    public boolean isSharing() {
+      return mSharing;
+    }
+
+    /**
+     * @param sharing whether the session shares the data cached by another session
+     */
+    public void setSharing(boolean sharing) {
+      mSharing = sharing;
+    }
+
     /**
      * @return the cached the block reader if it is not closed
      */
@@ -16,10 +16,10 @@ import alluxio.Configuration;
 import alluxio.PropertyKey;
 import alluxio.Sessions;
 import alluxio.client.file.FileSystem;
-import alluxio.client.file.URIStatus;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.InvalidWorkerStateException;
+import alluxio.metrics.MetricsSystem;
 import alluxio.security.authorization.Mode;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UnderFileSystem;
@@ -30,6 +30,7 @@ import alluxio.worker.block.BlockWorker;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.meta.BlockMeta;
 
+import com.codahale.metrics.Counter;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.RateLimiter;
@@ -102,7 +103,7 @@ public final class FileDataManager {
    */
   private boolean isFilePersisting(long fileId) {
     synchronized (mLock) {
-      return mPersistedFiles.contains(fileId);
+      return mPersistingInProgressFiles.containsKey(fileId);
     }
   }
 
@@ -155,12 +156,13 @@ public final class FileDataManager {
   }
 
   /**
-   * Checks if the given file exists in the under storage system.
+   * Checks if the given file exists in the under storage system. This is not synchronized, so that
+   * the checks of the files persisted in parallel do not wait for each other.
    *
    * @param fileId the file id
    * @return true if the file exists in under storage system, false otherwise
    */
-  private synchronized boolean fileExistsInUfs(long fileId) throws IOException {
+  private boolean fileExistsInUfs(long fileId) throws IOException {
     FileInfo fileInfo = mBlockWorker.getFileInfo(fileId);
     String dstPath = fileInfo.getUfsPath();
     UnderFileSystem ufs = mUfsManager.get(fileInfo.getMountId());
@@ -227,43 +229,54 @@ public final class FileDataManager {
       }
     }
 
-    String dstPath = prepareUfsFilePath(fileId);
-    FileInfo fileInfo = mBlockWorker.getFileInfo(fileId);
-    UnderFileSystem ufs = mUfsManager.get(fileInfo.getMountId());
-    OutputStream outputStream = ufs.create(dstPath, CreateOptions.defaults()
-        .setOwner(fileInfo.getOwner()).setGroup(fileInfo.getGroup())
-        .setMode(new Mode((short) fileInfo.getMode())));
-    final WritableByteChannel outputChannel = Channels.newChannel(outputStream);
-
-    List<Throwable> errors = new ArrayList<>();
+    OutputStream outputStream = null;
+    UnderFileSystem ufs = null;
+    String dstPath = null;
     try {
-      for (long blockId : blockIds) {
-        long lockId = blockIdToLockId.get(blockId);
+      List<Throwable> errors = new ArrayList<>();
+      try {
+        FileInfo fileInfo = mBlockWorker.getFileInfo(fileId);
+        ufs = mUfsManager.get(fileInfo.getMountId());
+        dstPath = prepareUfsFilePath(fileInfo, ufs);
+        outputStream = ufs.create(dstPath, CreateOptions.defaults()
+            .setOwner(fileInfo.getOwner()).setGroup(fileInfo.getGroup())
+            .setMode(new Mode((short) fileInfo.getMode())));
+        WritableByteChannel outputChannel = Channels.newChannel(outputStream);
 
-        if (Configuration.getBoolean(PropertyKey.WORKER_FILE_PERSIST_RATE_LIMIT_ENABLED)) {
-          BlockMeta blockMeta =
-              mBlockWorker.getBlockMeta(Sessions.CHECKPOINT_SESSION_ID, blockId, lockId);
-          mPersistenceRateLimiter.acquire((int) blockMeta.getBlockSize());
-        }
+        for (long blockId : blockIds) {
+          long lockId = blockIdToLockId.get(blockId);
 
-        // obtain block reader
-        BlockReader reader =
-            mBlockWorker.readBlockRemote(Sessions.CHECKPOINT_SESSION_ID, blockId, lockId);
+          if (Configuration.getBoolean(PropertyKey.WORKER_FILE_PERSIST_RATE_LIMIT_ENABLED)) {
+            BlockMeta blockMeta =
+                mBlockWorker.getBlockMeta(Sessions.CHECKPOINT_SESSION_ID, blockId, lockId);
+            mPersistenceRateLimiter.acquire((int) blockMeta.getBlockSize());
+          }
 
-        // write content out
-        ReadableByteChannel inputChannel = reader.getChannel();
-        BufferUtils.fastCopy(inputChannel, outputChannel);
-        reader.close();
-      }
-    } catch (BlockDoesNotExistException | InvalidWorkerStateException e) {
-      errors.add(e);
-    } finally {
-      // make sure all the locks are released
-      for (long lockId : blockIdToLockId.values()) {
-        try {
-          mBlockWorker.unlockBlock(lockId);
-        } catch (BlockDoesNotExistException e) {
-          errors.add(e);
+          // obtain block reader
+          BlockReader reader =
+              mBlockWorker.readBlockRemote(Sessions.CHECKPOINT_SESSION_ID, blockId, lockId);
+
+          // write content out, the streams of object stores upload the parts while written
+          ReadableByteChannel inputChannel = reader.getChannel();
+          BufferUtils.fastCopy(inputChannel, outputChannel);
+          Metrics.BYTES_PERSISTED.inc(reader.getLength());
+          reader.close();
+        }
+
+        outputStream.flush();
+        outputChannel.close();
+        outputStream.close();
+        outputStream = null;
+      } catch (BlockDoesNotExistException | InvalidWorkerStateException e) {
+        errors.add(e);
+      } finally {
+        // make sure all the locks are released
+        for (long lockId : blockIdToLockId.values()) {
+          try {
+            mBlockWorker.unlockBlock(lockId);
+          } catch (BlockDoesNotExistException e) {
+            errors.add(e);
+          }
         }
       }
 
@@ -276,31 +289,57 @@ public final class FileDataManager {
         }
         throw new IOException(errorStr.toString());
       }
+      synchronized (mLock) {
+        mPersistingInProgressFiles.remove(fileId);
+        mPersistedFiles.add(fileId);
+      }
+      Metrics.FILES_PERSISTED.inc();
+    } finally {
+      if (outputStream != null) {
+        // the file failed to persist, so its partial copy in the under storage is removed
+        abortUfsFile(fileId, outputStream, ufs, dstPath);
+      }
+      // the file is released once its stream is closed, so that it is not persisted twice at once,
+      // and it may be persisted again if this failed
+      synchronized (mLock) {
+        mPersistingInProgressFiles.remove(fileId);
+      }
     }
+  }
 
-    outputStream.flush();
-    outputChannel.close();
-    outputStream.close();
-    synchronized (mLock) {
-      mPersistingInProgressFiles.remove(fileId);
-      mPersistedFiles.add(fileId);
+  /**
+   * Closes the stream of a file which failed to persist, and deletes the file from the under
+   * storage.
+   *
+   * @param fileId the id of the file
+   * @param outputStream the stream of the file in the under storage
+   * @param ufs the under storage of the file
+   * @param dstPath the path of the file in the under storage
+   */
+  private void abortUfsFile(long fileId, OutputStream outputStream, UnderFileSystem ufs,
+      String dstPath) {
+    try {
+      outputStream.close();
+      ufs.deleteFile(dstPath);
+    } catch (IOException e) {
+      LOG.warn("Failed to clean up {} after failing to persist file {}: {}", dstPath, fileId,
+          e.getMessage());
     }
   }
 
   /**
-   * Prepares the destination file path of the given file id. Also creates the parent folder if it
+   * Prepares the destination file path of the given file. Also creates the parent folder if it
    * does not exist.
    *
-   * @param fileId the file id
+   * @param fileInfo the file info
+   * @param ufs the under file system of the file
    * @return the path for persistence
    */
-  private String prepareUfsFilePath(long fileId) throws AlluxioException, IOException {
-    FileInfo fileInfo = mBlockWorker.getFileInfo(fileId);
+  private String prepareUfsFilePath(FileInfo fileInfo, UnderFileSystem ufs)
+      throws AlluxioException, IOException {
     AlluxioURI alluxioPath = new AlluxioURI(fileInfo.getPath());
     FileSystem fs = FileSystem.Factory.get();
-    URIStatus status = fs.getStatus(alluxioPath);
-    String ufsPath = status.getUfsPath();
-    UnderFileSystem ufs = mUfsManager.get(fileInfo.getMountId());
+    String ufsPath = fileInfo.getUfsPath();
     UnderFileSystemUtils.prepareFilePath(alluxioPath, ufsPath, fs, ufs);
     return ufsPath;
   }
@@ -324,4 +363,14 @@ public final class FileDataManager {
       mPersistedFiles.removeAll(persistedFiles);
     }
   }
+
+  /**
+   * Class that contains metrics about FileDataManager.
+   */
+  private static final class Metrics {
+    private static final Counter BYTES_PERSISTED = MetricsSystem.workerCounter("BytesPersisted");
+    private static final Counter FILES_PERSISTED = MetricsSystem.workerCounter("FilesPersisted");
+
+    private Metrics() {} // prevent instantiation
+  }
 }
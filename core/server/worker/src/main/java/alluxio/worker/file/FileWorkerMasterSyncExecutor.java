@@ -14,12 +14,14 @@ package alluxio.worker.file;
 import alluxio.Configuration;
 import alluxio.PropertyKey;
 import alluxio.heartbeat.HeartbeatExecutor;
+import alluxio.metrics.MetricsSystem;
 import alluxio.thrift.CommandType;
 import alluxio.thrift.FileSystemCommand;
 import alluxio.thrift.PersistFile;
 import alluxio.util.ThreadFactoryUtils;
 import alluxio.worker.block.BlockMasterSync;
 
+import com.codahale.metrics.Gauge;
 import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +30,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -47,6 +50,7 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe // TODO(jiri): make thread-safe (c.f. ALLUXIO-1624)
 final class FileWorkerMasterSyncExecutor implements HeartbeatExecutor {
   private static final Logger LOG = LoggerFactory.getLogger(FileWorkerMasterSyncExecutor.class);
+  private static final String PENDING_PERSIST_FILES = "PendingPersistFiles";
 
   /** Logic for managing async file persistence. */
   private final FileDataManager mFileDataManager;
@@ -54,6 +58,8 @@ final class FileWorkerMasterSyncExecutor implements HeartbeatExecutor {
   private final FileSystemMasterClient mMasterClient;
   /** The thread pool to persist file. */
   private final ExecutorService mPersistFileService;
+  /** The number of files enqueued for persistence but not persisted yet. */
+  private final AtomicInteger mPendingPersistFiles = new AtomicInteger();
   /** This worker's id. May be updated by other threads if worker re-registration occurs. */
   private final AtomicReference<Long> mWorkerId;
 
@@ -72,6 +78,13 @@ final class FileWorkerMasterSyncExecutor implements HeartbeatExecutor {
     mPersistFileService = Executors.newFixedThreadPool(
         Configuration.getInt(PropertyKey.WORKER_FILE_PERSIST_POOL_SIZE),
         ThreadFactoryUtils.build("persist-file-service-%d", true));
+    MetricsSystem.registerGaugeIfAbsent(MetricsSystem.getWorkerMetricName(PENDING_PERSIST_FILES),
+        new Gauge<Integer>() {
+          @Override
+          public Integer getValue() {
+            return mPendingPersistFiles.get();
+          }
+        });
   }
 
   @Override
@@ -104,6 +117,7 @@ final class FileWorkerMasterSyncExecutor implements HeartbeatExecutor {
     for (PersistFile persistFile : command.getCommandOptions().getPersistOptions()
             .getPersistFiles()) {
       // Enqueue the persist request.
+      mPendingPersistFiles.incrementAndGet();
       mPersistFileService.execute(
           new FilePersister(mFileDataManager, persistFile.getFileId(), persistFile.getBlockIds()));
     }
@@ -137,12 +151,21 @@ final class FileWorkerMasterSyncExecutor implements HeartbeatExecutor {
 
     @Override
     public void run() {
+      try {
+        persist();
+      } finally {
+        mPendingPersistFiles.decrementAndGet();
+      }
+    }
+
+    private void persist() {
       if (mFileDataManager.needPersistence(mFileId)) {
         // lock all the blocks of the file to prevent eviction
         try {
           mFileDataManager.lockBlocks(mFileId, mBlockIds);
         } catch (IOException e) {
           LOG.error("Failed to lock the blocks for file {}", mFileId, e);
+          return;
         }
         LOG.info("persist file {} of blocks {}", mFileId, mBlockIds);
         try {
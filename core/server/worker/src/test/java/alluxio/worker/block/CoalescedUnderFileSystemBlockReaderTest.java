@@ -0,0 +1,208 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.AlluxioTestDirectory;
+import alluxio.Configuration;
+import alluxio.ConfigurationRule;
+import alluxio.PropertyKey;
+import alluxio.exception.status.UnavailableException;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.underfs.UfsManager;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+
+public final class CoalescedUnderFileSystemBlockReaderTest {
+  private static final long TEST_BLOCK_SIZE = 1024;
+  private static final long LEADER_SESSION_ID = 1;
+  private static final long FOLLOWER_SESSION_ID = 2;
+  private static final long OTHER_FOLLOWER_SESSION_ID = 4;
+  private static final long BLOCK_ID = 3;
+  private static final long WAIT_MS = 100;
+
+  private BlockStore mAlluxioBlockStore;
+  private UfsManager mUfsManager;
+  private Protocol.OpenUfsBlockOptions mOpenUfsBlockOptions;
+
+  /** Rule to create a new temporary folder during each test. */
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  @Rule
+  public ConfigurationRule mConfigurationRule =
+      new ConfigurationRule(new HashMap<PropertyKey, String>() {
+        {
+          put(PropertyKey.MASTER_MOUNT_TABLE_ROOT_UFS, AlluxioTestDirectory
+              .createTemporaryDirectory("CoalescedUnderFileSystemBlockReaderTest-RootUfs")
+              .getAbsolutePath());
+          // ensure tiered storage uses different tmp dir for each test case
+          put(PropertyKey.WORKER_TIERED_STORE_LEVEL0_DIRS_PATH, AlluxioTestDirectory
+              .createTemporaryDirectory("CoalescedUnderFileSystemBlockReaderTest-WorkerDataFolder")
+              .getAbsolutePath());
+          put(PropertyKey.WORKER_TIERED_STORE_LEVELS, "1");
+          put(PropertyKey.WORKER_UFS_BLOCK_READ_COALESCE_WAIT_MS, Long.toString(WAIT_MS));
+        }
+      });
+
+  @Before
+  public void before() throws Exception {
+    Configuration.set(PropertyKey.MASTER_MOUNT_TABLE_ROOT_UFS, mFolder.getRoot().getAbsolutePath());
+
+    String testFilePath = mFolder.newFile().getAbsolutePath();
+    byte[] buffer = BufferUtils.getIncreasingByteArray((int) TEST_BLOCK_SIZE * 2);
+    BufferUtils.writeBufferToFile(testFilePath, buffer);
+
+    mAlluxioBlockStore = new TieredBlockStore();
+    mUfsManager = Mockito.mock(UfsManager.class);
+    Mockito.when(mUfsManager.get(Mockito.anyLong()))
+        .thenReturn(UnderFileSystem.Factory.create(testFilePath));
+
+    mOpenUfsBlockOptions = Protocol.OpenUfsBlockOptions.newBuilder().setMaxUfsReadConcurrency(10)
+        .setBlockSize(TEST_BLOCK_SIZE).setOffsetInFile(TEST_BLOCK_SIZE).setUfsPath(testFilePath)
+        .build();
+  }
+
+  private UnderFileSystemBlockReader createLeader() throws Exception {
+    return UnderFileSystemBlockReader.create(
+        new UnderFileSystemBlockMeta(LEADER_SESSION_ID, BLOCK_ID, mOpenUfsBlockOptions), 0,
+        mAlluxioBlockStore, mUfsManager);
+  }
+
+  private BlockReader createFollower(UnderFileSystemBlockReader leader, long offset)
+      throws Exception {
+    Assert.assertNotNull(leader.getFill());
+    return CoalescedUnderFileSystemBlockReader.create(leader.getFill(),
+        new UnderFileSystemBlockMeta(FOLLOWER_SESSION_ID, BLOCK_ID, mOpenUfsBlockOptions), offset,
+        mAlluxioBlockStore, mUfsManager, new CoalescedUnderFileSystemBlockReader.UfsAccess() {
+          @Override
+          public void acquire() {}
+        }, WAIT_MS);
+  }
+
+  @Test
+  public void readCachedData() throws Exception {
+    UnderFileSystemBlockReader leader = createLeader();
+    BlockReader follower = createFollower(leader, 0);
+    Assert.assertTrue(follower instanceof CoalescedUnderFileSystemBlockReader);
+
+    leader.read(0, TEST_BLOCK_SIZE / 2);
+    ByteBuffer buffer = follower.read(0, TEST_BLOCK_SIZE / 2);
+    Assert.assertTrue(
+        BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE / 2, buffer));
+
+    leader.read(TEST_BLOCK_SIZE / 2, TEST_BLOCK_SIZE / 2);
+    leader.close();
+    buffer = follower.read(TEST_BLOCK_SIZE / 2, TEST_BLOCK_SIZE / 2);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 2,
+        (int) TEST_BLOCK_SIZE / 2, buffer));
+    follower.close();
+  }
+
+  @Test
+  public void transferCachedData() throws Exception {
+    UnderFileSystemBlockReader leader = createLeader();
+    BlockReader follower = createFollower(leader, 0);
+    leader.read(0, TEST_BLOCK_SIZE);
+    ByteBuf buf =
+        PooledByteBufAllocator.DEFAULT.buffer((int) TEST_BLOCK_SIZE * 2, (int) TEST_BLOCK_SIZE * 2);
+    try {
+      while (buf.writableBytes() > 0 && follower.transferTo(buf) != -1) {
+      }
+      Assert.assertTrue(BufferUtils
+          .equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buf.nioBuffer()));
+      follower.close();
+    } finally {
+      buf.release();
+    }
+    leader.close();
+  }
+
+  @Test
+  public void fallBackToUfs() throws Exception {
+    UnderFileSystemBlockReader leader = createLeader();
+    BlockReader follower = createFollower(leader, 0);
+    leader.read(0, TEST_BLOCK_SIZE / 2);
+    // the partially cached block is aborted
+    leader.close();
+    ByteBuffer buffer = follower.read(0, TEST_BLOCK_SIZE);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buffer));
+    follower.close();
+  }
+
+  @Test
+  public void fallBackToUfsWithoutProgress() throws Exception {
+    UnderFileSystemBlockReader leader = createLeader();
+    BlockReader follower = createFollower(leader, 0);
+    ByteBuffer buffer = follower.read(0, TEST_BLOCK_SIZE);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buffer));
+    follower.close();
+    leader.close();
+  }
+
+  @Test
+  public void fallBackWithinUfsReadConcurrency() throws Exception {
+    Protocol.OpenUfsBlockOptions options =
+        mOpenUfsBlockOptions.toBuilder().setMaxUfsReadConcurrency(1).build();
+    UnderFileSystemBlockStore blockStore =
+        new UnderFileSystemBlockStore(mAlluxioBlockStore, mUfsManager);
+    Assert.assertTrue(blockStore.acquireAccess(LEADER_SESSION_ID, BLOCK_ID, options));
+    BlockReader leader = blockStore.getBlockReader(LEADER_SESSION_ID, BLOCK_ID, 0);
+    // the followers share the data cached by the leader beyond the UFS read concurrency
+    Assert.assertTrue(blockStore.acquireAccess(FOLLOWER_SESSION_ID, BLOCK_ID, options));
+    Assert.assertTrue(blockStore.acquireAccess(OTHER_FOLLOWER_SESSION_ID, BLOCK_ID, options));
+    BlockReader follower = blockStore.getBlockReader(FOLLOWER_SESSION_ID, BLOCK_ID, 0);
+    BlockReader otherFollower = blockStore.getBlockReader(OTHER_FOLLOWER_SESSION_ID, BLOCK_ID, 0);
+    Assert.assertTrue(follower instanceof CoalescedUnderFileSystemBlockReader);
+    Assert.assertTrue(otherFollower instanceof CoalescedUnderFileSystemBlockReader);
+
+    leader.read(0, TEST_BLOCK_SIZE / 2);
+    // the partially cached block is aborted, and the leader still has access to the UFS
+    blockStore.closeReaderOrWriter(LEADER_SESSION_ID, BLOCK_ID);
+    try {
+      follower.read(0, TEST_BLOCK_SIZE);
+      Assert.fail("The follower should not read from the UFS beyond the UFS read concurrency");
+    } catch (UnavailableException e) {
+      // expected
+    }
+
+    // each follower falls back to the UFS once the previous reader of the UFS is done
+    blockStore.releaseAccess(LEADER_SESSION_ID, BLOCK_ID);
+    ByteBuffer buffer = follower.read(0, TEST_BLOCK_SIZE);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buffer));
+    try {
+      otherFollower.read(0, TEST_BLOCK_SIZE);
+      Assert.fail("The follower should not read from the UFS beyond the UFS read concurrency");
+    } catch (UnavailableException e) {
+      // expected
+    }
+    blockStore.closeReaderOrWriter(FOLLOWER_SESSION_ID, BLOCK_ID);
+    blockStore.releaseAccess(FOLLOWER_SESSION_ID, BLOCK_ID);
+    buffer = otherFollower.read(0, TEST_BLOCK_SIZE);
+    Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buffer));
+    blockStore.closeReaderOrWriter(OTHER_FOLLOWER_SESSION_ID, BLOCK_ID);
+    blockStore.releaseAccess(OTHER_FOLLOWER_SESSION_ID, BLOCK_ID);
+  }
+}
@@ -41,6 +41,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -217,6 +219,50 @@ public final class FileDataManagerTest {
     }
   }
 
+  /**
+   * Tests that a file is not persisted again while its stream in the under storage is closing.
+   */
+  @Test
+  public void persistingUntilStreamClosed() throws Exception {
+    final long fileId = 1;
+    final List<Long> blockIds = Lists.newArrayList(1L, 2L);
+
+    FileInfo fileInfo = new FileInfo();
+    fileInfo.setPath("test");
+    fileInfo.setUfsPath(
+        PathUtils.concatPath(Configuration.get(PropertyKey.MASTER_MOUNT_TABLE_ROOT_UFS), "test"));
+    Mockito.when(mBlockWorker.getFileInfo(fileId)).thenReturn(fileInfo);
+    BlockReader reader = Mockito.mock(BlockReader.class);
+    for (long blockId : blockIds) {
+      Mockito.when(mBlockWorker.lockBlock(Sessions.CHECKPOINT_SESSION_ID, blockId))
+          .thenReturn(blockId);
+      Mockito.when(mBlockWorker.readBlockRemote(Sessions.CHECKPOINT_SESSION_ID, blockId, blockId))
+          .thenReturn(reader);
+    }
+    OutputStream outputStream = Mockito.mock(OutputStream.class);
+    Mockito.doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        Assert.assertFalse(mManager.needPersistence(fileId));
+        try {
+          mManager.lockBlocks(fileId, blockIds);
+          Assert.fail("the file should still be persisting");
+        } catch (IOException e) {
+          assertEquals("the file " + fileId + " is already being persisted", e.getMessage());
+        }
+        return null;
+      }
+    }).when(outputStream).close();
+    PowerMockito.mockStatic(BufferUtils.class);
+    Mockito.when(mUfs.create(Mockito.anyString(), Mockito.any(CreateOptions.class)))
+        .thenReturn(outputStream);
+
+    mManager.lockBlocks(fileId, blockIds);
+    mManager.persistFile(fileId, blockIds);
+    Mockito.verify(outputStream, Mockito.atLeastOnce()).close();
+    assertEquals(Arrays.asList(fileId), mManager.getPersistedFiles());
+  }
+
   /**
    * Tests that the correct error message is provided when persisting a file fails.
    */
@@ -259,9 +305,46 @@ public final class FileDataManagerTest {
       // verify the locks are all unlocked
       Mockito.verify(mBlockWorker).unlockBlock(1L);
       Mockito.verify(mBlockWorker).unlockBlock(2L);
+      // verify the partial file is closed and deleted
+      Mockito.verify(outputStream).close();
+      Mockito.verify(mUfs).deleteFile(dstPath);
     }
   }
 
+  /**
+   * Tests that a file which failed to persist before its blocks were copied may be persisted again.
+   */
+  @Test
+  public void persistAgainAfterFailure() throws Exception {
+    long fileId = 1;
+    List<Long> blockIds = Lists.newArrayList(1L, 2L);
+
+    FileInfo fileInfo = new FileInfo();
+    fileInfo.setPath("test");
+    fileInfo.setUfsPath(
+        PathUtils.concatPath(Configuration.get(PropertyKey.MASTER_MOUNT_TABLE_ROOT_UFS), "test"));
+    Mockito.when(mBlockWorker.getFileInfo(fileId)).thenReturn(fileInfo);
+    for (long blockId : blockIds) {
+      Mockito.when(mBlockWorker.lockBlock(Sessions.CHECKPOINT_SESSION_ID, blockId))
+          .thenReturn(blockId);
+    }
+    Mockito.when(mUfs.create(Mockito.anyString(), Mockito.any(CreateOptions.class)))
+        .thenThrow(new IOException("create failed"));
+
+    mManager.lockBlocks(fileId, blockIds);
+    try {
+      mManager.persistFile(fileId, blockIds);
+      Assert.fail("the persist should fail");
+    } catch (IOException e) {
+      assertEquals("create failed", e.getMessage());
+    }
+    Mockito.verify(mBlockWorker).unlockBlock(1L);
+    Mockito.verify(mBlockWorker).unlockBlock(2L);
+    Assert.assertTrue(mManager.needPersistence(fileId));
+    // the blocks may be locked again for another persistence
+    mManager.lockBlocks(fileId, blockIds);
+  }
+
   private void writeFileWithBlocks(long fileId, List<Long> blockIds) throws Exception {
     FileInfo fileInfo = new FileInfo();
     fileInfo.setPath("test");
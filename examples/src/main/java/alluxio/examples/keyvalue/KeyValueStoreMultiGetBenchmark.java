@@ -0,0 +1,144 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.examples.keyvalue;
+
+import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.RuntimeConstants;
+import alluxio.cli.CliUtils;
+import alluxio.client.keyvalue.KeyValueStoreReader;
+import alluxio.client.keyvalue.KeyValueStoreWriter;
+import alluxio.client.keyvalue.KeyValueSystem;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * This benchmark creates a key-value store with small values, and compares the number of keys
+ * looked up per second by {@link KeyValueStoreReader#get(ByteBuffer)} and by
+ * {@link KeyValueStoreReader#multiGet(List)} with batches of different sizes.
+ */
+public final class KeyValueStoreMultiGetBenchmark implements Callable<Boolean> {
+  private static final Logger LOG = LoggerFactory.getLogger(KeyValueStoreMultiGetBenchmark.class);
+
+  private static final int[] BATCH_SIZES = {1, 10, 100, 1000};
+  private static final int VALUE_LENGTH = 100;
+
+  private final AlluxioURI mStoreUri;
+  private final int mNumKeys;
+
+  /**
+   * @param storeUri URI of the key-value store to write to, should not exist before
+   * @param numKeys the number of keys of the store
+   */
+  public KeyValueStoreMultiGetBenchmark(AlluxioURI storeUri, int numKeys) {
+    mStoreUri = storeUri;
+    mNumKeys = numKeys;
+  }
+
+  @Override
+  public Boolean call() throws Exception {
+    KeyValueSystem kvs = KeyValueSystem.Factory.create();
+
+    LOG.info("Putting {} key-value pairs...", mNumKeys);
+    KeyValueStoreWriter writer = kvs.createStore(mStoreUri);
+    for (int i = 0; i < mNumKeys; i++) {
+      writer.put(key(i).array(), value(i).array());
+    }
+    writer.close();
+
+    KeyValueStoreReader reader = kvs.openStore(mStoreUri);
+    try {
+      long startMs = System.currentTimeMillis();
+      for (int i = 0; i < mNumKeys; i++) {
+        if (!value(i).equals(reader.get(key(i)))) {
+          LOG.error("The value of key {} returned by get is unexpected", i);
+          return false;
+        }
+      }
+      report("get", mNumKeys, System.currentTimeMillis() - startMs);
+
+      for (int batchSize : BATCH_SIZES) {
+        startMs = System.currentTimeMillis();
+        for (int start = 0; start < mNumKeys; start += batchSize) {
+          int end = Math.min(start + batchSize, mNumKeys);
+          List<ByteBuffer> keys = new ArrayList<>(end - start);
+          for (int i = start; i < end; i++) {
+            keys.add(key(i));
+          }
+          List<ByteBuffer> values = reader.multiGet(keys);
+          for (int i = start; i < end; i++) {
+            if (!value(i).equals(values.get(i - start))) {
+              LOG.error("The value of key {} returned by multiGet is unexpected", i);
+              return false;
+            }
+          }
+        }
+        report("multiGet with batches of " + batchSize + " keys", mNumKeys,
+            System.currentTimeMillis() - startMs);
+      }
+    } finally {
+      reader.close();
+    }
+    return true;
+  }
+
+  private static ByteBuffer key(int i) {
+    return ByteBuffer.wrap(ByteBuffer.allocate(4).putInt(i).array());
+  }
+
+  private static ByteBuffer value(int i) {
+    byte[] value = new byte[VALUE_LENGTH];
+    for (int j = 0; j < VALUE_LENGTH; j++) {
+      value[j] = (byte) (i + j);
+    }
+    return ByteBuffer.wrap(value);
+  }
+
+  private static void report(String operation, int numKeys, long elapsedMs) {
+    System.out.printf("%s: %d keys in %d ms, %.1f keys/sec%n", operation, numKeys, elapsedMs,
+        numKeys * 1000.0 / Math.max(elapsedMs, 1));
+  }
+
+  /**
+   * Starts in a command like
+   * {@code java -cp ALLUXIO_JAR CLASS_NAME <key-value store URI> [number of keys]}.
+   *
+   * @param args the URI of the store to be created, and optionally the number of keys, 10000 by
+   *        default
+   */
+  public static void main(String[] args) throws Exception {
+    if (args.length != 1 && args.length != 2) {
+      System.out.println("Usage: java -cp " + RuntimeConstants.ALLUXIO_JAR + " "
+          + KeyValueStoreMultiGetBenchmark.class.getName()
+          + " <key-value store URI> [number of keys]");
+      System.exit(-1);
+    }
+
+    if (!Configuration.getBoolean(PropertyKey.KEY_VALUE_ENABLED)) {
+      System.out.println("Alluxio key value service is disabled. To run this benchmark, please "
+          + "set " + PropertyKey.KEY_VALUE_ENABLED + " to be true and restart the cluster.");
+      System.exit(-1);
+    }
+
+    int numKeys = args.length == 2 ? Integer.parseInt(args[1]) : 10000;
+    boolean result = CliUtils.runExample(
+        new KeyValueStoreMultiGetBenchmark(new AlluxioURI(args[0]), numKeys));
+    System.exit(result ? 0 : 1);
+  }
+}
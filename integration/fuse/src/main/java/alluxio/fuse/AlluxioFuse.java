@@ -37,6 +37,9 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 public final class AlluxioFuse {
   private static final Logger LOG = LoggerFactory.getLogger(AlluxioFuse.class);
+  /** The mount options of the timeouts of the kernel caches of the attributes and entries. */
+  private static final String[] KERNEL_CACHE_TIMEOUTS =
+      {"attr_timeout", "entry_timeout", "negative_timeout"};
 
   // prevent instantiation
   private AlluxioFuse() {
@@ -145,6 +148,22 @@ public final class AlluxioFuse {
         fuseOpts.add(String.format("-omax_write=%d", maxWrite));
       }
 
+      // unless the user has specified their own timeouts, the kernel caches the attributes and
+      // the entries as long as the metadata cache of alluxio-fuse
+      final double timeoutSeconds =
+          Configuration.getLong(PropertyKey.FUSE_CACHED_ATTRIBUTES_TTL_MS) / 1000.0;
+      for (final String timeout : KERNEL_CACHE_TIMEOUTS) {
+        boolean noUserTimeout = true;
+        for (final String fuseOpt : fuseOpts) {
+          if (fuseOpt.startsWith("-o" + timeout)) {
+            noUserTimeout = false;
+          }
+        }
+        if (noUserTimeout) {
+          fuseOpts.add(String.format("-o%s=%s", timeout, timeoutSeconds));
+        }
+      }
+
       if (mntPointValue == null) {
         mntPointValue = Configuration.get(PropertyKey.FUSE_MOUNT_DEFAULT);
         LOG.info("Mounting on default {}", mntPointValue);
@@ -23,6 +23,7 @@ import alluxio.exception.AlluxioException;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
@@ -44,9 +45,12 @@ import ru.serce.jnrfuse.struct.FuseFileInfo;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -70,10 +74,20 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
   private final Path mAlluxioRootPath;
   // Keeps a cache of the most recently translated paths from String to Alluxio URI
   private final LoadingCache<String, AlluxioURI> mPathResolverCache;
+  // Keeps a cache of the statuses of the paths and the entries of the directories
+  private final FuseMetadataCache mMetadataCache;
 
-  // Table of open files with corresponding InputStreams and OutputStreams
-  private final Map<Long, OpenFileEntry> mOpenFiles;
-  private long mNextOpenFileId;
+  // Table of open files with corresponding readers and writers, accessed without locking so that
+  // the calls on different files do not contend
+  private final ConcurrentMap<Long, OpenFileEntry> mOpenFiles;
+  private final AtomicLong mNextOpenFileId;
+
+  // Buffers of the bytes read ahead by all the open files, or null if read-ahead is disabled
+  private final FuseBufferPool mReadBufferPool;
+  // Buffers of the bytes written and not yet written to Alluxio by all the open files
+  private final FuseBufferPool mWriteBufferPool;
+  // Reads ahead and writes behind the open files
+  private final ExecutorService mIoExecutor;
 
   /**
    * Creates a new instance of {@link AlluxioFuseFileSystem}.
@@ -85,13 +99,29 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
     super();
     mFileSystem = fs;
     mAlluxioRootPath = Paths.get(opts.getAlluxioRoot());
-    mNextOpenFileId = 0L;
-    mOpenFiles = new HashMap<>();
+    mNextOpenFileId = new AtomicLong(0L);
+    mOpenFiles = new ConcurrentHashMap<>();
+    final int maxReadAheadBytes =
+        (int) Configuration.getBytes(PropertyKey.FUSE_READ_AHEAD_BYTES_MAX);
+    final long maxReadBufferedBytes =
+        Configuration.getBytes(PropertyKey.FUSE_READ_AHEAD_BUFFERED_BYTES_MAX);
+    mReadBufferPool = maxReadAheadBytes == 0 ? null : new FuseBufferPool(maxReadAheadBytes,
+        (int) Math.max(maxReadBufferedBytes / maxReadAheadBytes, 1));
+    final int writeBufferBytes = (int) Configuration.getBytes(PropertyKey.FUSE_WRITE_BUFFER_BYTES);
+    final long maxDirtyBytes = Configuration.getBytes(PropertyKey.FUSE_WRITE_DIRTY_BYTES_MAX);
+    mWriteBufferPool = new FuseBufferPool(writeBufferBytes,
+        (int) Math.max(maxDirtyBytes / writeBufferBytes, 1));
+    mIoExecutor = Executors.newFixedThreadPool(Configuration.getInt(PropertyKey.FUSE_IO_THREADS),
+        ThreadFactoryUtils.build("alluxio-fuse-io-%d", true));
 
     final int maxCachedPaths = Configuration.getInt(PropertyKey.FUSE_CACHED_PATHS_MAX);
     mPathResolverCache = CacheBuilder.newBuilder()
         .maximumSize(maxCachedPaths)
         .build(new PathCacheLoader());
+    mMetadataCache = new FuseMetadataCache(fs,
+        Configuration.getLong(PropertyKey.FUSE_CACHED_ATTRIBUTES_MAX),
+        Configuration.getLong(PropertyKey.FUSE_CACHED_DIRECTORIES_MAX),
+        Configuration.getLong(PropertyKey.FUSE_CACHED_ATTRIBUTES_TTL_MS));
 
     Preconditions.checkArgument(mAlluxioRootPath.isAbsolute(),
         "alluxio root path should be absolute");
@@ -122,21 +152,20 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
     }
 
     try {
-      synchronized (mOpenFiles) {
-        if (mOpenFiles.size() >= MAX_OPEN_FILES) {
-          LOG.error("Cannot open {}: too many open files (MAX_OPEN_FILES: {})",
-              turi, MAX_OPEN_FILES);
-          return -ErrorCodes.EMFILE();
-        }
-
-        final OpenFileEntry ofe = new OpenFileEntry(null, mFileSystem.createFile(turi));
-        LOG.debug("Alluxio OutStream created for {}", path);
-        mOpenFiles.put(mNextOpenFileId, ofe);
-        fi.fh.set(mNextOpenFileId);
-
-        // Assuming I will never wrap around (2^64 open files are quite a lot anyway)
-        mNextOpenFileId += 1;
+      if (mOpenFiles.size() >= MAX_OPEN_FILES) {
+        LOG.error("Cannot open {}: too many open files (MAX_OPEN_FILES: {})",
+            turi, MAX_OPEN_FILES);
+        return -ErrorCodes.EMFILE();
       }
+
+      final OpenFileEntry ofe = new OpenFileEntry(null,
+          new FuseFileWriter(mFileSystem.createFile(turi), mWriteBufferPool, mIoExecutor));
+      LOG.debug("Alluxio OutStream created for {}", path);
+      // Assuming I will never wrap around (2^64 open files are quite a lot anyway)
+      final long fd = mNextOpenFileId.getAndIncrement();
+      mOpenFiles.put(fd, ofe);
+      fi.fh.set(fd);
+      mMetadataCache.invalidate(turi);
       LOG.debug("{} created and opened in O_WRONLY mode", path);
 
     } catch (FileAlreadyExistsException e) {
@@ -169,10 +198,7 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
   public int flush(String path, FuseFileInfo fi) {
     LOG.trace("flush({})", path);
     final long fd = fi.fh.get();
-    OpenFileEntry oe;
-    synchronized (mOpenFiles) {
-      oe = mOpenFiles.get(fd);
-    }
+    final OpenFileEntry oe = mOpenFiles.get(fd);
     if (oe == null) {
       LOG.error("Cannot find fd for {} in table", path);
       return -ErrorCodes.EBADFD();
@@ -181,6 +207,7 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
       try {
         oe.getOut().flush();
       } catch (IOException e) {
+        LOG.error("IOException while flushing {}", path, e);
         return -ErrorCodes.EIO();
       }
     } else {
@@ -201,10 +228,10 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
     final AlluxioURI turi = mPathResolverCache.getUnchecked(path);
     LOG.trace("getattr({}) [Alluxio: {}]", path, turi);
     try {
-      if (!mFileSystem.exists(turi)) {
+      final URIStatus status = mMetadataCache.getStatus(turi);
+      if (status == null) {
         return -ErrorCodes.ENOENT();
       }
-      final URIStatus status = mFileSystem.getStatus(turi);
       stat.st_size.set(status.getLength());
 
       final long ctime_sec = status.getLastModificationTimeMs() / 1000;
@@ -273,6 +300,7 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
     LOG.trace("mkdir({}) [Alluxio: {}]", path, turi);
     try {
       mFileSystem.createDirectory(turi);
+      mMetadataCache.invalidate(turi);
     } catch (FileAlreadyExistsException e) {
       LOG.debug("Cannot make dir. {} already exists", path, e);
       return -ErrorCodes.EEXIST();
@@ -327,18 +355,16 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
         return -ErrorCodes.EISDIR();
       }
 
-      synchronized (mOpenFiles) {
-        if (mOpenFiles.size() == MAX_OPEN_FILES) {
-          LOG.error("Cannot open {}: too many open files", turi);
-          return ErrorCodes.EMFILE();
-        }
-        final OpenFileEntry ofe = new OpenFileEntry(mFileSystem.openFile(turi), null);
-        mOpenFiles.put(mNextOpenFileId, ofe);
-        fi.fh.set(mNextOpenFileId);
-
-        // Assuming I will never wrap around (2^64 open files are quite a lot anyway)
-        mNextOpenFileId += 1;
+      if (mOpenFiles.size() >= MAX_OPEN_FILES) {
+        LOG.error("Cannot open {}: too many open files", turi);
+        return -ErrorCodes.EMFILE();
       }
+      final OpenFileEntry ofe = new OpenFileEntry(new FuseFileReader(mFileSystem.openFile(turi),
+          status.getLength(), mReadBufferPool, mIoExecutor), null);
+      // Assuming I will never wrap around (2^64 open files are quite a lot anyway)
+      final long fd = mNextOpenFileId.getAndIncrement();
+      mOpenFiles.put(fd, ofe);
+      fi.fh.set(fd);
 
     } catch (FileDoesNotExistException e) {
       LOG.debug("File does not exist {}", path, e);
@@ -358,7 +384,7 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
   }
 
   /**
-   * Reads data from an open file.
+   * Reads data from an open file, reading ahead of the sequential reads.
    *
    * @param path the FS path of the file to read
    * @param buf FUSE buffer to fill with data read
@@ -382,36 +408,19 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
     LOG.trace("read({}, {}, {})", path, size, offset);
     final int sz = (int) size;
     final long fd = fi.fh.get();
-    OpenFileEntry oe;
-    synchronized (mOpenFiles) {
-      oe = mOpenFiles.get(fd);
-    }
+    final OpenFileEntry oe = mOpenFiles.get(fd);
     if (oe == null) {
       LOG.error("Cannot find fd for {} in table", path);
       return -ErrorCodes.EBADFD();
     }
 
-    int rd = 0;
-    int nread = 0;
+    int nread;
     if (oe.getIn() == null) {
       LOG.error("{} was not open for reading", path);
       return -ErrorCodes.EBADFD();
     }
     try {
-      oe.getIn().seek(offset);
-      final byte[] dest = new byte[sz];
-      while (rd >= 0 && nread < size) {
-        rd = oe.getIn().read(dest, nread, sz - nread);
-        if (rd >= 0) {
-          nread += rd;
-        }
-      }
-
-      if (nread == -1) { // EOF
-        nread = 0;
-      } else if (nread > 0) {
-        buf.put(0, dest, 0, nread);
-      }
+      nread = oe.getIn().read(buf, sz, offset);
     } catch (IOException e) {
       LOG.error("IOException while reading from {}.", path, e);
       return -ErrorCodes.EIO();
@@ -440,14 +449,14 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
     LOG.trace("readdir({}) [Alluxio: {}]", path, turi);
 
     try {
-      if (!mFileSystem.exists(turi)) {
+      final URIStatus status = mMetadataCache.getStatus(turi);
+      if (status == null) {
         return -ErrorCodes.ENOENT();
       }
-      final URIStatus status = mFileSystem.getStatus(turi);
       if (!status.isFolder()) {
         return -ErrorCodes.ENOTDIR();
       }
-      final List<URIStatus> ls = mFileSystem.listStatus(turi);
+      final List<URIStatus> ls = mMetadataCache.listStatus(turi);
       // standard . and .. entries
       filter.apply(buff, ".", null, 0);
       filter.apply(buff, "..", null, 0);
@@ -490,13 +499,10 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
   public int release(String path, FuseFileInfo fi) {
     LOG.trace("release({})", path);
     final long fd = fi.fh.get();
-    OpenFileEntry oe;
-    synchronized (mOpenFiles) {
-      oe = mOpenFiles.remove(fd);
-      if (oe == null) {
-        LOG.error("Cannot find fd for {} in table", path);
-        return -ErrorCodes.EBADFD();
-      }
+    final OpenFileEntry oe = mOpenFiles.remove(fd);
+    if (oe == null) {
+      LOG.error("Cannot find fd for {} in table", path);
+      return -ErrorCodes.EBADFD();
     }
 
     try {
@@ -504,6 +510,10 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
     } catch (IOException e) {
       LOG.error("Failed closing {} [in]", path, e);
     }
+    if (oe.getOut() != null) {
+      // The file written is complete, or deleted if it was canceled
+      mMetadataCache.invalidate(mPathResolverCache.getUnchecked(path));
+    }
 
     return 0;
   }
@@ -527,6 +537,8 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
         return -ErrorCodes.ENOENT();
       } else {
         mFileSystem.rename(oldUri, newUri);
+        mMetadataCache.invalidateTree(oldUri);
+        mMetadataCache.invalidateTree(newUri);
       }
     } catch (FileDoesNotExistException e) {
       LOG.debug("File {} does not exist", oldPath);
@@ -570,7 +582,8 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
   }
 
   /**
-   * Writes a buffer to an open Alluxio file.
+   * Writes a buffer to an open Alluxio file. The buffer is written to Alluxio asynchronously, and
+   * the errors writing it are returned by the following writes or by {@link #flush}.
    *
    * @param buf The buffer with source data
    * @param size How much data to write from the buffer. The maximum accepted size
@@ -590,10 +603,7 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
     LOG.trace("write({}, {}, {})", path, size, offset);
     final int sz = (int) size;
     final long fd = fi.fh.get();
-    OpenFileEntry oe;
-    synchronized (mOpenFiles) {
-      oe = mOpenFiles.get(fd);
-    }
+    final OpenFileEntry oe = mOpenFiles.get(fd);
     if (oe == null) {
       LOG.error("Cannot find fd for {} in table", path);
       return -ErrorCodes.EBADFD();
@@ -605,9 +615,7 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
     }
 
     try {
-      final byte[] dest = new byte[sz];
-      buf.get(0, dest, 0, sz);
-      oe.getOut().write(dest);
+      oe.getOut().write(buf, sz);
     } catch (IOException e) {
       LOG.error("IOException while writing to {}.", path, e);
       return -ErrorCodes.EIO();
@@ -639,6 +647,7 @@ final class AlluxioFuseFileSystem extends FuseStubFS {
       }
 
       mFileSystem.delete(turi);
+      mMetadataCache.invalidate(turi);
     } catch (FileDoesNotExistException e) {
       LOG.debug("File does not exist {}", path, e);
       return -ErrorCodes.ENOENT();
@@ -0,0 +1,83 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pool of buffers of the same size, bounding the number of buffers in use. The buffers released
+ * are reused rather than garbage collected. Acquiring a buffer does not wait while all the buffers
+ * are in use, as the users of the pool may hold buffers which are only released once other
+ * buffers are acquired.
+ */
+@ThreadSafe
+final class FuseBufferPool {
+  private final int mBufferSize;
+  private final int mMaxBuffers;
+  /** The buffers released, the most recently released first. */
+  private final Deque<byte[]> mFreeBuffers;
+  /** The number of buffers allocated, in use or free. */
+  private int mBufferCount;
+
+  /**
+   * @param bufferSize the size of the buffers in bytes
+   * @param maxBuffers the maximum number of buffers
+   */
+  FuseBufferPool(int bufferSize, int maxBuffers) {
+    Preconditions.checkArgument(bufferSize > 0, "The size of the buffers must be positive");
+    Preconditions.checkArgument(maxBuffers > 0, "The number of buffers must be positive");
+    mBufferSize = bufferSize;
+    mMaxBuffers = maxBuffers;
+    mFreeBuffers = new ArrayDeque<>();
+    mBufferCount = 0;
+  }
+
+  /**
+   * @return the size of the buffers in bytes
+   */
+  int getBufferSize() {
+    return mBufferSize;
+  }
+
+  /**
+   * Acquires a buffer if not all the buffers are in use.
+   *
+   * @return the buffer, or null if all the buffers are in use
+   */
+  @Nullable
+  synchronized byte[] tryAcquire() {
+    if (!mFreeBuffers.isEmpty()) {
+      return mFreeBuffers.pop();
+    }
+    if (mBufferCount >= mMaxBuffers) {
+      return null;
+    }
+    mBufferCount++;
+    return new byte[mBufferSize];
+  }
+
+  /**
+   * Releases a buffer acquired from this pool.
+   *
+   * @param buffer the buffer
+   */
+  synchronized void release(byte[] buffer) {
+    Preconditions.checkArgument(buffer.length == mBufferSize, "Buffer not from this pool");
+    mFreeBuffers.push(buffer);
+  }
+}
@@ -0,0 +1,388 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import alluxio.Constants;
+import alluxio.client.file.FileInStream;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import jnr.ffi.Pointer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Reads an Alluxio file open through FUSE, reading ahead of the reads which are sequential.
+ * <p>
+ * The reads are served from a buffer of the file. When a read starts where the previous one
+ * ended, the read-ahead window is doubled, up to a maximum, and the next window of the file is
+ * read asynchronously into a second buffer once half of the first one is consumed, so that the
+ * reads of the application overlap with the reads of Alluxio. The buffers are taken from a
+ * {@link FuseBufferPool} shared by the open files, bounding the memory read ahead, and the
+ * sequential reads are read directly from the stream when the pool is used up. A read at any
+ * other offset resets the window, releases the buffers, and only reads the bytes requested, with
+ * a positioned read of the stream which does not hold the lock of this reader. The positioned
+ * reads of the stream are only served in parallel when
+ * {@link alluxio.PropertyKey#USER_FILE_CACHE_PARTIALLY_READ_BLOCK} is false: otherwise they seek
+ * the stream and read it holding its lock, so that the random reads of a file are serialized, and
+ * only the reads of different files are served in parallel.
+ * <p>
+ * The stream of the file is not thread safe, so it is only read sequentially by the read-ahead
+ * task while one is pending, and by the reads once it is done. The sequential reads of the stream
+ * also hold the lock of the stream, which its positioned reads hold when they seek the stream.
+ */
+@ThreadSafe
+final class FuseFileReader implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(FuseFileReader.class);
+  /** The read-ahead window of the first sequential read. */
+  private static final int MIN_READ_AHEAD_BYTES = 128 * Constants.KB;
+  private static final byte[] EMPTY_BUFFER = new byte[0];
+  /** The buffers of the reads which are not buffered, one per FUSE thread. */
+  private static final ThreadLocal<byte[]> UNBUFFERED_READ_BUFFER = new ThreadLocal<byte[]>() {
+    @Override
+    protected byte[] initialValue() {
+      return EMPTY_BUFFER;
+    }
+  };
+
+  private final FileInStream mIn;
+  private final long mLength;
+  private final int mMaxReadAheadBytes;
+  /** The pool of the buffers, or null if read-ahead is disabled. */
+  private final FuseBufferPool mPool;
+  private final ExecutorService mExecutor;
+
+  /**
+   * The bytes of the file from {@link #mBufferOffset}, up to {@link #mBufferLength} bytes. The
+   * buffers are either empty, or acquired from the pool.
+   */
+  private byte[] mBuffer;
+  private long mBufferOffset;
+  private int mBufferLength;
+  /** The buffer the next window of the file is read ahead into. */
+  private byte[] mReadAheadBuffer;
+  private long mReadAheadOffset;
+  /** The pending read-ahead, returning the number of bytes read, or null if there is none. */
+  private Future<Integer> mReadAhead;
+  /** The offset following the last read, where the next sequential read starts. */
+  private long mNextOffset;
+  /** The read-ahead window in bytes, or 0 if the last read was not sequential. */
+  private int mWindow;
+  private boolean mClosed;
+
+  /**
+   * @param in the stream of the file
+   * @param length the length of the file in bytes
+   * @param pool the pool of the buffers read ahead into, whose size is the maximum read-ahead
+   *        window, or null to disable read-ahead
+   * @param executor the executor to read ahead on
+   */
+  FuseFileReader(FileInStream in, long length, @Nullable FuseBufferPool pool,
+      ExecutorService executor) {
+    mIn = in;
+    mLength = length;
+    mMaxReadAheadBytes = pool == null ? 0 : pool.getBufferSize();
+    mPool = pool;
+    mExecutor = executor;
+    mBuffer = EMPTY_BUFFER;
+    mReadAheadBuffer = EMPTY_BUFFER;
+    mNextOffset = 0;
+    mWindow = 0;
+    mClosed = false;
+  }
+
+  /**
+   * Reads bytes of the file.
+   *
+   * @param buf the FUSE buffer to fill
+   * @param size the number of bytes to read
+   * @param offset the offset in the file to read at
+   * @return the number of bytes read, or 0 at the end of the file
+   */
+  int read(Pointer buf, int size, long offset) throws IOException {
+    if (offset >= mLength) {
+      return 0;
+    }
+    int length = (int) Math.min(size, mLength - offset);
+    synchronized (this) {
+      Preconditions.checkState(!mClosed, "Can not read a file closed");
+      if (offset == mNextOffset || isBuffered(offset)) {
+        return readBuffered(buf, length, offset);
+      }
+      // A random read resets the read-ahead window
+      mNextOffset = offset + length;
+      mWindow = 0;
+      releaseBuffers();
+    }
+    return positionedRead(buf, length, offset);
+  }
+
+  /**
+   * Reads bytes of the file through the buffer, reading ahead if the read is sequential.
+   *
+   * @param buf the FUSE buffer to fill
+   * @param length the number of bytes to read, up to the end of the file
+   * @param offset the offset in the file to read at
+   * @return the number of bytes read
+   */
+  private int readBuffered(Pointer buf, int length, long offset) throws IOException {
+    boolean sequential = offset == mNextOffset;
+    mWindow = sequential
+        ? Math.min(Math.max(mWindow * 2, MIN_READ_AHEAD_BYTES), mMaxReadAheadBytes) : 0;
+
+    int nread = 0;
+    while (nread < length) {
+      long pos = offset + nread;
+      if (!isBuffered(pos) && !takeReadAhead(pos)) {
+        if (!acquireBuffer()) {
+          // All the buffers are in use, so read the rest directly
+          nread += unbufferedRead(buf, nread, length - nread, pos);
+          break;
+        }
+        if (fill(pos, Math.max(length - nread, mWindow)) == 0) {
+          break;
+        }
+      }
+      int n = (int) Math.min(length - nread, mBufferOffset + mBufferLength - pos);
+      buf.put(nread, mBuffer, (int) (pos - mBufferOffset), n);
+      nread += n;
+    }
+    mNextOffset = offset + nread;
+    if (sequential) {
+      readAhead();
+    }
+    return nread;
+  }
+
+  /**
+   * Reads bytes of the file with positioned reads of the stream, which do not change the position
+   * of the stream.
+   *
+   * @param buf the FUSE buffer to fill
+   * @param length the number of bytes to read, up to the end of the file
+   * @param offset the offset in the file to read at
+   * @return the number of bytes read
+   */
+  private int positionedRead(Pointer buf, int length, long offset) throws IOException {
+    byte[] buffer = getUnbufferedReadBuffer(length);
+    int nread = 0;
+    while (nread < length) {
+      int n = mIn.positionedRead(offset + nread, buffer, nread, length - nread);
+      if (n < 0) {
+        break;
+      }
+      nread += n;
+    }
+    buf.put(0, buffer, 0, nread);
+    return nread;
+  }
+
+  /**
+   * Reads bytes of the file sequentially without buffering them.
+   *
+   * @param buf the FUSE buffer to fill
+   * @param bufOffset the offset in the FUSE buffer to fill from
+   * @param length the number of bytes to read, up to the end of the file
+   * @param offset the offset in the file to read at
+   * @return the number of bytes read
+   */
+  private int unbufferedRead(Pointer buf, int bufOffset, int length, long offset)
+      throws IOException {
+    byte[] buffer = getUnbufferedReadBuffer(length);
+    int nread = readFully(buffer, offset, length);
+    buf.put(bufOffset, buffer, 0, nread);
+    return nread;
+  }
+
+  /**
+   * @param length the number of bytes to read
+   * @return the buffer of the reads which are not buffered of the FUSE thread, of at least the
+   *         given length
+   */
+  private static byte[] getUnbufferedReadBuffer(int length) {
+    byte[] buffer = UNBUFFERED_READ_BUFFER.get();
+    if (buffer.length < length) {
+      buffer = new byte[length];
+      UNBUFFERED_READ_BUFFER.set(buffer);
+    }
+    return buffer;
+  }
+
+  /**
+   * @param pos an offset in the file
+   * @return whether the byte at the offset is buffered
+   */
+  private boolean isBuffered(long pos) {
+    return pos >= mBufferOffset && pos < mBufferOffset + mBufferLength;
+  }
+
+  /**
+   * Waits for the pending read-ahead, and buffers the bytes it read if they contain an offset.
+   *
+   * @param pos the offset in the file to read at
+   * @return whether the byte at the offset is buffered
+   */
+  private boolean takeReadAhead(long pos) throws IOException {
+    if (mReadAhead == null) {
+      return false;
+    }
+    int length = waitForReadAhead();
+    if (pos < mReadAheadOffset || pos >= mReadAheadOffset + length) {
+      return false;
+    }
+    byte[] buffer = mBuffer;
+    mBuffer = mReadAheadBuffer;
+    mReadAheadBuffer = buffer;
+    mBufferOffset = mReadAheadOffset;
+    mBufferLength = length;
+    return true;
+  }
+
+  /**
+   * @return the number of bytes read by the pending read-ahead, once it is done
+   */
+  private int waitForReadAhead() throws IOException {
+    try {
+      return mReadAhead.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new IOException(e.getCause());
+    } finally {
+      mReadAhead = null;
+    }
+  }
+
+  /**
+   * Acquires the buffer from the pool if it is empty.
+   *
+   * @return whether the buffer is acquired
+   */
+  private boolean acquireBuffer() {
+    if (mBuffer == EMPTY_BUFFER && mPool != null) {
+      byte[] buffer = mPool.tryAcquire();
+      if (buffer != null) {
+        mBuffer = buffer;
+      }
+    }
+    return mBuffer != EMPTY_BUFFER;
+  }
+
+  /**
+   * Releases the buffers to the pool, except the buffer of a pending read-ahead.
+   */
+  private void releaseBuffers() {
+    if (mBuffer != EMPTY_BUFFER) {
+      mPool.release(mBuffer);
+      mBuffer = EMPTY_BUFFER;
+      mBufferLength = 0;
+    }
+    if (mReadAhead == null && mReadAheadBuffer != EMPTY_BUFFER) {
+      mPool.release(mReadAheadBuffer);
+      mReadAheadBuffer = EMPTY_BUFFER;
+    }
+  }
+
+  /**
+   * Reads the file into the buffer acquired, once there is no pending read-ahead.
+   *
+   * @param pos the offset in the file to read at
+   * @param length the number of bytes to read, read up to the size of the buffer
+   * @return the number of bytes read
+   */
+  private int fill(long pos, int length) throws IOException {
+    length = (int) Math.min(Math.min(length, mBuffer.length), mLength - pos);
+    mBufferOffset = pos;
+    mBufferLength = readFully(mBuffer, pos, length);
+    return mBufferLength;
+  }
+
+  /**
+   * Starts reading the next window of the file ahead, once half of the bytes buffered are read.
+   */
+  private void readAhead() {
+    final long offset = mBufferOffset + mBufferLength;
+    if (mWindow == 0 || mReadAhead != null || offset >= mLength
+        || offset - mNextOffset > mWindow / 2) {
+      return;
+    }
+    if (mReadAheadBuffer == EMPTY_BUFFER) {
+      byte[] buffer = mPool.tryAcquire();
+      if (buffer == null) {
+        // All the buffers are in use, so the next window is read when it is needed
+        return;
+      }
+      mReadAheadBuffer = buffer;
+    }
+    final int length = (int) Math.min(mWindow, mLength - offset);
+    final byte[] buffer = mReadAheadBuffer;
+    mReadAheadOffset = offset;
+    mReadAhead = mExecutor.submit(new Callable<Integer>() {
+      @Override
+      public Integer call() throws IOException {
+        return readFully(buffer, offset, length);
+      }
+    });
+  }
+
+  /**
+   * Reads the file until a number of bytes are read or the end of the file is reached.
+   *
+   * @param buffer the buffer to read into, from position 0
+   * @param pos the offset in the file to read at
+   * @param length the number of bytes to read
+   * @return the number of bytes read
+   */
+  private int readFully(byte[] buffer, long pos, int length) throws IOException {
+    synchronized (mIn) {
+      mIn.seek(pos);
+      int nread = 0;
+      while (nread < length) {
+        int n = mIn.read(buffer, nread, length - nread);
+        if (n < 0) {
+          break;
+        }
+        nread += n;
+      }
+      return nread;
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    if (mReadAhead != null) {
+      try {
+        waitForReadAhead();
+      } catch (IOException e) {
+        LOG.debug("Failed to read ahead a file closed", e);
+      }
+    }
+    releaseBuffers();
+    mIn.close();
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import alluxio.client.file.FileOutStream;
+
+import com.google.common.base.Preconditions;
+import jnr.ffi.Pointer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Writes an Alluxio file created through FUSE behind the writes of the application.
+ * <p>
+ * The writes are copied into buffers of a {@link FuseBufferPool}, and the buffers filled are
+ * written to the stream of the file asynchronously, in order, so that the writes return before
+ * their bytes are written to Alluxio. The number of buffers of the pool bounds the bytes written
+ * and not yet written to Alluxio by all the files. While the pool is exhausted, a write needing a
+ * buffer waits for the buffers of its file to be written, then writes its bytes to the stream
+ * itself: waiting for a buffer instead could wait forever, as each file open keeps the buffer it
+ * is filling until it is full or the file is flushed. The errors of the asynchronous writes are
+ * reported by the following writes, and by {@link #flush()} and {@link #close()}, which wait for
+ * all the buffers to be written.
+ */
+@ThreadSafe
+final class FuseFileWriter implements Closeable {
+  private static final byte[] EMPTY_BUFFER = new byte[0];
+  /** The buffers of the writes done while the pool is exhausted, one per FUSE thread. */
+  private static final ThreadLocal<byte[]> DIRECT_WRITE_BUFFER = new ThreadLocal<byte[]>() {
+    @Override
+    protected byte[] initialValue() {
+      return EMPTY_BUFFER;
+    }
+  };
+
+  private final FileOutStream mOut;
+  private final FuseBufferPool mPool;
+  private final ExecutorService mExecutor;
+
+  /** The buffer being filled by the writes, or null if there is none. */
+  private byte[] mBuffer;
+  private int mBufferLength;
+  private boolean mClosed;
+
+  /** The buffers filled and not yet written to the stream, in the order of the file. */
+  @GuardedBy("mDirtyBuffers")
+  private final Deque<ByteBuffer> mDirtyBuffers;
+  /** Whether a task is writing the dirty buffers. */
+  @GuardedBy("mDirtyBuffers")
+  private boolean mWriting;
+  /** The first error writing the dirty buffers, after which the buffers are no longer written. */
+  private volatile Throwable mError;
+
+  /**
+   * @param out the stream of the file
+   * @param pool the pool of the buffers to write
+   * @param executor the executor to write the buffers on
+   */
+  FuseFileWriter(FileOutStream out, FuseBufferPool pool, ExecutorService executor) {
+    mOut = out;
+    mPool = pool;
+    mExecutor = executor;
+    mDirtyBuffers = new ArrayDeque<>();
+    mWriting = false;
+    mClosed = false;
+  }
+
+  /**
+   * Writes bytes at the end of the file.
+   *
+   * @param buf the FUSE buffer with the bytes to write
+   * @param size the number of bytes to write
+   */
+  synchronized void write(Pointer buf, int size) throws IOException {
+    Preconditions.checkState(!mClosed, "Can not write a file closed");
+    checkError();
+    int written = 0;
+    while (written < size) {
+      if (mBuffer == null) {
+        mBuffer = mPool.tryAcquire();
+        if (mBuffer == null) {
+          writeDirectly(buf, written, size - written);
+          return;
+        }
+        mBufferLength = 0;
+      }
+      int n = Math.min(size - written, mBuffer.length - mBufferLength);
+      buf.get(written, mBuffer, mBufferLength, n);
+      mBufferLength += n;
+      written += n;
+      if (mBufferLength == mBuffer.length) {
+        submitBuffer();
+      }
+    }
+  }
+
+  /**
+   * Writes all the bytes written so far to Alluxio, and flushes the stream of the file.
+   */
+  synchronized void flush() throws IOException {
+    Preconditions.checkState(!mClosed, "Can not flush a file closed");
+    writeDirtyBuffers();
+    checkError();
+    mOut.flush();
+  }
+
+  /**
+   * Writes all the bytes written to Alluxio and closes the stream of the file, or cancels it if
+   * some bytes could not be written.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    try {
+      writeDirtyBuffers();
+    } catch (IOException e) {
+      mOut.cancel();
+      throw e;
+    }
+    if (mError != null) {
+      mOut.cancel();
+      checkError();
+    }
+    mOut.close();
+  }
+
+  /**
+   * Submits the buffer being filled to be written, and waits for all the dirty buffers to be
+   * written.
+   */
+  private void writeDirtyBuffers() throws IOException {
+    if (mBuffer != null) {
+      if (mBufferLength > 0) {
+        submitBuffer();
+      } else {
+        mPool.release(mBuffer);
+        mBuffer = null;
+      }
+    }
+    waitForDirtyBuffers();
+  }
+
+  /**
+   * Waits for all the dirty buffers to be written.
+   */
+  private void waitForDirtyBuffers() throws IOException {
+    synchronized (mDirtyBuffers) {
+      while (mWriting) {
+        try {
+          mDirtyBuffers.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes bytes to the stream of the file once the dirty buffers are written, without a buffer of
+   * the pool.
+   *
+   * @param buf the FUSE buffer with the bytes to write
+   * @param offset the offset of the bytes in the FUSE buffer
+   * @param length the number of bytes to write
+   */
+  private void writeDirectly(Pointer buf, int offset, int length) throws IOException {
+    waitForDirtyBuffers();
+    checkError();
+    byte[] buffer = DIRECT_WRITE_BUFFER.get();
+    if (buffer.length < length) {
+      buffer = new byte[length];
+      DIRECT_WRITE_BUFFER.set(buffer);
+    }
+    buf.get(offset, buffer, 0, length);
+    try {
+      mOut.write(buffer, 0, length);
+    } catch (IOException | RuntimeException e) {
+      mError = e;
+      throw e;
+    }
+  }
+
+  /**
+   * Submits the buffer being filled to be written, starting a task to write the dirty buffers if
+   * there is none.
+   */
+  private void submitBuffer() {
+    ByteBuffer dirty = ByteBuffer.wrap(mBuffer, 0, mBufferLength);
+    mBuffer = null;
+    mBufferLength = 0;
+    synchronized (mDirtyBuffers) {
+      mDirtyBuffers.addLast(dirty);
+      if (!mWriting) {
+        mWriting = true;
+        mExecutor.submit(new DirtyBufferWriter());
+      }
+    }
+  }
+
+  /**
+   * Throws the error of the asynchronous writes, if any.
+   */
+  private void checkError() throws IOException {
+    Throwable error = mError;
+    if (error != null) {
+      throw new IOException("Failed to write the file to Alluxio", error);
+    }
+  }
+
+  /**
+   * Writes the dirty buffers to the stream of the file, in order, until there are none.
+   */
+  private final class DirtyBufferWriter implements Runnable {
+    @Override
+    public void run() {
+      while (true) {
+        ByteBuffer dirty;
+        synchronized (mDirtyBuffers) {
+          dirty = mDirtyBuffers.pollFirst();
+          if (dirty == null) {
+            mWriting = false;
+            mDirtyBuffers.notifyAll();
+            return;
+          }
+        }
+        if (mError == null) {
+          try {
+            mOut.write(dirty.array(), 0, dirty.limit());
+          } catch (IOException | RuntimeException e) {
+            mError = e;
+          }
+        }
+        mPool.release(dirty.array());
+      }
+    }
+  }
+}
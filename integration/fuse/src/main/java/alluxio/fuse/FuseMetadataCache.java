@@ -0,0 +1,168 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.InvalidPathException;
+import alluxio.util.io.PathUtils;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Caches the statuses of the paths and the entries of the directories accessed through FUSE, so
+ * that the bursts of getattr and readdir calls of tools like {@code ls -l} or {@code find} do not
+ * all reach the master.
+ * <p>
+ * The entries expire after a time to live, after which the changes made by other clients are
+ * visible. The paths which do not exist are cached too, and the changes made through this mount
+ * invalidate the entries they affect. A lookup which started before an invalidation does not
+ * cache its result, so that an entry invalidated is not replaced by a status got before the
+ * change.
+ */
+@ThreadSafe
+final class FuseMetadataCache {
+  private final FileSystem mFileSystem;
+  /** The statuses of the paths, absent for the paths which do not exist. */
+  private final Cache<AlluxioURI, Optional<URIStatus>> mStatuses;
+  /** The statuses of the entries of the directories. */
+  private final Cache<AlluxioURI, List<URIStatus>> mDirectories;
+  /** The number of invalidations, to detect the lookups concurrent with an invalidation. */
+  private final AtomicLong mInvalidations;
+
+  /**
+   * @param fs Alluxio file system
+   * @param maxStatuses the maximum number of statuses cached
+   * @param maxDirectories the maximum number of directories whose entries are cached
+   * @param ttlMs the time to live of the entries in milliseconds
+   */
+  FuseMetadataCache(FileSystem fs, long maxStatuses, long maxDirectories, long ttlMs) {
+    mFileSystem = fs;
+    mStatuses = CacheBuilder.newBuilder()
+        .maximumSize(maxStatuses)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+        .build();
+    mDirectories = CacheBuilder.newBuilder()
+        .maximumSize(maxDirectories)
+        .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+        .build();
+    mInvalidations = new AtomicLong();
+  }
+
+  /**
+   * Gets the status of a path.
+   *
+   * @param uri the path
+   * @return the status of the path, or null if it does not exist
+   */
+  @Nullable
+  URIStatus getStatus(AlluxioURI uri) throws IOException, AlluxioException {
+    Optional<URIStatus> status = mStatuses.getIfPresent(uri);
+    if (status != null) {
+      return status.orNull();
+    }
+    long invalidations = mInvalidations.get();
+    try {
+      status = Optional.of(mFileSystem.getStatus(uri));
+    } catch (FileDoesNotExistException e) {
+      status = Optional.absent();
+    }
+    if (mInvalidations.get() == invalidations) {
+      mStatuses.put(uri, status);
+    }
+    return status.orNull();
+  }
+
+  /**
+   * Lists the entries of a directory, caching their statuses too.
+   *
+   * @param uri the path of the directory
+   * @return the statuses of the entries of the directory
+   */
+  List<URIStatus> listStatus(AlluxioURI uri) throws IOException, AlluxioException {
+    List<URIStatus> entries = mDirectories.getIfPresent(uri);
+    if (entries != null) {
+      return entries;
+    }
+    long invalidations = mInvalidations.get();
+    entries = Collections.unmodifiableList(mFileSystem.listStatus(uri));
+    if (mInvalidations.get() == invalidations) {
+      mDirectories.put(uri, entries);
+      for (URIStatus entry : entries) {
+        mStatuses.put(uri.join(entry.getName()), Optional.of(entry));
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Invalidates the status of a path created, modified or deleted through this mount, and the
+   * entries of its parent directory.
+   *
+   * @param uri the path
+   */
+  void invalidate(AlluxioURI uri) {
+    mInvalidations.incrementAndGet();
+    mStatuses.invalidate(uri);
+    mDirectories.invalidate(uri);
+    AlluxioURI parent = uri.getParent();
+    if (parent != null) {
+      mDirectories.invalidate(parent);
+    }
+  }
+
+  /**
+   * Invalidates a path renamed or deleted through this mount, with all the paths under it.
+   *
+   * @param uri the path
+   */
+  void invalidateTree(AlluxioURI uri) {
+    invalidate(uri);
+    String prefix = uri.getPath();
+    invalidateUnder(mStatuses.asMap().keySet().iterator(), prefix);
+    invalidateUnder(mDirectories.asMap().keySet().iterator(), prefix);
+  }
+
+  /**
+   * Removes the paths under a prefix.
+   *
+   * @param paths the iterator over the paths to remove from
+   * @param prefix the prefix
+   */
+  private static void invalidateUnder(Iterator<AlluxioURI> paths, String prefix) {
+    while (paths.hasNext()) {
+      try {
+        if (PathUtils.hasPrefix(paths.next().getPath(), prefix)) {
+          paths.remove();
+        }
+      } catch (InvalidPathException e) {
+        // The paths cached were resolved from valid paths, but drop the entry anyway
+        paths.remove();
+      }
+    }
+  }
+}
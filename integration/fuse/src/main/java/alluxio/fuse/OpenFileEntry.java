@@ -11,16 +11,13 @@
 
 package alluxio.fuse;
 
-import alluxio.client.file.FileInStream;
-import alluxio.client.file.FileOutStream;
-
 import java.io.Closeable;
 import java.io.IOException;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
- * Convenience class to encapsulate input/output streams of open alluxio files.
+ * Convenience class to encapsulate the readers and writers of open alluxio files.
  *
  * An open file can be either write-only or read-only, never both. This means that one of getIn or
  * getOut will be null, while the other will be non-null. It is up to the user of this class
@@ -29,38 +26,38 @@ import javax.annotation.concurrent.NotThreadSafe;
  * This mechanism is preferred over more complex sub-classing to avoid useless casts or type checks
  * for every read/write call, which happen quite often.
  */
-@NotThreadSafe
+@ThreadSafe
 final class OpenFileEntry implements Closeable {
-  private final FileInStream mIn;
-  private final FileOutStream mOut;
+  private final FuseFileReader mIn;
+  private final FuseFileWriter mOut;
 
-  public OpenFileEntry(FileInStream in, FileOutStream out) {
+  public OpenFileEntry(FuseFileReader in, FuseFileWriter out) {
     mIn = in;
     mOut = out;
   }
 
   /**
-   * Gets the opened input stream for this open file entry. The value returned can be {@code null}
-   * if the file is not open for reading.
+   * Gets the reader for this open file entry. The value returned can be {@code null} if the file
+   * is not open for reading.
    *
-   * @return an opened input stream for the open alluxio file, or null
+   * @return the reader of the open alluxio file, or null
    */
-  public FileInStream getIn() {
+  public FuseFileReader getIn() {
     return mIn;
   }
 
   /**
-   * Gets the opened output stream for this open file entry. The value returned can be {@code null}
-   * if the file is not open for writing.
+   * Gets the writer for this open file entry. The value returned can be {@code null} if the file
+   * is not open for writing.
    *
-   * @return an opened input stream for the open alluxio file, or null
+   * @return the writer of the open alluxio file, or null
    */
-  public FileOutStream getOut() {
+  public FuseFileWriter getOut() {
     return mOut;
   }
 
   /**
-   * Closes the underlying open streams.
+   * Closes the underlying reader or writer, which closes the open streams.
    */
   @Override
   public void close() throws IOException {
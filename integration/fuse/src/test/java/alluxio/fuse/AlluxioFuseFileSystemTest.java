@@ -18,7 +18,12 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -31,6 +36,7 @@ import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileOutStream;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.URIStatus;
+import alluxio.exception.FileDoesNotExistException;
 import alluxio.wire.FileInfo;
 
 import com.google.common.cache.LoadingCache;
@@ -40,11 +46,14 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import ru.serce.jnrfuse.ErrorCodes;
+import ru.serce.jnrfuse.FuseFillDir;
 import ru.serce.jnrfuse.struct.FuseFileInfo;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -122,6 +131,48 @@ public class AlluxioFuseFileSystemTest {
     verify(mFileSystem).createDirectory(BASE_EXPECTED_URI.join("/foo/bar"));
   }
 
+  @Test
+  public void readdirCached() throws Exception {
+    // mocks set-up
+    AlluxioURI expectedPath = BASE_EXPECTED_URI.join("/foo");
+    FileInfo fi = new FileInfo();
+    fi.setFolder(true);
+    FileInfo child = new FileInfo();
+    child.setName("bar");
+    when(mFileSystem.getStatus(expectedPath)).thenReturn(new URIStatus(fi));
+    when(mFileSystem.listStatus(expectedPath))
+        .thenReturn(Collections.singletonList(new URIStatus(child)));
+    FuseFillDir filter = mock(FuseFillDir.class);
+
+    // the status and the entries of the directory are got once
+    assertEquals(0, mFuseFs.readdir("/foo", null, filter, 0, mFileInfo));
+    assertEquals(0, mFuseFs.readdir("/foo", null, filter, 0, mFileInfo));
+    verify(mFileSystem).getStatus(expectedPath);
+    verify(mFileSystem).listStatus(expectedPath);
+    verify(filter, times(2)).apply(null, "bar", null, 0);
+
+    // creating an entry in the directory invalidates its entries
+    mFuseFs.mkdir("/foo/baz", -1);
+    assertEquals(0, mFuseFs.readdir("/foo", null, filter, 0, mFileInfo));
+    verify(mFileSystem, times(2)).listStatus(expectedPath);
+  }
+
+  @Test
+  public void readdirNotExistingCached() throws Exception {
+    AlluxioURI expectedPath = BASE_EXPECTED_URI.join("/foo");
+    when(mFileSystem.getStatus(expectedPath)).thenThrow(new FileDoesNotExistException("foo"));
+    FuseFillDir filter = mock(FuseFillDir.class);
+
+    assertEquals(-ErrorCodes.ENOENT(), mFuseFs.readdir("/foo", null, filter, 0, mFileInfo));
+    assertEquals(-ErrorCodes.ENOENT(), mFuseFs.readdir("/foo", null, filter, 0, mFileInfo));
+    verify(mFileSystem).getStatus(expectedPath);
+
+    // creating the directory invalidates the entry of the path not existing
+    mFuseFs.mkdir("/foo", -1);
+    mFuseFs.readdir("/foo", null, filter, 0, mFileInfo);
+    verify(mFileSystem, times(2)).getStatus(expectedPath);
+  }
+
   @Test
   public void open() throws Exception {
     // mocks set-up
@@ -161,6 +212,7 @@ public class AlluxioFuseFileSystemTest {
     AlluxioURI expectedPath = BASE_EXPECTED_URI.join("/foo/bar");
     FileInfo fi = new FileInfo();
     fi.setFolder(false);
+    fi.setLength(4);
     URIStatus status = new URIStatus(fi);
 
     when(mFileSystem.exists(expectedPath)).thenReturn(true);
@@ -196,6 +248,50 @@ public class AlluxioFuseFileSystemTest {
 
   }
 
+  @Test
+  public void readRandomPositioned() throws Exception {
+    // mocks set-up: the byte at offset i of the file is i
+    AlluxioURI expectedPath = BASE_EXPECTED_URI.join("/foo/bar");
+    FileInfo fi = new FileInfo();
+    fi.setFolder(false);
+    fi.setLength(1024);
+    URIStatus status = new URIStatus(fi);
+
+    when(mFileSystem.exists(expectedPath)).thenReturn(true);
+    when(mFileSystem.getStatus(expectedPath)).thenReturn(status);
+
+    FileInStream fakeInStream = mock(FileInStream.class);
+    when(fakeInStream.positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt()))
+        .then(new Answer<Integer>() {
+          @Override
+          public Integer answer(InvocationOnMock invocationOnMock) throws Throwable {
+            long pos = (Long) invocationOnMock.getArguments()[0];
+            byte[] myDest = (byte[]) invocationOnMock.getArguments()[1];
+            int off = (Integer) invocationOnMock.getArguments()[2];
+            int len = (Integer) invocationOnMock.getArguments()[3];
+            for (int i = 0; i < len; i++) {
+              myDest[off + i] = (byte) (pos + i);
+            }
+            return len;
+          }
+        });
+    when(mFileSystem.openFile(expectedPath)).thenReturn(fakeInStream);
+    mFileInfo.flags.set(O_RDONLY.intValue());
+    mFuseFs.open("/foo/bar", mFileInfo);
+
+    // a read which does not start at the beginning of the file is not sequential, so it is served
+    // by a positioned read without moving the stream
+    Runtime r = Runtime.getSystemRuntime();
+    Pointer ptr = r.getMemoryManager().allocateTemporary(16, true);
+    assertEquals(16, mFuseFs.read("/foo/bar", ptr, 16, 100, mFileInfo));
+    final byte[] dst = new byte[16];
+    ptr.get(0, dst, 0, 16);
+    for (int i = 0; i < 16; i++) {
+      assertEquals((byte) (100 + i), dst[i]);
+    }
+    verify(fakeInStream, never()).seek(anyLong());
+  }
+
   @Test
   public void write() throws Exception {
     FileOutStream fos = mock(FileOutStream.class);
@@ -214,7 +310,70 @@ public class AlluxioFuseFileSystemTest {
 
     mFuseFs.write("/foo/bar", ptr, 4, 0, mFileInfo);
 
-    verify(fos).write(expected);
+    // the write is buffered until the file is flushed
+    mFuseFs.flush("/foo/bar", mFileInfo);
+    ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+    verify(fos).write(written.capture(), eq(0), eq(4));
+    assertArrayEquals(expected, Arrays.copyOf(written.getValue(), 4));
+  }
+
+  @Test
+  public void readSequentialAndRandom() throws Exception {
+    // mocks set-up: the byte at offset i of the file is i
+    final int length = 1024;
+    AlluxioURI expectedPath = BASE_EXPECTED_URI.join("/foo/bar");
+    FileInfo fi = new FileInfo();
+    fi.setFolder(false);
+    fi.setLength(length);
+    URIStatus status = new URIStatus(fi);
+
+    when(mFileSystem.exists(expectedPath)).thenReturn(true);
+    when(mFileSystem.getStatus(expectedPath)).thenReturn(status);
+
+    final long[] position = new long[1];
+    FileInStream fakeInStream = mock(FileInStream.class);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocationOnMock) throws Throwable {
+        position[0] = (Long) invocationOnMock.getArguments()[0];
+        return null;
+      }
+    }).when(fakeInStream).seek(anyLong());
+    when(fakeInStream.read(any(byte[].class), anyInt(), anyInt())).then(new Answer<Integer>() {
+      @Override
+      public Integer answer(InvocationOnMock invocationOnMock) throws Throwable {
+        byte[] myDest = (byte[]) invocationOnMock.getArguments()[0];
+        int off = (Integer) invocationOnMock.getArguments()[1];
+        int len = (int) Math.min((Integer) invocationOnMock.getArguments()[2],
+            length - position[0]);
+        if (len <= 0) {
+          return -1;
+        }
+        for (int i = 0; i < len; i++) {
+          myDest[off + i] = (byte) (position[0] + i);
+        }
+        position[0] += len;
+        return len;
+      }
+    });
+    when(mFileSystem.openFile(expectedPath)).thenReturn(fakeInStream);
+    mFileInfo.flags.set(O_RDONLY.intValue());
+    mFuseFs.open("/foo/bar", mFileInfo);
+
+    Runtime r = Runtime.getSystemRuntime();
+    Pointer ptr = r.getMemoryManager().allocateTemporary(16, true);
+    final byte[] dst = new byte[16];
+    // sequential reads, then a read backwards, then a read past the end of the file
+    long[] offsets = {0, 16, 32, 8, length - 8};
+    for (long offset : offsets) {
+      int expectedLength = (int) Math.min(16, length - offset);
+      assertEquals(expectedLength, mFuseFs.read("/foo/bar", ptr, 16, offset, mFileInfo));
+      ptr.get(0, dst, 0, expectedLength);
+      for (int i = 0; i < expectedLength; i++) {
+        assertEquals((byte) (offset + i), dst[i]);
+      }
+    }
+    assertEquals(0, mFuseFs.read("/foo/bar", ptr, 16, length, mFileInfo));
   }
 
   @Test
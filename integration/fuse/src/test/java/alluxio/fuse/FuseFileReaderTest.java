@@ -0,0 +1,174 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import alluxio.client.file.FileInStream;
+
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for {@link FuseFileReader}.
+ */
+public final class FuseFileReaderTest {
+  private static final int BUFFER_SIZE = 256 * 1024;
+  private static final int MAX_BUFFERS = 2;
+  private static final int READ_SIZE = 4096;
+  private static final int FILE_LENGTH = BUFFER_SIZE * 4 + 100;
+
+  private FuseBufferPool mPool;
+  private ExecutorService mExecutor;
+
+  @Before
+  public void before() {
+    mPool = new FuseBufferPool(BUFFER_SIZE, MAX_BUFFERS);
+    mExecutor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests reading a file sequentially with read-ahead.
+   */
+  @Test(timeout = 10000)
+  public void readSequentially() throws Exception {
+    FuseFileReader reader = new FuseFileReader(stream(), FILE_LENGTH, mPool, mExecutor);
+    readSequentially(reader, 0, FILE_LENGTH);
+    reader.close();
+    assertAllReleased();
+  }
+
+  /**
+   * Tests that the sequential reads of more files open than the buffers of the pool read the
+   * files directly, and that the buffers are returned to the pool once the files are closed.
+   */
+  @Test(timeout = 10000)
+  public void moreFilesThanBuffers() throws Exception {
+    FuseFileReader first = new FuseFileReader(stream(), FILE_LENGTH, mPool, mExecutor);
+    FuseFileReader second = new FuseFileReader(stream(), FILE_LENGTH, mPool, mExecutor);
+    // The first file holds the buffers of the pool while the second one is read
+    readSequentially(first, 0, BUFFER_SIZE);
+    readSequentially(second, 0, FILE_LENGTH);
+    readSequentially(first, BUFFER_SIZE, FILE_LENGTH);
+    first.close();
+    second.close();
+    assertAllReleased();
+  }
+
+  /**
+   * Tests that reading a file sequentially without read-ahead does not buffer it.
+   */
+  @Test(timeout = 10000)
+  public void readAheadDisabled() throws Exception {
+    FuseFileReader reader = new FuseFileReader(stream(), FILE_LENGTH, null, mExecutor);
+    readSequentially(reader, 0, FILE_LENGTH);
+    reader.close();
+  }
+
+  /**
+   * Reads a file sequentially and checks the bytes read.
+   *
+   * @param reader the reader of the file
+   * @param start the offset to read from
+   * @param end the offset to read up to
+   */
+  private static void readSequentially(FuseFileReader reader, long start, long end)
+      throws Exception {
+    Pointer buf = Runtime.getSystemRuntime().getMemoryManager().allocateTemporary(READ_SIZE, true);
+    byte[] bytes = new byte[READ_SIZE];
+    long offset = start;
+    while (offset < end) {
+      int size = (int) Math.min(READ_SIZE, end - offset);
+      assertEquals(size, reader.read(buf, size, offset));
+      buf.get(0, bytes, 0, size);
+      for (int i = 0; i < size; i++) {
+        assertEquals((byte) (offset + i), bytes[i]);
+      }
+      offset += size;
+    }
+  }
+
+  /**
+   * Checks that all the buffers of the pool are released.
+   */
+  private void assertAllReleased() {
+    for (int i = 0; i < MAX_BUFFERS; i++) {
+      assertNotNull(mPool.tryAcquire());
+    }
+    assertNull(mPool.tryAcquire());
+  }
+
+  /**
+   * @return a mocked stream of a file whose bytes are their offsets
+   */
+  private static FileInStream stream() throws Exception {
+    FileInStream in = mock(FileInStream.class);
+    final long[] pos = new long[1];
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        pos[0] = (long) invocation.getArguments()[0];
+        return null;
+      }
+    }).when(in).seek(anyLong());
+    doAnswer(new Answer<Integer>() {
+      @Override
+      public Integer answer(InvocationOnMock invocation) {
+        Object[] args = invocation.getArguments();
+        int n = fill((byte[]) args[0], (int) args[1], (int) args[2], pos[0]);
+        if (n > 0) {
+          pos[0] += n;
+        }
+        return n;
+      }
+    }).when(in).read(any(byte[].class), anyInt(), anyInt());
+    doAnswer(new Answer<Integer>() {
+      @Override
+      public Integer answer(InvocationOnMock invocation) {
+        Object[] args = invocation.getArguments();
+        return fill((byte[]) args[1], (int) args[2], (int) args[3], (long) args[0]);
+      }
+    }).when(in).positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt());
+    return in;
+  }
+
+  private static int fill(byte[] b, int off, int len, long pos) {
+    int n = (int) Math.min(len, FILE_LENGTH - pos);
+    if (n <= 0) {
+      return -1;
+    }
+    for (int i = 0; i < n; i++) {
+      b[off + i] = (byte) (pos + i);
+    }
+    return n;
+  }
+}
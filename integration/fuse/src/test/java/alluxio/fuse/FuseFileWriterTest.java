@@ -0,0 +1,136 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import alluxio.client.file.FileOutStream;
+
+import jnr.ffi.Pointer;
+import jnr.ffi.Runtime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for {@link FuseFileWriter}.
+ */
+public final class FuseFileWriterTest {
+  private static final int BUFFER_SIZE = 16;
+  private static final int MAX_BUFFERS = 2;
+
+  private FuseBufferPool mPool;
+  private ExecutorService mExecutor;
+
+  @Before
+  public void before() {
+    mPool = new FuseBufferPool(BUFFER_SIZE, MAX_BUFFERS);
+    mExecutor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests that the files written are complete once closed.
+   */
+  @Test(timeout = 10000)
+  public void write() throws Exception {
+    FileOutStream out = mock(FileOutStream.class);
+    ByteArrayOutputStream written = capture(out);
+    FuseFileWriter writer = new FuseFileWriter(out, mPool, mExecutor);
+    byte[] expected = bytes(BUFFER_SIZE * 3 + 5, 0);
+    writer.write(pointer(expected, 0, 10), 10);
+    writer.write(pointer(expected, 10, expected.length - 10), expected.length - 10);
+    writer.close();
+    assertArrayEquals(expected, written.toByteArray());
+    verify(out).close();
+  }
+
+  /**
+   * Tests that the writes of more files open than the buffers of the pool do not wait for a buffer
+   * held by another file, and are written directly to Alluxio instead.
+   */
+  @Test(timeout = 10000)
+  public void moreFilesThanBuffers() throws Exception {
+    int files = MAX_BUFFERS * 2;
+    List<FuseFileWriter> writers = new ArrayList<>();
+    List<ByteArrayOutputStream> outs = new ArrayList<>();
+    List<ByteArrayOutputStream> expected = new ArrayList<>();
+    for (int i = 0; i < files; i++) {
+      FileOutStream out = mock(FileOutStream.class);
+      outs.add(capture(out));
+      writers.add(new FuseFileWriter(out, mPool, mExecutor));
+      expected.add(new ByteArrayOutputStream());
+    }
+    // Each file keeps a buffer partially filled while the other files are written
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < files; i++) {
+        byte[] data = bytes(BUFFER_SIZE / 2 + round, i * 100 + round);
+        writers.get(i).write(pointer(data, 0, data.length), data.length);
+        expected.get(i).write(data);
+      }
+    }
+    for (int i = 0; i < files; i++) {
+      writers.get(i).close();
+      assertArrayEquals(expected.get(i).toByteArray(), outs.get(i).toByteArray());
+    }
+  }
+
+  /**
+   * @param out the mocked stream of a file
+   * @return the bytes written to the stream
+   */
+  private static ByteArrayOutputStream capture(FileOutStream out) throws Exception {
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        Object[] args = invocation.getArguments();
+        synchronized (written) {
+          written.write((byte[]) args[0], (int) args[1], (int) args[2]);
+        }
+        return null;
+      }
+    }).when(out).write(any(byte[].class), anyInt(), anyInt());
+    return written;
+  }
+
+  private static byte[] bytes(int length, int start) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (start + i);
+    }
+    return bytes;
+  }
+
+  private static Pointer pointer(byte[] bytes, int offset, int length) {
+    Pointer pointer = Runtime.getSystemRuntime().getMemoryManager().allocateTemporary(length, true);
+    pointer.put(0, bytes, offset, length);
+    return pointer;
+  }
+}
@@ -13,6 +13,7 @@ package alluxio.client.keyvalue;
 
 import alluxio.client.block.AlluxioBlockStore;
 import alluxio.exception.AlluxioException;
+import alluxio.exception.status.NotFoundException;
 import alluxio.util.io.BufferUtils;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.WorkerNetAddress;
@@ -31,6 +32,9 @@ import javax.annotation.concurrent.NotThreadSafe;
  */
 @NotThreadSafe
 final class BaseKeyValuePartitionReader implements KeyValuePartitionReader {
+  /** Maximum number of key-value pairs fetched by each RPC of {@link #scan}. */
+  static final int SCAN_BATCH_SIZE = 100;
+
   private KeyValueWorkerClient mClient;
   private long mBlockId;
   private boolean mClosed;
@@ -42,14 +46,43 @@ final class BaseKeyValuePartitionReader implements KeyValuePartitionReader {
    * @param blockId blockId of the key-value file to read from
    */
   BaseKeyValuePartitionReader(long blockId) throws AlluxioException, IOException {
+    this(AlluxioBlockStore.create().getInfo(blockId));
+  }
+
+  /**
+   * Constructs {@link BaseKeyValuePartitionReader} given the information of a block.
+   *
+   * @param info the information of the block of the key-value file to read from
+   */
+  BaseKeyValuePartitionReader(BlockInfo info) throws AlluxioException, IOException {
+    this(new KeyValueWorkerClient(getWorkerAddress(info)), info.getBlockId());
+  }
+
+  /**
+   * Constructs {@link BaseKeyValuePartitionReader} given the client of the worker storing a block.
+   *
+   * @param client the client of the key-value worker storing the block
+   * @param blockId blockId of the key-value file to read from
+   */
+  BaseKeyValuePartitionReader(KeyValueWorkerClient client, long blockId) {
+    mClient = client;
     mBlockId = blockId;
-    AlluxioBlockStore blockStore = AlluxioBlockStore.create();
-    BlockInfo info = blockStore.getInfo(mBlockId);
-    WorkerNetAddress workerAddr = info.getLocations().get(0).getWorkerAddress();
-    mClient = new KeyValueWorkerClient(workerAddr);
     mClosed = false;
   }
 
+  /**
+   * @param info the information of the block of a partition
+   * @return the address of a worker storing the partition
+   * @throws NotFoundException if no worker stores the partition
+   */
+  static WorkerNetAddress getWorkerAddress(BlockInfo info) throws NotFoundException {
+    if (info.getLocations().isEmpty()) {
+      throw new NotFoundException(
+          "Key-value partition " + info.getBlockId() + " is not stored by any worker");
+    }
+    return info.getLocations().get(0).getWorkerAddress();
+  }
+
   // This could be slow when value size is large, use with caution.
   @Override
   public byte[] get(byte[] key) throws IOException, AlluxioException {
@@ -126,6 +159,68 @@ final class BaseKeyValuePartitionReader implements KeyValuePartitionReader {
     return new Iterator();
   }
 
+  /**
+   * Iterator over the key-value pairs of a range of keys, fetching them from the worker in batches
+   * of {@link #SCAN_BATCH_SIZE} pairs.
+   */
+  private final class RangeIterator implements KeyValueIterator {
+    private final ByteBuffer mEndKey;
+    /** The pairs of the current batch not iterated yet. */
+    private java.util.Iterator<KeyValuePair> mBatch;
+    /** The first key of the next batch, or null if the last batch is fetched. */
+    private ByteBuffer mNextStartKey;
+
+    /**
+     * @param startKey the first key of the range, inclusive, or null if the range has no start
+     * @param endKey the key ending the range, exclusive, or null if the range has no end
+     */
+    RangeIterator(ByteBuffer startKey, ByteBuffer endKey) throws IOException, AlluxioException {
+      mEndKey = endKey;
+      fetchBatch(startKey);
+    }
+
+    /**
+     * Fetches the pairs of a batch, starting from the given key.
+     *
+     * @param startKey the first key of the batch, inclusive, or null to start from the first key
+     */
+    private void fetchBatch(ByteBuffer startKey) throws IOException, AlluxioException {
+      Preconditions.checkState(!mClosed, "Can not scan a reader closed");
+      List<KeyValuePair> pairs = mClient.scan(mBlockId, startKey, mEndKey, SCAN_BATCH_SIZE);
+      mBatch = pairs.iterator();
+      mNextStartKey = null;
+      if (pairs.size() == SCAN_BATCH_SIZE) {
+        // The keys are compared as signed bytes, so the smallest key greater than the last key of
+        // the batch is the key followed by the smallest byte
+        ByteBuffer lastKey = pairs.get(pairs.size() - 1).getKey();
+        mNextStartKey = ByteBuffer.allocate(lastKey.remaining() + 1);
+        mNextStartKey.put(lastKey.duplicate());
+        mNextStartKey.put(Byte.MIN_VALUE);
+        mNextStartKey.flip();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return mBatch.hasNext();
+    }
+
+    @Override
+    public KeyValuePair next() throws IOException, AlluxioException {
+      KeyValuePair pair = mBatch.next();
+      if (!mBatch.hasNext() && mNextStartKey != null) {
+        fetchBatch(mNextStartKey);
+      }
+      return pair;
+    }
+  }
+
+  @Override
+  public KeyValueIterator scan(ByteBuffer startKey, ByteBuffer endKey)
+      throws IOException, AlluxioException {
+    return new RangeIterator(startKey, endKey);
+  }
+
   @Override
   public int size() throws IOException, AlluxioException {
     return mClient.getSize(mBlockId);
@@ -15,11 +15,11 @@ import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.PropertyKey;
 import alluxio.client.AbstractOutStream;
-import alluxio.util.io.ByteIOUtils;
 
 import com.google.common.base.Preconditions;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -30,11 +30,16 @@ import javax.annotation.concurrent.NotThreadSafe;
  * A partition file consists of:
  * <ul>
  *   <li>A payload buffer which is an array of (key,value) pairs;</li>
+ *   <li>In the {@link KeyValuePartitionFormat#ROBIN_HOOD} format, a sparse index which maps the
+ *   first key of each data block of the payload buffer to its offset, written only when the keys
+ *   are put in increasing order;</li>
  *   <li>A index which is a hash table maps each key to the offset in bytes into the payload
  *   buffer;</li>
- *   <li>A 4-bytes pointer in the end indicating the offset of the index.</li>
+ *   <li>A footer in the end indicating the offset of the index, and the version of the format in
+ *   the {@link KeyValuePartitionFormat#ROBIN_HOOD} format, see {@link PartitionFormat}.</li>
  * </ul>
- *
+ * <p>
+ * The format written is set by {@link PropertyKey#KEY_VALUE_PARTITION_FORMAT}.
  */
 @NotThreadSafe
 final class BaseKeyValuePartitionWriter implements KeyValuePartitionWriter {
@@ -42,8 +47,21 @@ final class BaseKeyValuePartitionWriter implements KeyValuePartitionWriter {
   private final AbstractOutStream mFileOutStream;
   /** Number of key-value pairs added. */
   private int mKeyCount = 0;
-  /** Key-value index. */
+  /** Number of bytes written to the file. */
+  private int mBytesWritten = 0;
+  /** The format of the partition written. */
+  private final KeyValuePartitionFormat mFormat;
+  /** Key-value index, a {@link RobinHoodIndex} or a {@link LinearProbingIndex}. */
   private Index mIndex;
+  /**
+   * Sparse index of the data blocks of the payload, written if the keys are sorted, or null in
+   * the {@link KeyValuePartitionFormat#LINEAR_PROBING} format.
+   */
+  private SparseIndex mSparseIndex;
+  /** The last key added. */
+  private byte[] mLastKey;
+  /** Whether the keys are added in increasing order. */
+  private boolean mSorted;
   /** Key-value payload. */
   private PayloadWriter mPayloadWriter;
   /** Whether this writer is closed. */
@@ -59,11 +77,31 @@ final class BaseKeyValuePartitionWriter implements KeyValuePartitionWriter {
    * @param fileOutStream output stream to store the key-value file
    */
   BaseKeyValuePartitionWriter(AbstractOutStream fileOutStream) {
+    this(fileOutStream, Configuration
+        .getEnum(PropertyKey.KEY_VALUE_PARTITION_FORMAT, KeyValuePartitionFormat.class));
+  }
+
+  /**
+   * Constructs a {@link BaseKeyValuePartitionWriter} given an output stream and a format.
+   *
+   * @param fileOutStream output stream to store the key-value file
+   * @param format the format of the partition to write
+   */
+  BaseKeyValuePartitionWriter(AbstractOutStream fileOutStream, KeyValuePartitionFormat format) {
     mFileOutStream = Preconditions.checkNotNull(fileOutStream);
+    mFormat = Preconditions.checkNotNull(format);
     // TODO(binfan): write a header in the file
 
     mPayloadWriter = new BasePayloadWriter(mFileOutStream);
-    mIndex = LinearProbingIndex.createEmptyIndex();
+    if (mFormat == KeyValuePartitionFormat.LINEAR_PROBING) {
+      mIndex = LinearProbingIndex.createEmptyIndex();
+      mSparseIndex = null;
+    } else {
+      mIndex = RobinHoodIndex.createEmptyIndex();
+      mSparseIndex = SparseIndex.createEmptyIndex();
+    }
+    mLastKey = null;
+    mSorted = true;
     mClosed = false;
     mCanceled = false;
     mMaxSizeBytes = Configuration.getBytes(PropertyKey.KEY_VALUE_PARTITION_SIZE_BYTES_MAX);
@@ -96,16 +134,32 @@ final class BaseKeyValuePartitionWriter implements KeyValuePartitionWriter {
     Preconditions.checkArgument(key.length > 0, "Cannot put an empty key");
     Preconditions.checkArgument(value.length > 0, "Cannot put an empty value");
     Preconditions.checkState(!mClosed);
-    mIndex.put(key, value, mPayloadWriter);
+    int offset = mBytesWritten;
+    if (mIndex.put(key, value, mPayloadWriter)) {
+      mBytesWritten += pairByteCount(key, value);
+    }
+    if (mSparseIndex != null) {
+      mSparseIndex.put(offset, mBytesWritten - offset);
+    }
+    if (mLastKey != null && ByteBuffer.wrap(key).compareTo(ByteBuffer.wrap(mLastKey)) <= 0) {
+      mSorted = false;
+    }
+    mLastKey = key;
     mKeyCount++;
   }
 
   @Override
   public boolean canPut(byte[] key, byte[] value) {
-    // See BasePayloadWriter.insert()
-    // TODO(binfan): also take into account the potential index size change
-    return byteCount() + key.length + value.length
-        + Constants.BYTES_IN_INTEGER * 2 <= mMaxSizeBytes;
+    long pairBytes = pairByteCount(key, value);
+    if (mFormat == KeyValuePartitionFormat.LINEAR_PROBING) {
+      // The linear probing index does not grow
+      return byteCount() + pairBytes <= mMaxSizeBytes;
+    }
+    // The index may also grow to hold one more key, and the sparse index to hold one more data
+    // block
+    return mBytesWritten + ((RobinHoodIndex) mIndex).byteCount(mKeyCount + 1)
+        + mSparseIndex.byteCount(mBytesWritten)
+        + PartitionFormat.FOOTER_SIZE_BYTES + pairBytes <= mMaxSizeBytes;
   }
 
   /**
@@ -121,15 +175,43 @@ final class BaseKeyValuePartitionWriter implements KeyValuePartitionWriter {
    */
   public long byteCount() {
     Preconditions.checkState(!mClosed);
-    // last pointer to index
-    return mFileOutStream.getBytesWritten() + mIndex.byteCount() + Integer.SIZE / Byte.SIZE;
+    if (mFormat == KeyValuePartitionFormat.LINEAR_PROBING) {
+      return mBytesWritten + mIndex.byteCount()
+          + PartitionFormat.LINEAR_PROBING_FOOTER_SIZE_BYTES;
+    }
+    return mBytesWritten + mSparseIndex.byteCount() + mIndex.byteCount()
+        + PartitionFormat.FOOTER_SIZE_BYTES;
   }
 
   private void build() throws IOException {
     Preconditions.checkState(!mClosed);
     mFileOutStream.flush();
-    int indexOffset = mFileOutStream.getBytesWritten();
+    if (mFormat == KeyValuePartitionFormat.LINEAR_PROBING) {
+      int indexOffset = mBytesWritten;
+      mFileOutStream.write(mIndex.getBytes());
+      PartitionFormat.writeLinearProbingFooter(mFileOutStream, indexOffset);
+      return;
+    }
+    if (!mSorted) {
+      int indexOffset = mBytesWritten;
+      mFileOutStream.write(mIndex.getBytes());
+      PartitionFormat.writeFooter(mFileOutStream, indexOffset);
+      return;
+    }
+    int sparseIndexOffset = mBytesWritten;
+    byte[] sparseIndex = mSparseIndex.getBytes();
+    mFileOutStream.write(sparseIndex);
+    int indexOffset = sparseIndexOffset + sparseIndex.length;
     mFileOutStream.write(mIndex.getBytes());
-    ByteIOUtils.writeInt(mFileOutStream, indexOffset);
+    PartitionFormat.writeSortedFooter(mFileOutStream, sparseIndexOffset, indexOffset);
+  }
+
+  /**
+   * @param key the key of a pair
+   * @param value the value of the pair
+   * @return the number of bytes of the pair in the payload, see {@link BasePayloadWriter#insert}
+   */
+  private static int pairByteCount(byte[] key, byte[] value) {
+    return key.length + value.length + Constants.BYTES_IN_INTEGER * 2;
   }
 }
@@ -12,19 +12,38 @@
 package alluxio.client.keyvalue;
 
 import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.client.block.AlluxioBlockStore;
 import alluxio.client.file.FileSystemContext;
 import alluxio.exception.AlluxioException;
 import alluxio.thrift.PartitionInfo;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.BufferUtils;
+import alluxio.wire.BlockInfo;
+import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -34,6 +53,14 @@ import javax.annotation.concurrent.NotThreadSafe;
 @NotThreadSafe
 class BaseKeyValueStoreReader implements KeyValueStoreReader {
   private static final Logger LOG = LoggerFactory.getLogger(BaseKeyValueStoreReader.class);
+  /**
+   * The number of bytes of keys after which the keys of a worker are looked up by another RPC of
+   * {@link #multiGet(List)}, half of the maximum thrift frame so that the framing fits too.
+   */
+  private static final long MULTI_GET_REQUEST_BYTES =
+      Configuration.getBytes(PropertyKey.NETWORK_THRIFT_FRAME_SIZE_BYTES_MAX) / 2;
+  /** The bytes sent for each key besides the key itself, its length and its block id. */
+  private static final int MULTI_GET_KEY_OVERHEAD_BYTES = Constants.BYTES_IN_INTEGER + 8;
 
   private final InetSocketAddress mMasterAddress = FileSystemContext.INSTANCE.getMasterAddress();
   private final KeyValueMasterClient mMasterClient;
@@ -41,6 +68,25 @@ class BaseKeyValueStoreReader implements KeyValueStoreReader {
   /** A list of partitions of the store. */
   private final List<PartitionInfo> mPartitions;
 
+  /** The pool querying the workers in parallel for {@link #multiGet(List)}, created when needed. */
+  private ExecutorService mMultiGetExecutor;
+
+  /**
+   * The readers of the partitions stored by the local worker, which are read without RPCs, by the
+   * id of the block of the partition.
+   */
+  private final LocalPartitionReaderCache mLocalReaders = new LocalPartitionReaderCache(
+      new LocalPartitionReaderCache.Opener() {
+        @Override
+        public KeyValuePartitionReader open(long blockId) throws IOException {
+          BlockInfo info = AlluxioBlockStore.create().getInfo(blockId);
+          return LocalKeyValuePartitionReader
+              .create(FileSystemContext.INSTANCE, blockId, info.getLocations());
+        }
+      },
+      Configuration.getInt(PropertyKey.KEY_VALUE_READER_LOCAL_PARTITIONS_MAX),
+      Configuration.getLong(PropertyKey.KEY_VALUE_READER_LOCAL_PARTITIONS_IDLE_TIMEOUT_MS));
+
   /**
    * Constructs a {@link BaseKeyValueStoreReader} instance.
    *
@@ -55,7 +101,12 @@ class BaseKeyValueStoreReader implements KeyValueStoreReader {
   }
 
   @Override
-  public void close() {
+  public void close() throws IOException {
+    if (mMultiGetExecutor != null) {
+      mMultiGetExecutor.shutdownNow();
+      mMultiGetExecutor = null;
+    }
+    mLocalReaders.close();
   }
 
   @Override
@@ -70,6 +121,96 @@ class BaseKeyValueStoreReader implements KeyValueStoreReader {
   @Override
   public ByteBuffer get(ByteBuffer key) throws IOException, AlluxioException {
     Preconditions.checkNotNull(key);
+    PartitionInfo partition = getPartition(key);
+    if (partition == null) {
+      return null;
+    }
+    long blockId = partition.getBlockId();
+    KeyValuePartitionReader localReader = mLocalReaders.get(blockId);
+    if (localReader != null) {
+      return localReader.get(key);
+    }
+    try (KeyValuePartitionReader reader = new BaseKeyValuePartitionReader(blockId)) {
+      return reader.get(key);
+    }
+  }
+
+  @Override
+  public List<ByteBuffer> multiGet(List<ByteBuffer> keys) throws IOException, AlluxioException {
+    Preconditions.checkNotNull(keys);
+    ByteBuffer[] values = new ByteBuffer[keys.size()];
+    // Looks up the keys of the local partitions, and groups the other keys by the worker storing
+    // their partitions, as each worker is queried once
+    AlluxioBlockStore blockStore = AlluxioBlockStore.create();
+    Map<Long, WorkerNetAddress> blockWorkers = new HashMap<>();
+    Map<WorkerNetAddress, MultiGetBatch> batches = new HashMap<>();
+    for (int i = 0; i < keys.size(); i++) {
+      ByteBuffer key = Preconditions.checkNotNull(keys.get(i));
+      PartitionInfo partition = getPartition(key);
+      if (partition == null) {
+        continue;
+      }
+      long blockId = partition.getBlockId();
+      KeyValuePartitionReader localReader = mLocalReaders.get(blockId);
+      if (localReader != null) {
+        values[i] = localReader.get(key);
+        continue;
+      }
+      WorkerNetAddress address = blockWorkers.get(blockId);
+      if (address == null) {
+        address = BaseKeyValuePartitionReader.getWorkerAddress(blockStore.getInfo(blockId));
+        blockWorkers.put(blockId, address);
+      }
+      MultiGetBatch batch = batches.get(address);
+      if (batch == null) {
+        batch = new MultiGetBatch(address, values);
+        batches.put(address, batch);
+      }
+      batch.add(i, blockId, key);
+    }
+
+    if (batches.size() == 1) {
+      batches.values().iterator().next().call();
+    } else if (batches.size() > 1) {
+      if (mMultiGetExecutor == null) {
+        mMultiGetExecutor = Executors.newCachedThreadPool(
+            ThreadFactoryUtils.build("key-value-multi-get-%d", true));
+      }
+      List<Future<Void>> futures = new ArrayList<>(batches.size());
+      for (MultiGetBatch batch : batches.values()) {
+        futures.add(mMultiGetExecutor.submit(batch));
+      }
+      for (Future<Void> future : futures) {
+        waitFor(future);
+      }
+    }
+    return Arrays.asList(values);
+  }
+
+  /**
+   * Waits for a batch of {@link #multiGet(List)} to be looked up.
+   *
+   * @param future the future of the lookup
+   */
+  private static void waitFor(Future<Void> future) throws IOException, AlluxioException {
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class, AlluxioException.class);
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * Finds the partition whose key range contains the given key.
+   *
+   * @param key the key
+   * @return the partition, or null if the key is not in the key-value store
+   */
+  private PartitionInfo getPartition(ByteBuffer key) {
     int left = 0;
     int right = mPartitions.size();
     while (left < right) {
@@ -82,10 +223,7 @@ class BaseKeyValueStoreReader implements KeyValueStoreReader {
         left = middle + 1;
       } else {
         // The key is either in this partition or not in the key-value store
-        long blockId = partition.getBlockId();
-        try (KeyValuePartitionReader reader = KeyValuePartitionReader.Factory.create(blockId)) {
-          return reader.get(key);
-        }
+        return partition;
       }
     }
     return null;
@@ -96,6 +234,21 @@ class BaseKeyValueStoreReader implements KeyValueStoreReader {
     return new KeyValueStoreIterator(mPartitions);
   }
 
+  @Override
+  public KeyValueIterator scan(ByteBuffer startKey, ByteBuffer endKey)
+      throws IOException, AlluxioException {
+    // Only the partitions whose key ranges overlap the range are scanned. NOTE: keyStart and
+    // keyLimit are both inclusive
+    List<PartitionInfo> partitions = new ArrayList<>();
+    for (PartitionInfo partition : mPartitions) {
+      if ((startKey == null || partition.bufferForKeyLimit().compareTo(startKey) >= 0)
+          && (endKey == null || partition.bufferForKeyStart().compareTo(endKey) < 0)) {
+        partitions.add(partition);
+      }
+    }
+    return new KeyValueStoreIterator(partitions, startKey, endKey);
+  }
+
   @Override
   public int size() throws IOException, AlluxioException {
     int totalSize = 0;
@@ -104,4 +257,90 @@ class BaseKeyValueStoreReader implements KeyValueStoreReader {
     }
     return totalSize;
   }
+
+  /**
+   * The keys of a {@link #multiGet(List)} stored by the same worker, which are looked up with a
+   * single RPC.
+   */
+  private static final class MultiGetBatch implements Callable<Void> {
+    private final WorkerNetAddress mAddress;
+    /** The values of all the keys, where the values found for this batch are set. */
+    private final ByteBuffer[] mValues;
+    /** The indices of the keys of this batch in all the keys. */
+    private final List<Integer> mIndices = new ArrayList<>();
+    private final List<Long> mBlockIds = new ArrayList<>();
+    private final List<ByteBuffer> mKeys = new ArrayList<>();
+
+    /**
+     * @param address the address of the worker
+     * @param values the values of all the keys
+     */
+    MultiGetBatch(WorkerNetAddress address, ByteBuffer[] values) {
+      mAddress = address;
+      mValues = values;
+    }
+
+    /**
+     * Adds a key to the batch.
+     *
+     * @param index the index of the key in all the keys
+     * @param blockId the id of the block of the partition of the key
+     * @param key the key
+     */
+    void add(int index, long blockId, ByteBuffer key) {
+      mIndices.add(index);
+      mBlockIds.add(blockId);
+      mKeys.add(key);
+    }
+
+    @Override
+    public Void call() throws IOException, AlluxioException {
+      // The keys are sent by block, so that the worker locks each block once for its keys
+      List<Integer> positions = new ArrayList<>(mKeys.size());
+      for (int i = 0; i < mKeys.size(); i++) {
+        positions.add(i);
+      }
+      Collections.sort(positions, new Comparator<Integer>() {
+        @Override
+        public int compare(Integer position1, Integer position2) {
+          return mBlockIds.get(position1).compareTo(mBlockIds.get(position2));
+        }
+      });
+      KeyValueWorkerClient client = new KeyValueWorkerClient(mAddress);
+      try {
+        int start = 0;
+        while (start < positions.size()) {
+          // Each request fits in a thrift frame, and the worker returns the values of the first
+          // keys of the request when they would not fit in the response
+          List<Long> blockIds = new ArrayList<>();
+          List<ByteBuffer> keys = new ArrayList<>();
+          long bytes = 0;
+          for (int i = start; i < positions.size(); i++) {
+            ByteBuffer key = mKeys.get(positions.get(i));
+            bytes += key.remaining() + MULTI_GET_KEY_OVERHEAD_BYTES;
+            if (bytes > MULTI_GET_REQUEST_BYTES && !keys.isEmpty()) {
+              break;
+            }
+            blockIds.add(mBlockIds.get(positions.get(i)));
+            keys.add(key);
+          }
+          List<ByteBuffer> values = client.multiGet(blockIds, keys);
+          if (values.isEmpty()) {
+            throw new IOException("Worker " + mAddress + " returned no value for "
+                + keys.size() + " keys");
+          }
+          for (int i = 0; i < values.size(); i++) {
+            ByteBuffer value = values.get(i);
+            if (value.remaining() > 0) {
+              mValues[mIndices.get(positions.get(start + i))] = value;
+            }
+          }
+          start += values.size();
+        }
+      } finally {
+        client.close();
+      }
+      return null;
+    }
+  }
 }
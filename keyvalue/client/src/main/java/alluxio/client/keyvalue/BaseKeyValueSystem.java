@@ -12,6 +12,8 @@
 package alluxio.client.keyvalue;
 
 import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.PropertyKey;
 import alluxio.annotation.PublicApi;
 import alluxio.client.file.FileSystemContext;
 import alluxio.exception.AlluxioException;
@@ -31,7 +33,9 @@ import javax.annotation.concurrent.ThreadSafe;
 /**
  * Default implementation of the {@link KeyValueSystem} interface. Developers can extend this class
  * instead of implementing the interface. This implementation reads and writes key-value data
- * through {@link BaseKeyValueStoreReader} and {@link BaseKeyValueStoreWriter}.
+ * through {@link BaseKeyValueStoreReader} and {@link BaseKeyValueStoreWriter}, or
+ * {@link ParallelKeyValueStoreWriter} when {@link PropertyKey#KEY_VALUE_WRITER_THREADS} is larger
+ * than 1.
  */
 @PublicApi
 @ThreadSafe
@@ -59,7 +63,11 @@ public final class BaseKeyValueSystem implements KeyValueSystem {
   @Override
   public KeyValueStoreWriter createStore(AlluxioURI uri) throws IOException, AlluxioException {
     Preconditions.checkNotNull(uri, PreconditionMessage.URI_KEY_VALUE_STORE_NULL);
+    int numThreads = Configuration.getInt(PropertyKey.KEY_VALUE_WRITER_THREADS);
     try {
+      if (numThreads > 1) {
+        return new ParallelKeyValueStoreWriter(uri, numThreads);
+      }
       return new BaseKeyValueStoreWriter(uri);
     } catch (UnavailableException e) {
       throw e;
@@ -104,5 +112,20 @@ public final class BaseKeyValueSystem implements KeyValueSystem {
     } catch (AlluxioStatusException e) {
       throw e.toAlluxioException();
     }
+    if (Configuration.getBoolean(PropertyKey.KEY_VALUE_COMPACTION_ENABLED)) {
+      compactStore(toUri);
+    }
+  }
+
+  @Override
+  public void compactStore(AlluxioURI uri) throws IOException, AlluxioException {
+    Preconditions.checkNotNull(uri, PreconditionMessage.URI_KEY_VALUE_STORE_NULL);
+    try {
+      new KeyValueStoreCompactor(mMasterClient).compact(uri);
+    } catch (UnavailableException e) {
+      throw new IOException(e);
+    } catch (AlluxioStatusException e) {
+      throw e.toAlluxioException();
+    }
   }
 }
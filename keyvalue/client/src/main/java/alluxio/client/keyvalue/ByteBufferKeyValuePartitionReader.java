@@ -11,9 +11,9 @@
 
 package alluxio.client.keyvalue;
 
+import alluxio.Constants;
 import alluxio.exception.AlluxioException;
 import alluxio.util.io.BufferUtils;
-import alluxio.util.io.ByteIOUtils;
 
 import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
@@ -21,26 +21,37 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Reader that implements {@link KeyValuePartitionReader} to access a key-value file using random
- * access API.
+ * access API. The file may be in any of the {@link PartitionFormat}s.
+ * <p>
+ * The reader only reads the file with absolute positions, and does not change the position of the
+ * buffer of the file, so it may be shared by threads, as long as the buffer is not modified.
  */
-@NotThreadSafe
+@ThreadSafe
 public final class ByteBufferKeyValuePartitionReader implements KeyValuePartitionReader {
   private static final Logger LOG =
       LoggerFactory.getLogger(ByteBufferKeyValuePartitionReader.class);
 
-  private Index mIndex;
-  private PayloadReader mPayloadReader;
-  private ByteBuffer mBuf;
-  private int mBufferLength;
-  /** Whether this writer is closed. */
-  private boolean mClosed;
+  private final Index mIndex;
+  /** The sparse index of the payload, or null if the keys of the partition are not sorted. */
+  private final SparseIndex mSparseIndex;
+  /**
+   * The offsets of all the pairs sorted by key, for the partitions without a sparse index. It is
+   * built when needed, possibly by multiple threads sharing the reader.
+   */
+  private volatile int[] mSortedOffsets;
+  private final PayloadReader mPayloadReader;
+  private final ByteBuffer mBuf;
+  private final int mBufferLength;
+  /** Whether this reader is closed. */
+  private volatile boolean mClosed;
 
   /**
    * Constructs {@link ByteBufferKeyValuePartitionReader}.
@@ -51,15 +62,13 @@ public final class ByteBufferKeyValuePartitionReader implements KeyValuePartitio
     mBuf = Preconditions.checkNotNull(fileBytes);
     mBufferLength = mBuf.remaining();
     mIndex = createIndex();
+    mSparseIndex = PartitionFormat.loadSparseIndex(mBuf);
     mPayloadReader = createPayloadReader();
     mClosed = false;
   }
 
   private Index createIndex() {
-    int indexOffset = ByteIOUtils.readInt(mBuf, mBufferLength - 4);
-    ByteBuffer indexBytes =
-        BufferUtils.sliceByteBuffer(mBuf, indexOffset, mBufferLength - 4 - indexOffset);
-    return LinearProbingIndex.loadFromByteArray(indexBytes);
+    return PartitionFormat.loadIndex(mBuf);
   }
 
   private PayloadReader createPayloadReader() {
@@ -96,6 +105,12 @@ public final class ByteBufferKeyValuePartitionReader implements KeyValuePartitio
     mClosed = true;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The pairs are iterated in the order of the index, which does not sort the keys, use
+   * {@link #scan(ByteBuffer, ByteBuffer)} to iterate them in the order of the keys.
+   */
   @Override
   public KeyValueIterator iterator() {
     return new KeyValueIterator() {
@@ -118,6 +133,183 @@ public final class ByteBufferKeyValuePartitionReader implements KeyValuePartitio
     };
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The pairs are read sequentially from the payload, from the data block found with the sparse
+   * index of the partition. For the partitions without a sparse index, the offsets of all the pairs
+   * are sorted by key when the partition is first scanned, so that the pairs are still iterated in
+   * the order of the keys.
+   */
+  @Override
+  public KeyValueIterator scan(ByteBuffer startKey, ByteBuffer endKey) {
+    Preconditions.checkState(!mClosed);
+    return new RangeIterator(startKey, endKey);
+  }
+
+  /**
+   * @return the offsets of all the pairs in the payload in the increasing order of their keys
+   */
+  private int[] getSortedOffsets() {
+    int[] sortedOffsets = mSortedOffsets;
+    if (sortedOffsets != null) {
+      return sortedOffsets;
+    }
+    int payloadLength = PartitionFormat.getPayloadLength(mBuf);
+    sortedOffsets = new int[mIndex.keyCount()];
+    int count = 0;
+    for (int offset = 0; offset < payloadLength; offset = nextOffset(offset)) {
+      if (count == sortedOffsets.length) {
+        sortedOffsets = Arrays.copyOf(sortedOffsets, Math.max(1, count * 2));
+      }
+      sortedOffsets[count++] = offset;
+    }
+    if (count < sortedOffsets.length) {
+      sortedOffsets = Arrays.copyOf(sortedOffsets, count);
+    }
+    sortByKey(sortedOffsets);
+    mSortedOffsets = sortedOffsets;
+    return sortedOffsets;
+  }
+
+  /**
+   * Sorts the offsets of pairs in the increasing order of their keys, with a bottom-up merge sort
+   * of the primitive offsets.
+   *
+   * @param offsets the offsets of the pairs in the payload
+   */
+  private void sortByKey(int[] offsets) {
+    int length = offsets.length;
+    int[] src = offsets;
+    int[] dst = new int[length];
+    for (int width = 1; width < length; width *= 2) {
+      for (int low = 0; low < length; low += width * 2) {
+        int middle = Math.min(low + width, length);
+        int high = Math.min(low + width * 2, length);
+        int left = low;
+        int right = middle;
+        for (int i = low; i < high; i++) {
+          if (left < middle && (right >= high || mPayloadReader.getKey(src[left])
+              .compareTo(mPayloadReader.getKey(src[right])) <= 0)) {
+            dst[i] = src[left++];
+          } else {
+            dst[i] = src[right++];
+          }
+        }
+      }
+      int[] merged = dst;
+      dst = src;
+      src = merged;
+    }
+    if (src != offsets) {
+      System.arraycopy(src, 0, offsets, 0, length);
+    }
+  }
+
+  /**
+   * @param offset the offset of a pair in the payload
+   * @return the offset of the pair following it
+   */
+  private int nextOffset(int offset) {
+    return offset + Constants.BYTES_IN_INTEGER * 2 + mPayloadReader.getKey(offset).remaining()
+        + mPayloadReader.getValue(offset).remaining();
+  }
+
+  /**
+   * Iterator over the pairs of a range of keys, in the order of the keys. With a sparse index, the
+   * position of the iterator is the offset of the next pair in the payload, otherwise it is the
+   * index of the offset of the next pair in the sorted offsets.
+   */
+  private final class RangeIterator implements KeyValueIterator {
+    private final ByteBuffer mEndKey;
+    /** The offsets of the pairs sorted by key, or null to read the payload sequentially. */
+    private final int[] mOffsets;
+    /** The position of the next pair, or -1 if there are no more pairs in the range. */
+    private int mPosition;
+
+    /**
+     * @param startKey the first key of the range, inclusive, or null if the range has no start
+     * @param endKey the key ending the range, exclusive, or null if the range has no end
+     */
+    RangeIterator(ByteBuffer startKey, ByteBuffer endKey) {
+      mEndKey = endKey;
+      mOffsets = mSparseIndex == null ? getSortedOffsets() : null;
+      mPosition = checkPosition(seek(startKey));
+    }
+
+    /**
+     * @param startKey the first key of the range, or null if the range has no start
+     * @return the position of the first pair whose key is not less than the start key
+     */
+    private int seek(ByteBuffer startKey) {
+      if (startKey == null) {
+        return 0;
+      }
+      if (mOffsets != null) {
+        // Finds the first offset whose key is not less than the start key
+        int left = 0;
+        int right = mOffsets.length;
+        while (left < right) {
+          int middle = (left + right) / 2;
+          if (mPayloadReader.getKey(mOffsets[middle]).compareTo(startKey) < 0) {
+            left = middle + 1;
+          } else {
+            right = middle;
+          }
+        }
+        return left;
+      }
+      // The data block found may start with keys before the range
+      int offset = mSparseIndex.seek(startKey, mPayloadReader);
+      while (offset < mSparseIndex.getEndOffset()
+          && mPayloadReader.getKey(offset).compareTo(startKey) < 0) {
+        offset = nextOffset(offset);
+      }
+      return offset;
+    }
+
+    /**
+     * @param position the position of a pair
+     * @return the position if the pair exists and is in the range, -1 otherwise
+     */
+    private int checkPosition(int position) {
+      boolean exists = mOffsets == null
+          ? position < mSparseIndex.getEndOffset() : position < mOffsets.length;
+      if (!exists) {
+        return -1;
+      }
+      if (mEndKey != null && mPayloadReader.getKey(offsetOf(position)).compareTo(mEndKey) >= 0) {
+        return -1;
+      }
+      return position;
+    }
+
+    /**
+     * @param position the position of a pair
+     * @return the offset of the pair in the payload
+     */
+    private int offsetOf(int position) {
+      return mOffsets == null ? position : mOffsets[position];
+    }
+
+    @Override
+    public boolean hasNext() {
+      return mPosition >= 0;
+    }
+
+    @Override
+    public KeyValuePair next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      int offset = offsetOf(mPosition);
+      KeyValuePair pair =
+          new KeyValuePair(mPayloadReader.getKey(offset), mPayloadReader.getValue(offset));
+      mPosition = checkPosition(mOffsets == null ? nextOffset(mPosition) : mPosition + 1);
+      return pair;
+    }
+  }
+
   @Override
   public int size() throws IOException, AlluxioException {
     return mIndex.keyCount();
@@ -15,6 +15,7 @@ import alluxio.AbstractMasterClient;
 import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.thrift.AlluxioService;
+import alluxio.thrift.CompactStoreTOptions;
 import alluxio.thrift.CompletePartitionTOptions;
 import alluxio.thrift.CompleteStoreTOptions;
 import alluxio.thrift.CreateStoreTOptions;
@@ -166,6 +167,27 @@ public final class KeyValueMasterClient extends AbstractMasterClient {
     });
   }
 
+  /**
+   * Replaces some partitions of a completed key-value store with the partitions of another
+   * completed key-value store holding the same key-value pairs, which is then removed.
+   *
+   * @param path URI of the store
+   * @param compactedPath URI of the store of the compacted partitions, in the directory of the
+   *        store
+   * @param blockIds the block ids of the partitions replaced
+   */
+  synchronized void compactStore(final AlluxioURI path, final AlluxioURI compactedPath,
+      final List<Long> blockIds) throws IOException {
+    retryRPC(new RpcCallable<Void>() {
+      @Override
+      public Void call() throws TException {
+        mClient.compactStore(path.getPath(), compactedPath.getPath(), blockIds,
+            new CompactStoreTOptions());
+        return null;
+      }
+    });
+  }
+
   /**
    * Merges one completed key-value store to another completed key-value store.
    *
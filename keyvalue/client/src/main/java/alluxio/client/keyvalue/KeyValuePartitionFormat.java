@@ -0,0 +1,33 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The format of the key-value partitions written by the clients, see {@link PartitionFormat}. The
+ * partitions of all the formats are read.
+ */
+@ThreadSafe
+public enum KeyValuePartitionFormat {
+  /**
+   * The original format, with a {@link LinearProbingIndex}, which the readers of the previous
+   * releases can read.
+   */
+  LINEAR_PROBING,
+  /**
+   * The versioned formats, with a {@link RobinHoodIndex}, and a {@link SparseIndex} when the keys
+   * are put in increasing order. The readers of the previous releases can not read them.
+   */
+  ROBIN_HOOD,
+  ;
+}
@@ -12,8 +12,11 @@
 package alluxio.client.keyvalue;
 
 import alluxio.AlluxioURI;
+import alluxio.client.block.AlluxioBlockStore;
 import alluxio.client.file.FileSystem;
+import alluxio.client.file.FileSystemContext;
 import alluxio.exception.AlluxioException;
+import alluxio.wire.BlockInfo;
 
 import com.google.common.base.Preconditions;
 
@@ -49,19 +52,37 @@ public interface KeyValuePartitionReader extends Closeable, KeyValueIterable {
       // Each partition file should only contain one block.
       // TODO(binfan): throw exception if a partition file has more than one blocks
       long blockId = blockIds.get(0);
-      return new BaseKeyValuePartitionReader(blockId);
+      return create(blockId);
     }
 
     /**
      * Factory method to create a {@link KeyValuePartitionReader} given the block id of a key-value
-     * partition.
+     * partition. A partition stored by the local worker is read locally without RPCs, the other
+     * partitions are read through their workers.
      *
      * @param blockId blockId the key-value partition to use as input
      * @return an instance of a {@link KeyValuePartitionReader}
      */
     public static KeyValuePartitionReader create(long blockId)
         throws AlluxioException, IOException {
-      return new BaseKeyValuePartitionReader(blockId);
+      BlockInfo info = AlluxioBlockStore.create().getInfo(blockId);
+      KeyValuePartitionReader reader = LocalKeyValuePartitionReader
+          .create(FileSystemContext.INSTANCE, blockId, info.getLocations());
+      if (reader != null) {
+        return reader;
+      }
+      return new BaseKeyValuePartitionReader(info);
+    }
+
+    /**
+     * Factory method to create a {@link KeyValuePartitionReader} given the bytes of a key-value
+     * partition, which may be in any of the {@link PartitionFormat}s.
+     *
+     * @param fileBytes the bytes of the key-value partition to use as input
+     * @return an instance of a {@link KeyValuePartitionReader}
+     */
+    public static KeyValuePartitionReader create(ByteBuffer fileBytes) {
+      return new ByteBufferKeyValuePartitionReader(fileBytes);
     }
   }
 
@@ -84,6 +105,17 @@ public interface KeyValuePartitionReader extends Closeable, KeyValueIterable {
    */
   ByteBuffer get(ByteBuffer key) throws IOException, AlluxioException;
 
+  /**
+   * Gets an iterator over the key-value pairs whose keys are in a range, in the increasing order of
+   * the keys, including for the partitions whose keys were not put in increasing order.
+   *
+   * @param startKey the first key of the range, inclusive, or null to start from the first key
+   * @param endKey the key ending the range, exclusive, or null to end at the last key
+   * @return the iterator over the key-value pairs in the range
+   */
+  KeyValueIterator scan(ByteBuffer startKey, ByteBuffer endKey)
+      throws IOException, AlluxioException;
+
   /**
    * @return the number of key-value pairs in the partition
    */
@@ -0,0 +1,510 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.client.file.options.DeleteOptions;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.status.DataLossException;
+import alluxio.exception.status.NotFoundException;
+import alluxio.thrift.PartitionInfo;
+import alluxio.util.CommonUtils;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.io.PathUtils;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Compacts a completed key-value store which other stores were merged into.
+ * <p>
+ * Merging stores concatenates their partitions, so that the partitions of a store may overlap,
+ * which breaks the binary search of the readers over the partitions, and that the last partition
+ * of each store merged stays undersized. The partitions of a store are sorted by their first keys
+ * and grouped by overlapping ranges of keys. Each run of consecutive groups which overlap or
+ * consist of an undersized partition is rewritten into partitions of up to the maximum partition
+ * size, by merging the sorted scans of its partitions. When a key is in several partitions, the
+ * value of the partition merged last is kept.
+ * <p>
+ * The partitions are read and written by this client, into a temporary store in the directory of
+ * the store. Once the pairs scanned from the partitions merged are checked to be all the pairs of
+ * these partitions, the master swaps the new partitions with the partitions they replace by a
+ * single journal entry. The files of the partitions replaced are moved into a directory of the
+ * store rather than deleted, so that the readers which opened the store before can still read
+ * them, and are deleted by the compactions of the store started once
+ * {@link PropertyKey#KEY_VALUE_COMPACTION_DELETION_DELAY_MS} has elapsed.
+ */
+@NotThreadSafe
+final class KeyValueStoreCompactor {
+  private static final Logger LOG = LoggerFactory.getLogger(KeyValueStoreCompactor.class);
+  /** The prefix of the names of the directories of the files of the partitions replaced. */
+  private static final String REPLACED_DIRECTORY_PREFIX = "replaced-";
+
+  /**
+   * Orders the scans of the partitions merged by their current keys, then by the reverse order of
+   * the partitions so that the partitions merged last come first.
+   */
+  private static final Comparator<Source> SOURCE_COMPARATOR = new Comparator<Source>() {
+    @Override
+    public int compare(Source source1, Source source2) {
+      int order = source1.getPair().getKey().compareTo(source2.getPair().getKey());
+      return order != 0 ? order : source2.getIndex() - source1.getIndex();
+    }
+  };
+
+  private final FileSystem mFileSystem = FileSystem.Factory.get();
+  private final KeyValueMasterClient mMasterClient;
+  private final long mMaxPartitionSizeBytes;
+  private final long mDeletionDelayMs;
+
+  /**
+   * Creates a new instance of {@link KeyValueStoreCompactor}.
+   *
+   * @param masterClient the client of the key-value master
+   */
+  KeyValueStoreCompactor(KeyValueMasterClient masterClient) {
+    mMasterClient = Preconditions.checkNotNull(masterClient);
+    mMaxPartitionSizeBytes = Configuration.getBytes(PropertyKey.KEY_VALUE_PARTITION_SIZE_BYTES_MAX);
+    mDeletionDelayMs = Configuration.getLong(PropertyKey.KEY_VALUE_COMPACTION_DELETION_DELAY_MS);
+  }
+
+  /**
+   * Compacts a completed store, if some of its partitions overlap or are undersized. The files of
+   * the partitions replaced by the previous compactions are deleted first, once they were replaced
+   * for longer than the deletion delay.
+   *
+   * @param storeUri the {@link AlluxioURI} to the store
+   */
+  void compact(AlluxioURI storeUri) throws IOException, AlluxioException {
+    List<PartitionInfo> partitions = mMasterClient.getPartitionInfo(storeUri);
+    Map<Long, URIStatus> files = new HashMap<>();
+    listPartitionFiles(storeUri, files);
+    if (partitions.size() < 2) {
+      return;
+    }
+    List<List<PartitionInfo>> runs = plan(partitions, files);
+    if (runs.isEmpty()) {
+      return;
+    }
+
+    long startMs = CommonUtils.getCurrentMs();
+    AlluxioURI compactedUri = new AlluxioURI(PathUtils.concatPath(storeUri.toString(),
+        String.format("compaction-%s", UUID.randomUUID().toString())));
+    List<Long> blockIds = new ArrayList<>();
+    long bytes = 0;
+    mMasterClient.createStore(compactedUri);
+    boolean swapped = false;
+    try {
+      PartitionBuilder builder = new PartitionBuilder(compactedUri);
+      for (List<PartitionInfo> run : runs) {
+        Set<Long> runBlockIds = new HashSet<>();
+        for (PartitionInfo info : run) {
+          runBlockIds.add(info.getBlockId());
+          URIStatus file = files.get(info.getBlockId());
+          bytes += file == null ? 0 : file.getLength();
+        }
+        // The partitions are merged in the order of the store, so that the value of the partition
+        // merged last is kept for the keys in several partitions
+        List<PartitionInfo> sources = new ArrayList<>();
+        for (PartitionInfo info : partitions) {
+          if (runBlockIds.contains(info.getBlockId())) {
+            sources.add(info);
+          }
+        }
+        rewrite(sources, builder);
+        builder.completePartition();
+        blockIds.addAll(runBlockIds);
+      }
+      mMasterClient.completeStore(compactedUri);
+      mMasterClient.compactStore(storeUri, compactedUri, blockIds);
+      swapped = true;
+    } finally {
+      if (!swapped) {
+        deleteStore(compactedUri);
+      }
+    }
+    moveReplacedFiles(storeUri, blockIds, files);
+
+    long durationMs = Math.max(CommonUtils.getCurrentMs() - startMs, 1);
+    LOG.info("Compacted {} partitions of {} bytes of key-value store {} in {} ms ({} MB/s)",
+        blockIds.size(), bytes, storeUri, durationMs,
+        String.format("%.2f", (double) bytes * Constants.SECOND_MS / Constants.MB / durationMs));
+  }
+
+  /**
+   * Finds the runs of partitions of a store to rewrite. The partitions are sorted by their first
+   * keys and grouped by overlapping ranges of keys, then the consecutive groups which overlap or
+   * consist of an undersized partition are gathered in runs. The runs of a single partition are
+   * left as they are.
+   *
+   * @param partitions the partitions of the store
+   * @param files the files of the partitions of the store by block id
+   * @return the runs of partitions to rewrite, in the order of their keys
+   */
+  private List<List<PartitionInfo>> plan(List<PartitionInfo> partitions,
+      Map<Long, URIStatus> files) {
+    List<PartitionInfo> sorted = new ArrayList<>(partitions);
+    Collections.sort(sorted, new Comparator<PartitionInfo>() {
+      @Override
+      public int compare(PartitionInfo info1, PartitionInfo info2) {
+        return info1.bufferForKeyStart().compareTo(info2.bufferForKeyStart());
+      }
+    });
+
+    List<List<PartitionInfo>> runs = new ArrayList<>();
+    List<PartitionInfo> run = new ArrayList<>();
+    List<PartitionInfo> group = new ArrayList<>();
+    ByteBuffer groupKeyLimit = null;
+    for (PartitionInfo info : sorted) {
+      if (groupKeyLimit != null && info.bufferForKeyStart().compareTo(groupKeyLimit) <= 0) {
+        // The key ranges are inclusive, so the partition overlaps the group
+        group.add(info);
+        if (info.bufferForKeyLimit().compareTo(groupKeyLimit) > 0) {
+          groupKeyLimit = info.bufferForKeyLimit();
+        }
+        continue;
+      }
+      addGroup(group, run, runs, files);
+      group = new ArrayList<>();
+      group.add(info);
+      groupKeyLimit = info.bufferForKeyLimit();
+    }
+    addGroup(group, run, runs, files);
+    addRun(run, runs);
+    return runs;
+  }
+
+  /**
+   * Adds a group of overlapping partitions to the current run if the group needs to be rewritten,
+   * otherwise ends the current run.
+   */
+  private void addGroup(List<PartitionInfo> group, List<PartitionInfo> run,
+      List<List<PartitionInfo>> runs, Map<Long, URIStatus> files) {
+    if (group.isEmpty()) {
+      return;
+    }
+    if (group.size() > 1 || isUndersized(group.get(0), files)) {
+      run.addAll(group);
+    } else {
+      addRun(run, runs);
+    }
+  }
+
+  /**
+   * Ends the current run, which is rewritten if it has several partitions.
+   */
+  private static void addRun(List<PartitionInfo> run, List<List<PartitionInfo>> runs) {
+    if (run.size() > 1) {
+      runs.add(new ArrayList<>(run));
+    }
+    run.clear();
+  }
+
+  /**
+   * @param info the partition
+   * @param files the files of the partitions of the store by block id
+   * @return whether the partition is smaller than half of the maximum partition size
+   */
+  private boolean isUndersized(PartitionInfo info, Map<Long, URIStatus> files) {
+    URIStatus file = files.get(info.getBlockId());
+    return file != null && file.getLength() < mMaxPartitionSizeBytes / 2;
+  }
+
+  /**
+   * Lists the files of the partitions of a store, including the partitions of the stores merged,
+   * which are in sub-directories. The directories of the files of the partitions replaced are
+   * skipped, and deleted once they were replaced for longer than the deletion delay.
+   *
+   * @param uri the directory to list
+   * @param files the files found by block id
+   */
+  private void listPartitionFiles(AlluxioURI uri, Map<Long, URIStatus> files)
+      throws IOException, AlluxioException {
+    for (URIStatus status : mFileSystem.listStatus(uri)) {
+      if (status.isFolder() && status.getName().startsWith(REPLACED_DIRECTORY_PREFIX)) {
+        deleteExpiredReplacedFiles(status);
+      } else if (status.isFolder()) {
+        listPartitionFiles(new AlluxioURI(status.getPath()), files);
+      } else if (!status.getBlockIds().isEmpty()) {
+        files.put(status.getBlockIds().get(0), status);
+      }
+    }
+  }
+
+  /**
+   * Merges the sorted scans of some partitions into new partitions.
+   *
+   * @param sources the partitions to merge, the value of the last one being kept for the keys in
+   *        several partitions
+   * @param builder the builder of the new partitions
+   * @throws DataLossException if the pairs scanned are not all the pairs of the partitions
+   */
+  private void rewrite(List<PartitionInfo> sources, PartitionBuilder builder)
+      throws IOException, AlluxioException {
+    List<KeyValuePartitionReader> readers = new ArrayList<>();
+    try {
+      PriorityQueue<Source> queue = new PriorityQueue<>(sources.size(), SOURCE_COMPARATOR);
+      long sourcePairs = 0;
+      for (int i = 0; i < sources.size(); i++) {
+        KeyValuePartitionReader reader =
+            KeyValuePartitionReader.Factory.create(sources.get(i).getBlockId());
+        readers.add(reader);
+        sourcePairs += reader.size();
+        Source source = new Source(reader.scan(null, null), i);
+        if (source.advance()) {
+          queue.add(source);
+        }
+      }
+      long scannedPairs = 0;
+      while (!queue.isEmpty()) {
+        Source source = queue.poll();
+        scannedPairs++;
+        KeyValuePair pair = source.getPair();
+        builder.put(BufferUtils.newByteArrayFromByteBuffer(pair.getKey()),
+            BufferUtils.newByteArrayFromByteBuffer(pair.getValue()));
+        // Skips the same key in the partitions merged before
+        while (!queue.isEmpty() && queue.peek().getPair().getKey().equals(pair.getKey())) {
+          Source duplicate = queue.poll();
+          scannedPairs++;
+          if (duplicate.advance()) {
+            queue.add(duplicate);
+          }
+        }
+        if (source.advance()) {
+          queue.add(source);
+        }
+      }
+      // The partitions replaced are only swapped once all their pairs are rewritten
+      if (scannedPairs != sourcePairs) {
+        throw new DataLossException(String.format(
+            "Scanned %d of the %d key-value pairs of the partitions to compact", scannedPairs,
+            sourcePairs));
+      }
+    } finally {
+      for (KeyValuePartitionReader reader : readers) {
+        reader.close();
+      }
+    }
+  }
+
+  /**
+   * Moves the files of the partitions replaced into a new directory of the store, and deletes
+   * their directories left empty, which were the directories of the stores merged.
+   *
+   * @param storeUri the {@link AlluxioURI} to the store
+   * @param blockIds the block ids of the partitions replaced
+   * @param files the files of the partitions of the store by block id
+   */
+  private void moveReplacedFiles(AlluxioURI storeUri, List<Long> blockIds,
+      Map<Long, URIStatus> files) {
+    AlluxioURI replacedUri = new AlluxioURI(PathUtils.concatPath(storeUri.toString(),
+        REPLACED_DIRECTORY_PREFIX + UUID.randomUUID().toString()));
+    try {
+      mFileSystem.createDirectory(replacedUri);
+    } catch (IOException | AlluxioException e) {
+      LOG.warn("Failed to create directory {} of compacted key-value partitions: {}", replacedUri,
+          e.getMessage());
+      return;
+    }
+    Set<AlluxioURI> directories = new HashSet<>();
+    for (long blockId : blockIds) {
+      URIStatus file = files.get(blockId);
+      if (file == null) {
+        continue;
+      }
+      AlluxioURI uri = new AlluxioURI(file.getPath());
+      try {
+        // The names of the partitions of the stores merged may collide, unlike their block ids
+        mFileSystem.rename(uri, new AlluxioURI(
+            PathUtils.concatPath(replacedUri.toString(), String.valueOf(blockId))));
+        directories.add(uri.getParent());
+      } catch (IOException | AlluxioException e) {
+        LOG.warn("Failed to move compacted key-value partition {}: {}", uri, e.getMessage());
+      }
+    }
+    directories.remove(storeUri);
+    for (AlluxioURI directory : directories) {
+      try {
+        if (mFileSystem.listStatus(directory).isEmpty()) {
+          mFileSystem.delete(directory);
+        }
+      } catch (IOException | AlluxioException e) {
+        LOG.debug("Failed to delete directory {} of compacted key-value partitions: {}", directory,
+            e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Deletes a directory of the files of the partitions replaced, if they were replaced for longer
+   * than the deletion delay.
+   *
+   * @param directory the status of the directory
+   */
+  private void deleteExpiredReplacedFiles(URIStatus directory) {
+    if (CommonUtils.getCurrentMs() - directory.getCreationTimeMs() < mDeletionDelayMs) {
+      return;
+    }
+    try {
+      mFileSystem.delete(new AlluxioURI(directory.getPath()),
+          DeleteOptions.defaults().setRecursive(true));
+    } catch (IOException | AlluxioException e) {
+      LOG.warn("Failed to delete directory {} of compacted key-value partitions: {}",
+          directory.getPath(), e.getMessage());
+    }
+  }
+
+  /**
+   * Deletes a temporary store of compacted partitions.
+   *
+   * @param uri the {@link AlluxioURI} to the store
+   */
+  private void deleteStore(AlluxioURI uri) {
+    try {
+      try {
+        mMasterClient.completeStore(uri);
+      } catch (NotFoundException e) {
+        // The store is already complete
+      }
+      mMasterClient.deleteStore(uri);
+    } catch (IOException e) {
+      LOG.warn("Failed to delete compacted key-value store {}: {}", uri, e.getMessage());
+    }
+  }
+
+  /**
+   * The scan of a partition being merged.
+   */
+  private static final class Source {
+    private final KeyValueIterator mIterator;
+    private final int mIndex;
+    private KeyValuePair mPair;
+
+    /**
+     * @param iterator the scan of the partition
+     * @param index the index of the partition in the partitions merged
+     */
+    Source(KeyValueIterator iterator, int index) {
+      mIterator = iterator;
+      mIndex = index;
+    }
+
+    /**
+     * @return the current key-value pair
+     */
+    KeyValuePair getPair() {
+      return mPair;
+    }
+
+    /**
+     * @return the index of the partition in the partitions merged
+     */
+    int getIndex() {
+      return mIndex;
+    }
+
+    /**
+     * Moves to the next key-value pair.
+     *
+     * @return whether there is a next pair
+     */
+    boolean advance() throws IOException, AlluxioException {
+      if (!mIterator.hasNext()) {
+        return false;
+      }
+      mPair = mIterator.next();
+      return true;
+    }
+  }
+
+  /**
+   * Builds the partitions of the temporary store, starting a new partition when the current one is
+   * full.
+   */
+  private final class PartitionBuilder {
+    private final AlluxioURI mStoreUri;
+    private long mPartitionIndex = 0;
+    private AlluxioURI mPartitionUri;
+    private KeyValuePartitionWriter mWriter;
+    private byte[] mKeyStart;
+    private byte[] mKeyLimit;
+
+    /**
+     * @param storeUri the {@link AlluxioURI} to the temporary store
+     */
+    PartitionBuilder(AlluxioURI storeUri) {
+      mStoreUri = storeUri;
+    }
+
+    /**
+     * Puts a key-value pair, in the increasing order of the keys.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    void put(byte[] key, byte[] value) throws IOException, AlluxioException {
+      if (mWriter != null && !mWriter.canPut(key, value)) {
+        completePartition();
+      }
+      if (mWriter == null) {
+        mPartitionUri = new AlluxioURI(
+            String.format("%s/part-%05d", mStoreUri, mPartitionIndex++));
+        mWriter = KeyValuePartitionWriter.Factory.create(mPartitionUri);
+        mKeyStart = key;
+      }
+      try {
+        mWriter.put(key, value);
+      } catch (IOException | RuntimeException e) {
+        mWriter.cancel();
+        mWriter = null;
+        throw e;
+      }
+      mKeyLimit = key;
+    }
+
+    /**
+     * Completes the partition being built, if any.
+     */
+    void completePartition() throws IOException, AlluxioException {
+      if (mWriter == null) {
+        return;
+      }
+      mWriter.close();
+      List<Long> blockIds = mFileSystem.getStatus(mPartitionUri).getBlockIds();
+      PartitionInfo info = new PartitionInfo(ByteBuffer.wrap(mKeyStart),
+          ByteBuffer.wrap(mKeyLimit), blockIds.get(0), mWriter.keyCount());
+      mMasterClient.completePartition(mStoreUri, info);
+      mWriter = null;
+    }
+  }
+}
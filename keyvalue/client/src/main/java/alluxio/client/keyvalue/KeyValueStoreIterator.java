@@ -17,20 +17,28 @@ import alluxio.thrift.PartitionInfo;
 import com.google.common.base.Preconditions;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.NoSuchElementException;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
- * {@link KeyValueIterator} to iterate over key-value pairs in {@link KeyValueSystem}.
+ * {@link KeyValueIterator} to iterate over key-value pairs in {@link KeyValueSystem}. The pairs of
+ * each partition are iterated in the order of their keys, optionally only in a range of keys.
  */
 @NotThreadSafe
 public final class KeyValueStoreIterator implements KeyValueIterator {
   /** All partitions. */
   private List<PartitionInfo> mPartitions;
+  /** The first key of the range to iterate, inclusive, or null if the range has no start. */
+  private final ByteBuffer mStartKey;
+  /** The key ending the range to iterate, exclusive, or null if the range has no end. */
+  private final ByteBuffer mEndKey;
   /** Index of the partition being visited. */
-  private int mPartitionIndex = -1;
+  private int mPartitionIndex;
+  /** Reader of the partition being visited. */
+  private KeyValuePartitionReader mPartitionReader;
   /** Iterator of the partition being visited. */
   private KeyValueIterator mPartitionIterator;
 
@@ -39,13 +47,42 @@ public final class KeyValueStoreIterator implements KeyValueIterator {
    */
   public KeyValueStoreIterator(List<PartitionInfo> partitions)
       throws IOException, AlluxioException {
+    this(partitions, null, null);
+  }
+
+  /**
+   * @param partitions the partitions to use
+   * @param startKey the first key of the range to iterate, inclusive, or null to start from the
+   *        first key
+   * @param endKey the key ending the range to iterate, exclusive, or null to end at the last key
+   */
+  public KeyValueStoreIterator(List<PartitionInfo> partitions, ByteBuffer startKey,
+      ByteBuffer endKey) throws IOException, AlluxioException {
     mPartitions = Preconditions.checkNotNull(partitions);
-    if (mPartitions.size() > 0) {
-      mPartitionIndex = 0;
-      long blockId = mPartitions.get(0).getBlockId();
-      KeyValuePartitionReader reader = KeyValuePartitionReader.Factory.create(blockId);
-      mPartitionIterator = reader.iterator();
+    mStartKey = startKey;
+    mEndKey = endKey;
+    openPartition(0);
+  }
+
+  /**
+   * Opens the partitions from the given one until a partition with key-value pairs is found. The
+   * reader of each partition is closed once all its key-value pairs are iterated.
+   *
+   * @param partitionIndex the index of the first partition to open
+   */
+  private void openPartition(int partitionIndex) throws IOException, AlluxioException {
+    for (mPartitionIndex = partitionIndex; mPartitionIndex < mPartitions.size();
+        mPartitionIndex++) {
+      long blockId = mPartitions.get(mPartitionIndex).getBlockId();
+      mPartitionReader = KeyValuePartitionReader.Factory.create(blockId);
+      mPartitionIterator = mPartitionReader.scan(mStartKey, mEndKey);
+      if (mPartitionIterator.hasNext()) {
+        return;
+      }
+      mPartitionReader.close();
     }
+    mPartitionReader = null;
+    mPartitionIterator = null;
   }
 
   @Override
@@ -62,14 +99,8 @@ public final class KeyValueStoreIterator implements KeyValueIterator {
     KeyValuePair ret = mPartitionIterator.next();
     if (!mPartitionIterator.hasNext()) {
       // Current partition has all been iterated, move to next partition.
-      mPartitionIndex++;
-      if (mPartitionIndex < mPartitions.size()) {
-        long blockId = mPartitions.get(mPartitionIndex).getBlockId();
-        KeyValuePartitionReader reader = KeyValuePartitionReader.Factory.create(blockId);
-        mPartitionIterator = reader.iterator();
-      } else {
-        mPartitionIterator = null;
-      }
+      mPartitionReader.close();
+      openPartition(mPartitionIndex + 1);
     }
     return ret;
   }
@@ -17,6 +17,7 @@ import alluxio.exception.AlluxioException;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * Interface for readers which accesses key-value stores in Alluxio.
@@ -26,7 +27,8 @@ public interface KeyValueStoreReader extends Closeable, KeyValueIterable {
   /**
    * Gets the value associated with {@code key}, returns null if not found. When getting large
    * values (e.g., larger than 10KB), {@link #get(ByteBuffer)} might be more efficient by taking
-   * advantage from zero-copy.
+   * advantage from zero-copy. An empty value can not be told apart from a key not found, and is
+   * returned as null too.
    *
    * @param key key to get, cannot be null
    * @return value associated with the given key, or null if not found
@@ -34,13 +36,38 @@ public interface KeyValueStoreReader extends Closeable, KeyValueIterable {
   byte[] get(byte[] key) throws IOException, AlluxioException;
 
   /**
-   * Gets the value associated with {@code key}, returns null if not found.
+   * Gets the value associated with {@code key}, returns null if not found. An empty value can not
+   * be told apart from a key not found, and is returned as null too.
    *
    * @param key key to get, cannot be null
    * @return value associated with the given key, or null if not found
    */
   ByteBuffer get(ByteBuffer key) throws IOException, AlluxioException;
 
+  /**
+   * Gets the values associated with a batch of keys. The keys stored by the same worker are looked
+   * up with a single RPC, and the workers are queried in parallel, so this is much faster than
+   * calling {@link #get(ByteBuffer)} for each key. The keys of a worker are sent in several RPCs
+   * when they or their values do not fit in a thrift frame. As for {@link #get(ByteBuffer)}, the
+   * empty values are returned as null.
+   *
+   * @param keys keys to get, none of them can be null
+   * @return values associated with the given keys in the same order, null for each key not found
+   */
+  List<ByteBuffer> multiGet(List<ByteBuffer> keys) throws IOException, AlluxioException;
+
+  /**
+   * Gets an iterator over the key-value pairs whose keys are in a range, in the increasing order of
+   * the keys. Only the partitions whose key ranges overlap the range are read, and the pairs are
+   * read from the partitions in batches as the iterator advances.
+   *
+   * @param startKey the first key of the range, inclusive, or null to start from the first key
+   * @param endKey the key ending the range, exclusive, or null to end at the last key
+   * @return the iterator over the key-value pairs in the range
+   */
+  KeyValueIterator scan(ByteBuffer startKey, ByteBuffer endKey)
+      throws IOException, AlluxioException;
+
   /**
    * @return the number of key-value pairs in the store
    */
@@ -53,7 +53,9 @@ public interface KeyValueSystem {
   KeyValueStoreReader openStore(AlluxioURI uri) throws IOException, AlluxioException;
 
   /**
-   * Gets a writer to create a new key-value store.
+   * Gets a writer to create a new key-value store. When
+   * {@link alluxio.PropertyKey#KEY_VALUE_WRITER_THREADS} is larger than 1, the writer builds
+   * several partitions concurrently, and the keys must be put in increasing order.
    *
    * @param uri {@link AlluxioURI} to the store
    * @return {@link BaseKeyValueStoreWriter} instance
@@ -82,10 +84,26 @@ public interface KeyValueSystem {
    * Merges one completed key-value store to another completed key-value store.
    *
    * If there are the same keys from both stores, they are merged too, for these keys, whose value
-   * will be retrieved is undetermined.
+   * will be retrieved is undetermined. When
+   * {@link alluxio.PropertyKey#KEY_VALUE_COMPACTION_ENABLED} is true, the store merged to is
+   * compacted afterwards, as by {@link #compactStore(AlluxioURI)}.
    *
    * @param fromUri the {@link AlluxioURI} to the store to be merged
    * @param toUri the {@link AlluxioURI} to the store to be merged to
    */
   void mergeStore(AlluxioURI fromUri, AlluxioURI toUri) throws IOException, AlluxioException;
+
+  /**
+   * Compacts a completed key-value store, by rewriting its partitions whose key ranges overlap or
+   * which are undersized, as left by merging stores, into sorted partitions which do not overlap.
+   * When a key is in several partitions, the value of the partition merged last is kept.
+   *
+   * The partitions are read and written by this client, then swapped atomically with the
+   * partitions they replace. The files of the partitions replaced are kept for
+   * {@link alluxio.PropertyKey#KEY_VALUE_COMPACTION_DELETION_DELAY_MS}, so that the readers opened
+   * before the compaction can still read them, then deleted by the next compaction of the store.
+   *
+   * @param uri the {@link AlluxioURI} to the store
+   */
+  void compactStore(AlluxioURI uri) throws IOException, AlluxioException;
 }
@@ -20,6 +20,9 @@ import alluxio.thrift.GetNextKeysTOptions;
 import alluxio.thrift.GetSizeTOptions;
 import alluxio.thrift.GetTOptions;
 import alluxio.thrift.KeyValueWorkerClientService;
+import alluxio.thrift.MultiGetTOptions;
+import alluxio.thrift.ScanTOptions;
+import alluxio.thrift.ScanTResponse;
 import alluxio.util.network.NetworkAddressUtils;
 import alluxio.wire.WorkerNetAddress;
 
@@ -27,6 +30,7 @@ import org.apache.thrift.TException;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.concurrent.ThreadSafe;
@@ -120,4 +124,53 @@ public final class KeyValueWorkerClient extends AbstractClient {
       }
     });
   }
+
+  /**
+   * Gets the values of a batch of keys, each from a specific key-value block, in a single RPC.
+   * The worker stops looking up the keys once the values found fill half of a thrift frame, so
+   * the values of the last keys may be missing from the result.
+   *
+   * @param blockIds the ids of the blocks, one for each key
+   * @param keys the keys to get the values for
+   * @return ByteBuffers of the values in the order of the keys, empty for the keys not found, for
+   *         at least the first key
+   */
+  public synchronized List<ByteBuffer> multiGet(final List<Long> blockIds,
+      final List<ByteBuffer> keys) throws IOException, AlluxioException {
+    return retryRPC(new RpcCallable<List<ByteBuffer>>() {
+      @Override
+      public List<ByteBuffer> call() throws AlluxioTException, TException {
+        return mClient.multiGet(blockIds, keys, new MultiGetTOptions()).getValues();
+      }
+    });
+  }
+
+  /**
+   * Gets a batch of key-value pairs of a range of keys in the partition, in the order of the keys.
+   * <p>
+   * If there are no more key-value pairs in the range, an empty list is returned.
+   *
+   * @param blockId the id of the partition
+   * @param startKey the first key of the range, inclusive, or null to start from the first key
+   * @param endKey the key ending the range, exclusive, or null to end at the last key
+   * @param numKeys maximum number of key-value pairs to fetch
+   * @return the next batch of key-value pairs in the range
+   */
+  public synchronized List<KeyValuePair> scan(final long blockId, final ByteBuffer startKey,
+      final ByteBuffer endKey, final int numKeys) throws IOException, AlluxioException {
+    return retryRPC(new RpcCallable<List<KeyValuePair>>() {
+      @Override
+      public List<KeyValuePair> call() throws AlluxioTException, TException {
+        // Keys are never empty, so an empty key is used for a range with no start or no end
+        ScanTResponse response = mClient.scan(blockId,
+            startKey == null ? ByteBuffer.allocate(0) : startKey,
+            endKey == null ? ByteBuffer.allocate(0) : endKey, numKeys, new ScanTOptions());
+        List<KeyValuePair> pairs = new ArrayList<>(response.getKeysSize());
+        for (int i = 0; i < response.getKeysSize(); i++) {
+          pairs.add(new KeyValuePair(response.getKeys().get(i), response.getValues().get(i)));
+        }
+        return pairs;
+      }
+    });
+  }
 }
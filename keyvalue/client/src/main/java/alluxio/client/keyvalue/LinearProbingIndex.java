@@ -58,6 +58,11 @@ public final class LinearProbingIndex implements Index {
       Hashing.murmur3_32(FINGERPRINT_HASHER_SEED);
   /** Size of each bucket in bytes. */
   private static final int BUCKET_SIZE_BYTES = Constants.BYTES_IN_INTEGER + 1;
+  /** Number of buckets of the indexes created empty. */
+  private static final int DEFAULT_NUM_BUCKETS = 1 << 15;
+  /** Size in bytes of the indexes created empty, which does not grow with the keys put. */
+  static final int DEFAULT_BYTE_COUNT =
+      Constants.BYTES_IN_INTEGER + DEFAULT_NUM_BUCKETS * BUCKET_SIZE_BYTES;
 
   /**
    * Total byte buffer of the index, including a key count and a hash table. This is to avoid
@@ -77,9 +82,8 @@ public final class LinearProbingIndex implements Index {
    * @return an instance of linear probing index, with no key added
    */
   public static LinearProbingIndex createEmptyIndex() {
-    int numBuckets = 1 << 15;
-    byte[] buffer = new byte[Constants.BYTES_IN_INTEGER + numBuckets * BUCKET_SIZE_BYTES];
-    return new LinearProbingIndex(ByteBuffer.wrap(buffer), numBuckets, 0);
+    byte[] buffer = new byte[DEFAULT_BYTE_COUNT];
+    return new LinearProbingIndex(ByteBuffer.wrap(buffer), DEFAULT_NUM_BUCKETS, 0);
   }
 
   /**
@@ -0,0 +1,164 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.netty.NettyRPC;
+import alluxio.client.netty.NettyRPCContext;
+import alluxio.exception.AlluxioException;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.util.CommonUtils;
+import alluxio.util.network.NettyUtils;
+import alluxio.util.proto.ProtoMessage;
+import alluxio.wire.BlockLocation;
+import alluxio.wire.WorkerNetAddress;
+import alluxio.worker.block.io.LocalFileBlockReader;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Implementation of {@link KeyValuePartitionReader} reading a partition stored by the local worker
+ * without RPCs. The partition is opened with the short-circuit block open of the data server,
+ * which locks the block while it is memory-mapped in the client, and is closed right after, so
+ * that a reader does not keep the block locked nor hold a channel to the data server. The mapping
+ * stays valid if the worker then removes the block, as the blocks are never modified in place.
+ * <p>
+ * The keys and values returned are slices of the mapped partition. The partition is not unmapped
+ * when the reader is closed, but once all of them are garbage collected, so that they stay valid.
+ */
+@NotThreadSafe
+final class LocalKeyValuePartitionReader implements KeyValuePartitionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(LocalKeyValuePartitionReader.class);
+  private static final long READ_TIMEOUT_MS =
+      Configuration.getLong(PropertyKey.USER_NETWORK_NETTY_TIMEOUT_MS);
+
+  /** The partition mapped in memory. */
+  private final ByteBuffer mBuffer;
+  private final ByteBufferKeyValuePartitionReader mReader;
+  private boolean mClosed;
+
+  /**
+   * Opens a partition if it is stored by the local worker and short-circuit reads are enabled.
+   *
+   * @param context the file system context
+   * @param blockId the id of the block of the partition
+   * @param locations the locations of the block
+   * @return the reader of the partition, or null if the partition can not be read locally
+   */
+  @Nullable
+  static LocalKeyValuePartitionReader create(FileSystemContext context, long blockId,
+      List<BlockLocation> locations) {
+    if (!Configuration.getBoolean(PropertyKey.USER_SHORT_CIRCUIT_ENABLED)) {
+      return null;
+    }
+    for (BlockLocation location : locations) {
+      WorkerNetAddress address = location.getWorkerAddress();
+      if (CommonUtils.isLocalHost(address) && !NettyUtils.isDomainSocketSupported(address)) {
+        try {
+          return new LocalKeyValuePartitionReader(context, address, blockId);
+        } catch (IOException e) {
+          // The block may have been removed from the local worker since its locations were got
+          LOG.debug("Failed to open key-value partition {} locally, reading it remotely: {}",
+              blockId, e.getMessage());
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Opens and maps a partition stored by the local worker.
+   *
+   * @param context the file system context
+   * @param address the address of the local worker
+   * @param blockId the id of the block of the partition
+   */
+  private LocalKeyValuePartitionReader(FileSystemContext context, WorkerNetAddress address,
+      long blockId) throws IOException {
+    Channel channel = context.acquireNettyChannel(address);
+    try {
+      Protocol.LocalBlockOpenRequest request = Protocol.LocalBlockOpenRequest.newBuilder()
+          .setBlockId(blockId).setPromote(false).build();
+      ProtoMessage message = NettyRPC
+          .call(NettyRPCContext.defaults().setChannel(channel).setTimeout(READ_TIMEOUT_MS),
+              new ProtoMessage(request));
+      Preconditions.checkState(message.isLocalBlockOpenResponse());
+      String path = message.asLocalBlockOpenResponse().getPath();
+      try (LocalFileBlockReader blockReader = new LocalFileBlockReader(path)) {
+        // The mapping stays valid once the file is closed
+        mBuffer = blockReader.read(0, blockReader.getLength());
+      } finally {
+        // The block is unlocked once it is mapped
+        Protocol.LocalBlockCloseRequest closeRequest =
+            Protocol.LocalBlockCloseRequest.newBuilder().setBlockId(blockId).build();
+        NettyRPC.call(NettyRPCContext.defaults().setChannel(channel).setTimeout(READ_TIMEOUT_MS),
+            new ProtoMessage(closeRequest));
+      }
+    } finally {
+      context.releaseNettyChannel(address, channel);
+    }
+    mReader = new ByteBufferKeyValuePartitionReader(mBuffer);
+    mClosed = false;
+  }
+
+  @Override
+  public byte[] get(byte[] key) throws IOException {
+    Preconditions.checkState(!mClosed, "Can not query a reader closed");
+    return mReader.get(key);
+  }
+
+  @Override
+  public ByteBuffer get(ByteBuffer key) throws IOException {
+    Preconditions.checkState(!mClosed, "Can not query a reader closed");
+    return mReader.get(key);
+  }
+
+  @Override
+  public KeyValueIterator iterator() throws IOException, AlluxioException {
+    Preconditions.checkState(!mClosed, "Can not iterate a reader closed");
+    return mReader.iterator();
+  }
+
+  @Override
+  public KeyValueIterator scan(ByteBuffer startKey, ByteBuffer endKey) {
+    Preconditions.checkState(!mClosed, "Can not scan a reader closed");
+    return mReader.scan(startKey, endKey);
+  }
+
+  @Override
+  public int size() throws IOException, AlluxioException {
+    Preconditions.checkState(!mClosed, "Can not query a reader closed");
+    return mReader.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    mReader.close();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A cache of the readers of the partitions of a key-value store stored by the local worker, keyed
+ * by block id. Each local reader keeps its partition mapped in memory, so the number of readers
+ * cached is bounded, and the readers not used for a while are closed. The partitions read remotely are cached too, so that they are not tried locally
+ * again on each lookup.
+ * <p>
+ * The readers are only evicted and closed by the operations of this cache, so that a reader got
+ * from the cache stays open until the next operation.
+ */
+@NotThreadSafe
+final class LocalPartitionReaderCache implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(LocalPartitionReaderCache.class);
+
+  /**
+   * Opens the reader of a partition if it is stored by the local worker.
+   */
+  interface Opener {
+    /**
+     * @param blockId the id of the block of the partition
+     * @return the reader of the partition, or null if the partition is read remotely
+     */
+    @Nullable
+    KeyValuePartitionReader open(long blockId) throws IOException;
+  }
+
+  private final Opener mOpener;
+  /** The readers of the local partitions, absent for the partitions read remotely. */
+  private final Cache<Long, Optional<KeyValuePartitionReader>> mReaders;
+
+  /**
+   * @param opener the opener of the local readers
+   * @param maxReaders the maximum number of local readers open
+   * @param idleTimeoutMs the time in milliseconds after which a reader not used is closed
+   */
+  LocalPartitionReaderCache(Opener opener, int maxReaders, long idleTimeoutMs) {
+    this(opener, maxReaders, idleTimeoutMs, Ticker.systemTicker());
+  }
+
+  /**
+   * @param opener the opener of the local readers
+   * @param maxReaders the maximum number of local readers open
+   * @param idleTimeoutMs the time in milliseconds after which a reader not used is closed
+   * @param ticker the source of time of the idle timeout
+   */
+  LocalPartitionReaderCache(Opener opener, int maxReaders, long idleTimeoutMs, Ticker ticker) {
+    Preconditions.checkArgument(maxReaders > 0, "The number of local readers must be positive");
+    mOpener = Preconditions.checkNotNull(opener);
+    // A single segment, as the maximum size is otherwise split between the segments
+    mReaders = CacheBuilder.newBuilder()
+        .concurrencyLevel(1)
+        .maximumSize(maxReaders)
+        .expireAfterAccess(idleTimeoutMs, TimeUnit.MILLISECONDS)
+        .ticker(ticker)
+        .removalListener(new RemovalListener<Long, Optional<KeyValuePartitionReader>>() {
+          @Override
+          public void onRemoval(
+              RemovalNotification<Long, Optional<KeyValuePartitionReader>> notification) {
+            if (!notification.getValue().isPresent()) {
+              return;
+            }
+            try {
+              notification.getValue().get().close();
+            } catch (IOException e) {
+              LOG.warn("Failed to close the local reader of key-value partition {}: {}",
+                  notification.getKey(), e.getMessage());
+            }
+          }
+        })
+        .build();
+  }
+
+  /**
+   * Gets the reader of a partition if it is stored by the local worker, opening it on the first
+   * lookup in the partition since it was evicted. The readers idle for longer than the timeout are
+   * closed first.
+   *
+   * @param blockId the id of the block of the partition
+   * @return the reader of the partition, or null if the partition is read remotely
+   */
+  @Nullable
+  KeyValuePartitionReader get(long blockId) throws IOException {
+    mReaders.cleanUp();
+    Optional<KeyValuePartitionReader> reader = mReaders.getIfPresent(blockId);
+    if (reader == null) {
+      reader = Optional.fromNullable(mOpener.open(blockId));
+      mReaders.put(blockId, reader);
+    }
+    return reader.orNull();
+  }
+
+  /**
+   * Closes all the local readers.
+   */
+  @Override
+  public void close() {
+    mReaders.invalidateAll();
+    mReaders.cleanUp();
+  }
+}
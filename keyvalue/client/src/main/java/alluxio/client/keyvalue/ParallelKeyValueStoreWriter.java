@@ -0,0 +1,353 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import alluxio.AlluxioURI;
+import alluxio.Configuration;
+import alluxio.Constants;
+import alluxio.PropertyKey;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.FileSystemContext;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.ExceptionMessage;
+import alluxio.exception.PreconditionMessage;
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.UnavailableException;
+import alluxio.thrift.PartitionInfo;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Implementation of {@link KeyValueStoreWriter} building several partitions of a store
+ * concurrently, for keys put in increasing order.
+ * <p>
+ * The pairs put are buffered in memory until they fill a partition, then the partition is built
+ * by a thread pool: its index is constructed, its file is written and it is completed in the
+ * master, while the next partitions are filled and built. The partitions are still completed in
+ * the order of their keys. Up to the number of threads of partitions are built at once, so that
+ * up to this number plus one partitions are buffered in memory. Each pair is buffered as a byte
+ * array for its key and one for its value, so the memory used also grows with the number of
+ * pairs, by about 50 bytes per pair.
+ * <p>
+ * When the writer is canceled, the files of the partitions already written are deleted.
+ */
+@NotThreadSafe
+final class ParallelKeyValueStoreWriter implements KeyValueStoreWriter {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelKeyValueStoreWriter.class);
+
+  private final FileSystem mFileSystem = FileSystem.Factory.get();
+  private final KeyValueMasterClient mMasterClient;
+  private final AlluxioURI mStoreUri;
+  private final long mMaxPartitionSizeBytes;
+  /** The format of the partitions written. */
+  private final KeyValuePartitionFormat mFormat;
+  /** Maximum number of partitions built at once. */
+  private final int mNumThreads;
+  private final ExecutorService mExecutor;
+
+  /** The partitions being built, in the order of their keys. */
+  private final Deque<Future<Void>> mPendingPartitions;
+  /** The last partition submitted to be built, which the next one is completed after. */
+  private Future<Void> mLastPartition;
+  /** The partition being filled. */
+  private PartitionBatch mBatch;
+  private long mPartitionIndex;
+  /** Byte array of the last input key. */
+  private byte[] mLastKey;
+  /** Whether this writer is closed. */
+  private boolean mClosed;
+  /** Whether this writer is canceled, read by the partitions being built. */
+  private volatile boolean mCanceled;
+
+  /**
+   * Constructs a {@link ParallelKeyValueStoreWriter}. This constructor will create a new key-value
+   * store at the given {@link AlluxioURI}.
+   *
+   * @param uri URI of the store
+   * @param numThreads the number of threads building partitions
+   */
+  ParallelKeyValueStoreWriter(AlluxioURI uri, int numThreads) throws IOException {
+    Preconditions.checkArgument(numThreads > 0, "The number of threads must be positive");
+    LOG.info("Create KeyValueStoreWriter for {} with {} threads", uri, numThreads);
+    mMasterClient = new KeyValueMasterClient(FileSystemContext.INSTANCE.getMasterAddress());
+
+    mStoreUri = Preconditions.checkNotNull(uri);
+    mMasterClient.createStore(mStoreUri);
+    mMaxPartitionSizeBytes = Configuration.getBytes(PropertyKey.KEY_VALUE_PARTITION_SIZE_BYTES_MAX);
+    mFormat = Configuration
+        .getEnum(PropertyKey.KEY_VALUE_PARTITION_FORMAT, KeyValuePartitionFormat.class);
+    mNumThreads = numThreads;
+    mExecutor = Executors.newFixedThreadPool(numThreads,
+        ThreadFactoryUtils.build("key-value-partition-builder-%d", true));
+    mPendingPartitions = new ArrayDeque<>();
+    mPartitionIndex = 0;
+    mClosed = false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    try {
+      if (mCanceled) {
+        // The partitions being built are canceled, and the partitions completed are deleted
+        while (!mPendingPartitions.isEmpty()) {
+          try {
+            waitFor(mPendingPartitions.removeFirst());
+          } catch (IOException | AlluxioException | RuntimeException e) {
+            LOG.debug("Failed to build a partition of canceled store {}", mStoreUri, e);
+          }
+        }
+        deletePartitions();
+      } else {
+        submitPartition();
+        while (!mPendingPartitions.isEmpty()) {
+          waitFor(mPendingPartitions.removeFirst());
+        }
+        mMasterClient.completeStore(mStoreUri);
+      }
+    } catch (IOException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException(e);
+    } finally {
+      mExecutor.shutdownNow();
+      mMasterClient.close();
+    }
+    mClosed = true;
+  }
+
+  @Override
+  public void cancel() throws IOException {
+    mCanceled = true;
+    close();
+  }
+
+  @Override
+  public void put(byte[] key, byte[] value) throws IOException, AlluxioException {
+    Preconditions.checkNotNull(key, PreconditionMessage.ERR_PUT_NULL_KEY);
+    Preconditions.checkNotNull(value, PreconditionMessage.ERR_PUT_NULL_VALUE);
+    Preconditions.checkArgument(key.length > 0, PreconditionMessage.ERR_PUT_EMPTY_KEY);
+    Preconditions.checkArgument(value.length > 0, PreconditionMessage.ERR_PUT_EMPTY_VALUE);
+    Preconditions.checkState(!mClosed);
+
+    // The partitions are built independently, so their key ranges must not overlap
+    if (mLastKey != null) {
+      int order = ByteBuffer.wrap(key).compareTo(ByteBuffer.wrap(mLastKey));
+      if (order == 0) {
+        throw new IOException(ExceptionMessage.KEY_ALREADY_EXISTS.getMessage());
+      }
+      Preconditions.checkArgument(order > 0, PreconditionMessage.ERR_PUT_UNSORTED_KEY);
+    }
+
+    if (mBatch == null || !mBatch.canPut(key, value)) {
+      submitPartition();
+      mBatch = new PartitionBatch(getPartitionName(mPartitionIndex++));
+    }
+    if (!mBatch.canPut(key, value)) {
+      throw new IOException(ExceptionMessage.KEY_VALUE_TOO_LARGE
+          .getMessage(key.length, value.length));
+    }
+    // The pairs are copied as they are written after this method returns
+    mLastKey = key.clone();
+    mBatch.put(mLastKey, value.clone());
+  }
+
+  @Override
+  public void put(ByteBuffer key, ByteBuffer value) throws IOException, AlluxioException {
+    Preconditions.checkNotNull(key, PreconditionMessage.ERR_PUT_NULL_KEY);
+    Preconditions.checkNotNull(value, PreconditionMessage.ERR_PUT_NULL_VALUE);
+    put(BufferUtils.newByteArrayFromByteBuffer(key), BufferUtils.newByteArrayFromByteBuffer(value));
+  }
+
+  /**
+   * Deletes the files of the partitions written, once none is being built.
+   */
+  private void deletePartitions() {
+    for (long i = 0; i < mPartitionIndex; i++) {
+      AlluxioURI partitionUri = getPartitionName(i);
+      try {
+        if (mFileSystem.exists(partitionUri)) {
+          mFileSystem.delete(partitionUri);
+        }
+      } catch (IOException | AlluxioException e) {
+        LOG.warn("Failed to delete partition {} of canceled store {}: {}", partitionUri,
+            mStoreUri, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * @param partitionIndex the index of the partition
+   * @return {@link AlluxioURI} to the partition file
+   */
+  private AlluxioURI getPartitionName(long partitionIndex) {
+    return new AlluxioURI(String.format("%s/part-%05d", mStoreUri, partitionIndex));
+  }
+
+  /**
+   * Submits the partition being filled to be built, once fewer than the number of threads of
+   * partitions are being built.
+   */
+  private void submitPartition() throws IOException, AlluxioException {
+    if (mBatch == null) {
+      return;
+    }
+    while (mPendingPartitions.size() >= mNumThreads) {
+      waitFor(mPendingPartitions.removeFirst());
+    }
+    mBatch.setPrevious(mLastPartition);
+    mLastPartition = mExecutor.submit(mBatch);
+    mPendingPartitions.addLast(mLastPartition);
+    mBatch = null;
+  }
+
+  /**
+   * Waits for a partition to be built and completed.
+   *
+   * @param future the future of the partition
+   */
+  private static void waitFor(Future<Void> future) throws IOException, AlluxioException {
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class, AlluxioException.class);
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * The key-value pairs of a partition, buffered until the partition is full and then built.
+   */
+  private final class PartitionBatch implements Callable<Void> {
+    private final AlluxioURI mPartitionUri;
+    private final List<byte[]> mKeys = new ArrayList<>();
+    private final List<byte[]> mValues = new ArrayList<>();
+    /** Sparse index of the payload, only to estimate the size of the partition. */
+    private final SparseIndex mSparseIndex = SparseIndex.createEmptyIndex();
+    /** Size of the payload of the partition in bytes. */
+    private int mPayloadBytes = 0;
+    /** The previous partition, which must be completed before this one. */
+    private Future<Void> mPrevious;
+
+    /**
+     * @param partitionUri URI of the partition file
+     */
+    PartitionBatch(AlluxioURI partitionUri) {
+      mPartitionUri = partitionUri;
+    }
+
+    /**
+     * Returns whether the partition can hold one more pair. This is the estimate of
+     * {@link BaseKeyValuePartitionWriter#canPut}, so that the writer building the partition
+     * accepts all the pairs of the batch.
+     *
+     * @param key key to put
+     * @param value value to put
+     * @return whether the pair can be put in the partition
+     */
+    boolean canPut(byte[] key, byte[] value) {
+      long pairBytes = key.length + value.length + Constants.BYTES_IN_INTEGER * 2;
+      if (mFormat == KeyValuePartitionFormat.LINEAR_PROBING) {
+        return mPayloadBytes + LinearProbingIndex.DEFAULT_BYTE_COUNT
+            + PartitionFormat.LINEAR_PROBING_FOOTER_SIZE_BYTES + pairBytes
+            <= mMaxPartitionSizeBytes;
+      }
+      return mPayloadBytes + RobinHoodIndex.byteCountForKeys(mKeys.size() + 1)
+          + mSparseIndex.byteCount(mPayloadBytes) + PartitionFormat.FOOTER_SIZE_BYTES + pairBytes
+          <= mMaxPartitionSizeBytes;
+    }
+
+    /**
+     * @param key key to put
+     * @param value value to put
+     */
+    void put(byte[] key, byte[] value) {
+      int length = Constants.BYTES_IN_INTEGER * 2 + key.length + value.length;
+      mSparseIndex.put(mPayloadBytes, length);
+      mPayloadBytes += length;
+      mKeys.add(key);
+      mValues.add(value);
+    }
+
+    /**
+     * @param previous the previous partition, or null if this is the first partition
+     */
+    void setPrevious(Future<Void> previous) {
+      mPrevious = previous;
+    }
+
+    @Override
+    public Void call() throws IOException, AlluxioException {
+      KeyValuePartitionWriter writer = KeyValuePartitionWriter.Factory.create(mPartitionUri);
+      try {
+        for (int i = 0; i < mKeys.size() && !mCanceled; i++) {
+          writer.put(mKeys.get(i), mValues.get(i));
+        }
+      } catch (IOException | RuntimeException e) {
+        writer.cancel();
+        throw e;
+      }
+      if (mCanceled) {
+        writer.cancel();
+        return null;
+      }
+      writer.close();
+      List<Long> blockIds = mFileSystem.getStatus(mPartitionUri).getBlockIds();
+      PartitionInfo info = new PartitionInfo(ByteBuffer.wrap(mKeys.get(0)),
+          ByteBuffer.wrap(mKeys.get(mKeys.size() - 1)), blockIds.get(0), writer.keyCount());
+      mKeys.clear();
+      mValues.clear();
+
+      // The partitions are completed in the order of their keys, as the readers look up keys by a
+      // binary search over the partitions in this order
+      if (mPrevious != null) {
+        waitFor(mPrevious);
+        mPrevious = null;
+      }
+      if (mCanceled) {
+        return null;
+      }
+      try {
+        mMasterClient.completePartition(mStoreUri, info);
+      } catch (UnavailableException e) {
+        throw new IOException(e);
+      } catch (AlluxioStatusException e) {
+        throw e.toAlluxioException();
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import alluxio.Constants;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.io.ByteIOUtils;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The formats of the key-value partition files. A partition file consists of a payload buffer, an
+ * index, and a footer locating the index.
+ * <p>
+ * In the original format, the footer is a 4-bytes pointer indicating the offset of a
+ * {@link LinearProbingIndex}.
+ * <p>
+ * In the versioned formats, the footer ends with:
+ * | format version (int) | magic number (int) |
+ *
+ * The magic number is negative, so that it can not be mistaken for the index offset ending the
+ * files of the original format.
+ * <p>
+ * Version {@link #VERSION_ROBIN_HOOD} has a {@link RobinHoodIndex}, and its footer looks like:
+ * | index offset (int) | format version (int) | magic number (int) |
+ * <p>
+ * Version {@link #VERSION_SORTED} is written when the keys are put in increasing order. It has a
+ * {@link SparseIndex} between the payload and the {@link RobinHoodIndex}, and its footer looks
+ * like:
+ * | sparse index offset (int) | index offset (int) | format version (int) | magic number (int) |
+ */
+@ThreadSafe
+final class PartitionFormat {
+  /** The version of the original format, which has no version in its footer. */
+  static final int VERSION_LINEAR_PROBING = 0;
+  /** The version of the format with a {@link RobinHoodIndex}. */
+  static final int VERSION_ROBIN_HOOD = 1;
+  /** The version of the format with a {@link SparseIndex} and a {@link RobinHoodIndex}. */
+  static final int VERSION_SORTED = 2;
+  /** The version of the partitions written when the keys are put in increasing order. */
+  static final int CURRENT_VERSION = VERSION_SORTED;
+
+  /** The magic number ending the files of the versioned formats. */
+  static final int MAGIC = 0xa11c0f17;
+  /** Size of the footer of the original format in bytes. */
+  static final int LINEAR_PROBING_FOOTER_SIZE_BYTES = Constants.BYTES_IN_INTEGER;
+  /** Size of the footer of version {@link #VERSION_ROBIN_HOOD} in bytes. */
+  static final int ROBIN_HOOD_FOOTER_SIZE_BYTES = Constants.BYTES_IN_INTEGER * 3;
+  /** Size of the footer of version {@link #VERSION_SORTED} in bytes. */
+  static final int SORTED_FOOTER_SIZE_BYTES = Constants.BYTES_IN_INTEGER * 4;
+  /** Maximum size of the footers of the versioned formats in bytes. */
+  static final int FOOTER_SIZE_BYTES = SORTED_FOOTER_SIZE_BYTES;
+
+  /**
+   * Writes the footer of a partition of the original format.
+   *
+   * @param out the stream of the partition
+   * @param indexOffset the offset of the {@link LinearProbingIndex} in the partition
+   */
+  static void writeLinearProbingFooter(OutputStream out, int indexOffset) throws IOException {
+    ByteIOUtils.writeInt(out, indexOffset);
+  }
+
+  /**
+   * Writes the footer of a partition of version {@link #VERSION_ROBIN_HOOD}, whose keys were not
+   * put in increasing order.
+   *
+   * @param out the stream of the partition
+   * @param indexOffset the offset of the index in the partition
+   */
+  static void writeFooter(OutputStream out, int indexOffset) throws IOException {
+    ByteIOUtils.writeInt(out, indexOffset);
+    ByteIOUtils.writeInt(out, VERSION_ROBIN_HOOD);
+    ByteIOUtils.writeInt(out, MAGIC);
+  }
+
+  /**
+   * Writes the footer of a partition of version {@link #VERSION_SORTED}.
+   *
+   * @param out the stream of the partition
+   * @param sparseIndexOffset the offset of the sparse index in the partition
+   * @param indexOffset the offset of the index in the partition
+   */
+  static void writeSortedFooter(OutputStream out, int sparseIndexOffset, int indexOffset)
+      throws IOException {
+    ByteIOUtils.writeInt(out, sparseIndexOffset);
+    ByteIOUtils.writeInt(out, indexOffset);
+    ByteIOUtils.writeInt(out, VERSION_SORTED);
+    ByteIOUtils.writeInt(out, MAGIC);
+  }
+
+  /**
+   * Gets the format version of a partition.
+   *
+   * @param partition the bytes of the partition, starting at position 0
+   * @return the version of the partition
+   */
+  static int getVersion(ByteBuffer partition) {
+    int length = partition.remaining();
+    if (ByteIOUtils.readInt(partition, length - Constants.BYTES_IN_INTEGER) != MAGIC) {
+      return VERSION_LINEAR_PROBING;
+    }
+    Preconditions.checkArgument(length >= ROBIN_HOOD_FOOTER_SIZE_BYTES,
+        "Corrupted key-value partition");
+    int version = ByteIOUtils.readInt(partition, length - Constants.BYTES_IN_INTEGER * 2);
+    switch (version) {
+      case VERSION_ROBIN_HOOD:
+        return version;
+      case VERSION_SORTED:
+        Preconditions.checkArgument(length >= SORTED_FOOTER_SIZE_BYTES,
+            "Corrupted key-value partition");
+        return version;
+      default:
+        throw new IllegalArgumentException(
+            "Unsupported key-value partition format version " + version);
+    }
+  }
+
+  /**
+   * Loads the index of a partition of any format.
+   *
+   * @param partition the bytes of the partition, starting at position 0
+   * @return the index of the partition
+   */
+  static Index loadIndex(ByteBuffer partition) {
+    int length = partition.remaining();
+    int version = getVersion(partition);
+    if (version == VERSION_LINEAR_PROBING) {
+      int indexOffset = ByteIOUtils.readInt(partition, length - Constants.BYTES_IN_INTEGER);
+      int indexLength = length - LINEAR_PROBING_FOOTER_SIZE_BYTES - indexOffset;
+      return LinearProbingIndex
+          .loadFromByteArray(BufferUtils.sliceByteBuffer(partition, indexOffset, indexLength));
+    }
+    int footerSize =
+        version == VERSION_SORTED ? SORTED_FOOTER_SIZE_BYTES : ROBIN_HOOD_FOOTER_SIZE_BYTES;
+    int indexOffset = ByteIOUtils.readInt(partition, length - ROBIN_HOOD_FOOTER_SIZE_BYTES);
+    int indexLength = length - footerSize - indexOffset;
+    return RobinHoodIndex
+        .loadFromByteArray(BufferUtils.sliceByteBuffer(partition, indexOffset, indexLength));
+  }
+
+  /**
+   * Gets the length of the payload of a partition of any format, which starts at position 0.
+   *
+   * @param partition the bytes of the partition, starting at position 0
+   * @return the length of the payload in bytes
+   */
+  static int getPayloadLength(ByteBuffer partition) {
+    int length = partition.remaining();
+    switch (getVersion(partition)) {
+      case VERSION_LINEAR_PROBING:
+        return ByteIOUtils.readInt(partition, length - Constants.BYTES_IN_INTEGER);
+      case VERSION_ROBIN_HOOD:
+        return ByteIOUtils.readInt(partition, length - ROBIN_HOOD_FOOTER_SIZE_BYTES);
+      default:
+        return ByteIOUtils.readInt(partition, length - SORTED_FOOTER_SIZE_BYTES);
+    }
+  }
+
+  /**
+   * Loads the sparse index of a partition.
+   *
+   * @param partition the bytes of the partition, starting at position 0
+   * @return the sparse index of the partition, or null if the partition has no sparse index as
+   *         its keys were not put in increasing order, or as it is of an older format
+   */
+  @Nullable
+  static SparseIndex loadSparseIndex(ByteBuffer partition) {
+    if (getVersion(partition) != VERSION_SORTED) {
+      return null;
+    }
+    int length = partition.remaining();
+    int sparseIndexOffset = ByteIOUtils.readInt(partition, length - SORTED_FOOTER_SIZE_BYTES);
+    int indexOffset = ByteIOUtils.readInt(partition, length - ROBIN_HOOD_FOOTER_SIZE_BYTES);
+    return SparseIndex.loadFromByteArray(BufferUtils.sliceByteBuffer(partition,
+        sparseIndexOffset, indexOffset - sparseIndexOffset), sparseIndexOffset);
+  }
+
+  private PartitionFormat() {} // prevent instantiation
+}
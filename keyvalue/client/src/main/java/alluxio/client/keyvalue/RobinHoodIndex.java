@@ -0,0 +1,473 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import alluxio.Constants;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Index structure using Robin Hood hashing, with a Bloom filter to reject most of the keys not in
+ * the index without probing the hash table.
+ * <p>
+ * Each key is hashed to a non-zero 32-bit fingerprint, whose low-order bits give the home bucket
+ * of the key. Each bucket stores a fingerprint and an offset indicating where to find the key and
+ * the value in the payload. A key is stored in the first free bucket from its home bucket, or
+ * takes the bucket of a key further from its home, which then moves to the next buckets. The keys
+ * stay close to their home buckets, so a lookup probes a few adjacent buckets, and stops as soon
+ * as a bucket holds a key closer to its home than the key looked up would be. The payload is only
+ * read for the keys with the same fingerprint, which are rare as the fingerprints are wide.
+ * <p>
+ * The number of buckets is a power of two, and is doubled when the index gets too full, so that
+ * keys can always be added. The Bloom filter uses one byte per bucket, and sets a few bits of a
+ * single cache line for each key.
+ * <p>
+ * The overall byte array of the index looks like:
+ * | key count (int) | bucket count (int) | Bloom filter | hash table |
+ * <p>
+ * The hash table looks like:
+ * ========================================
+ * | fingerprint (int) | offset (int)     |
+ * ========================================
+ * | fingerprint (int) | offset (int)     |
+ * ========================================
+ * |                  ...                 |
+ *
+ * If fingerprint is zero, it indicates the bucket is empty.
+ */
+@NotThreadSafe
+public final class RobinHoodIndex implements Index {
+  /** The maximum ratio of keys to buckets, above which the number of buckets is doubled. */
+  private static final double MAX_LOAD_FACTOR = 0.85;
+  private static final int MIN_BUCKETS = 1 << 10;
+  private static final int HEADER_SIZE_BYTES = Constants.BYTES_IN_INTEGER * 2;
+  /** Size of each bucket in bytes. */
+  private static final int BUCKET_SIZE_BYTES = Constants.BYTES_IN_INTEGER * 2;
+  /** Size of the Bloom filter in bytes for each bucket. */
+  private static final int BLOOM_BYTES_PER_BUCKET = 1;
+  /** Size of the blocks of the Bloom filter in bytes, all the bits of a key are in a block. */
+  private static final int BLOOM_BLOCK_SIZE_BYTES = 64;
+  /** Number of bits of the Bloom filter set for each key. */
+  private static final int BLOOM_BITS_PER_KEY = 6;
+
+  private static final int HASHER_SEED = 0x5bd1e995;
+  /** Hash function to calculate fingerprint. */
+  private static final HashFunction HASHER = Hashing.murmur3_32(HASHER_SEED);
+
+  /**
+   * Total byte buffer of the index, including the header, the Bloom filter and the hash table.
+   * This is to avoid byte array copy when calling {@link #getBytes()}.
+   */
+  private ByteBuffer mBuf;
+  /**
+   * Number of keys, when calling {@link #getBytes()}, it is written to the first four bytes of
+   * {@link #mBuf}.
+   */
+  private int mKeyCount;
+  private int mNumBuckets;
+  /** A slice of mBuf corresponding to the Bloom filter part. */
+  private ByteBuffer mBloomFilterBuf;
+  /** A slice of mBuf corresponding to the hash table part. */
+  private ByteBuffer mHashTableBuf;
+
+  /**
+   * @return an instance of Robin Hood index, with no key added
+   */
+  public static RobinHoodIndex createEmptyIndex() {
+    return new RobinHoodIndex(ByteBuffer.wrap(new byte[byteCountOf(MIN_BUCKETS)]), MIN_BUCKETS,
+        0);
+  }
+
+  /**
+   * Creates an instance of Robin Hood index by loading its content from a buffer. The
+   * {@link ByteBuffer#position} must be at the beginning of index.
+   *
+   * @param buffer input buffer storing the index
+   * @return an instance of Robin Hood index
+   */
+  public static RobinHoodIndex loadFromByteArray(ByteBuffer buffer) {
+    int keyCount = buffer.getInt(buffer.position());
+    int numBuckets = buffer.getInt(buffer.position() + Constants.BYTES_IN_INTEGER);
+    Preconditions.checkArgument(Integer.bitCount(numBuckets) == 1
+        && buffer.remaining() >= byteCountOf(numBuckets), "Corrupted index");
+    return new RobinHoodIndex(buffer, numBuckets, keyCount);
+  }
+
+  private RobinHoodIndex(ByteBuffer buf, int numBuckets, int keyCount) {
+    mBuf = buf;
+    mNumBuckets = numBuckets;
+    mKeyCount = keyCount;
+    int bloomFilterOffset = mBuf.position() + HEADER_SIZE_BYTES;
+    int bloomFilterSize = numBuckets * BLOOM_BYTES_PER_BUCKET;
+    mBloomFilterBuf = BufferUtils.sliceByteBuffer(mBuf, bloomFilterOffset, bloomFilterSize);
+    mHashTableBuf = BufferUtils.sliceByteBuffer(mBuf, bloomFilterOffset + bloomFilterSize,
+        numBuckets * BUCKET_SIZE_BYTES);
+  }
+
+  /**
+   * @param numBuckets the number of buckets
+   * @return the size in bytes of an index with the given number of buckets
+   */
+  private static int byteCountOf(int numBuckets) {
+    return HEADER_SIZE_BYTES + numBuckets * (BLOOM_BYTES_PER_BUCKET + BUCKET_SIZE_BYTES);
+  }
+
+  /**
+   * @param keyCount the number of keys
+   * @return the number of buckets of an index holding the given number of keys
+   */
+  private int numBucketsFor(int keyCount) {
+    return numBucketsFor(mNumBuckets, keyCount);
+  }
+
+  /**
+   * @param currentNumBuckets the current number of buckets
+   * @param keyCount the number of keys
+   * @return the number of buckets of an index with the given number of buckets once it holds the
+   *         given number of keys
+   */
+  private static int numBucketsFor(int currentNumBuckets, int keyCount) {
+    int numBuckets = currentNumBuckets;
+    while (keyCount > numBuckets * MAX_LOAD_FACTOR) {
+      numBuckets *= 2;
+    }
+    return numBuckets;
+  }
+
+  /**
+   * Gets the size of an index created by {@link #createEmptyIndex()} once it holds the given
+   * number of keys, without building it.
+   *
+   * @param keyCount the number of keys
+   * @return the size of the index in bytes with the given number of keys
+   */
+  static int byteCountForKeys(int keyCount) {
+    return byteCountOf(numBucketsFor(MIN_BUCKETS, keyCount));
+  }
+
+  @Override
+  public int byteCount() {
+    return byteCountOf(mNumBuckets);
+  }
+
+  /**
+   * Gets the size of this index once it holds the given number of keys, which is larger than
+   * {@link #byteCount()} if the number of buckets has to grow.
+   *
+   * @param keyCount the number of keys
+   * @return the size of this index in bytes with the given number of keys
+   */
+  public int byteCount(int keyCount) {
+    return byteCountOf(numBucketsFor(keyCount));
+  }
+
+  @Override
+  public int keyCount() {
+    return mKeyCount;
+  }
+
+  @Override
+  public boolean put(byte[] key, byte[] value, PayloadWriter writer) throws IOException {
+    int numBuckets = numBucketsFor(mKeyCount + 1);
+    if (numBuckets != mNumBuckets) {
+      resize(numBuckets);
+    }
+    // Pack key and value into a byte array payload
+    int offset = writer.insert(key, value);
+    int fingerprint = fingerprintHash(key);
+    insert(fingerprint, offset);
+    addToBloomFilter(fingerprint);
+    mKeyCount++;
+    return true;
+  }
+
+  /**
+   * Inserts a key into the hash table, moving the keys closer to their home bucket to the next
+   * buckets.
+   *
+   * @param fingerprint the fingerprint of the key
+   * @param offset the offset of the key in the payload
+   */
+  private void insert(int fingerprint, int offset) {
+    int mask = mNumBuckets - 1;
+    int bucketIndex = fingerprint & mask;
+    int distance = 0;
+    while (true) {
+      int bucketOffset = bucketIndex * BUCKET_SIZE_BYTES;
+      int storedFingerprint = mHashTableBuf.getInt(bucketOffset);
+      if (storedFingerprint == 0) {
+        // bucket is empty
+        mHashTableBuf.putInt(bucketOffset, fingerprint);
+        mHashTableBuf.putInt(bucketOffset + Constants.BYTES_IN_INTEGER, offset);
+        return;
+      }
+      int storedDistance = (bucketIndex - storedFingerprint) & mask;
+      if (storedDistance < distance) {
+        // The stored key is closer to its home bucket, it moves on instead of the inserted key
+        int storedOffset = mHashTableBuf.getInt(bucketOffset + Constants.BYTES_IN_INTEGER);
+        mHashTableBuf.putInt(bucketOffset, fingerprint);
+        mHashTableBuf.putInt(bucketOffset + Constants.BYTES_IN_INTEGER, offset);
+        fingerprint = storedFingerprint;
+        offset = storedOffset;
+        distance = storedDistance;
+      }
+      bucketIndex = (bucketIndex + 1) & mask;
+      distance++;
+    }
+  }
+
+  /**
+   * Grows the index to the given number of buckets. The home buckets of the keys are given by
+   * their fingerprints, so the keys are moved without reading the payload.
+   *
+   * @param numBuckets the new number of buckets
+   */
+  private void resize(int numBuckets) {
+    ByteBuffer oldHashTableBuf = mHashTableBuf;
+    int oldNumBuckets = mNumBuckets;
+    mBuf = ByteBuffer.wrap(new byte[byteCountOf(numBuckets)]);
+    mNumBuckets = numBuckets;
+    mBloomFilterBuf = BufferUtils.sliceByteBuffer(mBuf, HEADER_SIZE_BYTES,
+        numBuckets * BLOOM_BYTES_PER_BUCKET);
+    mHashTableBuf = BufferUtils.sliceByteBuffer(mBuf,
+        HEADER_SIZE_BYTES + numBuckets * BLOOM_BYTES_PER_BUCKET, numBuckets * BUCKET_SIZE_BYTES);
+    for (int i = 0; i < oldNumBuckets; i++) {
+      int bucketOffset = i * BUCKET_SIZE_BYTES;
+      int fingerprint = oldHashTableBuf.getInt(bucketOffset);
+      if (fingerprint != 0) {
+        insert(fingerprint,
+            oldHashTableBuf.getInt(bucketOffset + Constants.BYTES_IN_INTEGER));
+        addToBloomFilter(fingerprint);
+      }
+    }
+  }
+
+  @Override
+  public ByteBuffer get(ByteBuffer key, PayloadReader reader) {
+    int bucketOffset = bucketOffset(key, reader);
+    if (bucketOffset == -1) {
+      return null;
+    }
+    return reader.getValue(mHashTableBuf.getInt(bucketOffset + Constants.BYTES_IN_INTEGER));
+  }
+
+  /**
+   * @param key the key
+   * @param reader the reader to be used to get key from payload
+   * @return bucket offset in the {@link Index} of the key, -1 if no such key is found
+   */
+  private int bucketOffset(ByteBuffer key, PayloadReader reader) {
+    int fingerprint = fingerprintHash(key);
+    if (!mightContain(fingerprint)) {
+      return -1;
+    }
+    int mask = mNumBuckets - 1;
+    int bucketIndex = fingerprint & mask;
+    // Probes until the key is found, or a key closer to its home bucket than this key is found
+    for (int distance = 0; distance < mNumBuckets; distance++) {
+      int bucketOffset = bucketIndex * BUCKET_SIZE_BYTES;
+      int storedFingerprint = mHashTableBuf.getInt(bucketOffset);
+      if (storedFingerprint == 0 || ((bucketIndex - storedFingerprint) & mask) < distance) {
+        return -1;
+      }
+      if (storedFingerprint == fingerprint) {
+        int offset = mHashTableBuf.getInt(bucketOffset + Constants.BYTES_IN_INTEGER);
+        if (key.equals(reader.getKey(offset))) {
+          return bucketOffset;
+        }
+      }
+      bucketIndex = (bucketIndex + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Adds a key to the Bloom filter.
+   *
+   * @param fingerprint the fingerprint of the key
+   */
+  private void addToBloomFilter(int fingerprint) {
+    int blockOffset = bloomFilterBlockOffset(fingerprint);
+    long bits = bloomFilterBits(fingerprint);
+    for (int i = 0; i < BLOOM_BITS_PER_KEY; i++) {
+      int bit = (int) (bits >>> (i * 9)) & 0x1ff;
+      int byteOffset = blockOffset + (bit >>> 3);
+      mBloomFilterBuf.put(byteOffset, (byte) (mBloomFilterBuf.get(byteOffset) | (1 << (bit & 7))));
+    }
+  }
+
+  /**
+   * @param fingerprint the fingerprint of a key
+   * @return false if the key is definitely not in the index
+   */
+  private boolean mightContain(int fingerprint) {
+    int blockOffset = bloomFilterBlockOffset(fingerprint);
+    long bits = bloomFilterBits(fingerprint);
+    for (int i = 0; i < BLOOM_BITS_PER_KEY; i++) {
+      int bit = (int) (bits >>> (i * 9)) & 0x1ff;
+      if ((mBloomFilterBuf.get(blockOffset + (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param fingerprint the fingerprint of a key
+   * @return the offset of the block of the Bloom filter holding the bits of the key
+   */
+  private int bloomFilterBlockOffset(int fingerprint) {
+    int numBlocks = mBloomFilterBuf.limit() / BLOOM_BLOCK_SIZE_BYTES;
+    // The home bucket of the key is given by the low-order bits, use the high-order ones instead
+    return (Integer.reverse(fingerprint) & (numBlocks - 1)) * BLOOM_BLOCK_SIZE_BYTES;
+  }
+
+  /**
+   * @param fingerprint the fingerprint of a key
+   * @return 9-bit positions in a block of the Bloom filter of the bits of the key
+   */
+  private static long bloomFilterBits(int fingerprint) {
+    int hash1 = mix(fingerprint);
+    int hash2 = mix(hash1);
+    return ((long) hash1 << 32) | (hash2 & 0xffffffffL);
+  }
+
+  /**
+   * Mixes the bits of a hash, so that more hashes are derived from a fingerprint.
+   *
+   * @param hash a hash
+   * @return another hash
+   */
+  private static int mix(int hash) {
+    // The finalization of MurmurHash3
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  @Override
+  public byte[] getBytes() {
+    // No byte array copy happens.
+    mBuf.putInt(0, mKeyCount);
+    mBuf.putInt(Constants.BYTES_IN_INTEGER, mNumBuckets);
+    return mBuf.array();
+  }
+
+  /**
+   * Hashes a key in byte array into a non-zero, 32-bit fingerprint.
+   *
+   * @param key key in byte array
+   * @return value of fingerprint which is never zero
+   */
+  public int fingerprintHash(byte[] key) {
+    return fingerprintHash(key, 0, key.length);
+  }
+
+  /**
+   * Hashes a key in {@code ByteBuffer} into a non-zero, 32-bit fingerprint.
+   *
+   * @param key key in byte array
+   * @return value of fingerprint which is never zero
+   */
+  public int fingerprintHash(ByteBuffer key) {
+    if (key.hasArray()) {
+      return fingerprintHash(key.array(), key.arrayOffset() + key.position(), key.remaining());
+    }
+    return fingerprintHash(BufferUtils.newByteArrayFromByteBuffer(key));
+  }
+
+  private static int fingerprintHash(byte[] key, int offset, int length) {
+    int hash = HASHER.hashBytes(key, offset, length).asInt();
+    return (hash == 0) ? 1 : hash;
+  }
+
+  /**
+   * @param fingerprint the fingerprint of a key
+   * @return the index of the home bucket of the key
+   */
+  public int homeBucket(int fingerprint) {
+    return fingerprint & (mNumBuckets - 1);
+  }
+
+  @Override
+  public ByteBuffer nextKey(ByteBuffer currentKey, PayloadReader reader) {
+    int nextBucketOffset = 0;
+    if (currentKey != null) {
+      int bucketOffset = bucketOffset(currentKey, reader);
+      if (bucketOffset == -1) {
+        return null;
+      }
+      nextBucketOffset = bucketOffset + BUCKET_SIZE_BYTES;
+    }
+    final int bufLimit = mHashTableBuf.limit();
+    while (nextBucketOffset < bufLimit) {
+      int fingerprint = mHashTableBuf.getInt(nextBucketOffset);
+      if (fingerprint != 0) {
+        return reader.getKey(
+            mHashTableBuf.getInt(nextBucketOffset + Constants.BYTES_IN_INTEGER));
+      }
+      nextBucketOffset += BUCKET_SIZE_BYTES;
+    }
+    return null;
+  }
+
+  @Override
+  public Iterator<ByteBuffer> keyIterator(final PayloadReader reader) {
+    return new Iterator<ByteBuffer>() {
+      private final int mBufLimit = mHashTableBuf.limit();
+      private int mOffset = 0;
+      private int mKeyIndex = 0;
+
+      @Override
+      public boolean hasNext() {
+        return mKeyIndex < mKeyCount;
+      }
+
+      @Override
+      public ByteBuffer next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        while (mOffset < mBufLimit) {
+          int fingerprint = mHashTableBuf.getInt(mOffset);
+          if (fingerprint != 0) {
+            int offset = mHashTableBuf.getInt(mOffset + Constants.BYTES_IN_INTEGER);
+            ByteBuffer key = reader.getKey(offset);
+            mOffset += BUCKET_SIZE_BYTES;
+            mKeyIndex++;
+            return key;
+          }
+          mOffset += BUCKET_SIZE_BYTES;
+        }
+        throw new NoSuchElementException();
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+}
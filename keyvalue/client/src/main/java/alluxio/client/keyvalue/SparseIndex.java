@@ -0,0 +1,181 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import alluxio.Constants;
+import alluxio.util.io.ByteIOUtils;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A sparse index of a partition whose key-value pairs are stored in the increasing order of their
+ * keys, like the index of a sorted string table.
+ * <p>
+ * The payload of the partition is divided into data blocks of consecutive key-value pairs of about
+ * {@link #DATA_BLOCK_SIZE_BYTES} bytes, and the index records the offset of the first pair of each
+ * data block. The first pair of a range of keys is found with a binary search on the first keys of
+ * the data blocks, then the following pairs are read sequentially from the payload.
+ * <p>
+ * The overall byte array of the index looks like:
+ * | offset of the second data block (int) | ... | offset of the last data block (int) |
+ *
+ * The first data block starts at the beginning of the payload, and the last one ends at the end of
+ * the payload, where the index starts, so neither is recorded.
+ */
+@NotThreadSafe
+final class SparseIndex {
+  /** Minimum size of a data block in bytes, except for the last data block. */
+  static final int DATA_BLOCK_SIZE_BYTES = 4 * Constants.KB;
+
+  /** The offsets of the data blocks in the payload. */
+  private int[] mOffsets;
+  /** Number of data blocks. */
+  private int mDataBlockCount;
+  /** The offset of the end of the payload, which is the end of the last data block. */
+  private int mEndOffset;
+
+  /**
+   * @return an instance of sparse index with no data blocks
+   */
+  static SparseIndex createEmptyIndex() {
+    return new SparseIndex(new int[16], 0, 0);
+  }
+
+  /**
+   * Creates an instance from the bytes of an index.
+   *
+   * @param buffer input buffer, from position 0 to limit
+   * @param payloadLength the length of the payload, which ends where the index starts
+   * @return an instance of sparse index
+   */
+  static SparseIndex loadFromByteArray(ByteBuffer buffer, int payloadLength) {
+    Preconditions.checkArgument(buffer.limit() % Constants.BYTES_IN_INTEGER == 0,
+        "Corrupted sparse index of %s bytes", buffer.limit());
+    if (payloadLength == 0) {
+      return createEmptyIndex();
+    }
+    int dataBlockCount = buffer.limit() / Constants.BYTES_IN_INTEGER + 1;
+    int[] offsets = new int[dataBlockCount];
+    for (int i = 1; i < dataBlockCount; i++) {
+      offsets[i] = ByteIOUtils.readInt(buffer, Constants.BYTES_IN_INTEGER * (i - 1));
+    }
+    return new SparseIndex(offsets, dataBlockCount, payloadLength);
+  }
+
+  private SparseIndex(int[] offsets, int dataBlockCount, int endOffset) {
+    mOffsets = offsets;
+    mDataBlockCount = dataBlockCount;
+    mEndOffset = endOffset;
+  }
+
+  /**
+   * Records a key-value pair appended to the payload, starting a new data block when the current
+   * one is full.
+   *
+   * @param offset the offset of the pair in the payload
+   * @param length the length of the pair in the payload in bytes
+   */
+  void put(int offset, int length) {
+    Preconditions.checkArgument(offset == mEndOffset, "Pairs must be appended to the payload");
+    if (startsDataBlock(offset)) {
+      if (mDataBlockCount == mOffsets.length) {
+        mOffsets = Arrays.copyOf(mOffsets, mOffsets.length * 2);
+      }
+      mOffsets[mDataBlockCount++] = offset;
+    }
+    mEndOffset = offset + length;
+  }
+
+  /**
+   * @param offset the offset of a pair appended to the payload
+   * @return whether the pair starts a new data block
+   */
+  private boolean startsDataBlock(int offset) {
+    return mDataBlockCount == 0 || offset - mOffsets[mDataBlockCount - 1] >= DATA_BLOCK_SIZE_BYTES;
+  }
+
+  /**
+   * Finds where to start reading the payload for the pairs whose keys are greater than or equal to
+   * the given key.
+   *
+   * @param key the key to seek
+   * @param payloadReader reader to access the payload
+   * @return the offset of the data block which may contain the first key greater than or equal to
+   *         the given key, or the end of the payload if there are no data blocks
+   */
+  int seek(ByteBuffer key, PayloadReader payloadReader) {
+    if (mDataBlockCount == 0) {
+      return mEndOffset;
+    }
+    // Finds the last data block whose first key is less than or equal to the key
+    int left = 0;
+    int right = mDataBlockCount - 1;
+    while (left < right) {
+      int middle = (left + right + 1) / 2;
+      if (payloadReader.getKey(mOffsets[middle]).compareTo(key) <= 0) {
+        left = middle;
+      } else {
+        right = middle - 1;
+      }
+    }
+    return mOffsets[left];
+  }
+
+  /**
+   * @return the offset of the end of the payload
+   */
+  int getEndOffset() {
+    return mEndOffset;
+  }
+
+  /**
+   * @return the number of data blocks
+   */
+  int dataBlockCount() {
+    return mDataBlockCount;
+  }
+
+  /**
+   * @return the size of the index in bytes
+   */
+  int byteCount() {
+    return byteCountOf(mDataBlockCount);
+  }
+
+  /**
+   * @param offset the offset of the next pair to append to the payload
+   * @return the size of the index in bytes once the next pair is recorded
+   */
+  int byteCount(int offset) {
+    return byteCountOf(startsDataBlock(offset) ? mDataBlockCount + 1 : mDataBlockCount);
+  }
+
+  private static int byteCountOf(int dataBlockCount) {
+    return Constants.BYTES_IN_INTEGER * Math.max(dataBlockCount - 1, 0);
+  }
+
+  /**
+   * @return the bytes of the index
+   */
+  byte[] getBytes() {
+    ByteBuffer buffer = ByteBuffer.allocate(byteCount());
+    for (int i = 1; i < mDataBlockCount; i++) {
+      buffer.putInt(mOffsets[i]);
+    }
+    return buffer.array();
+  }
+}
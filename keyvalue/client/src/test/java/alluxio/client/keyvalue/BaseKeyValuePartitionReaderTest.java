@@ -0,0 +1,109 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Unit tests for {@link BaseKeyValuePartitionReader}.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(KeyValueWorkerClient.class)
+public final class BaseKeyValuePartitionReaderTest {
+  private static final long BLOCK_ID = 1L;
+
+  /** The pairs of the partition stored by the worker, in the order of the worker. */
+  private TreeMap<ByteBuffer, ByteBuffer> mPairs;
+  private BaseKeyValuePartitionReader mReader;
+
+  @Before
+  public void before() throws Exception {
+    mPairs = new TreeMap<>();
+    KeyValueWorkerClient client = PowerMockito.mock(KeyValueWorkerClient.class);
+    Mockito.when(client.scan(Matchers.eq(BLOCK_ID), Matchers.any(ByteBuffer.class),
+        Matchers.any(ByteBuffer.class), Matchers.anyInt())).thenAnswer(
+        new Answer<List<KeyValuePair>>() {
+          @Override
+          public List<KeyValuePair> answer(InvocationOnMock invocation) {
+            Object[] args = invocation.getArguments();
+            ByteBuffer startKey = (ByteBuffer) args[1];
+            ByteBuffer endKey = (ByteBuffer) args[2];
+            NavigableMap<ByteBuffer, ByteBuffer> range = mPairs;
+            if (startKey != null) {
+              range = range.tailMap(startKey, true);
+            }
+            if (endKey != null) {
+              range = range.headMap(endKey, false);
+            }
+            List<KeyValuePair> pairs = new ArrayList<>();
+            for (Map.Entry<ByteBuffer, ByteBuffer> entry : range.entrySet()) {
+              if (pairs.size() == (int) args[3]) {
+                break;
+              }
+              pairs.add(new KeyValuePair(entry.getKey(), entry.getValue()));
+            }
+            return pairs;
+          }
+        });
+    mReader = new BaseKeyValuePartitionReader(client, BLOCK_ID);
+  }
+
+  /**
+   * Tests that a scan of more pairs than a batch iterates the keys following the last key of a
+   * batch with bytes greater than 0x7F, which are smaller than the bytes up to 0x7F.
+   */
+  @Test
+  public void scanKeysWithHighBitAcrossBatches() throws Exception {
+    for (int i = 0; i < BaseKeyValuePartitionReader.SCAN_BATCH_SIZE - 1; i++) {
+      put(1, i);
+    }
+    // The last key of the first batch, followed by keys extending it with the high bit set
+    put(2);
+    put(2, 0x80);
+    put(2, 0xFF);
+    put(2, 0x00);
+    put(2, 0x7F);
+    put(3);
+
+    KeyValueIterator iterator = mReader.scan(null, null);
+    for (ByteBuffer key : mPairs.keySet()) {
+      Assert.assertTrue(iterator.hasNext());
+      Assert.assertEquals(key, iterator.next().getKey());
+    }
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  private void put(int... bytes) {
+    byte[] key = new byte[bytes.length];
+    for (int i = 0; i < bytes.length; i++) {
+      key[i] = (byte) bytes[i];
+    }
+    mPairs.put(ByteBuffer.wrap(key), ByteBuffer.wrap(key));
+  }
+}
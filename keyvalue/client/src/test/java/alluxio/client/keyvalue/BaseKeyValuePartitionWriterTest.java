@@ -136,6 +136,42 @@ public final class BaseKeyValuePartitionWriterTest {
     ConfigurationTestUtils.resetConfiguration();
   }
 
+  /**
+   * Tests {@link BaseKeyValuePartitionWriter#canPut} accounts for the growth of the indexes in the
+   * {@link KeyValuePartitionFormat#ROBIN_HOOD} format.
+   */
+  @Test
+  public void canPutKeyValueRobinHoodFormat() throws Exception {
+    mWriter = new BaseKeyValuePartitionWriter(mOutStream, KeyValuePartitionFormat.ROBIN_HOOD);
+    long size = mWriter.byteCount() + KEY1.length + VALUE1.length + 2 * Constants.BYTES_IN_INTEGER;
+    Configuration.set(PropertyKey.KEY_VALUE_PARTITION_SIZE_BYTES_MAX, String.valueOf(size));
+    mWriter = new BaseKeyValuePartitionWriter(mOutStream, KeyValuePartitionFormat.ROBIN_HOOD);
+    Assert.assertTrue(mWriter.canPut(KEY1, VALUE1));
+    mWriter.put(KEY1, VALUE1);
+    Assert.assertFalse(mWriter.canPut(KEY1, VALUE1));
+    ConfigurationTestUtils.resetConfiguration();
+  }
+
+  /**
+   * Tests {@link BaseKeyValuePartitionWriter} writes the original format by default, which the
+   * readers of the previous releases can read.
+   */
+  @Test
+  public void linearProbingFormatByDefault() throws Exception {
+    mWriter.put(KEY2, VALUE2);
+    mWriter.put(KEY1, VALUE1);
+    long byteCount = mWriter.byteCount();
+    mWriter.close();
+    ByteBuffer buffer = ByteBuffer.wrap(mOutStream.toByteArray());
+    Assert.assertEquals(byteCount, buffer.remaining());
+    Assert.assertEquals(PartitionFormat.VERSION_LINEAR_PROBING, PartitionFormat.getVersion(buffer));
+    ByteBufferKeyValuePartitionReader reader = new ByteBufferKeyValuePartitionReader(buffer);
+    Assert.assertTrue(reader.getIndex() instanceof LinearProbingIndex);
+    Assert.assertArrayEquals(VALUE1, reader.get(KEY1));
+    Assert.assertArrayEquals(VALUE2, reader.get(KEY2));
+    reader.close();
+  }
+
   /**
    * Tests {@link BaseKeyValuePartitionWriter#keyCount()} works.
    */
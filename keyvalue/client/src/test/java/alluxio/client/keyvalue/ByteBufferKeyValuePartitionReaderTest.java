@@ -12,6 +12,8 @@
 package alluxio.client.keyvalue;
 
 import alluxio.client.ByteArrayOutStream;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.io.ByteIOUtils;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -21,6 +23,10 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 /**
  * Unit tests of {@link ByteBufferKeyValuePartitionReader}.
@@ -39,7 +45,8 @@ public final class ByteBufferKeyValuePartitionReaderTest {
   @BeforeClass
   public static void beforeClass() throws Exception {
     ByteArrayOutStream outStream = new ByteArrayOutStream();
-    BaseKeyValuePartitionWriter writer = new BaseKeyValuePartitionWriter(outStream);
+    BaseKeyValuePartitionWriter writer =
+        new BaseKeyValuePartitionWriter(outStream, KeyValuePartitionFormat.ROBIN_HOOD);
     writer.put(KEY1, VALUE1);
     writer.put(KEY2, VALUE2);
     writer.close();
@@ -83,4 +90,165 @@ public final class ByteBufferKeyValuePartitionReaderTest {
     mThrown.expect(IllegalStateException.class);
     mReader.get(KEY1);
   }
+
+  /**
+   * Tests {@link ByteBufferKeyValuePartitionReader#get} can read a partition of the original
+   * format, with a {@link LinearProbingIndex} and no version.
+   */
+  @Test
+  public void getLinearProbingFormat() throws Exception {
+    ByteArrayOutStream outStream = new ByteArrayOutStream();
+    BasePayloadWriter payloadWriter = new BasePayloadWriter(outStream);
+    LinearProbingIndex index = LinearProbingIndex.createEmptyIndex();
+    index.put(KEY1, VALUE1, payloadWriter);
+    index.put(KEY2, VALUE2, payloadWriter);
+    payloadWriter.flush();
+    int indexOffset = outStream.toByteArray().length;
+    outStream.write(index.getBytes());
+    ByteIOUtils.writeInt(outStream, indexOffset);
+    outStream.close();
+
+    mReader = new ByteBufferKeyValuePartitionReader(ByteBuffer.wrap(outStream.toByteArray()));
+    Assert.assertTrue(mReader.getIndex() instanceof LinearProbingIndex);
+    Assert.assertEquals(2, mReader.size());
+    Assert.assertArrayEquals(VALUE1, mReader.get(KEY1));
+    Assert.assertArrayEquals(VALUE2, mReader.get(KEY2));
+    Assert.assertNull(mReader.get("NoSuchKey".getBytes()));
+  }
+
+  /**
+   * Tests {@link ByteBufferKeyValuePartitionReader} reads the partitions written in the
+   * {@link KeyValuePartitionFormat#ROBIN_HOOD} format with a {@link RobinHoodIndex}.
+   */
+  @Test
+  public void robinHoodFormat() throws Exception {
+    Assert.assertTrue(mReader.getIndex() instanceof RobinHoodIndex);
+    Assert.assertEquals(PartitionFormat.VERSION_SORTED, PartitionFormat.getVersion(sBuffer));
+    Assert.assertEquals(2, mReader.size());
+  }
+
+  /**
+   * Tests {@link ByteBufferKeyValuePartitionReader#scan} iterates the pairs in a range of keys.
+   */
+  @Test
+  public void scan() throws Exception {
+    Assert.assertEquals(2, scanKeys(mReader, null, null).size());
+    Assert.assertArrayEquals(KEY1, scanKeys(mReader, null, KEY2).get(0));
+    Assert.assertEquals(1, scanKeys(mReader, null, KEY2).size());
+    Assert.assertArrayEquals(KEY2, scanKeys(mReader, "key2".getBytes(), null).get(0));
+    Assert.assertEquals(1, scanKeys(mReader, "key2".getBytes(), null).size());
+    Assert.assertEquals(0, scanKeys(mReader, KEY1, KEY1).size());
+    Assert.assertEquals(0, scanKeys(mReader, "key3".getBytes(), null).size());
+  }
+
+  /**
+   * Tests {@link ByteBufferKeyValuePartitionReader#scan} on a partition of several data blocks,
+   * whose keys are sorted.
+   */
+  @Test
+  public void scanSortedPartition() throws Exception {
+    int numKeys = 1000;
+    ByteArrayOutStream outStream = new ByteArrayOutStream();
+    BaseKeyValuePartitionWriter writer =
+        new BaseKeyValuePartitionWriter(outStream, KeyValuePartitionFormat.ROBIN_HOOD);
+    for (int i = 0; i < numKeys; i++) {
+      writer.put(keyOf(i), VALUE1);
+    }
+    writer.close();
+    ByteBuffer buffer = ByteBuffer.wrap(outStream.toByteArray());
+    Assert.assertEquals(PartitionFormat.VERSION_SORTED, PartitionFormat.getVersion(buffer));
+    mReader = new ByteBufferKeyValuePartitionReader(buffer);
+    assertScan(numKeys);
+  }
+
+  /**
+   * Tests {@link ByteBufferKeyValuePartitionReader#scan} iterates the pairs in the order of their
+   * keys when they were not put in increasing order.
+   */
+  @Test
+  public void scanUnsortedPartition() throws Exception {
+    int numKeys = 1000;
+    ByteArrayOutStream outStream = new ByteArrayOutStream();
+    BaseKeyValuePartitionWriter writer =
+        new BaseKeyValuePartitionWriter(outStream, KeyValuePartitionFormat.ROBIN_HOOD);
+    for (int i = numKeys - 1; i >= 0; i--) {
+      writer.put(keyOf(i), VALUE1);
+    }
+    writer.close();
+    ByteBuffer buffer = ByteBuffer.wrap(outStream.toByteArray());
+    Assert.assertEquals(PartitionFormat.VERSION_ROBIN_HOOD, PartitionFormat.getVersion(buffer));
+    mReader = new ByteBufferKeyValuePartitionReader(buffer);
+    assertScan(numKeys);
+  }
+
+  /**
+   * Tests {@link ByteBufferKeyValuePartitionReader#scan} iterates the pairs in the order of their
+   * keys in a partition of the original format, whose keys were put in no order.
+   */
+  @Test
+  public void scanLinearProbingPartition() throws Exception {
+    int numKeys = 1000;
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < numKeys; i++) {
+      order.add(i);
+    }
+    Collections.shuffle(order, new Random(0));
+    ByteArrayOutStream outStream = new ByteArrayOutStream();
+    BaseKeyValuePartitionWriter writer =
+        new BaseKeyValuePartitionWriter(outStream, KeyValuePartitionFormat.LINEAR_PROBING);
+    for (int i : order) {
+      writer.put(keyOf(i), VALUE1);
+    }
+    writer.close();
+    mReader = new ByteBufferKeyValuePartitionReader(ByteBuffer.wrap(outStream.toByteArray()));
+    assertScan(numKeys);
+  }
+
+  /**
+   * @param i the number of the key
+   * @return the key, so that the keys are sorted as their numbers
+   */
+  private static byte[] keyOf(int i) {
+    return String.format("key%04d", i).getBytes();
+  }
+
+  /**
+   * Checks the ranges scanned in a partition of the keys numbered from 0 to numKeys - 1.
+   *
+   * @param numKeys the number of keys in the partition
+   */
+  private void assertScan(int numKeys) throws Exception {
+    List<byte[]> keys = scanKeys(mReader, null, null);
+    Assert.assertEquals(numKeys, keys.size());
+    for (int i = 0; i < numKeys; i++) {
+      Assert.assertArrayEquals(keyOf(i), keys.get(i));
+    }
+    int[][] ranges = {{0, 1}, {10, 20}, {123, 789}, {500, 500}, {998, 1000}};
+    for (int[] range : ranges) {
+      keys = scanKeys(mReader, keyOf(range[0]), keyOf(range[1]));
+      Assert.assertEquals(range[1] - range[0], keys.size());
+      for (int i = range[0]; i < range[1]; i++) {
+        Assert.assertArrayEquals(keyOf(i), keys.get(i - range[0]));
+      }
+    }
+    // Prefix seeks are scans from the prefix
+    Assert.assertEquals(10, scanKeys(mReader, "key012".getBytes(), "key013".getBytes()).size());
+  }
+
+  /**
+   * @param reader the reader to scan
+   * @param startKey the first key of the range, or null
+   * @param endKey the key ending the range, or null
+   * @return the keys scanned
+   */
+  private static List<byte[]> scanKeys(KeyValuePartitionReader reader, byte[] startKey,
+      byte[] endKey) throws Exception {
+    KeyValueIterator iterator = reader.scan(startKey == null ? null : ByteBuffer.wrap(startKey),
+        endKey == null ? null : ByteBuffer.wrap(endKey));
+    List<byte[]> keys = new ArrayList<>();
+    while (iterator.hasNext()) {
+      keys.add(BufferUtils.newByteArrayFromByteBuffer(iterator.next().getKey()));
+    }
+    return keys;
+  }
 }
@@ -0,0 +1,123 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import com.google.common.base.Ticker;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link LocalPartitionReaderCache}.
+ */
+public final class LocalPartitionReaderCacheTest {
+  private static final int MAX_READERS = 2;
+  private static final long IDLE_TIMEOUT_MS = 1000;
+  /** The id of the block of a partition stored by another worker. */
+  private static final long REMOTE_BLOCK_ID = 100L;
+
+  private LocalPartitionReaderCache.Opener mOpener;
+  private long mTimeNs;
+  private LocalPartitionReaderCache mCache;
+
+  @Before
+  public void before() throws Exception {
+    mOpener = Mockito.mock(LocalPartitionReaderCache.Opener.class);
+    for (long blockId = 1; blockId <= 3; blockId++) {
+      Mockito.when(mOpener.open(blockId)).thenReturn(Mockito.mock(KeyValuePartitionReader.class),
+          Mockito.mock(KeyValuePartitionReader.class));
+    }
+    Mockito.when(mOpener.open(REMOTE_BLOCK_ID)).thenReturn(null);
+    mTimeNs = 0;
+    mCache = new LocalPartitionReaderCache(mOpener, MAX_READERS, IDLE_TIMEOUT_MS, new Ticker() {
+      @Override
+      public long read() {
+        return mTimeNs;
+      }
+    });
+  }
+
+  /**
+   * Tests that the reader of a local partition is opened once and reused by the next lookups.
+   */
+  @Test
+  public void local() throws Exception {
+    KeyValuePartitionReader reader = mCache.get(1L);
+    Assert.assertNotNull(reader);
+    Assert.assertSame(reader, mCache.get(1L));
+    Mockito.verify(mOpener).open(1L);
+    Mockito.verify(reader, Mockito.never()).close();
+  }
+
+  /**
+   * Tests that a partition which can not be read locally is read remotely, without trying to open
+   * it locally on each lookup.
+   */
+  @Test
+  public void remoteFallback() throws Exception {
+    Assert.assertNull(mCache.get(REMOTE_BLOCK_ID));
+    Assert.assertNull(mCache.get(REMOTE_BLOCK_ID));
+    Mockito.verify(mOpener).open(REMOTE_BLOCK_ID);
+  }
+
+  /**
+   * Tests that the least recently used reader is closed beyond the maximum number of readers.
+   */
+  @Test
+  public void evictLeastRecentlyUsed() throws Exception {
+    KeyValuePartitionReader reader1 = mCache.get(1L);
+    KeyValuePartitionReader reader2 = mCache.get(2L);
+    mCache.get(1L);
+    mCache.get(3L);
+    Mockito.verify(reader2).close();
+    Mockito.verify(reader1, Mockito.never()).close();
+
+    KeyValuePartitionReader reopened = mCache.get(2L);
+    Assert.assertNotSame(reader2, reopened);
+    Mockito.verify(mOpener, Mockito.times(2)).open(2L);
+  }
+
+  /**
+   * Tests that the readers not used for longer than the idle timeout are closed on the next
+   * lookup.
+   */
+  @Test
+  public void closeIdle() throws Exception {
+    KeyValuePartitionReader reader1 = mCache.get(1L);
+    mTimeNs += TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MS / 2);
+    KeyValuePartitionReader reader2 = mCache.get(2L);
+    mTimeNs += TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MS / 2);
+
+    Assert.assertNull(mCache.get(REMOTE_BLOCK_ID));
+    Mockito.verify(reader1).close();
+    Mockito.verify(reader2, Mockito.never()).close();
+  }
+
+  /**
+   * Tests that closing the cache closes all the readers.
+   */
+  @Test
+  public void close() throws Exception {
+    KeyValuePartitionReader reader1 = mCache.get(1L);
+    KeyValuePartitionReader reader2 = mCache.get(2L);
+    mCache.get(REMOTE_BLOCK_ID);
+    mCache.close();
+    Mockito.verify(reader1).close();
+    Mockito.verify(reader2).close();
+
+    // The readers are opened again once the cache is closed
+    Assert.assertNotSame(reader1, mCache.get(1L));
+  }
+}
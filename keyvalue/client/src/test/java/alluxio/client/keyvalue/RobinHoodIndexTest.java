@@ -0,0 +1,273 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import alluxio.client.ByteArrayOutStream;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * Unit tests of {@link RobinHoodIndex}.
+ */
+public final class RobinHoodIndexTest {
+  private static final byte[] KEY1 = "key1".getBytes();
+  private static final byte[] KEY2 = "key2_foo".getBytes();
+  private static final byte[] VALUE1 = "value1".getBytes();
+  private static final byte[] VALUE2 = "value2_bar".getBytes();
+  private ByteArrayOutStream mOutStream;
+  private BasePayloadWriter mPayloadWriter;
+
+  @Before
+  public void before() {
+    mOutStream = new ByteArrayOutStream();
+    mPayloadWriter = new BasePayloadWriter(mOutStream);
+  }
+
+  /**
+   * Tests {@link RobinHoodIndex#put} to work.
+   */
+  @Test
+  public void putBasic() throws Exception {
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+    Assert.assertEquals(0, index.keyCount());
+    Assert.assertTrue(index.put(KEY1, VALUE1, mPayloadWriter));
+    Assert.assertEquals(1, index.keyCount());
+    Assert.assertTrue(index.put(KEY2, VALUE2, mPayloadWriter));
+    Assert.assertEquals(2, index.keyCount());
+  }
+
+  /**
+   * Tests {@link RobinHoodIndex#get} to return correct values for inserted keys.
+   */
+  @Test
+  public void getInsertedKeys() throws Exception {
+    // Initialize a batch of key-value pairs
+    int testKeys = 100;
+    byte[][] keys = new byte[testKeys][];
+    byte[][] values = new byte[testKeys][];
+    for (int i = 0; i < testKeys; i++) {
+      keys[i] = String.format("test-key:%d", i).getBytes();
+      values[i] = String.format("test-val:%d", i).getBytes();
+    }
+
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+
+    // Insert this batch of key-value pairs
+    for (int i = 0; i < testKeys; i++) {
+      Assert.assertTrue(index.put(keys[i], values[i], mPayloadWriter));
+      Assert.assertEquals(i + 1, index.keyCount());
+    }
+    mPayloadWriter.close();
+
+    // Read all keys back, expect same value as inserted
+    BasePayloadReader payloadReader =
+        new BasePayloadReader(ByteBuffer.wrap(mOutStream.toByteArray()));
+    for (int i = 0; i < testKeys; i++) {
+      ByteBuffer value = index.get(ByteBuffer.wrap(keys[i]), payloadReader);
+      Assert.assertEquals(ByteBuffer.wrap(values[i]), value);
+    }
+  }
+
+  /**
+   * Tests that {@link RobinHoodIndex#put} grows the index to hold many keys, and that all of them
+   * are found after recovering the index from byte array, while keys not inserted are not found.
+   */
+  @Test
+  public void putManyKeys() throws Exception {
+    int testKeys = 10000;
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+    int initialByteCount = index.byteCount();
+    for (int i = 0; i < testKeys; i++) {
+      byte[] key = String.format("test-key:%d", i).getBytes();
+      byte[] value = String.format("test-val:%d", i).getBytes();
+      Assert.assertTrue(index.put(key, value, mPayloadWriter));
+    }
+    mPayloadWriter.close();
+    Assert.assertTrue(index.byteCount() > initialByteCount);
+
+    index = RobinHoodIndex.loadFromByteArray(ByteBuffer.wrap(index.getBytes()));
+    Assert.assertEquals(testKeys, index.keyCount());
+    PayloadReader payloadReader = createPayloadReader();
+    for (int i = 0; i < testKeys; i++) {
+      ByteBuffer key = ByteBuffer.wrap(String.format("test-key:%d", i).getBytes());
+      ByteBuffer value = ByteBuffer.wrap(String.format("test-val:%d", i).getBytes());
+      Assert.assertEquals(value, index.get(key, payloadReader));
+    }
+    for (int i = testKeys; i < 2 * testKeys; i++) {
+      ByteBuffer key = ByteBuffer.wrap(String.format("test-key:%d", i).getBytes());
+      Assert.assertNull(index.get(key, payloadReader));
+    }
+  }
+
+  /**
+   * Tests that {@link RobinHoodIndex#byteCount(int)} accounts for the growth of the index.
+   */
+  @Test
+  public void byteCountWithKeys() throws Exception {
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+    Assert.assertEquals(index.byteCount(), index.byteCount(1));
+    int keyCount = 0;
+    while (index.byteCount(keyCount + 1) == index.byteCount()) {
+      index.put(String.format("test-key:%d", keyCount).getBytes(), VALUE1, mPayloadWriter);
+      keyCount++;
+    }
+    int byteCount = index.byteCount(keyCount + 1);
+    index.put(KEY1, VALUE1, mPayloadWriter);
+    Assert.assertEquals(byteCount, index.byteCount());
+  }
+
+  /**
+   * Tests that {@link RobinHoodIndex#byteCountForKeys(int)} is the size of an index holding the
+   * given number of keys.
+   */
+  @Test
+  public void byteCountForKeys() throws Exception {
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+    Assert.assertEquals(index.byteCount(), RobinHoodIndex.byteCountForKeys(0));
+    for (int keyCount = 1; keyCount <= 5000; keyCount++) {
+      index.put(String.format("test-key:%d", keyCount).getBytes(), VALUE1, mPayloadWriter);
+      Assert.assertEquals(index.byteCount(), RobinHoodIndex.byteCountForKeys(keyCount));
+    }
+  }
+
+  /**
+   * Tests {@link RobinHoodIndex#get} to return null for non-existent key.
+   */
+  @Test
+  public void getNonExistentKey() throws Exception {
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+    BasePayloadReader payloadReaderNotUsed =
+        new BasePayloadReader(ByteBuffer.allocate(1));
+    ByteBuffer nonExistentKey = ByteBuffer.allocate(10);
+    nonExistentKey.put("NoSuchKey".getBytes());
+    Assert.assertNull(index.get(nonExistentKey, payloadReaderNotUsed));
+  }
+
+  /**
+   * Tests that {@link RobinHoodIndex#keyCount()} changes while key-value pairs are inserted,
+   * and can be correctly recovered after recovering {@link RobinHoodIndex} from an byte array.
+   */
+  @Test
+  public void keyCount() throws Exception {
+    // keyCount should increase while inserting key-value pairs.
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+    Assert.assertEquals(0, index.keyCount());
+
+    index.put(KEY1, VALUE1, mPayloadWriter);
+    Assert.assertEquals(1, index.keyCount());
+    index.put(KEY2, VALUE2, mPayloadWriter);
+    Assert.assertEquals(2, index.keyCount());
+    mPayloadWriter.close();
+
+    // keyCount should be correctly recovered after recovering Index from byte array.
+    byte[] indexRawBytes = index.getBytes();
+    index = RobinHoodIndex.loadFromByteArray(ByteBuffer.wrap(indexRawBytes));
+    Assert.assertEquals(2, index.keyCount());
+  }
+
+  /**
+   * Tests that {@link RobinHoodIndex#byteCount()} should be correctly recovered after
+   * recovering {@link RobinHoodIndex} from byte array.
+   */
+  @Test
+  public void byteCount() throws Exception {
+    // Empty Index.
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+    int count = index.byteCount();
+    index = RobinHoodIndex.loadFromByteArray(ByteBuffer.wrap(index.getBytes()));
+    Assert.assertEquals(count, index.byteCount());
+
+    // Non-empty Index.
+    index.put(KEY1, VALUE1, mPayloadWriter);
+    index.put(KEY2, VALUE2, mPayloadWriter);
+    mPayloadWriter.close();
+    count = index.byteCount();
+    index = RobinHoodIndex.loadFromByteArray(ByteBuffer.wrap(index.getBytes()));
+    Assert.assertEquals(count, index.byteCount());
+  }
+
+  private int homeBucket(RobinHoodIndex index, byte[] key) {
+    return index.homeBucket(index.fingerprintHash(key));
+  }
+
+  private PayloadReader createPayloadReader() throws IOException {
+    return new BasePayloadReader(ByteBuffer.wrap(mOutStream.toByteArray()));
+  }
+
+  private byte[] nextKey(RobinHoodIndex index, byte[] key) throws IOException {
+    ByteBuffer currentKey = key == null ? null : ByteBuffer.wrap(key);
+    ByteBuffer ret = index.nextKey(currentKey, createPayloadReader());
+    return ret == null ? null : BufferUtils.newByteArrayFromByteBuffer(ret);
+  }
+
+  /**
+   * Tests that {@link RobinHoodIndex#nextKey(ByteBuffer, PayloadReader)} works correctly for
+   * both empty and non-empty index.
+   */
+  @Test
+  public void nextKey() throws Exception {
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+    Assert.assertNull(nextKey(index, null));
+
+    index.put(KEY1, VALUE1, mPayloadWriter);
+    Assert.assertArrayEquals(KEY1, nextKey(index, null));
+
+    index.put(KEY2, VALUE2, mPayloadWriter);
+    byte[] firstKey = KEY1;
+    byte[] secondKey = KEY2;
+    // Keys with smaller home bucket is positioned closer to the beginning of the Index buffer.
+    if (homeBucket(index, KEY1) > homeBucket(index, KEY2)) {
+      firstKey = KEY2;
+      secondKey = KEY1;
+    }
+    Assert.assertArrayEquals(firstKey, nextKey(index, null));
+    Assert.assertArrayEquals(firstKey, nextKey(index, null));
+    Assert.assertArrayEquals(secondKey, nextKey(index, firstKey));
+    Assert.assertNull(nextKey(index, secondKey));
+  }
+
+  /**
+   * Tests that {@link RobinHoodIndex#keyIterator(PayloadReader)} works correctly for both empty
+   * and non-empty index.
+   */
+  @Test
+  public void keyIterator() throws Exception {
+    RobinHoodIndex index = RobinHoodIndex.createEmptyIndex();
+    Assert.assertNull(nextKey(index, null));
+
+    Iterator<ByteBuffer> keyIterator = index.keyIterator(createPayloadReader());
+    Assert.assertFalse(keyIterator.hasNext());
+
+    index.put(KEY1, VALUE1, mPayloadWriter);
+    index.put(KEY2, VALUE2, mPayloadWriter);
+    mPayloadWriter.close();
+
+    byte[] firstKey = KEY1;
+    byte[] secondKey = KEY2;
+    // Keys with smaller home bucket is positioned closer to the beginning of the Index buffer.
+    if (homeBucket(index, KEY1) > homeBucket(index, KEY2)) {
+      firstKey = KEY2;
+      secondKey = KEY1;
+    }
+    keyIterator = index.keyIterator(createPayloadReader());
+    Assert.assertArrayEquals(firstKey, BufferUtils.newByteArrayFromByteBuffer(keyIterator.next()));
+    Assert.assertArrayEquals(secondKey, BufferUtils.newByteArrayFromByteBuffer(keyIterator.next()));
+    Assert.assertFalse(keyIterator.hasNext());
+  }
+}
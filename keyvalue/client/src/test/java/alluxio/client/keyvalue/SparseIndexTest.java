@@ -0,0 +1,139 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.keyvalue;
+
+import alluxio.Constants;
+import alluxio.client.ByteArrayOutStream;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Unit tests of {@link SparseIndex}.
+ */
+public final class SparseIndexTest {
+  /** Size of the values, so that a data block holds about 4 pairs. */
+  private static final int VALUE_SIZE = SparseIndex.DATA_BLOCK_SIZE_BYTES / 4;
+  private static final int NUM_PAIRS = 20;
+
+  private ByteArrayOutStream mOutStream;
+  private BasePayloadWriter mPayloadWriter;
+  private SparseIndex mIndex;
+
+  @Before
+  public void before() throws Exception {
+    mOutStream = new ByteArrayOutStream();
+    mPayloadWriter = new BasePayloadWriter(mOutStream);
+    mIndex = SparseIndex.createEmptyIndex();
+    for (int i = 0; i < NUM_PAIRS; i++) {
+      byte[] key = keyOf(i * 2);
+      int offset = mPayloadWriter.insert(key, new byte[VALUE_SIZE]);
+      mIndex.put(offset, Constants.BYTES_IN_INTEGER * 2 + key.length + VALUE_SIZE);
+    }
+    mPayloadWriter.flush();
+  }
+
+  /**
+   * @param i the number of the key
+   * @return the key, so that the keys are sorted as their numbers
+   */
+  private static byte[] keyOf(int i) {
+    return String.format("key%04d", i).getBytes();
+  }
+
+  /**
+   * Tests {@link SparseIndex#put} starts a data block once the previous one is full.
+   */
+  @Test
+  public void putStartsDataBlocks() {
+    SparseIndex index = SparseIndex.createEmptyIndex();
+    Assert.assertEquals(0, index.dataBlockCount());
+    Assert.assertEquals(0, index.byteCount(0));
+    index.put(0, SparseIndex.DATA_BLOCK_SIZE_BYTES - 1);
+    Assert.assertEquals(1, index.dataBlockCount());
+    // The first data block is not recorded
+    Assert.assertEquals(0, index.byteCount());
+    Assert.assertEquals(0, index.byteCount(SparseIndex.DATA_BLOCK_SIZE_BYTES - 1));
+    index.put(SparseIndex.DATA_BLOCK_SIZE_BYTES - 1, 1);
+    Assert.assertEquals(1, index.dataBlockCount());
+    Assert.assertEquals(Constants.BYTES_IN_INTEGER,
+        index.byteCount(SparseIndex.DATA_BLOCK_SIZE_BYTES));
+    index.put(SparseIndex.DATA_BLOCK_SIZE_BYTES, 1);
+    Assert.assertEquals(2, index.dataBlockCount());
+    Assert.assertEquals(Constants.BYTES_IN_INTEGER, index.byteCount());
+    Assert.assertEquals(SparseIndex.DATA_BLOCK_SIZE_BYTES + 1, index.getEndOffset());
+  }
+
+  /**
+   * Tests {@link SparseIndex#seek} finds the data block which may contain a key.
+   */
+  @Test
+  public void seek() {
+    Assert.assertTrue(mIndex.dataBlockCount() > 1);
+    PayloadReader payloadReader = new BasePayloadReader(ByteBuffer.wrap(mOutStream.toByteArray()));
+    for (int i = 0; i < NUM_PAIRS * 2 + 1; i++) {
+      ByteBuffer key = ByteBuffer.wrap(keyOf(i));
+      int offset = mIndex.seek(key, payloadReader);
+      // The first key of the data block is not greater than the key, unless it is the first one
+      Assert.assertTrue(offset == 0 || payloadReader.getKey(offset).compareTo(key) <= 0);
+      // The first key greater than or equal to the key is in the data block or just after it
+      int nextOffset = seekNext(payloadReader, offset, key);
+      Assert.assertTrue(nextOffset - offset <= SparseIndex.DATA_BLOCK_SIZE_BYTES + VALUE_SIZE);
+    }
+    Assert.assertEquals(0, mIndex.seek(ByteBuffer.wrap("a".getBytes()), payloadReader));
+  }
+
+  /**
+   * @param payloadReader reader to access the payload
+   * @param offset the offset to start reading the payload from
+   * @param key the key to find
+   * @return the offset of the first key greater than or equal to the given key
+   */
+  private int seekNext(PayloadReader payloadReader, int offset, ByteBuffer key) {
+    while (offset < mIndex.getEndOffset() && payloadReader.getKey(offset).compareTo(key) < 0) {
+      offset += Constants.BYTES_IN_INTEGER * 2 + payloadReader.getKey(offset).remaining()
+          + payloadReader.getValue(offset).remaining();
+    }
+    return offset;
+  }
+
+  /**
+   * Tests {@link SparseIndex#seek} on an empty index returns the end of the payload.
+   */
+  @Test
+  public void seekEmptyIndex() {
+    SparseIndex index = SparseIndex.createEmptyIndex();
+    Assert.assertEquals(0, index.seek(ByteBuffer.wrap(keyOf(0)), null));
+  }
+
+  /**
+   * Tests {@link SparseIndex#loadFromByteArray} loads the index written by
+   * {@link SparseIndex#getBytes}.
+   */
+  @Test
+  public void loadFromByteArray() {
+    byte[] bytes = mIndex.getBytes();
+    Assert.assertEquals(mIndex.byteCount(), bytes.length);
+    SparseIndex index =
+        SparseIndex.loadFromByteArray(ByteBuffer.wrap(bytes), mIndex.getEndOffset());
+    Assert.assertEquals(mIndex.dataBlockCount(), index.dataBlockCount());
+    Assert.assertEquals(mIndex.getEndOffset(), index.getEndOffset());
+    PayloadReader payloadReader = new BasePayloadReader(ByteBuffer.wrap(mOutStream.toByteArray()));
+    for (int i = 0; i < NUM_PAIRS * 2; i++) {
+      ByteBuffer key = ByteBuffer.wrap(keyOf(i));
+      Assert.assertEquals(mIndex.seek(key, payloadReader), index.seek(key, payloadReader));
+    }
+  }
+}
@@ -42,6 +42,20 @@ public class KeyValueMasterClientService {
    */
   public interface Iface extends alluxio.thrift.AlluxioService.Iface {
 
+    /**
+     * Replaces some partitions of a completed key-value store with the partitions of another
+     * completed key-value store holding the same key-value pairs, which is then removed.
+     * 
+     * @param path the path of the store
+     * 
+     * @param compactedPath the path of the store holding the compacted partitions
+     * 
+     * @param blockIds the block ids of the partitions replaced
+     * 
+     * @param options the method options
+     */
+    public CompactStoreTResponse compactStore(String path, String compactedPath, List<Long> blockIds, CompactStoreTOptions options) throws alluxio.thrift.AlluxioTException, org.apache.thrift.TException;
+
     /**
      * Marks a partition complete and adds it to the store.
      * 
@@ -115,6 +129,8 @@ public class KeyValueMasterClientService {
 
   public interface AsyncIface extends alluxio.thrift.AlluxioService .AsyncIface {
 
+    public void compactStore(String path, String compactedPath, List<Long> blockIds, CompactStoreTOptions options, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
     public void completePartition(String path, PartitionInfo info, CompletePartitionTOptions options, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
 
     public void completeStore(String path, CompleteStoreTOptions options, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
@@ -151,6 +167,35 @@ public class KeyValueMasterClientService {
       super(iprot, oprot);
     }
 
+    public CompactStoreTResponse compactStore(String path, String compactedPath, List<Long> blockIds, CompactStoreTOptions options) throws alluxio.thrift.AlluxioTException, org.apache.thrift.TException
+    {
+      send_compactStore(path, compactedPath, blockIds, options);
+      return recv_compactStore();
+    }
+
+    public void send_compactStore(String path, String compactedPath, List<Long> blockIds, CompactStoreTOptions options) throws org.apache.thrift.TException
+    {
+      compactStore_args args = new compactStore_args();
+      args.setPath(path);
+      args.setCompactedPath(compactedPath);
+      args.setBlockIds(blockIds);
+      args.setOptions(options);
+      sendBase("compactStore", args);
+    }
+
+    public CompactStoreTResponse recv_compactStore() throws alluxio.thrift.AlluxioTException, org.apache.thrift.TException
+    {
+      compactStore_result result = new compactStore_result();
+      receiveBase(result, "compactStore");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.e != null) {
+        throw result.e;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "compactStore failed: unknown result");
+    }
+
     public CompletePartitionTResponse completePartition(String path, PartitionInfo info, CompletePartitionTOptions options) throws alluxio.thrift.AlluxioTException, org.apache.thrift.TException
     {
       send_completePartition(path, info, options);
@@ -361,6 +406,47 @@ public class KeyValueMasterClientService {
       super(protocolFactory, clientManager, transport);
     }
 
+    public void compactStore(String path, String compactedPath, List<Long> blockIds, CompactStoreTOptions options, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      compactStore_call method_call = new compactStore_call(path, compactedPath, blockIds, options, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class compactStore_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String path;
+      private String compactedPath;
+      private List<Long> blockIds;
+      private CompactStoreTOptions options;
+      public compactStore_call(String path, String compactedPath, List<Long> blockIds, CompactStoreTOptions options, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.path = path;
+        this.compactedPath = compactedPath;
+        this.blockIds = blockIds;
+        this.options = options;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("compactStore", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        compactStore_args args = new compactStore_args();
+        args.setPath(path);
+        args.setCompactedPath(compactedPath);
+        args.setBlockIds(blockIds);
+        args.setOptions(options);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public CompactStoreTResponse getResult() throws alluxio.thrift.AlluxioTException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_compactStore();
+      }
+    }
+
     public void completePartition(String path, PartitionInfo info, CompletePartitionTOptions options, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
       checkReady();
       completePartition_call method_call = new completePartition_call(path, info, options, resultHandler, this, ___protocolFactory, ___transport);
@@ -628,6 +714,7 @@ public class KeyValueMasterClientService {
     }
 
     private static <I extends Iface> Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> getProcessMap(Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
+      processMap.put("compactStore", new compactStore());
       processMap.put("completePartition", new completePartition());
       processMap.put("completeStore", new completeStore());
       processMap.put("createStore", new createStore());
@@ -638,6 +725,30 @@ public class KeyValueMasterClientService {
       return processMap;
     }
 
+    public static class compactStore<I extends Iface> extends org.apache.thrift.ProcessFunction<I, compactStore_args> {
+      public compactStore() {
+        super("compactStore");
+      }
+
+      public compactStore_args getEmptyArgsInstance() {
+        return new compactStore_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public compactStore_result getResult(I iface, compactStore_args args) throws org.apache.thrift.TException {
+        compactStore_result result = new compactStore_result();
+        try {
+          result.success = iface.compactStore(args.path, args.compactedPath, args.blockIds, args.options);
+        } catch (alluxio.thrift.AlluxioTException e) {
+          result.e = e;
+        }
+        return result;
+      }
+    }
+
     public static class completePartition<I extends Iface> extends org.apache.thrift.ProcessFunction<I, completePartition_args> {
       public completePartition() {
         super("completePartition");
@@ -819,6 +930,7 @@ public class KeyValueMasterClientService {
     }
 
     private static <I extends AsyncIface> Map<String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase,?>> getProcessMap(Map<String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase, ?>> processMap) {
+      processMap.put("compactStore", new compactStore());
       processMap.put("completePartition", new completePartition());
       processMap.put("completeStore", new completeStore());
       processMap.put("createStore", new createStore());
@@ -829,6 +941,63 @@ public class KeyValueMasterClientService {
       return processMap;
     }
 
+    public static class compactStore<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, compactStore_args, CompactStoreTResponse> {
+      public compactStore() {
+        super("compactStore");
+      }
+
+      public compactStore_args getEmptyArgsInstance() {
+        return new compactStore_args();
+      }
+
+      public AsyncMethodCallback<CompactStoreTResponse> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<CompactStoreTResponse>() { 
+          public void onComplete(CompactStoreTResponse o) {
+            compactStore_result result = new compactStore_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            compactStore_result result = new compactStore_result();
+            if (e instanceof alluxio.thrift.AlluxioTException) {
+                        result.e = (alluxio.thrift.AlluxioTException) e;
+                        result.setEIsSet(true);
+                        msg = result;
+            }
+             else 
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, compactStore_args args, org.apache.thrift.async.AsyncMethodCallback<CompactStoreTResponse> resultHandler) throws TException {
+        iface.compactStore(args.path, args.compactedPath, args.blockIds, args.options,resultHandler);
+      }
+    }
+
     public static class completePartition<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, completePartition_args, CompletePartitionTResponse> {
       public completePartition() {
         super("completePartition");
@@ -1230,6 +1399,1245 @@ public class KeyValueMasterClientService {
 
   }
 
+  public static class compactStore_args implements org.apache.thrift.TBase<compactStore_args, compactStore_args._Fields>, java.io.Serializable, Cloneable, Comparable<compactStore_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("compactStore_args");
+
+    private static final org.apache.thrift.protocol.TField PATH_FIELD_DESC = new org.apache.thrift.protocol.TField("path", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField COMPACTED_PATH_FIELD_DESC = new org.apache.thrift.protocol.TField("compactedPath", org.apache.thrift.protocol.TType.STRING, (short)2);
+    private static final org.apache.thrift.protocol.TField BLOCK_IDS_FIELD_DESC = new org.apache.thrift.protocol.TField("blockIds", org.apache.thrift.protocol.TType.LIST, (short)3);
+    private static final org.apache.thrift.protocol.TField OPTIONS_FIELD_DESC = new org.apache.thrift.protocol.TField("options", org.apache.thrift.protocol.TType.STRUCT, (short)4);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new compactStore_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new compactStore_argsTupleSchemeFactory());
+    }
+
+    private String path; // required
+    private String compactedPath; // required
+    private List<Long> blockIds; // required
+    private CompactStoreTOptions options; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      /**
+       * the path of the store
+       */
+      PATH((short)1, "path"),
+      /**
+       * the path of the store holding the compacted partitions
+       */
+      COMPACTED_PATH((short)2, "compactedPath"),
+      /**
+       * the block ids of the partitions replaced
+       */
+      BLOCK_IDS((short)3, "blockIds"),
+      /**
+       * the method options
+       */
+      OPTIONS((short)4, "options");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // PATH
+            return PATH;
+          case 2: // COMPACTED_PATH
+            return COMPACTED_PATH;
+          case 3: // BLOCK_IDS
+            return BLOCK_IDS;
+          case 4: // OPTIONS
+            return OPTIONS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.PATH, new org.apache.thrift.meta_data.FieldMetaData("path", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.COMPACTED_PATH, new org.apache.thrift.meta_data.FieldMetaData("compactedPath", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.BLOCK_IDS, new org.apache.thrift.meta_data.FieldMetaData("blockIds", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64))));
+      tmpMap.put(_Fields.OPTIONS, new org.apache.thrift.meta_data.FieldMetaData("options", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, CompactStoreTOptions.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(compactStore_args.class, metaDataMap);
+    }
+
+    public compactStore_args() {
+    }
+
+    public compactStore_args(
+      String path,
+      String compactedPath,
+      List<Long> blockIds,
+      CompactStoreTOptions options)
+    {
+      this();
+      this.path = path;
+      this.compactedPath = compactedPath;
+      this.blockIds = blockIds;
+      this.options = options;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public compactStore_args(compactStore_args other) {
+      if (other.isSetPath()) {
+        this.path = other.path;
+      }
+      if (other.isSetCompactedPath()) {
+        this.compactedPath = other.compactedPath;
+      }
+      if (other.isSetBlockIds()) {
+        List<Long> __this__blockIds = new ArrayList<Long>(other.blockIds);
+        this.blockIds = __this__blockIds;
+      }
+      if (other.isSetOptions()) {
+        this.options = new CompactStoreTOptions(other.options);
+      }
+    }
+
+    public compactStore_args deepCopy() {
+      return new compactStore_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.path = null;
+      this.compactedPath = null;
+      this.blockIds = null;
+      this.options = null;
+    }
+
+    /**
+     * the path of the store
+     */
+    public String getPath() {
+      return this.path;
+    }
+
+    /**
+     * the path of the store
+     */
+    public compactStore_args setPath(String path) {
+      this.path = path;
+      return this;
+    }
+
+    public void unsetPath() {
+      this.path = null;
+    }
+
+    /** Returns true if field path is set (has been assigned a value) and false otherwise */
+    public boolean isSetPath() {
+      return this.path != null;
+    }
+
+    public void setPathIsSet(boolean value) {
+      if (!value) {
+        this.path = null;
+      }
+    }
+
+    /**
+     * the path of the store holding the compacted partitions
+     */
+    public String getCompactedPath() {
+      return this.compactedPath;
+    }
+
+    /**
+     * the path of the store holding the compacted partitions
+     */
+    public compactStore_args setCompactedPath(String compactedPath) {
+      this.compactedPath = compactedPath;
+      return this;
+    }
+
+    public void unsetCompactedPath() {
+      this.compactedPath = null;
+    }
+
+    /** Returns true if field compactedPath is set (has been assigned a value) and false otherwise */
+    public boolean isSetCompactedPath() {
+      return this.compactedPath != null;
+    }
+
+    public void setCompactedPathIsSet(boolean value) {
+      if (!value) {
+        this.compactedPath = null;
+      }
+    }
+
+    public int getBlockIdsSize() {
+      return (this.blockIds == null) ? 0 : this.blockIds.size();
+    }
+
+    public java.util.Iterator<Long> getBlockIdsIterator() {
+      return (this.blockIds == null) ? null : this.blockIds.iterator();
+    }
+
+    public void addToBlockIds(long elem) {
+      if (this.blockIds == null) {
+        this.blockIds = new ArrayList<Long>();
+      }
+      this.blockIds.add(elem);
+    }
+
+    /**
+     * the block ids of the partitions replaced
+     */
+    public List<Long> getBlockIds() {
+      return this.blockIds;
+    }
+
+    /**
+     * the block ids of the partitions replaced
+     */
+    public compactStore_args setBlockIds(List<Long> blockIds) {
+      this.blockIds = blockIds;
+      return this;
+    }
+
+    public void unsetBlockIds() {
+      this.blockIds = null;
+    }
+
+    /** Returns true if field blockIds is set (has been assigned a value) and false otherwise */
+    public boolean isSetBlockIds() {
+      return this.blockIds != null;
+    }
+
+    public void setBlockIdsIsSet(boolean value) {
+      if (!value) {
+        this.blockIds = null;
+      }
+    }
+
+    /**
+     * the method options
+     */
+    public CompactStoreTOptions getOptions() {
+      return this.options;
+    }
+
+    /**
+     * the method options
+     */
+    public compactStore_args setOptions(CompactStoreTOptions options) {
+      this.options = options;
+      return this;
+    }
+
+    public void unsetOptions() {
+      this.options = null;
+    }
+
+    /** Returns true if field options is set (has been assigned a value) and false otherwise */
+    public boolean isSetOptions() {
+      return this.options != null;
+    }
+
+    public void setOptionsIsSet(boolean value) {
+      if (!value) {
+        this.options = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case PATH:
+        if (value == null) {
+          unsetPath();
+        } else {
+          setPath((String)value);
+        }
+        break;
+
+      case COMPACTED_PATH:
+        if (value == null) {
+          unsetCompactedPath();
+        } else {
+          setCompactedPath((String)value);
+        }
+        break;
+
+      case BLOCK_IDS:
+        if (value == null) {
+          unsetBlockIds();
+        } else {
+          setBlockIds((List<Long>)value);
+        }
+        break;
+
+      case OPTIONS:
+        if (value == null) {
+          unsetOptions();
+        } else {
+          setOptions((CompactStoreTOptions)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case PATH:
+        return getPath();
+
+      case COMPACTED_PATH:
+        return getCompactedPath();
+
+      case BLOCK_IDS:
+        return getBlockIds();
+
+      case OPTIONS:
+        return getOptions();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case PATH:
+        return isSetPath();
+      case COMPACTED_PATH:
+        return isSetCompactedPath();
+      case BLOCK_IDS:
+        return isSetBlockIds();
+      case OPTIONS:
+        return isSetOptions();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof compactStore_args)
+        return this.equals((compactStore_args)that);
+      return false;
+    }
+
+    public boolean equals(compactStore_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_path = true && this.isSetPath();
+      boolean that_present_path = true && that.isSetPath();
+      if (this_present_path || that_present_path) {
+        if (!(this_present_path && that_present_path))
+          return false;
+        if (!this.path.equals(that.path))
+          return false;
+      }
+
+      boolean this_present_compactedPath = true && this.isSetCompactedPath();
+      boolean that_present_compactedPath = true && that.isSetCompactedPath();
+      if (this_present_compactedPath || that_present_compactedPath) {
+        if (!(this_present_compactedPath && that_present_compactedPath))
+          return false;
+        if (!this.compactedPath.equals(that.compactedPath))
+          return false;
+      }
+
+      boolean this_present_blockIds = true && this.isSetBlockIds();
+      boolean that_present_blockIds = true && that.isSetBlockIds();
+      if (this_present_blockIds || that_present_blockIds) {
+        if (!(this_present_blockIds && that_present_blockIds))
+          return false;
+        if (!this.blockIds.equals(that.blockIds))
+          return false;
+      }
+
+      boolean this_present_options = true && this.isSetOptions();
+      boolean that_present_options = true && that.isSetOptions();
+      if (this_present_options || that_present_options) {
+        if (!(this_present_options && that_present_options))
+          return false;
+        if (!this.options.equals(that.options))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_path = true && (isSetPath());
+      list.add(present_path);
+      if (present_path)
+        list.add(path);
+
+      boolean present_compactedPath = true && (isSetCompactedPath());
+      list.add(present_compactedPath);
+      if (present_compactedPath)
+        list.add(compactedPath);
+
+      boolean present_blockIds = true && (isSetBlockIds());
+      list.add(present_blockIds);
+      if (present_blockIds)
+        list.add(blockIds);
+
+      boolean present_options = true && (isSetOptions());
+      list.add(present_options);
+      if (present_options)
+        list.add(options);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(compactStore_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetPath()).compareTo(other.isSetPath());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetPath()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.path, other.path);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetCompactedPath()).compareTo(other.isSetCompactedPath());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetCompactedPath()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.compactedPath, other.compactedPath);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetBlockIds()).compareTo(other.isSetBlockIds());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetBlockIds()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.blockIds, other.blockIds);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetOptions()).compareTo(other.isSetOptions());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetOptions()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.options, other.options);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("compactStore_args(");
+      boolean first = true;
+
+      sb.append("path:");
+      if (this.path == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.path);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("compactedPath:");
+      if (this.compactedPath == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.compactedPath);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("blockIds:");
+      if (this.blockIds == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.blockIds);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("options:");
+      if (this.options == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.options);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (options != null) {
+        options.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class compactStore_argsStandardSchemeFactory implements SchemeFactory {
+      public compactStore_argsStandardScheme getScheme() {
+        return new compactStore_argsStandardScheme();
+      }
+    }
+
+    private static class compactStore_argsStandardScheme extends StandardScheme<compactStore_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, compactStore_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // PATH
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.path = iprot.readString();
+                struct.setPathIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // COMPACTED_PATH
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.compactedPath = iprot.readString();
+                struct.setCompactedPathIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // BLOCK_IDS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
+                  struct.blockIds = new ArrayList<Long>(_list0.size);
+                  long _elem1;
+                  for (int _i2 = 0; _i2 < _list0.size; ++_i2)
+                  {
+                    _elem1 = iprot.readI64();
+                    struct.blockIds.add(_elem1);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setBlockIdsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 4: // OPTIONS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.options = new CompactStoreTOptions();
+                struct.options.read(iprot);
+                struct.setOptionsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, compactStore_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.path != null) {
+          oprot.writeFieldBegin(PATH_FIELD_DESC);
+          oprot.writeString(struct.path);
+          oprot.writeFieldEnd();
+        }
+        if (struct.compactedPath != null) {
+          oprot.writeFieldBegin(COMPACTED_PATH_FIELD_DESC);
+          oprot.writeString(struct.compactedPath);
+          oprot.writeFieldEnd();
+        }
+        if (struct.blockIds != null) {
+          oprot.writeFieldBegin(BLOCK_IDS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.I64, struct.blockIds.size()));
+            for (long _iter3 : struct.blockIds)
+            {
+              oprot.writeI64(_iter3);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        if (struct.options != null) {
+          oprot.writeFieldBegin(OPTIONS_FIELD_DESC);
+          struct.options.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class compactStore_argsTupleSchemeFactory implements SchemeFactory {
+      public compactStore_argsTupleScheme getScheme() {
+        return new compactStore_argsTupleScheme();
+      }
+    }
+
+    private static class compactStore_argsTupleScheme extends TupleScheme<compactStore_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, compactStore_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetPath()) {
+          optionals.set(0);
+        }
+        if (struct.isSetCompactedPath()) {
+          optionals.set(1);
+        }
+        if (struct.isSetBlockIds()) {
+          optionals.set(2);
+        }
+        if (struct.isSetOptions()) {
+          optionals.set(3);
+        }
+        oprot.writeBitSet(optionals, 4);
+        if (struct.isSetPath()) {
+          oprot.writeString(struct.path);
+        }
+        if (struct.isSetCompactedPath()) {
+          oprot.writeString(struct.compactedPath);
+        }
+        if (struct.isSetBlockIds()) {
+          {
+            oprot.writeI32(struct.blockIds.size());
+            for (long _iter4 : struct.blockIds)
+            {
+              oprot.writeI64(_iter4);
+            }
+          }
+        }
+        if (struct.isSetOptions()) {
+          struct.options.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, compactStore_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(4);
+        if (incoming.get(0)) {
+          struct.path = iprot.readString();
+          struct.setPathIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.compactedPath = iprot.readString();
+          struct.setCompactedPathIsSet(true);
+        }
+        if (incoming.get(2)) {
+          {
+            org.apache.thrift.protocol.TList _list5 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.I64, iprot.readI32());
+            struct.blockIds = new ArrayList<Long>(_list5.size);
+            long _elem6;
+            for (int _i7 = 0; _i7 < _list5.size; ++_i7)
+            {
+              _elem6 = iprot.readI64();
+              struct.blockIds.add(_elem6);
+            }
+          }
+          struct.setBlockIdsIsSet(true);
+        }
+        if (incoming.get(3)) {
+          struct.options = new CompactStoreTOptions();
+          struct.options.read(iprot);
+          struct.setOptionsIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class compactStore_result implements org.apache.thrift.TBase<compactStore_result, compactStore_result._Fields>, java.io.Serializable, Cloneable, Comparable<compactStore_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("compactStore_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField E_FIELD_DESC = new org.apache.thrift.protocol.TField("e", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new compactStore_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new compactStore_resultTupleSchemeFactory());
+    }
+
+    private CompactStoreTResponse success; // required
+    private alluxio.thrift.AlluxioTException e; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      E((short)1, "e");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // E
+            return E;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, CompactStoreTResponse.class)));
+      tmpMap.put(_Fields.E, new org.apache.thrift.meta_data.FieldMetaData("e", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(compactStore_result.class, metaDataMap);
+    }
+
+    public compactStore_result() {
+    }
+
+    public compactStore_result(
+      CompactStoreTResponse success,
+      alluxio.thrift.AlluxioTException e)
+    {
+      this();
+      this.success = success;
+      this.e = e;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public compactStore_result(compactStore_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new CompactStoreTResponse(other.success);
+      }
+      if (other.isSetE()) {
+        this.e = new alluxio.thrift.AlluxioTException(other.e);
+      }
+    }
+
+    public compactStore_result deepCopy() {
+      return new compactStore_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.e = null;
+    }
+
+    public CompactStoreTResponse getSuccess() {
+      return this.success;
+    }
+
+    public compactStore_result setSuccess(CompactStoreTResponse success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public alluxio.thrift.AlluxioTException getE() {
+      return this.e;
+    }
+
+    public compactStore_result setE(alluxio.thrift.AlluxioTException e) {
+      this.e = e;
+      return this;
+    }
+
+    public void unsetE() {
+      this.e = null;
+    }
+
+    /** Returns true if field e is set (has been assigned a value) and false otherwise */
+    public boolean isSetE() {
+      return this.e != null;
+    }
+
+    public void setEIsSet(boolean value) {
+      if (!value) {
+        this.e = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((CompactStoreTResponse)value);
+        }
+        break;
+
+      case E:
+        if (value == null) {
+          unsetE();
+        } else {
+          setE((alluxio.thrift.AlluxioTException)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case E:
+        return getE();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case E:
+        return isSetE();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof compactStore_result)
+        return this.equals((compactStore_result)that);
+      return false;
+    }
+
+    public boolean equals(compactStore_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e = true && this.isSetE();
+      boolean that_present_e = true && that.isSetE();
+      if (this_present_e || that_present_e) {
+        if (!(this_present_e && that_present_e))
+          return false;
+        if (!this.e.equals(that.e))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_success = true && (isSetSuccess());
+      list.add(present_success);
+      if (present_success)
+        list.add(success);
+
+      boolean present_e = true && (isSetE());
+      list.add(present_e);
+      if (present_e)
+        list.add(e);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(compactStore_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetE()).compareTo(other.isSetE());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e, other.e);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("compactStore_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e:");
+      if (this.e == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class compactStore_resultStandardSchemeFactory implements SchemeFactory {
+      public compactStore_resultStandardScheme getScheme() {
+        return new compactStore_resultStandardScheme();
+      }
+    }
+
+    private static class compactStore_resultStandardScheme extends StandardScheme<compactStore_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, compactStore_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new CompactStoreTResponse();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 1: // E
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e = new alluxio.thrift.AlluxioTException();
+                struct.e.read(iprot);
+                struct.setEIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, compactStore_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.e != null) {
+          oprot.writeFieldBegin(E_FIELD_DESC);
+          struct.e.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class compactStore_resultTupleSchemeFactory implements SchemeFactory {
+      public compactStore_resultTupleScheme getScheme() {
+        return new compactStore_resultTupleScheme();
+      }
+    }
+
+    private static class compactStore_resultTupleScheme extends TupleScheme<compactStore_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, compactStore_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        if (struct.isSetE()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+        if (struct.isSetE()) {
+          struct.e.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, compactStore_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.success = new CompactStoreTResponse();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.e = new alluxio.thrift.AlluxioTException();
+          struct.e.read(iprot);
+          struct.setEIsSet(true);
+        }
+      }
+    }
+
+  }
+
   public static class completePartition_args implements org.apache.thrift.TBase<completePartition_args, completePartition_args._Fields>, java.io.Serializable, Cloneable, Comparable<completePartition_args>   {
     private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("completePartition_args");
 
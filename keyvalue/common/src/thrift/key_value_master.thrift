@@ -13,6 +13,9 @@ struct PartitionInfo {
   4: i32 keyCount
 }
 
+struct CompactStoreTOptions {}
+struct CompactStoreTResponse {}
+
 struct CompletePartitionTOptions {}
 struct CompletePartitionTResponse {}
 
@@ -41,6 +44,18 @@ struct RenameStoreTResponse {}
  */
 service KeyValueMasterClientService extends common.AlluxioService {
 
+  /**
+   * Replaces some partitions of a completed key-value store with the partitions of another
+   * completed key-value store holding the same key-value pairs, which is then removed.
+   */
+  CompactStoreTResponse compactStore(
+    /** the path of the store */ 1: string path,
+    /** the path of the store holding the compacted partitions */ 2: string compactedPath,
+    /** the block ids of the partitions replaced */ 3: list<i64> blockIds,
+    /** the method options */ 4: CompactStoreTOptions options,
+    )
+    throws (1: exception.AlluxioTException e)
+
   /**
    * Marks a partition complete and adds it to the store.
    */
@@ -18,6 +18,17 @@ struct GetSizeTResponse {
   1: i32 size
 }
 
+struct MultiGetTOptions {}
+struct MultiGetTResponse {
+  1: list<binary> values
+}
+
+struct ScanTOptions {}
+struct ScanTResponse {
+  1: list<binary> keys
+  2: list<binary> values
+}
+
 service KeyValueWorkerClientService extends common.AlluxioService {
   /**
    * Looks up a key in the block with the given block id.
@@ -50,4 +61,32 @@ service KeyValueWorkerClientService extends common.AlluxioService {
     /** the method options */ 2: GetSizeTOptions options,
     )
     throws (1: exception.AlluxioTException e)
+
+  /**
+   * Looks up a batch of keys, each in the block with the given block id. The values are returned
+   * in the order of the keys, with an empty value for each key not found. The values of the last
+   * keys are not returned when the values found fill half of a frame, so that the caller looks
+   * them up again.
+   */
+  MultiGetTResponse multiGet(
+    /** the ids of the blocks being accessed, one for each key */ 1: list<i64> blockIds,
+    /** binary of the keys */ 2: list<binary> keys,
+    /** the method options */ 3: MultiGetTOptions options,
+    )
+    throws (1: exception.AlluxioTException e)
+
+  /**
+   * Scans the key-value pairs of a range of keys in the partition, in the order of the keys.
+   * If the start key is empty, the range starts from the first key of the partition, and if the
+   * end key is empty, the range ends at the last key of the partition. An empty list is returned
+   * if there are no more key-value pairs in the range.
+   */
+  ScanTResponse scan(
+    /** the id of the block of the partition */ 1: i64 blockId,
+    /** the first key of the range, inclusive, or empty for no start */ 2: binary startKey,
+    /** the key ending the range, exclusive, or empty for no end */ 3: binary endKey,
+    /** maximum number of key-value pairs to get */ 4: i32 numKeys,
+    /** the method options */ 5: ScanTOptions options,
+    )
+    throws (1: exception.AlluxioTException e)
 }
@@ -18,19 +18,24 @@ import alluxio.client.keyvalue.KeyValueMasterClient;
 import alluxio.client.keyvalue.KeyValueSystem;
 import alluxio.thrift.PartitionInfo;
 
+import com.google.common.io.BaseEncoding;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
 import org.apache.hadoop.mapreduce.InputFormat;
 import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.JobContext;
 import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -38,11 +43,18 @@ import javax.annotation.concurrent.ThreadSafe;
  * {@link KeyValueSystem}.
  * <p>
  * It takes a {@link KeyValueSystem} URI, and emits key-value pairs stored in the KeyValueStore to
- * {@code org.apache.hadoop.mapred.Mapper}s.
+ * {@code org.apache.hadoop.mapred.Mapper}s. The pairs emitted can be restricted to a range of keys
+ * with {@link #setScanRange(Job, byte[], byte[])}, in which case only the partitions overlapping
+ * the range are split, and each split only scans the keys in the range.
  */
 @PublicApi
 @ThreadSafe
 public final class KeyValueInputFormat extends InputFormat<BytesWritable, BytesWritable> {
+  /** The job property holding the Base64 encoded first key of the range to scan. */
+  private static final String SCAN_START_KEY = "alluxio.keyvalue.input.scan.start.key";
+  /** The job property holding the Base64 encoded key ending the range to scan. */
+  private static final String SCAN_END_KEY = "alluxio.keyvalue.input.scan.end.key";
+
   private final KeyValueMasterClient mKeyValueMasterClient =
       new KeyValueMasterClient(FileSystemContext.INSTANCE.getMasterAddress());
 
@@ -52,7 +64,38 @@ public final class KeyValueInputFormat extends InputFormat<BytesWritable, BytesW
   public KeyValueInputFormat() {}
 
   /**
-   * Returns a list of {@link KeyValueInputSplit} where each split is one key-value partition.
+   * Restricts the key-value pairs emitted by a job to a range of keys.
+   *
+   * @param job the job to configure
+   * @param startKey the first key of the range, inclusive, or null to start from the first key
+   * @param endKey the key ending the range, exclusive, or null to end at the last key
+   */
+  public static void setScanRange(Job job, @Nullable byte[] startKey, @Nullable byte[] endKey) {
+    Configuration conf = job.getConfiguration();
+    conf.unset(SCAN_START_KEY);
+    conf.unset(SCAN_END_KEY);
+    if (startKey != null) {
+      conf.set(SCAN_START_KEY, BaseEncoding.base64().encode(startKey));
+    }
+    if (endKey != null) {
+      conf.set(SCAN_END_KEY, BaseEncoding.base64().encode(endKey));
+    }
+  }
+
+  /**
+   * @param conf the job configuration
+   * @param property the property of the key
+   * @return the key of the range to scan, or null if the property is not set
+   */
+  @Nullable
+  private static byte[] getScanKey(Configuration conf, String property) {
+    String key = conf.get(property);
+    return key == null ? null : BaseEncoding.base64().decode(key);
+  }
+
+  /**
+   * Returns a list of {@link KeyValueInputSplit} where each split is one key-value partition
+   * overlapping the range of keys to scan.
    *
    * @param jobContext MapReduce job configuration
    * @return list of {@link InputSplit}s, each split is a partition
@@ -62,13 +105,18 @@ public final class KeyValueInputFormat extends InputFormat<BytesWritable, BytesW
     // The paths are MapReduce program's inputs specified in
     // {@code mapreduce.input.fileinputformat.inputdir}, each path should be a key-value store.
     Path[] paths = FileInputFormat.getInputPaths(jobContext);
+    Configuration conf = jobContext.getConfiguration();
+    byte[] startKey = getScanKey(conf, SCAN_START_KEY);
+    byte[] endKey = getScanKey(conf, SCAN_END_KEY);
     List<InputSplit> splits = new ArrayList<>();
     try {
       for (Path path : paths) {
         List<PartitionInfo> partitionInfos =
             mKeyValueMasterClient.getPartitionInfo(new AlluxioURI(path.toString()));
         for (PartitionInfo partitionInfo : partitionInfos) {
-          splits.add(new KeyValueInputSplit(partitionInfo));
+          if (overlaps(partitionInfo, startKey, endKey)) {
+            splits.add(new KeyValueInputSplit(partitionInfo, startKey, endKey));
+          }
         }
       }
     } catch (Exception e) {
@@ -77,6 +125,23 @@ public final class KeyValueInputFormat extends InputFormat<BytesWritable, BytesW
     return splits;
   }
 
+  /**
+   * @param partitionInfo the partition info
+   * @param startKey the first key of the range, inclusive, or null if the range has no start
+   * @param endKey the key ending the range, exclusive, or null if the range has no end
+   * @return whether the partition may contain keys in the range
+   */
+  private static boolean overlaps(PartitionInfo partitionInfo, @Nullable byte[] startKey,
+      @Nullable byte[] endKey) {
+    // NOTE: keyStart and keyLimit are both inclusive
+    if (startKey != null
+        && partitionInfo.bufferForKeyLimit().compareTo(ByteBuffer.wrap(startKey)) < 0) {
+      return false;
+    }
+    return endKey == null
+        || partitionInfo.bufferForKeyStart().compareTo(ByteBuffer.wrap(endKey)) < 0;
+  }
+
   @Override
   public RecordReader<BytesWritable, BytesWritable> createRecordReader(InputSplit inputSplit,
       TaskAttemptContext taskContext) throws IOException {
@@ -23,12 +23,15 @@ import org.apache.hadoop.mapreduce.InputSplit;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
- * Implements {@link InputSplit}, each split contains one partition of the {@link KeyValueSystem}.
+ * Implements {@link InputSplit}, each split contains one partition of the {@link KeyValueSystem},
+ * and the range of keys to scan in the partition.
  */
 @NotThreadSafe
 final class KeyValueInputSplit extends InputSplit implements Writable {
@@ -39,6 +42,10 @@ final class KeyValueInputSplit extends InputSplit implements Writable {
   // TODO(cc): Use the concept of partition ID in the future.
   /** The ID of the block represented by this split. */
   private long mBlockId;
+  /** The first key of the range to scan, inclusive, or null if the range has no start. */
+  private byte[] mStartKey;
+  /** The key ending the range to scan, exclusive, or null if the range has no end. */
+  private byte[] mEndKey;
 
   /**
    * Default constructor, to be used together with {@link #readFields(DataInput)} when
@@ -55,8 +62,22 @@ final class KeyValueInputSplit extends InputSplit implements Writable {
    * @param partitionInfo the partition info
    */
   public KeyValueInputSplit(PartitionInfo partitionInfo) {
+    this(partitionInfo, null, null);
+  }
+
+  /**
+   * Creates an {@link InputSplit} for a range of keys in a partition.
+   *
+   * @param partitionInfo the partition info
+   * @param startKey the first key of the range, inclusive, or null to start from the first key
+   * @param endKey the key ending the range, exclusive, or null to end at the last key
+   */
+  public KeyValueInputSplit(PartitionInfo partitionInfo, @Nullable byte[] startKey,
+      @Nullable byte[] endKey) {
     mBlockStore = AlluxioBlockStore.create();
     mBlockId = partitionInfo.getBlockId();
+    mStartKey = startKey;
+    mEndKey = endKey;
   }
 
   @Override
@@ -82,11 +103,45 @@ final class KeyValueInputSplit extends InputSplit implements Writable {
   @Override
   public void write(DataOutput dataOutput) throws IOException {
     dataOutput.writeLong(mBlockId);
+    writeKey(dataOutput, mStartKey);
+    writeKey(dataOutput, mEndKey);
   }
 
   @Override
   public void readFields(DataInput dataInput) throws IOException {
     mBlockId = dataInput.readLong();
+    mStartKey = readKey(dataInput);
+    mEndKey = readKey(dataInput);
+  }
+
+  /**
+   * Writes a key of the range as its length followed by its bytes, or as -1 if it is null.
+   *
+   * @param dataOutput the output to write to
+   * @param key the key to write
+   */
+  private static void writeKey(DataOutput dataOutput, @Nullable byte[] key) throws IOException {
+    if (key == null) {
+      dataOutput.writeInt(-1);
+      return;
+    }
+    dataOutput.writeInt(key.length);
+    dataOutput.write(key);
+  }
+
+  /**
+   * @param dataInput the input to read from
+   * @return a key of the range written by {@link #writeKey(DataOutput, byte[])}
+   */
+  @Nullable
+  private static byte[] readKey(DataInput dataInput) throws IOException {
+    int length = dataInput.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] key = new byte[length];
+    dataInput.readFully(key);
+    return key;
   }
 
   /**
@@ -95,4 +150,20 @@ final class KeyValueInputSplit extends InputSplit implements Writable {
   public long getPartitionId() {
     return mBlockId;
   }
+
+  /**
+   * @return the first key of the range to scan, inclusive, or null if the range has no start
+   */
+  @Nullable
+  public ByteBuffer getStartKey() {
+    return mStartKey == null ? null : ByteBuffer.wrap(mStartKey);
+  }
+
+  /**
+   * @return the key ending the range to scan, exclusive, or null if the range has no end
+   */
+  @Nullable
+  public ByteBuffer getEndKey() {
+    return mEndKey == null ? null : ByteBuffer.wrap(mEndKey);
+  }
 }
@@ -37,11 +37,11 @@ import javax.annotation.concurrent.ThreadSafe;
 final class KeyValueRecordReader extends RecordReader<BytesWritable, BytesWritable> {
   /** The partition reader for reading the key-value pairs. */
   private KeyValuePartitionReader mReader;
-  /** The iterator for iterating through all key-value pairs contained in the partition. */
+  /** The iterator for iterating through the key-value pairs in the range of the split. */
   private KeyValueIterator mKeyValuePairIterator;
   /** Number of key-value pairs visited by the iterator. */
   private int mNumVisitedKeyValuePairs;
-  /** Number of key-value pairs. */
+  /** Number of key-value pairs in the partition, which bounds the number of pairs scanned. */
   private int mNumKeyValuePairs;
   /** Current key. */
   private BytesWritable mCurrentKey;
@@ -61,9 +61,10 @@ final class KeyValueRecordReader extends RecordReader<BytesWritable, BytesWritab
       if (!(split instanceof KeyValueInputSplit)) {
         throw new IOException("Split is required to be KeyValueInputSplit");
       }
-      mReader =
-          KeyValuePartitionReader.Factory.create(((KeyValueInputSplit) split).getPartitionId());
-      mKeyValuePairIterator = mReader.iterator();
+      KeyValueInputSplit keyValueSplit = (KeyValueInputSplit) split;
+      mReader = KeyValuePartitionReader.Factory.create(keyValueSplit.getPartitionId());
+      mKeyValuePairIterator =
+          mReader.scan(keyValueSplit.getStartKey(), keyValueSplit.getEndKey());
       mNumVisitedKeyValuePairs = 0;
       mNumKeyValuePairs = mReader.size();
       mCurrentKey = new BytesWritable();
@@ -86,6 +87,8 @@ final class KeyValueRecordReader extends RecordReader<BytesWritable, BytesWritab
   @Override
   public synchronized boolean nextKeyValue() throws IOException {
     if (!mKeyValuePairIterator.hasNext()) {
+      // When a range is scanned, fewer pairs than in the partition may be visited
+      mNumVisitedKeyValuePairs = mNumKeyValuePairs;
       return false;
     }
 
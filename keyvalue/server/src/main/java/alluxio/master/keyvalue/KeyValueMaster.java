@@ -21,6 +21,7 @@ import alluxio.exception.ExceptionMessage;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
+import alluxio.exception.status.FailedPreconditionException;
 import alluxio.master.AbstractMaster;
 import alluxio.master.file.FileSystemMaster;
 import alluxio.master.file.options.CreateDirectoryOptions;
@@ -28,6 +29,7 @@ import alluxio.master.file.options.DeleteOptions;
 import alluxio.master.file.options.RenameOptions;
 import alluxio.master.journal.Journal;
 import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.proto.journal.KeyValue.CompactStoreEntry;
 import alluxio.proto.journal.KeyValue.CompletePartitionEntry;
 import alluxio.proto.journal.KeyValue.CompleteStoreEntry;
 import alluxio.proto.journal.KeyValue.CreateStoreEntry;
@@ -47,8 +49,12 @@ import com.google.common.collect.Iterators;
 import org.apache.thrift.TProcessor;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -122,6 +128,8 @@ public final class KeyValueMaster extends AbstractMaster {
         renameStoreFromEntry(entry.getRenameStore());
       } else if (entry.hasMergeStore()) {
         mergeStoreFromEntry(entry.getMergeStore());
+      } else if (entry.hasCompactStore()) {
+        compactStoreFromEntry(entry.getCompactStore());
       } else {
         throw new IOException(ExceptionMessage.UNEXPECTED_JOURNAL_ENTRY.getMessage(entry));
       }
@@ -380,6 +388,76 @@ public final class KeyValueMaster extends AbstractMaster {
     mergeStoreInternal(entry.getFromStoreId(), entry.getToStoreId());
   }
 
+  /**
+   * Replaces some partitions of a completed key-value store with the partitions of another
+   * completed key-value store holding the same key-value pairs, which is then removed. The
+   * partitions of the store are sorted by their first keys afterwards. The compaction itself is
+   * done by the client, so that the master only swaps the partitions.
+   *
+   * @param uri the {@link AlluxioURI} to the store
+   * @param compactedUri the {@link AlluxioURI} to the store holding the compacted partitions, in
+   *        the directory of the store
+   * @param blockIds the block ids of the partitions replaced
+   * @throws InvalidPathException if either uri exists but is not a key-value store, or if the store
+   *         of the compacted partitions is not in the directory of the store
+   * @throws FileDoesNotExistException if either uri does not exist
+   * @throws FailedPreconditionException if some of the partitions replaced are no longer in the
+   *         store
+   */
+  public synchronized void compactStore(AlluxioURI uri, AlluxioURI compactedUri,
+      List<Long> blockIds) throws FileDoesNotExistException, InvalidPathException,
+      AccessControlException, FailedPreconditionException {
+    long fileId = getFileId(uri);
+    long compactedFileId = getFileId(compactedUri);
+    checkIsCompletePartition(fileId, uri);
+    checkIsCompletePartition(compactedFileId, compactedUri);
+    // The compacted partitions are deleted along with the store
+    if (fileId == compactedFileId || !PathUtils.hasPrefix(compactedUri.getPath(), uri.getPath())) {
+      throw new InvalidPathException(
+          ExceptionMessage.KEY_VALUE_COMPACTED_STORE_NOT_IN_STORE.getMessage(compactedUri, uri));
+    }
+    Set<Long> storeBlockIds = new HashSet<>();
+    for (PartitionInfo info : mCompleteStoreToPartitions.get(fileId)) {
+      storeBlockIds.add(info.getBlockId());
+    }
+    for (long blockId : blockIds) {
+      if (!storeBlockIds.contains(blockId)) {
+        throw new FailedPreconditionException(
+            ExceptionMessage.KEY_VALUE_PARTITION_NOT_IN_STORE.getMessage(blockId, uri));
+      }
+    }
+    compactStoreInternal(fileId, compactedFileId, blockIds);
+
+    writeJournalEntry(newCompactStoreEntry(fileId, compactedFileId, blockIds));
+    flushJournal();
+  }
+
+  // Internal implementation to replace the partitions of a store with their compaction.
+  private void compactStoreInternal(long fileId, long compactedFileId, List<Long> blockIds) {
+    Set<Long> removed = new HashSet<>(blockIds);
+    List<PartitionInfo> partitions = new ArrayList<>();
+    for (PartitionInfo info : mCompleteStoreToPartitions.get(fileId)) {
+      if (!removed.contains(info.getBlockId())) {
+        partitions.add(info);
+      }
+    }
+    partitions.addAll(mCompleteStoreToPartitions.remove(compactedFileId));
+    // The readers look up keys by a binary search over the partitions in this order
+    Collections.sort(partitions, new Comparator<PartitionInfo>() {
+      @Override
+      public int compare(PartitionInfo info1, PartitionInfo info2) {
+        return ByteBuffer.wrap(info1.getKeyStart()).compareTo(ByteBuffer.wrap(info2.getKeyStart()));
+      }
+    });
+    mCompleteStoreToPartitions.put(fileId, partitions);
+  }
+
+  // Replaces the partitions of a store with their compaction, called when replaying journals.
+  private void compactStoreFromEntry(CompactStoreEntry entry) {
+    compactStoreInternal(entry.getStoreId(), entry.getCompactedStoreId(),
+        entry.getBlockIdsList());
+  }
+
   /**
    * Gets a list of partitions of a given key-value store.
    *
@@ -435,6 +513,13 @@ public final class KeyValueMaster extends AbstractMaster {
     return JournalEntry.newBuilder().setMergeStore(mergeStore).build();
   }
 
+  private JournalEntry newCompactStoreEntry(long fileId, long compactedFileId,
+      List<Long> blockIds) {
+    CompactStoreEntry compactStore = CompactStoreEntry.newBuilder().setStoreId(fileId)
+        .setCompactedStoreId(compactedFileId).addAllBlockIds(blockIds).build();
+    return JournalEntry.newBuilder().setCompactStore(compactStore).build();
+  }
+
   private Iterator<JournalEntry> getStoreIterator(
       Map<Long, List<PartitionInfo>> storeToPartitions) {
     final Iterator<Map.Entry<Long, List<PartitionInfo>>> it =
@@ -18,6 +18,8 @@ import alluxio.RpcUtils.RpcCallable;
 import alluxio.RpcUtils.RpcCallableThrowsIOException;
 import alluxio.exception.AlluxioException;
 import alluxio.thrift.AlluxioTException;
+import alluxio.thrift.CompactStoreTOptions;
+import alluxio.thrift.CompactStoreTResponse;
 import alluxio.thrift.CompletePartitionTOptions;
 import alluxio.thrift.CompletePartitionTResponse;
 import alluxio.thrift.CompleteStoreTOptions;
@@ -41,6 +43,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -68,6 +71,19 @@ public final class KeyValueMasterClientServiceHandler implements KeyValueMasterC
     return new GetServiceVersionTResponse(Constants.KEY_VALUE_MASTER_CLIENT_SERVICE_VERSION);
   }
 
+  @Override
+  public CompactStoreTResponse compactStore(final String path, final String compactedPath,
+      final List<Long> blockIds, CompactStoreTOptions options) throws AlluxioTException {
+    return RpcUtils.call(LOG, new RpcCallableThrowsIOException<CompactStoreTResponse>() {
+      @Override
+      public CompactStoreTResponse call() throws AlluxioException, IOException {
+        mKeyValueMaster.compactStore(new AlluxioURI(path), new AlluxioURI(compactedPath),
+            blockIds);
+        return new CompactStoreTResponse();
+      }
+    });
+  }
+
   @Override
   public CompletePartitionTResponse completePartition(final String path, final PartitionInfo info,
       CompletePartitionTOptions options) throws AlluxioTException {
@@ -11,7 +11,9 @@
 
 package alluxio.worker.keyvalue;
 
+import alluxio.Configuration;
 import alluxio.Constants;
+import alluxio.PropertyKey;
 import alluxio.Server;
 import alluxio.thrift.KeyValueWorkerClientService;
 import alluxio.util.ThreadFactoryUtils;
@@ -40,6 +42,8 @@ public final class KeyValueWorker extends AbstractWorker {
 
   /** Logic for handling key-value RPC requests. */
   private final KeyValueWorkerClientServiceHandler mKeyValueServiceHandler;
+  /** The readers of the partitions stored in the blocks of the worker. */
+  private final PartitionReaderCache mReaderCache;
 
   /**
    * Constructor of {@link KeyValueWorker}.
@@ -50,7 +54,10 @@ public final class KeyValueWorker extends AbstractWorker {
     // TODO(binfan): figure out do we really need thread pool for key-value worker (and for what)
     super(Executors.newFixedThreadPool(1,
         ThreadFactoryUtils.build("keyvalue-worker-heartbeat-%d", true)));
-    mKeyValueServiceHandler = new KeyValueWorkerClientServiceHandler(blockWorker);
+    mReaderCache = new PartitionReaderCache(blockWorker,
+        Configuration.getBytes(PropertyKey.KEY_VALUE_WORKER_PARTITION_CACHE_SIZE));
+    blockWorker.registerBlockStoreEventListener(mReaderCache);
+    mKeyValueServiceHandler = new KeyValueWorkerClientServiceHandler(blockWorker, mReaderCache);
   }
 
   @Override
@@ -78,6 +85,7 @@ public final class KeyValueWorker extends AbstractWorker {
 
   @Override
   public void stop() throws IOException {
-    // nothing to do, Thrift service will be started by the Alluxio worker process
+    // Thrift service will be stopped by the Alluxio worker process
+    mReaderCache.invalidateAll();
   }
 }
@@ -11,12 +11,16 @@
 
 package alluxio.worker.keyvalue;
 
+import alluxio.Configuration;
 import alluxio.Constants;
+import alluxio.PropertyKey;
 import alluxio.RpcUtils;
 import alluxio.RpcUtils.RpcCallableThrowsIOException;
 import alluxio.Sessions;
 import alluxio.client.keyvalue.ByteBufferKeyValuePartitionReader;
 import alluxio.client.keyvalue.Index;
+import alluxio.client.keyvalue.KeyValueIterator;
+import alluxio.client.keyvalue.KeyValuePair;
 import alluxio.client.keyvalue.PayloadReader;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.BlockDoesNotExistException;
@@ -31,9 +35,13 @@ import alluxio.thrift.GetSizeTResponse;
 import alluxio.thrift.GetTOptions;
 import alluxio.thrift.GetTResponse;
 import alluxio.thrift.KeyValueWorkerClientService;
+import alluxio.thrift.MultiGetTOptions;
+import alluxio.thrift.MultiGetTResponse;
+import alluxio.thrift.ScanTOptions;
+import alluxio.thrift.ScanTResponse;
 import alluxio.util.io.BufferUtils;
 import alluxio.worker.block.BlockWorker;
-import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.keyvalue.PartitionReaderCache.Partition;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
@@ -42,6 +50,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.concurrent.ThreadSafe;
@@ -54,15 +63,25 @@ import javax.annotation.concurrent.ThreadSafe;
 public final class KeyValueWorkerClientServiceHandler implements KeyValueWorkerClientService.Iface {
   private static final Logger LOG =
       LoggerFactory.getLogger(KeyValueWorkerClientServiceHandler.class);
+  /**
+   * The number of bytes of values after which a response of {@link #multiGet} is cut, half of the
+   * maximum thrift frame so that the keys and the framing fit too.
+   */
+  private static final long MULTI_GET_RESPONSE_BYTES =
+      Configuration.getBytes(PropertyKey.NETWORK_THRIFT_FRAME_SIZE_BYTES_MAX) / 2;
 
   /** BlockWorker handler for access block info. */
   private final BlockWorker mBlockWorker;
+  /** The readers of the partitions stored in the blocks of the worker. */
+  private final PartitionReaderCache mReaderCache;
 
   /**
    * @param blockWorker the {@link BlockWorker}
+   * @param readerCache the cache of the readers of the partitions
    */
-  KeyValueWorkerClientServiceHandler(BlockWorker blockWorker) {
+  KeyValueWorkerClientServiceHandler(BlockWorker blockWorker, PartitionReaderCache readerCache) {
     mBlockWorker = Preconditions.checkNotNull(blockWorker);
+    mReaderCache = Preconditions.checkNotNull(readerCache);
   }
 
   @Override
@@ -80,7 +99,7 @@ public final class KeyValueWorkerClientServiceHandler implements KeyValueWorkerC
         if (value == null) {
           return new GetTResponse(ByteBuffer.allocate(0));
         }
-        return new GetTResponse(copyAsNonDirectBuffer(value));
+        return new GetTResponse(value);
       }
     });
   }
@@ -96,7 +115,7 @@ public final class KeyValueWorkerClientServiceHandler implements KeyValueWorkerC
    *
    * @param blockId Block Id
    * @param keyBuffer bytes of key
-   * @return key found in the key-value block or null if not found
+   * @return a non-direct copy of the value found in the key-value block or null if not found
    * @throws BlockDoesNotExistException if the worker is not serving this block
    */
   private ByteBuffer getInternal(long blockId, ByteBuffer keyBuffer)
@@ -104,7 +123,14 @@ public final class KeyValueWorkerClientServiceHandler implements KeyValueWorkerC
     final long sessionId = Sessions.KEYVALUE_SESSION_ID;
     final long lockId = mBlockWorker.lockBlock(sessionId, blockId);
     try {
-      return getReader(sessionId, lockId, blockId).get(keyBuffer);
+      Partition partition = mReaderCache.acquire(sessionId, blockId, lockId);
+      try {
+        ByteBuffer value = partition.getReader().get(keyBuffer);
+        // The value must be copied before the partition is released, as it may be unmapped then
+        return value == null ? null : copyAsNonDirectBuffer(value);
+      } finally {
+        partition.release();
+      }
     } catch (InvalidWorkerStateException e) {
       // We shall never reach here
       LOG.error("Reaching invalid state to get a key", e);
@@ -114,17 +140,6 @@ public final class KeyValueWorkerClientServiceHandler implements KeyValueWorkerC
     return null;
   }
 
-  private ByteBufferKeyValuePartitionReader getReader(long sessionId, long lockId, long blockId)
-      throws InvalidWorkerStateException, BlockDoesNotExistException, IOException {
-    BlockReader blockReader = mBlockWorker.readBlockRemote(sessionId, blockId, lockId);
-    ByteBuffer fileBuffer = blockReader.read(0, blockReader.getLength());
-    ByteBufferKeyValuePartitionReader reader = new ByteBufferKeyValuePartitionReader(fileBuffer);
-    // TODO(binfan): clean fileBuffer which is a direct byte buffer
-
-    blockReader.close();
-    return reader;
-  }
-
   @Override
   public GetNextKeysTResponse getNextKeys(final long blockId, final ByteBuffer key,
       final int numKeys, GetNextKeysTOptions options) throws AlluxioTException {
@@ -134,21 +149,26 @@ public final class KeyValueWorkerClientServiceHandler implements KeyValueWorkerC
         final long sessionId = Sessions.KEYVALUE_SESSION_ID;
         final long lockId = mBlockWorker.lockBlock(sessionId, blockId);
         try {
-          ByteBufferKeyValuePartitionReader reader = getReader(sessionId, lockId, blockId);
-          Index index = reader.getIndex();
-          PayloadReader payloadReader = reader.getPayloadReader();
-
-          List<ByteBuffer> ret = Lists.newArrayListWithExpectedSize(numKeys);
-          ByteBuffer currentKey = key;
-          for (int i = 0; i < numKeys; i++) {
-            ByteBuffer nextKey = index.nextKey(currentKey, payloadReader);
-            if (nextKey == null) {
-              break;
+          Partition partition = mReaderCache.acquire(sessionId, blockId, lockId);
+          try {
+            ByteBufferKeyValuePartitionReader reader = partition.getReader();
+            Index index = reader.getIndex();
+            PayloadReader payloadReader = reader.getPayloadReader();
+
+            List<ByteBuffer> ret = Lists.newArrayListWithExpectedSize(numKeys);
+            ByteBuffer currentKey = key;
+            for (int i = 0; i < numKeys; i++) {
+              ByteBuffer nextKey = index.nextKey(currentKey, payloadReader);
+              if (nextKey == null) {
+                break;
+              }
+              ret.add(copyAsNonDirectBuffer(nextKey));
+              currentKey = nextKey;
             }
-            ret.add(copyAsNonDirectBuffer(nextKey));
-            currentKey = nextKey;
+            return new GetNextKeysTResponse(ret);
+          } finally {
+            partition.release();
           }
-          return new GetNextKeysTResponse(ret);
         } catch (InvalidWorkerStateException e) {
           // We shall never reach here
           LOG.error("Reaching invalid state to get all keys", e);
@@ -170,7 +190,12 @@ public final class KeyValueWorkerClientServiceHandler implements KeyValueWorkerC
         final long sessionId = Sessions.KEYVALUE_SESSION_ID;
         final long lockId = mBlockWorker.lockBlock(sessionId, blockId);
         try {
-          return new GetSizeTResponse(getReader(sessionId, lockId, blockId).size());
+          Partition partition = mReaderCache.acquire(sessionId, blockId, lockId);
+          try {
+            return new GetSizeTResponse(partition.getReader().size());
+          } finally {
+            partition.release();
+          }
         } catch (InvalidWorkerStateException e) {
           // We shall never reach here
           LOG.error("Reaching invalid state to get size", e);
@@ -181,4 +206,116 @@ public final class KeyValueWorkerClientServiceHandler implements KeyValueWorkerC
       }
     });
   }
+
+  @Override
+  public MultiGetTResponse multiGet(final List<Long> blockIds, final List<ByteBuffer> keys,
+      MultiGetTOptions options) throws AlluxioTException {
+    return RpcUtils.call(LOG, new RpcCallableThrowsIOException<MultiGetTResponse>() {
+      @Override
+      public MultiGetTResponse call() throws AlluxioException, IOException {
+        Preconditions.checkArgument(blockIds.size() == keys.size(),
+            "%s block ids are given for %s keys", blockIds.size(), keys.size());
+        // The values are looked up in the order of the keys, locking each block once for the
+        // consecutive keys of the block, until the values found fill half of a thrift frame
+        List<ByteBuffer> values = new ArrayList<>(keys.size());
+        long valueBytes = 0;
+        int start = 0;
+        while (start < keys.size() && valueBytes < MULTI_GET_RESPONSE_BYTES) {
+          long blockId = blockIds.get(start);
+          int end = start + 1;
+          while (end < keys.size() && blockIds.get(end) == blockId) {
+            end++;
+          }
+          valueBytes += multiGetInternal(blockId, keys.subList(start, end), values,
+              MULTI_GET_RESPONSE_BYTES - valueBytes);
+          start = end;
+        }
+        return new MultiGetTResponse(values);
+      }
+    });
+  }
+
+  @Override
+  public ScanTResponse scan(final long blockId, final ByteBuffer startKey, final ByteBuffer endKey,
+      final int numKeys, ScanTOptions options) throws AlluxioTException {
+    return RpcUtils.call(LOG, new RpcCallableThrowsIOException<ScanTResponse>() {
+      @Override
+      public ScanTResponse call() throws AlluxioException, IOException {
+        final long sessionId = Sessions.KEYVALUE_SESSION_ID;
+        final long lockId = mBlockWorker.lockBlock(sessionId, blockId);
+        try {
+          Partition partition = mReaderCache.acquire(sessionId, blockId, lockId);
+          try {
+            // Keys are never empty, an empty key means that the range has no start or no end
+            KeyValueIterator iterator = partition.getReader().scan(
+                startKey == null || !startKey.hasRemaining() ? null : startKey,
+                endKey == null || !endKey.hasRemaining() ? null : endKey);
+            List<ByteBuffer> keys = Lists.newArrayListWithExpectedSize(numKeys);
+            List<ByteBuffer> values = Lists.newArrayListWithExpectedSize(numKeys);
+            while (keys.size() < numKeys && iterator.hasNext()) {
+              KeyValuePair pair = iterator.next();
+              // The pairs must be copied before the partition is released
+              keys.add(copyAsNonDirectBuffer(pair.getKey()));
+              values.add(copyAsNonDirectBuffer(pair.getValue()));
+            }
+            return new ScanTResponse(keys, values);
+          } finally {
+            partition.release();
+          }
+        } catch (InvalidWorkerStateException e) {
+          // We shall never reach here
+          LOG.error("Reaching invalid state to scan keys", e);
+        } finally {
+          mBlockWorker.unlockBlock(lockId);
+        }
+        return new ScanTResponse();
+      }
+    });
+  }
+
+  /**
+   * Internal logic to get the values of a batch of keys from the given block, until the values
+   * found exceed a number of bytes. The first value is always added to an empty response, so that
+   * each call makes progress.
+   *
+   * @param blockId Block Id
+   * @param keys the keys to look up in the block
+   * @param values the values of the batch, where the non-direct copies of the values are added,
+   *        empty for the keys not found
+   * @param maxBytes the number of bytes of the values found after which no value is added
+   * @return the number of bytes of the values added
+   * @throws BlockDoesNotExistException if the worker is not serving this block
+   */
+  private long multiGetInternal(long blockId, List<ByteBuffer> keys, List<ByteBuffer> values,
+      long maxBytes) throws BlockDoesNotExistException, IOException {
+    final long sessionId = Sessions.KEYVALUE_SESSION_ID;
+    final long lockId = mBlockWorker.lockBlock(sessionId, blockId);
+    long bytes = 0;
+    try {
+      Partition partition = mReaderCache.acquire(sessionId, blockId, lockId);
+      try {
+        ByteBufferKeyValuePartitionReader reader = partition.getReader();
+        for (ByteBuffer key : keys) {
+          if (bytes >= maxBytes && !values.isEmpty()) {
+            break;
+          }
+          ByteBuffer value = reader.get(key);
+          if (value == null) {
+            values.add(ByteBuffer.allocate(0));
+          } else {
+            values.add(copyAsNonDirectBuffer(value));
+            bytes += value.remaining();
+          }
+        }
+      } finally {
+        partition.release();
+      }
+    } catch (InvalidWorkerStateException e) {
+      // We shall never reach here
+      LOG.error("Reaching invalid state to get {} keys", keys.size(), e);
+    } finally {
+      mBlockWorker.unlockBlock(lockId);
+    }
+    return bytes;
+  }
 }
@@ -0,0 +1,204 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.keyvalue;
+
+import alluxio.client.keyvalue.ByteBufferKeyValuePartitionReader;
+import alluxio.exception.BlockDoesNotExistException;
+import alluxio.exception.InvalidWorkerStateException;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.AbstractBlockStoreEventListener;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.BlockWorker;
+import alluxio.worker.block.io.BlockReader;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of the readers of the key-value partitions stored by the worker, keyed by block id. Each
+ * reader maps its block in memory once, and the total size of the blocks mapped by the cached
+ * readers is bounded. A block is unmapped once its reader is evicted from the cache and no longer
+ * used, and the reader of a block is evicted when the block is removed or moved by the worker.
+ *
+ * The readers do not keep their blocks locked, so that the blocks can still be removed or evicted
+ * by the worker: the callers must lock a block while using its reader.
+ */
+@ThreadSafe
+final class PartitionReaderCache extends AbstractBlockStoreEventListener {
+  private final BlockWorker mBlockWorker;
+  private final Cache<Long, Partition> mCache;
+
+  /**
+   * Creates a new instance of {@link PartitionReaderCache}.
+   *
+   * @param blockWorker the block worker storing the partitions
+   * @param capacityBytes the maximum total size of the blocks mapped by the cached readers
+   */
+  PartitionReaderCache(BlockWorker blockWorker, long capacityBytes) {
+    mBlockWorker = Preconditions.checkNotNull(blockWorker);
+    // A single segment, as the maximum weight is otherwise split between the segments, and a
+    // partition larger than the share of its segment would be evicted right away
+    mCache = CacheBuilder.newBuilder()
+        .concurrencyLevel(1)
+        .maximumWeight(capacityBytes)
+        .weigher(new Weigher<Long, Partition>() {
+          @Override
+          public int weigh(Long blockId, Partition partition) {
+            return partition.getLength();
+          }
+        })
+        .removalListener(new RemovalListener<Long, Partition>() {
+          @Override
+          public void onRemoval(RemovalNotification<Long, Partition> notification) {
+            notification.getValue().release();
+          }
+        })
+        .build();
+  }
+
+  /**
+   * Gets the partition stored in a block, opening it when its reader is not cached. The block must
+   * be locked by the caller, and the partition must be released by the caller with
+   * {@link Partition#release()} before unlocking the block.
+   *
+   * @param sessionId the id of the session locking the block
+   * @param blockId the id of the block
+   * @param lockId the id of the lock on the block
+   * @return the partition
+   * @throws BlockDoesNotExistException if the worker is not serving the block
+   * @throws InvalidWorkerStateException if the block is not locked by the session
+   */
+  Partition acquire(long sessionId, long blockId, long lockId)
+      throws BlockDoesNotExistException, InvalidWorkerStateException, IOException {
+    Partition partition = mCache.getIfPresent(blockId);
+    if (partition != null && partition.retain()) {
+      return partition;
+    }
+    BlockReader blockReader = mBlockWorker.readBlockRemote(sessionId, blockId, lockId);
+    try {
+      partition = new Partition(blockReader.read(0, blockReader.getLength()));
+    } finally {
+      blockReader.close();
+    }
+    // One reference for the caller, the other one for the cache. A partition replaced or evicted
+    // right away is released by the cache, and is unmapped once the caller releases it too.
+    partition.retain();
+    mCache.put(blockId, partition);
+    return partition;
+  }
+
+  /**
+   * Evicts the readers of all the partitions.
+   */
+  void invalidateAll() {
+    mCache.invalidateAll();
+  }
+
+  @Override
+  public void onMoveBlockByClient(long sessionId, long blockId, BlockStoreLocation oldLocation,
+      BlockStoreLocation newLocation) {
+    mCache.invalidate(blockId);
+  }
+
+  @Override
+  public void onMoveBlockByWorker(long sessionId, long blockId, BlockStoreLocation oldLocation,
+      BlockStoreLocation newLocation) {
+    mCache.invalidate(blockId);
+  }
+
+  @Override
+  public void onRemoveBlockByClient(long sessionId, long blockId) {
+    mCache.invalidate(blockId);
+  }
+
+  @Override
+  public void onRemoveBlockByWorker(long sessionId, long blockId) {
+    mCache.invalidate(blockId);
+  }
+
+  /**
+   * A partition mapped in memory, with a count of its references. The partition is unmapped once
+   * all the references are released.
+   */
+  @ThreadSafe
+  static final class Partition {
+    private final ByteBuffer mBuffer;
+    private final ByteBufferKeyValuePartitionReader mReader;
+    @GuardedBy("this")
+    private int mReferences;
+
+    /**
+     * @param buffer the partition mapped in memory
+     */
+    Partition(ByteBuffer buffer) {
+      mBuffer = buffer;
+      mReader = new ByteBufferKeyValuePartitionReader(buffer);
+      mReferences = 1;
+    }
+
+    /**
+     * Returns the reader of the partition. The reader only reads the partition with absolute
+     * positions, so it may be shared by threads. The buffers it returns are only valid until the
+     * partition is released.
+     *
+     * @return the reader of the partition
+     */
+    ByteBufferKeyValuePartitionReader getReader() {
+      return mReader;
+    }
+
+    /**
+     * @return the size of the partition in bytes
+     */
+    int getLength() {
+      return mBuffer.capacity();
+    }
+
+    /**
+     * Adds a reference to the partition.
+     *
+     * @return false if the partition is already unmapped
+     */
+    synchronized boolean retain() {
+      if (mReferences == 0) {
+        return false;
+      }
+      mReferences++;
+      return true;
+    }
+
+    /**
+     * Releases a reference to the partition, and unmaps the partition when it was the last one.
+     */
+    void release() {
+      synchronized (this) {
+        Preconditions.checkState(mReferences > 0, "Partition is already released");
+        if (--mReferences > 0) {
+          return;
+        }
+      }
+      if (mBuffer.isDirect()) {
+        BufferUtils.cleanDirectBuffer(mBuffer);
+      }
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.keyvalue;
+
+import alluxio.Constants;
+import alluxio.worker.block.BlockWorker;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.keyvalue.PartitionReaderCache.Partition;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Unit tests for {@link PartitionReaderCache}.
+ */
+public final class PartitionReaderCacheTest {
+  private static final long SESSION_ID = 1L;
+  private static final long LOCK_ID = 2L;
+  /** The size of the partitions, an empty payload with an index of 20 buckets. */
+  private static final int PARTITION_SIZE = Constants.BYTES_IN_INTEGER * 2 + 20 * 5;
+
+  private BlockWorker mBlockWorker;
+
+  @Before
+  public void before() throws Exception {
+    mBlockWorker = Mockito.mock(BlockWorker.class);
+    for (long blockId = 1; blockId <= 3; blockId++) {
+      BlockReader reader = Mockito.mock(BlockReader.class);
+      Mockito.when(reader.getLength()).thenReturn((long) PARTITION_SIZE);
+      Mockito.when(reader.read(0, PARTITION_SIZE)).thenAnswer(
+          new Answer<ByteBuffer>() {
+            @Override
+            public ByteBuffer answer(InvocationOnMock invocation) {
+              // An empty partition of the original format, whose index is at offset 0
+              return ByteBuffer.allocate(PARTITION_SIZE);
+            }
+          });
+      Mockito.when(mBlockWorker.readBlockRemote(SESSION_ID, blockId, LOCK_ID)).thenReturn(reader);
+    }
+  }
+
+  /**
+   * Tests that the reader of a partition is cached until it is evicted, and that the partitions
+   * evicted are unmapped.
+   */
+  @Test
+  public void evict() throws Exception {
+    // Room for two partitions in a cache of a single segment
+    PartitionReaderCache cache = new PartitionReaderCache(mBlockWorker, PARTITION_SIZE * 2);
+    Partition partition1 = cache.acquire(SESSION_ID, 1L, LOCK_ID);
+    partition1.release();
+    Assert.assertSame(partition1, acquireAndRelease(cache, 1L));
+    Mockito.verify(mBlockWorker).readBlockRemote(SESSION_ID, 1L, LOCK_ID);
+
+    acquireAndRelease(cache, 2L);
+    acquireAndRelease(cache, 3L);
+    // The least recently used partition is evicted and unmapped
+    Assert.assertFalse(partition1.retain());
+    Assert.assertNotSame(partition1, acquireAndRelease(cache, 1L));
+    Mockito.verify(mBlockWorker, Mockito.times(2)).readBlockRemote(SESSION_ID, 1L, LOCK_ID);
+  }
+
+  /**
+   * Tests that a partition evicted is only unmapped once released by its users.
+   */
+  @Test
+  public void unmapOnceReleased() throws Exception {
+    PartitionReaderCache cache = new PartitionReaderCache(mBlockWorker, PARTITION_SIZE * 2);
+    Partition partition = cache.acquire(SESSION_ID, 1L, LOCK_ID);
+    Partition other = cache.acquire(SESSION_ID, 1L, LOCK_ID);
+    Assert.assertSame(partition, other);
+
+    cache.invalidateAll();
+    partition.release();
+    // Still used, so still readable
+    Assert.assertEquals(0, partition.getReader().size());
+    other.release();
+    Assert.assertFalse(partition.retain());
+  }
+
+  /**
+   * Tests that the reader of a block is evicted when the block is removed or moved.
+   */
+  @Test
+  public void invalidateOnBlockRemoval() throws Exception {
+    PartitionReaderCache cache = new PartitionReaderCache(mBlockWorker, PARTITION_SIZE * 3);
+    Partition partition1 = acquireAndRelease(cache, 1L);
+    Partition partition2 = acquireAndRelease(cache, 2L);
+    Partition partition3 = acquireAndRelease(cache, 3L);
+
+    cache.onRemoveBlockByWorker(SESSION_ID, 1L);
+    cache.onMoveBlockByWorker(SESSION_ID, 2L, null, null);
+    Assert.assertFalse(partition1.retain());
+    Assert.assertFalse(partition2.retain());
+    Assert.assertSame(partition3, acquireAndRelease(cache, 3L));
+
+    acquireAndRelease(cache, 1L);
+    Mockito.verify(mBlockWorker, Mockito.times(2)).readBlockRemote(SESSION_ID, 1L, LOCK_ID);
+  }
+
+  private static Partition acquireAndRelease(PartitionReaderCache cache, long blockId)
+      throws Exception {
+    Partition partition = cache.acquire(SESSION_ID, blockId, LOCK_ID);
+    partition.release();
+    return partition;
+  }
+}
@@ -208,7 +208,7 @@ public final class KeyValuePartitionIntegrationTest extends BaseIntegrationTest
   @Test
   public void createReaderUriNotNull() throws IOException, AlluxioException {
     mThrown.expect(NullPointerException.class);
-    KeyValuePartitionReader.Factory.create(null);
+    KeyValuePartitionReader.Factory.create((AlluxioURI) null);
   }
 
   /**
@@ -36,6 +36,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -252,6 +253,114 @@ public final class KeyValueSystemIntegrationTest extends BaseIntegrationTest {
     mReader.close();
   }
 
+  /**
+   * Tests creating a store of multiple partitions built by several threads, and reading all its
+   * keys in order.
+   */
+  @Test
+  public void createMultiPartitionsInParallel() throws Exception {
+    final int numKeys = 10;
+    final int keyLength = 4; // 4Byte key
+    final int valueLength = 500 * Constants.KB; // 500KB value
+
+    Configuration.set(PropertyKey.KEY_VALUE_WRITER_THREADS, "4");
+    AlluxioURI storeUri;
+    try {
+      storeUri = createStoreOfMultiplePartitions(numKeys, null);
+    } finally {
+      Configuration.set(PropertyKey.KEY_VALUE_WRITER_THREADS,
+          PropertyKey.KEY_VALUE_WRITER_THREADS.getDefaultValue());
+    }
+
+    mReader = sKeyValueSystem.openStore(storeUri);
+    for (int i = 0; i < numKeys; i++) {
+      byte[] key = BufferUtils.getIncreasingByteArray(i, keyLength);
+      byte[] value = mReader.get(key);
+      Assert.assertTrue(BufferUtils.equalIncreasingByteArray(i, valueLength, value));
+    }
+    KeyValueIterator iterator = mReader.iterator();
+    for (int i = 0; i < numKeys; i++) {
+      Assert.assertTrue(iterator.hasNext());
+      Assert.assertTrue(BufferUtils.equalIncreasingByteArray(i, keyLength,
+          BufferUtils.newByteArrayFromByteBuffer(iterator.next().getKey())));
+    }
+    Assert.assertFalse(iterator.hasNext());
+    mReader.close();
+  }
+
+  /**
+   * Tests getting a batch of keys stored in multiple partitions, including keys not in the store.
+   */
+  @Test
+  public void multiGet() throws Exception {
+    final int numKeys = 5;
+    final int keyLength = 4; // 4Byte key
+    final int valueLength = 500 * Constants.KB; // 500KB value
+    AlluxioURI storeUri = createStoreOfMultiplePartitions(numKeys, null);
+
+    List<ByteBuffer> keys = new ArrayList<>();
+    keys.add(ByteBuffer.wrap(KEY1));
+    for (int i = numKeys - 1; i >= 0; i--) {
+      keys.add(ByteBuffer.wrap(BufferUtils.getIncreasingByteArray(i, keyLength)));
+    }
+    keys.add(ByteBuffer.wrap(KEY2));
+
+    mReader = sKeyValueSystem.openStore(storeUri);
+    List<ByteBuffer> values = mReader.multiGet(keys);
+    Assert.assertEquals(keys.size(), values.size());
+    Assert.assertNull(values.get(0));
+    for (int i = 0; i < numKeys; i++) {
+      byte[] value = BufferUtils.newByteArrayFromByteBuffer(values.get(numKeys - i));
+      Assert.assertTrue(BufferUtils.equalIncreasingByteArray(i, valueLength, value));
+    }
+    Assert.assertNull(values.get(numKeys + 1));
+    Assert.assertTrue(mReader.multiGet(new ArrayList<ByteBuffer>()).isEmpty());
+    mReader.close();
+  }
+
+  /**
+   * Tests scanning ranges of keys stored in multiple partitions, in the order of the keys.
+   */
+  @Test
+  public void scan() throws Exception {
+    final int numKeys = 5;
+    final int keyLength = 4; // 4Byte key
+    final int valueLength = 500 * Constants.KB; // 500KB value
+    AlluxioURI storeUri = createStoreOfMultiplePartitions(numKeys, null);
+
+    mReader = sKeyValueSystem.openStore(storeUri);
+    int[][] ranges = {{0, numKeys}, {1, 3}, {2, 2}, {4, numKeys}};
+    for (int[] range : ranges) {
+      KeyValueIterator iterator = mReader.scan(
+          ByteBuffer.wrap(BufferUtils.getIncreasingByteArray(range[0], keyLength)),
+          ByteBuffer.wrap(BufferUtils.getIncreasingByteArray(range[1], keyLength)));
+      for (int i = range[0]; i < range[1]; i++) {
+        Assert.assertTrue(iterator.hasNext());
+        KeyValuePair pair = iterator.next();
+        Assert.assertTrue(BufferUtils.equalIncreasingByteArray(i, keyLength,
+            BufferUtils.newByteArrayFromByteBuffer(pair.getKey())));
+        Assert.assertTrue(BufferUtils.equalIncreasingByteArray(i, valueLength,
+            BufferUtils.newByteArrayFromByteBuffer(pair.getValue())));
+      }
+      Assert.assertFalse(iterator.hasNext());
+    }
+    Assert.assertEquals(numKeys, countPairs(mReader.scan(null, null)));
+    mReader.close();
+  }
+
+  /**
+   * @param iterator the iterator to exhaust
+   * @return the number of key-value pairs iterated
+   */
+  private int countPairs(KeyValueIterator iterator) throws Exception {
+    int count = 0;
+    while (iterator.hasNext()) {
+      iterator.next();
+      count++;
+    }
+    return count;
+  }
+
   /**
    * Tests putting a key-value pair that is larger than the max key-value partition size,
    * expecting exception thrown.
@@ -508,6 +617,57 @@ public final class KeyValueSystemIntegrationTest extends BaseIntegrationTest {
     }
   }
 
+  /**
+   * Tests that the overlapping partitions of a merged store are compacted into one partition,
+   * keeping all the key-value pairs, and that the files of the partitions replaced are kept until
+   * a compaction after the deletion delay.
+   */
+  @Test
+  public void compactMergedStore() throws Exception {
+    final int numKeys = 10;
+    AlluxioURI storeUri1 = new AlluxioURI(PathUtils.uniqPath());
+    AlluxioURI storeUri2 = new AlluxioURI(PathUtils.uniqPath());
+    KeyValueStoreWriter writer1 = sKeyValueSystem.createStore(storeUri1);
+    KeyValueStoreWriter writer2 = sKeyValueSystem.createStore(storeUri2);
+    // The keys are interleaved between the stores, so that their partitions overlap
+    for (int i = 0; i < numKeys; i++) {
+      KeyValueStoreWriter writer = i % 2 == 0 ? writer1 : writer2;
+      writer.put(genBaseKey(i).getBytes(), genBaseValue(i).getBytes());
+    }
+    writer1.close();
+    writer2.close();
+    sKeyValueSystem.mergeStore(storeUri1, storeUri2);
+    Assert.assertEquals(2, getPartitionNumber(storeUri2));
+
+    sKeyValueSystem.compactStore(storeUri2);
+
+    Assert.assertEquals(1, getPartitionNumber(storeUri2));
+    // The directories of the compacted partitions and of the partitions replaced are left
+    List<URIStatus> files = FileSystem.Factory.get().listStatus(storeUri2);
+    Assert.assertEquals(2, files.size());
+    Assert.assertTrue(files.get(0).isFolder());
+    Assert.assertTrue(files.get(1).isFolder());
+
+    Configuration.set(PropertyKey.KEY_VALUE_COMPACTION_DELETION_DELAY_MS, "0");
+    try {
+      sKeyValueSystem.compactStore(storeUri2);
+    } finally {
+      Configuration.set(PropertyKey.KEY_VALUE_COMPACTION_DELETION_DELAY_MS,
+          PropertyKey.KEY_VALUE_COMPACTION_DELETION_DELAY_MS.getDefaultValue());
+    }
+    // Only the directory of the compacted partitions is left in the store
+    files = FileSystem.Factory.get().listStatus(storeUri2);
+    Assert.assertEquals(1, files.size());
+    Assert.assertTrue(files.get(0).isFolder());
+    mReader = sKeyValueSystem.openStore(storeUri2);
+    for (int i = 0; i < numKeys; i++) {
+      Assert.assertArrayEquals(genBaseValue(i).getBytes(),
+          mReader.get(genBaseKey(i).getBytes()));
+    }
+    Assert.assertEquals(numKeys, countPairs(mReader.scan(null, null)));
+    mReader.close();
+  }
+
   /**
    * Tests that the factory can create an instance of {@link KeyValueSystem}.
    */
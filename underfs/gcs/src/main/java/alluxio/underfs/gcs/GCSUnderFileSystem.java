@@ -23,6 +23,7 @@ import alluxio.util.UnderFileSystemUtils;
 import alluxio.util.io.PathUtils;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import org.jets3t.service.ServiceException;
 import org.jets3t.service.StorageObjectsChunk;
 import org.jets3t.service.acl.gs.GSAccessControlList;
@@ -53,6 +54,12 @@ public class GCSUnderFileSystem extends ObjectUnderFileSystem {
   /** Suffix for an empty file to flag it as a directory. */
   private static final String FOLDER_SUFFIX = "_$folder$";
 
+  /** The HTTP status code of the responses of GCS when the request rate limit is exceeded. */
+  private static final int TOO_MANY_REQUESTS_RESPONSE_CODE = 429;
+
+  /** The HTTP status code of the responses of GCS asking to retry the request later. */
+  private static final int SERVICE_UNAVAILABLE_RESPONSE_CODE = 503;
+
   private static final byte[] DIR_HASH;
 
   /** Jets3t GCS client. */
@@ -138,6 +145,18 @@ public class GCSUnderFileSystem extends ObjectUnderFileSystem {
     return "gcs";
   }
 
+  @Override
+  public boolean isThrottled(IOException e) {
+    for (Throwable cause : Throwables.getCausalChain(e)) {
+      if (cause instanceof ServiceException) {
+        int responseCode = ((ServiceException) cause).getResponseCode();
+        return responseCode == TOO_MANY_REQUESTS_RESPONSE_CODE
+            || responseCode == SERVICE_UNAVAILABLE_RESPONSE_CODE;
+      }
+    }
+    return false;
+  }
+
   // Setting GCS owner via Alluxio is not supported yet. This is a no-op.
   @Override
   public void setOwner(String path, String user, String group) {}
@@ -307,4 +326,18 @@ public class GCSUnderFileSystem extends ObjectUnderFileSystem {
       throw new IOException(e.getMessage());
     }
   }
+
+  @Override
+  protected InputStream openObjectRange(String key, long startPos, long endPos)
+      throws IOException {
+    try {
+      GSObject object = mClient.getObject(mBucketName, key, null /* ignore ModifiedSince */,
+          null /* ignore UnmodifiedSince */, null /* ignore MatchTags */,
+          null /* ignore NoneMatchTags */, startPos /* byteRangeStart */,
+          endPos - 1 /* byteRangeEnd */);
+      return object.getDataInputStream();
+    } catch (ServiceException e) {
+      throw new IOException(e.getMessage());
+    }
+  }
 }
@@ -91,4 +91,21 @@ public class GCSUnderFileSystemTest {
     boolean result = mGCSUnderFileSystem.renameFile(SRC, DST);
     Assert.assertFalse(result);
   }
+
+  /**
+   * Test case for {@link GCSUnderFileSystem#isThrottled(IOException)}.
+   */
+  @Test
+  public void isThrottled() {
+    Assert.assertTrue(mGCSUnderFileSystem.isThrottled(new IOException(serviceException(429))));
+    Assert.assertTrue(mGCSUnderFileSystem.isThrottled(new IOException(serviceException(503))));
+    Assert.assertFalse(mGCSUnderFileSystem.isThrottled(new IOException(serviceException(403))));
+    Assert.assertFalse(mGCSUnderFileSystem.isThrottled(new IOException("Failed")));
+  }
+
+  private static ServiceException serviceException(int responseCode) {
+    ServiceException e = new ServiceException();
+    e.setResponseCode(responseCode);
+    return e;
+  }
 }
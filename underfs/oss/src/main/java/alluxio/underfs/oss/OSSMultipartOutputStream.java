@@ -0,0 +1,159 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.oss;
+
+import alluxio.underfs.MultipartObjectOutputStream;
+
+import com.aliyun.oss.OSSClient;
+import com.aliyun.oss.ServiceException;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
+import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
+import com.aliyun.oss.model.UploadPartRequest;
+import com.google.common.base.Preconditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A stream for writing a file into OSS with a multipart upload while the data is written, instead
+ * of buffering the whole file on the local disk like {@link OSSOutputStream}.
+ */
+@NotThreadSafe
+public final class OSSMultipartOutputStream extends MultipartObjectOutputStream {
+  /** Bucket name of the Alluxio OSS bucket. */
+  private final String mBucketName;
+  /** Key of the file in OSS. */
+  private final String mKey;
+  /** The OSS client for OSS operations. */
+  private final OSSClient mOssClient;
+  /** The tags of the parts uploaded. */
+  private final List<PartETag> mPartETags =
+      Collections.synchronizedList(new ArrayList<PartETag>());
+
+  /** The id of the multipart upload, set once it is initiated. */
+  private String mUploadId;
+
+  /**
+   * Creates a new instance of {@link OSSMultipartOutputStream}.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param client the client for OSS
+   * @param executor the executor uploading the parts
+   */
+  public OSSMultipartOutputStream(String bucketName, String key, OSSClient client,
+      ExecutorService executor) {
+    super(executor);
+    Preconditions.checkArgument(bucketName != null && !bucketName.isEmpty(),
+        "Bucket name must not be null or empty.");
+    Preconditions.checkArgument(key != null && !key.isEmpty(),
+        "OSS path must not be null or empty.");
+    Preconditions.checkArgument(client != null, "OSSClient must not be null.");
+    mBucketName = bucketName;
+    mKey = key;
+    mOssClient = client;
+  }
+
+  @Override
+  protected void initiateMultipartUpload() throws IOException {
+    try {
+      mUploadId = mOssClient.initiateMultipartUpload(
+          new InitiateMultipartUploadRequest(mBucketName, mKey)).getUploadId();
+    } catch (ServiceException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void uploadPart(int partNumber, byte[] data, int length) throws IOException {
+    UploadPartRequest request = new UploadPartRequest();
+    request.setBucketName(mBucketName);
+    request.setKey(mKey);
+    request.setUploadId(mUploadId);
+    request.setPartNumber(partNumber);
+    request.setInputStream(new ByteArrayInputStream(data, 0, length));
+    request.setPartSize(length);
+    try {
+      mPartETags.add(mOssClient.uploadPart(request).getPartETag());
+    } catch (ServiceException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void uploadPart(int partNumber, File file) throws IOException {
+    try (InputStream in = new FileInputStream(file)) {
+      UploadPartRequest request = new UploadPartRequest();
+      request.setBucketName(mBucketName);
+      request.setKey(mKey);
+      request.setUploadId(mUploadId);
+      request.setPartNumber(partNumber);
+      request.setInputStream(in);
+      request.setPartSize(file.length());
+      mPartETags.add(mOssClient.uploadPart(request).getPartETag());
+    } catch (ServiceException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void completeMultipartUpload() throws IOException {
+    List<PartETag> partETags = new ArrayList<>(mPartETags);
+    // OSS requires the parts in ascending order
+    Collections.sort(partETags, new Comparator<PartETag>() {
+      @Override
+      public int compare(PartETag a, PartETag b) {
+        return Integer.compare(a.getPartNumber(), b.getPartNumber());
+      }
+    });
+    try {
+      mOssClient.completeMultipartUpload(
+          new CompleteMultipartUploadRequest(mBucketName, mKey, mUploadId, partETags));
+    } catch (ServiceException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void abortMultipartUpload() throws IOException {
+    try {
+      mOssClient.abortMultipartUpload(
+          new AbortMultipartUploadRequest(mBucketName, mKey, mUploadId));
+    } catch (ServiceException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void putObject(byte[] data, int length) throws IOException {
+    ObjectMetadata objMeta = new ObjectMetadata();
+    objMeta.setContentLength(length);
+    try {
+      mOssClient.putObject(mBucketName, mKey, new ByteArrayInputStream(data, 0, length), objMeta);
+    } catch (ServiceException e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -25,6 +25,7 @@ import alluxio.util.io.PathUtils;
 import com.aliyun.oss.ClientConfiguration;
 import com.aliyun.oss.OSSClient;
 import com.aliyun.oss.ServiceException;
+import com.aliyun.oss.model.GetObjectRequest;
 import com.aliyun.oss.model.ListObjectsRequest;
 import com.aliyun.oss.model.OSSObjectSummary;
 import com.aliyun.oss.model.ObjectListing;
@@ -141,6 +142,9 @@ public class OSSUnderFileSystem extends ObjectUnderFileSystem {
 
   @Override
   protected OutputStream createObject(String key) throws IOException {
+    if (Configuration.getBoolean(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED)) {
+      return new OSSMultipartOutputStream(mBucketName, key, mClient, mExecutorService);
+    }
     return new OSSOutputStream(mBucketName, key, mClient);
   }
 
@@ -283,4 +287,16 @@ public class OSSUnderFileSystem extends ObjectUnderFileSystem {
       throw new IOException(e.getMessage());
     }
   }
+
+  @Override
+  protected InputStream openObjectRange(String key, long startPos, long endPos)
+      throws IOException {
+    try {
+      GetObjectRequest req = new GetObjectRequest(mBucketName, key);
+      req.setRange(startPos, endPos - 1);
+      return mClient.getObject(req).getObjectContent();
+    } catch (ServiceException e) {
+      throw new IOException(e.getMessage());
+    }
+  }
 }
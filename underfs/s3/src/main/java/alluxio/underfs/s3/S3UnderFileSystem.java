@@ -23,6 +23,7 @@ import alluxio.util.UnderFileSystemUtils;
 import alluxio.util.io.PathUtils;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import org.jets3t.service.Jets3tProperties;
 import org.jets3t.service.S3Service;
 import org.jets3t.service.ServiceException;
@@ -55,6 +56,9 @@ public class S3UnderFileSystem extends ObjectUnderFileSystem {
   /** Suffix for an empty file to flag it as a directory. */
   private static final String FOLDER_SUFFIX = "_$folder$";
 
+  /** The HTTP status code of the responses of S3 asking to reduce the request rate. */
+  private static final int SLOW_DOWN_RESPONSE_CODE = 503;
+
   private static final byte[] DIR_HASH;
 
   /** Jets3t S3 client. */
@@ -177,6 +181,16 @@ public class S3UnderFileSystem extends ObjectUnderFileSystem {
     return "s3";
   }
 
+  @Override
+  public boolean isThrottled(IOException e) {
+    for (Throwable cause : Throwables.getCausalChain(e)) {
+      if (cause instanceof ServiceException) {
+        return ((ServiceException) cause).getResponseCode() == SLOW_DOWN_RESPONSE_CODE;
+      }
+    }
+    return false;
+  }
+
   // Setting S3 owner via Alluxio is not supported yet. This is a no-op.
   @Override
   public void setOwner(String path, String user, String group) {}
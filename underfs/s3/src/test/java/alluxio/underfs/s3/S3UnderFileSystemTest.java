@@ -92,4 +92,20 @@ public class S3UnderFileSystemTest {
     boolean result = mS3UnderFileSystem.renameFile(SRC, DST);
     Assert.assertFalse(result);
   }
+
+  /**
+   * Test case for {@link S3UnderFileSystem#isThrottled(IOException)}.
+   */
+  @Test
+  public void isThrottled() {
+    Assert.assertTrue(mS3UnderFileSystem.isThrottled(new IOException(serviceException(503))));
+    Assert.assertFalse(mS3UnderFileSystem.isThrottled(new IOException(serviceException(403))));
+    Assert.assertFalse(mS3UnderFileSystem.isThrottled(new IOException("Failed")));
+  }
+
+  private static ServiceException serviceException(int responseCode) {
+    ServiceException e = new ServiceException();
+    e.setResponseCode(responseCode);
+    return e;
+  }
 }
@@ -0,0 +1,167 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.s3a;
+
+import alluxio.Configuration;
+import alluxio.PropertyKey;
+import alluxio.underfs.MultipartObjectOutputStream;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.internal.Mimetypes;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.google.common.base.Preconditions;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A stream for writing a file into S3 with a multipart upload while the data is written, instead
+ * of buffering the whole file on the local disk like {@link S3AOutputStream}.
+ */
+@NotThreadSafe
+public class S3AMultipartOutputStream extends MultipartObjectOutputStream {
+  private static final boolean SSE_ENABLED =
+      Configuration.getBoolean(PropertyKey.UNDERFS_S3A_SERVER_SIDE_ENCRYPTION_ENABLED);
+
+  /** Bucket name of the Alluxio S3 bucket. */
+  private final String mBucketName;
+  /** Key of the file when it is uploaded to S3. */
+  private final String mKey;
+  /** The client for S3 operations. */
+  private final AmazonS3 mClient;
+  /** The tags of the parts uploaded. */
+  private final List<PartETag> mPartETags =
+      Collections.synchronizedList(new ArrayList<PartETag>());
+
+  /** The id of the multipart upload, set once it is initiated. */
+  private String mUploadId;
+
+  /**
+   * Constructs a new stream for writing a file.
+   *
+   * @param bucketName the name of the bucket
+   * @param key the key of the file
+   * @param client the client for S3 operations
+   * @param executor the executor uploading the parts
+   */
+  public S3AMultipartOutputStream(String bucketName, String key, AmazonS3 client,
+      ExecutorService executor) {
+    super(executor);
+    Preconditions.checkArgument(bucketName != null && !bucketName.isEmpty(), "Bucket name must "
+        + "not be null or empty.");
+    mBucketName = bucketName;
+    mKey = key;
+    mClient = client;
+  }
+
+  @Override
+  protected void initiateMultipartUpload() throws IOException {
+    try {
+      mUploadId = mClient.initiateMultipartUpload(
+          new InitiateMultipartUploadRequest(mBucketName, mKey, createMetadata())).getUploadId();
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void uploadPart(int partNumber, byte[] data, int length) throws IOException {
+    UploadPartRequest request = new UploadPartRequest().withBucketName(mBucketName)
+        .withKey(mKey).withUploadId(mUploadId).withPartNumber(partNumber)
+        .withInputStream(new ByteArrayInputStream(data, 0, length)).withPartSize(length);
+    try {
+      mPartETags.add(mClient.uploadPart(request).getPartETag());
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void uploadPart(int partNumber, File file) throws IOException {
+    UploadPartRequest request = new UploadPartRequest().withBucketName(mBucketName)
+        .withKey(mKey).withUploadId(mUploadId).withPartNumber(partNumber)
+        .withFile(file).withPartSize(file.length());
+    try {
+      mPartETags.add(mClient.uploadPart(request).getPartETag());
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void completeMultipartUpload() throws IOException {
+    List<PartETag> partETags = new ArrayList<>(mPartETags);
+    // S3 requires the parts in ascending order
+    Collections.sort(partETags, new Comparator<PartETag>() {
+      @Override
+      public int compare(PartETag a, PartETag b) {
+        return Integer.compare(a.getPartNumber(), b.getPartNumber());
+      }
+    });
+    try {
+      mClient.completeMultipartUpload(
+          new CompleteMultipartUploadRequest(mBucketName, mKey, mUploadId, partETags));
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void abortMultipartUpload() throws IOException {
+    try {
+      mClient.abortMultipartUpload(
+          new AbortMultipartUploadRequest(mBucketName, mKey, mUploadId));
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void putObject(byte[] data, int length) throws IOException {
+    ObjectMetadata meta = createMetadata();
+    meta.setContentLength(length);
+    try {
+      mClient.putObject(new PutObjectRequest(mBucketName, mKey,
+          new ByteArrayInputStream(data, 0, length), meta));
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * @return the metadata of the object, setting server side encryption and encoding the data as
+   *         octet stream since no assumptions are made about the file type
+   */
+  private static ObjectMetadata createMetadata() {
+    ObjectMetadata meta = new ObjectMetadata();
+    if (SSE_ENABLED) {
+      meta.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+    }
+    meta.setContentEncoding(Mimetypes.MIMETYPE_OCTET_STREAM);
+    return meta;
+  }
+}
@@ -12,6 +12,7 @@
 package alluxio.underfs.s3a;
 
 import alluxio.AlluxioURI;
+import alluxio.Configuration;
 import alluxio.Constants;
 import alluxio.PropertyKey;
 import alluxio.underfs.ObjectUnderFileSystem;
@@ -24,12 +25,14 @@ import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.io.PathUtils;
 
 import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.ClientConfiguration;
 import com.amazonaws.Protocol;
 import com.amazonaws.SDKGlobalConfiguration;
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.AWSCredentialsProviderChain;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.retry.RetryUtils;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.S3ClientOptions;
 import com.amazonaws.services.s3.internal.Mimetypes;
@@ -37,17 +40,20 @@ import com.amazonaws.services.s3.model.AccessControlList;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferManagerConfiguration;
 import com.amazonaws.util.Base64;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,6 +81,9 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
   /** Threshold to do multipart copy. */
   private static final long MULTIPART_COPY_THRESHOLD = 100 * Constants.MB;
 
+  /** The HTTP status code of the responses of S3 asking to reduce the request rate. */
+  private static final int SLOW_DOWN_STATUS_CODE = 503;
+
   /** AWS-SDK S3 client. */
   private final AmazonS3Client mClient;
 
@@ -242,6 +251,18 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
     return "s3";
   }
 
+  @Override
+  public boolean isThrottled(IOException e) {
+    for (Throwable cause : Throwables.getCausalChain(e)) {
+      if (cause instanceof AmazonServiceException) {
+        AmazonServiceException serviceException = (AmazonServiceException) cause;
+        return RetryUtils.isThrottlingException(serviceException)
+            || serviceException.getStatusCode() == SLOW_DOWN_STATUS_CODE;
+      }
+    }
+    return false;
+  }
+
   // Setting S3 owner via Alluxio is not supported yet. This is a no-op.
   @Override
   public void setOwner(String path, String user, String group) {}
@@ -295,6 +316,9 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
 
   @Override
   protected OutputStream createObject(String key) throws IOException {
+    if (Configuration.getBoolean(PropertyKey.UNDERFS_OBJECT_STORE_STREAMING_UPLOAD_ENABLED)) {
+      return new S3AMultipartOutputStream(mBucketName, key, mClient, mExecutorService);
+    }
     return new S3AOutputStream(mBucketName, key, mManager);
   }
 
@@ -508,4 +532,26 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
       throw new IOException(e);
     }
   }
+
+  @Override
+  protected InputStream openObjectRange(String key, long startPos, long endPos)
+      throws IOException {
+    try {
+      GetObjectRequest getReq = new GetObjectRequest(mBucketName, key);
+      getReq.setRange(startPos, endPos - 1);
+      return mClient.getObject(getReq).getObjectContent();
+    } catch (AmazonClientException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  protected void abortObjectRange(InputStream in) throws IOException {
+    if (in instanceof S3ObjectInputStream) {
+      // Closing the stream would drain the rest of the range to reuse the connection.
+      ((S3ObjectInputStream) in).abort();
+    } else {
+      in.close();
+    }
+  }
 }
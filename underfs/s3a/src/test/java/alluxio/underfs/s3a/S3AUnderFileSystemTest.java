@@ -16,6 +16,7 @@ import alluxio.underfs.UnderFileSystemConfiguration;
 import alluxio.underfs.options.DeleteOptions;
 
 import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.transfer.TransferManager;
@@ -97,4 +98,25 @@ public class S3AUnderFileSystemTest {
     boolean result = mS3UnderFileSystem.renameFile(SRC, DST);
     Assert.assertFalse(result);
   }
+
+  /**
+   * Test case for {@link S3AUnderFileSystem#isThrottled(IOException)}.
+   */
+  @Test
+  public void isThrottled() {
+    Assert.assertTrue(mS3UnderFileSystem.isThrottled(new IOException(serviceException(503,
+        "SlowDown"))));
+    Assert.assertTrue(mS3UnderFileSystem.isThrottled(new IOException(serviceException(400,
+        "Throttling"))));
+    Assert.assertFalse(mS3UnderFileSystem.isThrottled(new IOException(serviceException(403,
+        "AccessDenied"))));
+    Assert.assertFalse(mS3UnderFileSystem.isThrottled(new IOException("Failed")));
+  }
+
+  private static AmazonServiceException serviceException(int statusCode, String errorCode) {
+    AmazonServiceException e = new AmazonServiceException(errorCode);
+    e.setStatusCode(statusCode);
+    e.setErrorCode(errorCode);
+    return e;
+  }
 }
@@ -24,6 +24,7 @@ import alluxio.underfs.swift.http.SwiftDirectClient;
 import alluxio.util.UnderFileSystemUtils;
 import alluxio.util.io.PathUtils;
 
+import com.google.common.base.Throwables;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.codehaus.jackson.map.SerializationConfig;
 import org.javaswift.joss.client.factory.AccountConfig;
@@ -67,6 +68,12 @@ public class SwiftUnderFileSystem extends ObjectUnderFileSystem {
   /** Number of retries in case of Swift internal errors. */
   private static final int NUM_RETRIES = 3;
 
+  /** The HTTP status code of the responses of Swift when the request rate limit is exceeded. */
+  private static final int TOO_MANY_REQUESTS_STATUS_CODE = 429;
+
+  /** The HTTP status code of the responses of the Swift rate limiting middleware. */
+  private static final int RATE_LIMITED_STATUS_CODE = 498;
+
   /** Swift account. */
   private final Account mAccount;
 
@@ -197,6 +204,18 @@ public class SwiftUnderFileSystem extends ObjectUnderFileSystem {
     return "swift";
   }
 
+  @Override
+  public boolean isThrottled(IOException e) {
+    for (Throwable cause : Throwables.getCausalChain(e)) {
+      if (cause instanceof CommandException) {
+        int statusCode = ((CommandException) cause).getHttpStatusCode();
+        return statusCode == TOO_MANY_REQUESTS_STATUS_CODE
+            || statusCode == RATE_LIMITED_STATUS_CODE;
+      }
+    }
+    return false;
+  }
+
   // Setting Swift owner via Alluxio is not supported yet. This is a no-op.
   @Override
   public void setOwner(String path, String user, String group) {}